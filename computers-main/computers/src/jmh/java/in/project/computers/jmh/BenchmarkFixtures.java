@@ -0,0 +1,133 @@
+package in.project.computers.jmh;
+
+import in.project.computers.entity.component.*;
+import in.project.computers.entity.computerBuild.BuildPart;
+import in.project.computers.entity.computerBuild.ComputerBuild;
+import in.project.computers.entity.lookup.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * ข้อมูลตัวอย่างที่ใกล้เคียงของจริงสำหรับ Benchmark: Lookup, Component ครบทุกประเภท, Inventory และ Build
+ */
+public final class BenchmarkFixtures {
+
+    public static final String USER_ID = "user-1";
+
+    public static final Socket AM5 = new Socket("socket-am5", "AM5", "AMD");
+    public static final Socket LGA1700 = new Socket("socket-lga1700", "LGA1700", "Intel");
+    public static final RamType DDR5 = new RamType("ram-ddr5", "DDR5");
+    public static final FormFactor ATX = new FormFactor("ff-atx", "ATX", FormFactorType.MOTHERBOARD);
+    public static final FormFactor MICRO_ATX = new FormFactor("ff-matx", "Micro-ATX", FormFactorType.MOTHERBOARD);
+    public static final FormFactor ATX_PSU = new FormFactor("ff-atx-psu", "ATX", FormFactorType.PSU);
+    public static final FormFactor M2_2280 = new FormFactor("ff-m2", "M.2 2280", FormFactorType.STORAGE);
+    public static final FormFactor INCH_2_5 = new FormFactor("ff-25", "2.5\"", FormFactorType.STORAGE);
+    public static final StorageInterface NVME = new StorageInterface("si-nvme", "NVMe");
+    public static final StorageInterface SATA = new StorageInterface("si-sata", "SATA III");
+
+    private BenchmarkFixtures() {
+    }
+
+    public static List<StorageInterface> storageInterfaces() {
+        return List.of(NVME, SATA);
+    }
+
+    /**
+     * Component ตัวอย่างหนึ่งชิ้นต่อประเภท (ชื่อประเภทตรงกับ {@code Component.type})
+     */
+    public static Component component(String type, int index) {
+        String id = type + "-" + index;
+        return switch (type) {
+            case "cpu" -> Cpu.builder().id(id).type(type).mpn("100-100000" + index).name("AMD Ryzen 7 7800X3D #" + index)
+                    .description("8-Core, 16-Thread desktop processor").isActive(true).socket(AM5).wattage(120).build();
+            case "motherboard" -> Motherboard.builder().id(id).type(type).mpn("B650-" + index).name("ASUS TUF Gaming B650-PLUS #" + index)
+                    .description("AM5 ATX motherboard").isActive(true).socket(AM5).ramType(DDR5).formFactor(ATX)
+                    .max_ram_gb(192).pcie_x16_slot_count(2).m2_slot_count(3).ram_slot_count(4).sata_port_count(4).wattage(50).build();
+            case "ram" -> RamKit.builder().id(id).type(type).mpn("CMK32GX5M2B6000C30-" + index).name("Corsair Vengeance 32GB #" + index)
+                    .description("2x16GB DDR5-6000").isActive(true).ramType(DDR5).ram_size_gb(32).moduleCount(2).wattage(10).build();
+            case "gpu" -> Gpu.builder().id(id).type(type).mpn("RTX4070-" + index).name("NVIDIA GeForce RTX 4070 #" + index)
+                    .description("12GB GDDR6X").isActive(true).wattage(200).length_mm(300).build();
+            case "psu" -> Psu.builder().id(id).type(type).mpn("RM850x-" + index).name("Corsair RM850x #" + index)
+                    .description("850W 80+ Gold").isActive(true).wattage(850).formFactor(ATX_PSU).build();
+            case "case" -> Case.builder().id(id).type(type).mpn("4000D-" + index).name("Corsair 4000D Airflow #" + index)
+                    .description("Mid-tower ATX case").isActive(true).supportedFormFactors(List.of(ATX, MICRO_ATX))
+                    .supportedPsuFormFactors(List.of(ATX_PSU)).max_gpu_length_mm(360).max_cooler_height_mm(170)
+                    .bays_2_5_inch(2).bays_3_5_inch(2).supportedRadiatorSizesMm(List.of(240, 280, 360)).build();
+            case "cooler" -> Cooler.builder().id(id).type(type).mpn("NH-D15-" + index).name("Noctua NH-D15 #" + index)
+                    .description("Dual-tower air cooler").isActive(true).supportedSockets(List.of(AM5, LGA1700))
+                    .height_mm(165).radiatorSize_mm(0).wattage(5).build();
+            case "storage" -> StorageDrive.builder().id(id).type(type).mpn("MZ-V8P1T0-" + index).name("Samsung 980 PRO 1TB #" + index)
+                    .description("PCIe 4.0 NVMe SSD").isActive(true).storageInterface(NVME).formFactor(M2_2280).capacity_gb(1000).build();
+            default -> throw new IllegalArgumentException("Unknown component type: " + type);
+        };
+    }
+
+    public static List<String> componentTypes() {
+        return List.of("cpu", "motherboard", "ram", "gpu", "psu", "case", "cooler", "storage");
+    }
+
+    /**
+     * Catalog ขนาด {@code size} ชิ้น วนครบทุกประเภท
+     */
+    public static List<Component> catalog(int size) {
+        List<String> types = componentTypes();
+        List<Component> components = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            components.add(component(types.get(i % types.size()), i));
+        }
+        return components;
+    }
+
+    public static Inventory inventory(Component component) {
+        return Inventory.builder().id("inv-" + component.getId()).componentId(component.getId())
+                .quantity(50).price(BigDecimal.valueOf(1_000 + (component.getId().hashCode() & 0x7fff), 2)).build();
+    }
+
+    public static Map<String, Inventory> inventories(List<? extends Component> components) {
+        return components.stream().map(BenchmarkFixtures::inventory)
+                .collect(Collectors.toMap(Inventory::getComponentId, Function.identity()));
+    }
+
+    /**
+     * Build ที่เข้ากันได้ทั้งหมด: 2 RAM kit, 1 GPU, NVMe 2 ตัวและ SATA 1 ตัว
+     */
+    public static ComputerBuild compatibleBuild(String id) {
+        StorageDrive sata = (StorageDrive) component("storage", 99);
+        sata.setStorageInterface(SATA);
+        sata.setFormFactor(INCH_2_5);
+        return ComputerBuild.builder()
+                .id(id).userId(USER_ID).buildName("Gaming build " + id)
+                .cpu((Cpu) component("cpu", 0))
+                .motherboard((Motherboard) component("motherboard", 0))
+                .psu((Psu) component("psu", 0))
+                .caseDetail((Case) component("case", 0))
+                .cooler((Cooler) component("cooler", 0))
+                .ramKits(List.of(new BuildPart<>((RamKit) component("ram", 0), 2)))
+                .gpus(List.of(new BuildPart<>((Gpu) component("gpu", 0), 1)))
+                .storageDrives(List.of(
+                        new BuildPart<>((StorageDrive) component("storage", 0), 2),
+                        new BuildPart<>(sata, 1)))
+                .build();
+    }
+
+    /**
+     * Build ที่ผิดหลายกฎ (Socket ไม่ตรง, RAM เกินช่อง, GPU ยาวเกิน, PSU ไม่พอ) เพื่อวัดเส้นทางที่สร้างข้อความ Error
+     */
+    public static ComputerBuild incompatibleBuild(String id) {
+        ComputerBuild build = compatibleBuild(id);
+        Cpu cpu = build.getCpu();
+        cpu.setSocket(LGA1700);
+        build.setRamKits(List.of(new BuildPart<>((RamKit) component("ram", 1), 3)));
+        Gpu gpu = (Gpu) component("gpu", 1);
+        gpu.setLength_mm(400);
+        gpu.setWattage(450);
+        build.setGpus(List.of(new BuildPart<>(gpu, 2)));
+        build.getPsu().setWattage(550);
+        return build;
+    }
+}
@@ -0,0 +1,146 @@
+package in.project.computers.jmh;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.DBRef;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import in.project.computers.entity.component.Component;
+import in.project.computers.entity.lookup.FormFactor;
+import in.project.computers.entity.lookup.FormFactorType;
+import in.project.computers.entity.lookup.StorageInterface;
+import in.project.computers.util.LookupEmbeddingMigration;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * โหลด Catalog ทั้งหมด ({@code findAll(Component)}) เมื่อ Lookup เป็น {@code @DBRef} เทียบกับหลัง {@link LookupEmbeddingMigration}
+ * <p>
+ * ค่าเริ่มต้นใช้ MongoDB ในหน่วยความจำ (เห็นจำนวน find ที่ต้องยิงต่อการโหลด แต่ไม่มี Network Latency)
+ * วัดกับ MongoDB จริงได้ด้วย {@code -p mongoUri=mongodb://host:27017} ซึ่งจะสร้าง/ลบฐานข้อมูล {@code catalog_load_benchmark} เอง
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CatalogLoadBenchmark {
+
+    private static final String DATABASE = "catalog_load_benchmark";
+
+    /** ว่าง = MongoDB ในหน่วยความจำ */
+    @Param("")
+    public String mongoUri;
+
+    @Param({"300"})
+    public int perType;
+
+    @Param({"dbref", "embedded"})
+    public String layout;
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+
+    @Setup
+    public void setUp() {
+        String uri = mongoUri;
+        if (uri.isEmpty()) {
+            server = new MongoServer(new MemoryBackend());
+            uri = server.bindAndGetConnectionString();
+        }
+        AtomicLong finds = new AtomicLong();
+        CommandListener findCounter = new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                if ("find".equals(event.getCommandName())) {
+                    finds.incrementAndGet();
+                }
+            }
+        };
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .addCommandListener(findCounter)
+                .build());
+        mongoTemplate = new MongoTemplate(client, DATABASE);
+        mongoTemplate.getDb().drop();
+        seed(perType);
+        if ("embedded".equals(layout)) {
+            LookupEmbeddingMigration migration = new LookupEmbeddingMigration(mongoTemplate);
+            ReflectionTestUtils.setField(migration, "batchSize", 500);
+            migration.migrate();
+        }
+
+        long before = finds.get();
+        loadCatalog();
+        System.out.printf("%n%s, %d component(s): %d find command(s) per load%n", layout, perType * 3, finds.get() - before);
+    }
+
+    @TearDown
+    public void tearDown() {
+        mongoTemplate.getDb().drop();
+        client.close();
+        if (server != null) {
+            server.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public List<Component> loadCatalog() {
+        return mongoTemplate.findAll(Component.class);
+    }
+
+    private void seed(int perType) {
+        List<FormFactor> motherboardFormFactors = new ArrayList<>();
+        for (String name : List.of("ATX", "Micro-ATX", "Mini-ITX")) {
+            motherboardFormFactors.add(mongoTemplate.insert(new FormFactor(null, name, FormFactorType.MOTHERBOARD)));
+        }
+        FormFactor psuFormFactor = mongoTemplate.insert(new FormFactor(null, "ATX", FormFactorType.PSU));
+        FormFactor driveFormFactor = mongoTemplate.insert(new FormFactor(null, "M.2 2280", FormFactorType.STORAGE));
+        StorageInterface nvme = mongoTemplate.insert(new StorageInterface(null, "NVMe"));
+
+        String formFactors = mongoTemplate.getCollectionName(FormFactor.class);
+        String interfaces = mongoTemplate.getCollectionName(StorageInterface.class);
+        List<Document> documents = new ArrayList<>(perType * 3);
+        for (int i = 0; i < perType; i++) {
+            documents.add(component("in.project.computers.entity.component.Case", "case", "CASE-" + i)
+                    .append("supportedFormFactors", motherboardFormFactors.stream().map(ff -> ref(formFactors, ff.getId())).toList())
+                    .append("supportedPsuFormFactors", List.of(ref(formFactors, psuFormFactor.getId())))
+                    .append("max_gpu_length_mm", 400).append("max_cooler_height_mm", 170)
+                    .append("bays_2_5_inch", 2).append("bays_3_5_inch", 2)
+                    .append("supportedRadiatorSizesMm", List.of(120, 240, 360)));
+            documents.add(component("in.project.computers.entity.component.Psu", "psu", "PSU-" + i)
+                    .append("wattage", 750)
+                    .append("formFactor", ref(formFactors, psuFormFactor.getId())));
+            documents.add(component("in.project.computers.entity.component.StorageDrive", "storage", "SSD-" + i)
+                    .append("capacity_gb", 1000)
+                    .append("storageInterface", ref(interfaces, nvme.getId()))
+                    .append("formFactor", ref(formFactors, driveFormFactor.getId())));
+        }
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Component.class)).insertMany(documents);
+    }
+
+    private static Document component(String className, String type, String mpn) {
+        return new Document("_class", className)
+                .append("mpn", mpn)
+                .append("isActive", true)
+                .append("type", type)
+                .append("name", type + " " + mpn)
+                .append("description", "Benchmark component");
+    }
+
+    private static DBRef ref(String collection, String id) {
+        return new DBRef(collection, new ObjectId(id));
+    }
+}
@@ -0,0 +1,94 @@
+package in.project.computers.jmh;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import in.project.computers.dto.component.componentResponse.ComponentResponse;
+import in.project.computers.entity.component.Component;
+import in.project.computers.entity.component.Inventory;
+import in.project.computers.repository.ComponentRepo.InventoryRepository;
+import in.project.computers.repository.ComponentRepo.lookup.FormFactorRepository;
+import in.project.computers.repository.ComponentRepo.lookup.RamTypeRepository;
+import in.project.computers.repository.ComponentRepo.lookup.SocketRepository;
+import in.project.computers.repository.ComponentRepo.lookup.StorageInterfaceRepository;
+import in.project.computers.service.componentService.ComponentConverterImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialize Catalog ทั้งหมดในแต่ละรูปแบบที่ Controller ตอบได้ (JSON, JSON+gzip, Smile, CBOR)
+ * ขนาด Payload ของแต่ละรูปแบบพิมพ์ไว้ตอน Setup (JMH ไม่รายงานขนาดผลลัพธ์)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CatalogSerializationBenchmark {
+
+    @Param({"1000", "5000"})
+    public int size;
+
+    @Param({"json", "json+gzip", "smile", "cbor"})
+    public String format;
+
+    private ObjectWriter writer;
+    private boolean gzip;
+    private List<ComponentResponse> responses;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Component> catalog = BenchmarkFixtures.catalog(size);
+        Map<String, Inventory> inventories = BenchmarkFixtures.inventories(catalog);
+        ComponentConverterImpl converter = new ComponentConverterImpl(
+                InMemoryStubs.of(SocketRepository.class).build(),
+                InMemoryStubs.of(RamTypeRepository.class).build(),
+                InMemoryStubs.of(FormFactorRepository.class).build(),
+                InMemoryStubs.of(StorageInterfaceRepository.class).build(),
+                InMemoryStubs.of(InventoryRepository.class).build());
+        ReflectionTestUtils.invokeMethod(converter, "initializeAllConverters");
+        responses = catalog.stream()
+                .map(component -> converter.convertEntityToResponse(component, inventories.get(component.getId())))
+                .toList();
+
+        gzip = format.endsWith("+gzip");
+        writer = writer(switch (format) {
+            case "smile" -> new SmileFactory();
+            case "cbor" -> new CBORFactory();
+            default -> null;
+        });
+        System.out.printf("%n%s, %d components: %d bytes%n", format, size, serialize().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        byte[] body = writer.writeValueAsBytes(responses);
+        return gzip ? gzip(body) : body;
+    }
+
+    private static ObjectWriter writer(JsonFactory factory) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (factory != null) {
+            builder.factory(factory);
+        }
+        ObjectMapper mapper = builder.build();
+        // ชนิดเดียวกับที่ Controller ส่งออก เพื่อให้มี Field "type" แบบ Polymorphic เหมือน Response จริง
+        return mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, ComponentResponse.class));
+    }
+
+    private static byte[] gzip(byte[] raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,57 @@
+package in.project.computers.jmh;
+
+import in.project.computers.dto.builds.CompatibilityResult;
+import in.project.computers.entity.computerBuild.ComputerBuild;
+import in.project.computers.repository.ComponentRepo.lookup.StorageInterfaceRepository;
+import in.project.computers.repository.generalRepo.ComputerBuildRepository;
+import in.project.computers.service.ComponentCompatibility.CompatibilityHelperImpl;
+import in.project.computers.service.ComponentCompatibility.ComponentCompatibilityServiceImpl;
+import in.project.computers.service.userAuthenticationService.UserService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ตรวจความเข้ากันได้ของ Build ทั้งชุด ({@link ComponentCompatibilityServiceImpl#checkCompatibility})
+ * ผ่านกฎทั้งหมดของ {@link CompatibilityHelperImpl} โดย Build ถูกอ่านจาก Repository ในหน่วยความจำ
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompatibilityBenchmark {
+
+    @Param({"compatible", "incompatible"})
+    public String build;
+
+    private ComponentCompatibilityServiceImpl compatibilityService;
+
+    @Setup
+    public void setUp() {
+        Map<String, ComputerBuild> builds = Map.of(
+                "compatible", BenchmarkFixtures.compatibleBuild("compatible"),
+                "incompatible", BenchmarkFixtures.incompatibleBuild("incompatible"));
+        ComputerBuildRepository buildRepository = InMemoryStubs.of(ComputerBuildRepository.class)
+                .on("findById", args -> Optional.ofNullable(builds.get((String) args[0])))
+                .build();
+        StorageInterfaceRepository storageInterfaceRepository = InMemoryStubs.of(StorageInterfaceRepository.class)
+                .on("findByName", args -> BenchmarkFixtures.storageInterfaces().stream()
+                        .filter(si -> si.getName().equals(args[0]))
+                        .findFirst())
+                .on("findAll", args -> BenchmarkFixtures.storageInterfaces())
+                .build();
+        UserService userService = InMemoryStubs.of(UserService.class)
+                .on("findByUserId", args -> BenchmarkFixtures.USER_ID)
+                .build();
+
+        compatibilityService = new ComponentCompatibilityServiceImpl(
+                buildRepository, userService, storageInterfaceRepository, new CompatibilityHelperImpl());
+        compatibilityService.initialize();
+    }
+
+    @Benchmark
+    public CompatibilityResult checkCompatibility() {
+        return compatibilityService.checkCompatibility(build);
+    }
+}
@@ -0,0 +1,59 @@
+package in.project.computers.jmh;
+
+import in.project.computers.dto.component.componentResponse.ComponentResponse;
+import in.project.computers.entity.component.Component;
+import in.project.computers.entity.component.Inventory;
+import in.project.computers.repository.ComponentRepo.InventoryRepository;
+import in.project.computers.repository.ComponentRepo.lookup.FormFactorRepository;
+import in.project.computers.repository.ComponentRepo.lookup.RamTypeRepository;
+import in.project.computers.repository.ComponentRepo.lookup.SocketRepository;
+import in.project.computers.repository.ComponentRepo.lookup.StorageInterfaceRepository;
+import in.project.computers.service.componentService.ComponentConverterImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ComponentConverterImpl#convertEntityToResponse} ต่อประเภท Component
+ * ทั้งแบบส่ง Inventory มาเอง (เส้นทางของ Catalog) และแบบให้ Converter หา Inventory จาก Repository (Stub ในหน่วยความจำ)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ComponentConverterBenchmark {
+
+    @Param({"cpu", "motherboard", "ram", "gpu", "psu", "case", "cooler", "storage"})
+    public String type;
+
+    private ComponentConverterImpl converter;
+    private Component component;
+    private Inventory inventory;
+
+    @Setup
+    public void setUp() {
+        component = BenchmarkFixtures.component(type, 0);
+        inventory = BenchmarkFixtures.inventory(component);
+        InventoryRepository inventoryRepository = InMemoryStubs.of(InventoryRepository.class)
+                .on("findByComponentId", args -> Optional.of(inventory))
+                .build();
+        converter = new ComponentConverterImpl(
+                InMemoryStubs.of(SocketRepository.class).build(),
+                InMemoryStubs.of(RamTypeRepository.class).build(),
+                InMemoryStubs.of(FormFactorRepository.class).build(),
+                InMemoryStubs.of(StorageInterfaceRepository.class).build(),
+                inventoryRepository);
+        ReflectionTestUtils.invokeMethod(converter, "initializeAllConverters");
+    }
+
+    @Benchmark
+    public ComponentResponse withPreloadedInventory() {
+        return converter.convertEntityToResponse(component, inventory);
+    }
+
+    @Benchmark
+    public ComponentResponse withInventoryLookup() {
+        return converter.convertEntityToResponse(component);
+    }
+}
@@ -0,0 +1,60 @@
+package in.project.computers.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import in.project.computers.dto.component.componentResponse.ComponentResponse;
+import in.project.computers.entity.component.Component;
+import in.project.computers.entity.component.Inventory;
+import in.project.computers.repository.ComponentRepo.InventoryRepository;
+import in.project.computers.repository.ComponentRepo.lookup.FormFactorRepository;
+import in.project.computers.repository.ComponentRepo.lookup.RamTypeRepository;
+import in.project.computers.repository.ComponentRepo.lookup.SocketRepository;
+import in.project.computers.repository.ComponentRepo.lookup.StorageInterfaceRepository;
+import in.project.computers.service.componentService.ComponentConverterImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialize รายการ {@link ComponentResponse} แบบ Polymorphic (ชนิดเดียวกับที่ Controller ส่งออก มี Field "type")
+ * ด้วย ObjectMapper ที่ตั้งค่าแบบเดียวกับ Spring Boot
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ComponentSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private List<ComponentResponse> responses;
+
+    @Setup
+    public void setUp() {
+        List<Component> catalog = BenchmarkFixtures.catalog(size);
+        Map<String, Inventory> inventories = BenchmarkFixtures.inventories(catalog);
+        ComponentConverterImpl converter = new ComponentConverterImpl(
+                InMemoryStubs.of(SocketRepository.class).build(),
+                InMemoryStubs.of(RamTypeRepository.class).build(),
+                InMemoryStubs.of(FormFactorRepository.class).build(),
+                InMemoryStubs.of(StorageInterfaceRepository.class).build(),
+                InMemoryStubs.of(InventoryRepository.class).build());
+        ReflectionTestUtils.invokeMethod(converter, "initializeAllConverters");
+        responses = catalog.stream()
+                .map(component -> converter.convertEntityToResponse(component, inventories.get(component.getId())))
+                .toList();
+
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, ComponentResponse.class));
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return writer.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,53 @@
+package in.project.computers.jmh;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * สร้าง Stub ของ Interface (Repository, Service) ที่ตอบจากข้อมูลในหน่วยความจำ โดยไม่ใช้ Mock Framework
+ * <p>
+ * กำหนดผลลัพธ์เป็นรายชื่อ Method; Method ที่ไม่ได้กำหนดจะโยน {@link UnsupportedOperationException}
+ * เพื่อให้ Benchmark ล้มทันทีถ้าโค้ดที่วัดเริ่มเรียก Repository เพิ่ม (เช่น N+1 ใหม่)
+ * </p>
+ */
+public final class InMemoryStubs<T> {
+
+    private final Class<T> type;
+    private final Map<String, Function<Object[], Object>> answers = new HashMap<>();
+
+    private InMemoryStubs(Class<T> type) {
+        this.type = type;
+    }
+
+    public static <T> InMemoryStubs<T> of(Class<T> type) {
+        return new InMemoryStubs<>(type);
+    }
+
+    public InMemoryStubs<T> on(String methodName, Function<Object[], Object> answer) {
+        answers.put(methodName, answer);
+        return this;
+    }
+
+    public T build() {
+        Map<String, Function<Object[], Object>> methods = Map.copyOf(answers);
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            switch (method.getName()) {
+                case "toString":
+                    return "InMemoryStub(" + type.getSimpleName() + ")";
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "equals":
+                    return self == args[0];
+                default:
+                    Function<Object[], Object> answer = methods.get(method.getName());
+                    if (answer == null) {
+                        throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+                    }
+                    return answer.apply(args == null ? new Object[0] : args);
+            }
+        });
+        return type.cast(proxy);
+    }
+}
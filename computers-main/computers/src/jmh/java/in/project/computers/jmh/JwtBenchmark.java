@@ -0,0 +1,44 @@
+package in.project.computers.jmh;
+
+import in.project.computers.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * สร้างและตรวจสอบ JWT ด้วย {@link JwtUtil} (HMAC-SHA) ซึ่งเกิดขึ้นทุก Request ที่ยืนยันตัวตน
+ * {@code validate} คืองานทั้งหมดของ {@code JwtAuthenticationFilter} ยกเว้นการตรวจรายการเพิกถอน (ไม่มีการอ่าน Database)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "SECRET_KEY", "benchmark-secret-key-that-is-at-least-256-bits-long!!");
+        userDetails = new User("customer@example.com", "{noop}password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = jwtUtil.generateToken(userDetails, "benchmark-session");
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken(userDetails, "benchmark-session");
+    }
+
+    @Benchmark
+    public UserDetails validate() {
+        return jwtUtil.toUserDetails(jwtUtil.parseToken(token));
+    }
+}
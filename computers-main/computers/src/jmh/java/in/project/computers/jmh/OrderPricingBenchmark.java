@@ -0,0 +1,108 @@
+package in.project.computers.jmh;
+
+import in.project.computers.dto.order.CreateOrderRequest;
+import in.project.computers.entity.component.Component;
+import in.project.computers.entity.component.Inventory;
+import in.project.computers.entity.computerBuild.ComputerBuild;
+import in.project.computers.entity.order.Order;
+import in.project.computers.entity.order.PaymentMethod;
+import in.project.computers.entity.user.UserEntity;
+import in.project.computers.repository.ComponentRepo.ComponentRepository;
+import in.project.computers.repository.ComponentRepo.InventoryRepository;
+import in.project.computers.repository.generalRepo.ComputerBuildRepository;
+import in.project.computers.repository.generalRepo.OrderRepository;
+import in.project.computers.service.PaypalService.PaypalService;
+import in.project.computers.service.orderService.OrderHelperServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * สร้าง Order พร้อมคำนวณราคา Line Item ({@link OrderHelperServiceImpl#createAndValidateBaseOrder})
+ * จากตะกร้าที่มี Build และ Component เดี่ยวปนกัน โดย Repository ทั้งหมดเป็น Stub ในหน่วยความจำ
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderPricingBenchmark {
+
+    @Param({"5", "50"})
+    public int componentLines;
+
+    private OrderHelperServiceImpl orderHelper;
+    private CreateOrderRequest request;
+    private UserEntity user;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        List<Component> catalog = new ArrayList<>(BenchmarkFixtures.catalog(componentLines));
+        ComputerBuild build = BenchmarkFixtures.compatibleBuild("build-1");
+        addBuildComponents(catalog, build);
+
+        Map<String, Component> components = catalog.stream()
+                .collect(Collectors.toMap(Component::getId, Function.identity(), (a, b) -> a));
+        Map<String, Inventory> inventories = BenchmarkFixtures.inventories(List.copyOf(components.values()));
+
+        ComponentRepository componentRepository = InMemoryStubs.of(ComponentRepository.class)
+                .on("findAllById", args -> findAll((Iterable<String>) args[0], components))
+                .build();
+        InventoryRepository inventoryRepository = InMemoryStubs.of(InventoryRepository.class)
+                .on("findAllByComponentIdIn", args -> findAll((List<String>) args[0], inventories))
+                .build();
+        ComputerBuildRepository buildRepository = InMemoryStubs.of(ComputerBuildRepository.class)
+                .on("findAllById", args -> findAll((Iterable<String>) args[0], Map.of(build.getId(), build)))
+                .build();
+
+        orderHelper = new OrderHelperServiceImpl(componentRepository, inventoryRepository, buildRepository,
+                InMemoryStubs.of(OrderRepository.class).build(), InMemoryStubs.of(PaypalService.class).build(),
+                null, event -> {
+        }, null);
+        ReflectionTestUtils.setField(orderHelper, "currency", "THB");
+
+        Map<String, Integer> componentItems = new LinkedHashMap<>();
+        BenchmarkFixtures.catalog(componentLines).forEach(component -> componentItems.put(component.getId(), 1));
+        request = new CreateOrderRequest();
+        request.setComponentItems(componentItems);
+        request.setBuildItems(Map.of(build.getId(), 1));
+        request.setUserAddress("99 Sukhumvit Rd, Bangkok");
+        request.setPhoneNumber("0812345678");
+        request.setPaymentMethod(PaymentMethod.PAYPAL);
+
+        user = new UserEntity();
+        user.setId(BenchmarkFixtures.USER_ID);
+        user.setEmail("customer@example.com");
+    }
+
+    @Benchmark
+    public Order priceOrder() {
+        return orderHelper.createAndValidateBaseOrder(request, user);
+    }
+
+    private static void addBuildComponents(List<Component> catalog, ComputerBuild build) {
+        catalog.addAll(List.of(build.getCpu(), build.getMotherboard(), build.getPsu(), build.getCaseDetail(), build.getCooler()));
+        build.getRamKits().forEach(part -> catalog.add(part.getComponent()));
+        build.getGpus().forEach(part -> catalog.add(part.getComponent()));
+        build.getStorageDrives().forEach(part -> catalog.add(part.getComponent()));
+    }
+
+    /**
+     * เหมือน Query {@code $in}: Id ที่ซ้ำกันได้เอกสารเดียว
+     */
+    private static <T> List<T> findAll(Iterable<String> ids, Map<String, T> store) {
+        Set<String> distinctIds = new LinkedHashSet<>();
+        ids.forEach(distinctIds::add);
+        List<T> found = new ArrayList<>();
+        for (String id : distinctIds) {
+            T value = store.get(id);
+            if (value != null) {
+                found.add(value);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,23 @@
+package in.project.computers.load;
+
+import java.time.Duration;
+
+/**
+ * หน่วงเวลาเพื่อจำลองการเรียก Service ภายนอกผ่านเครือข่าย
+ */
+final class FakeLatency {
+
+    private FakeLatency() {
+    }
+
+    static void pause(Duration latency) {
+        if (latency.isZero() || latency.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package in.project.computers.load;
+
+import com.paypal.api.payments.*;
+import in.project.computers.service.PaypalService.PaypalService;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PayPal ปลอมสำหรับ Load Test
+ * <p>
+ * {@code approval_url} ชี้ตรงไปยัง {@code successUrl} พร้อม {@code paymentId} และ {@code PayerID}
+ * เหมือนกับที่ PayPal Redirect กลับมาหลังผู้ใช้กดอนุมัติ ทุก Payment ที่ Execute จะได้สถานะ "approved"
+ * </p>
+ * <p>
+ * จำลอง Access Token Cache ของ SDK ด้วย: ทุกการเรียกเข้า {@code synchronized} บน Lock ร่วม
+ * และเมื่อ Token หมดอายุ ({@code tokenLifetime}) จะขอ Token ใหม่ (รอ {@code latency}) ภายใน Block นั้น
+ * เหมือน {@code OAuthTokenCredential.getAccessToken()} ซึ่งทำให้ Virtual Thread ถูก Pin
+ * </p>
+ */
+@RequiredArgsConstructor
+class FakePaypalService implements PaypalService {
+
+    static final String PAYER_ID = "LOADTESTPAYER";
+
+    private static final Object TOKEN_LOCK = new Object();
+
+    private final Duration latency;
+    private final Duration tokenLifetime;
+    private long tokenExpiresAt = System.nanoTime();
+    private final Set<String> executed = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Payment createPayment(BigDecimal total, String currency, String intent, String description,
+                                 String cancelUrl, String successUrl) {
+        accessToken();
+        FakeLatency.pause(latency);
+        String paymentId = "PAYID-" + UUID.randomUUID();
+        Payment payment = new Payment();
+        payment.setId(paymentId);
+        payment.setIntent(intent);
+        payment.setState("created");
+        payment.setLinks(List.of(
+                new Links(successUrl + "?paymentId=" + paymentId + "&PayerID=" + PAYER_ID, "approval_url")));
+        return payment;
+    }
+
+    @Override
+    public Payment executePayment(String paymentId, String payerId) {
+        accessToken();
+        FakeLatency.pause(latency);
+        executed.add(paymentId);
+        return approved(paymentId, payerId);
+    }
+
+    @Override
+    public Payment getPayment(String paymentId) {
+        accessToken();
+        FakeLatency.pause(latency);
+        if (executed.contains(paymentId)) {
+            return approved(paymentId, PAYER_ID);
+        }
+        Payment payment = new Payment();
+        payment.setId(paymentId);
+        payment.setState("created");
+        return payment;
+    }
+
+    private static Payment approved(String paymentId, String payerId) {
+        PayerInfo payerInfo = new PayerInfo();
+        payerInfo.setPayerId(payerId);
+        payerInfo.setEmail(payerId.toLowerCase() + "@load.test");
+        Payer payer = new Payer();
+        payer.setPaymentMethod("paypal");
+        payer.setPayerInfo(payerInfo);
+        Payment payment = new Payment();
+        payment.setId(paymentId);
+        payment.setState("approved");
+        payment.setPayer(payer);
+        return payment;
+    }
+
+    @Override
+    public Refund refundPayment(String saleId, BigDecimal amount, String currency) {
+        accessToken();
+        FakeLatency.pause(latency);
+        Refund refund = new Refund();
+        refund.setId("REFUND-" + UUID.randomUUID());
+        refund.setSaleId(saleId);
+        refund.setState("completed");
+        return refund;
+    }
+
+    private void accessToken() {
+        synchronized (TOKEN_LOCK) {
+            if (System.nanoTime() - tokenExpiresAt >= 0) {
+                FakeLatency.pause(latency);
+                tokenExpiresAt = System.nanoTime() + tokenLifetime.toNanos();
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package in.project.computers.load;
+
+import in.project.computers.service.AWSS3Bucket.S3Service;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * S3 ปลอมสำหรับ Load Test: เก็บไฟล์ไว้ใน Memory และคืน URL รูปแบบเดียวกับ {@code S3ServiceImpl}
+ */
+@RequiredArgsConstructor
+class FakeS3Service implements S3Service {
+
+    private static final String URL_PREFIX = "https://load-test.s3.amazonaws.com/";
+
+    private final Duration latency;
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    @Override
+    public String uploadFile(MultipartFile file) {
+        String originalFilename = Objects.requireNonNull(file.getOriginalFilename());
+        String key = UUID.randomUUID() + originalFilename.substring(Math.max(originalFilename.lastIndexOf('.'), 0));
+        try {
+            objects.put(key, file.getBytes());
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "An error occurred while uploading the file", e);
+        }
+        FakeLatency.pause(latency);
+        return URL_PREFIX + key;
+    }
+
+    @Override
+    public boolean deleteFile(String filename) {
+        FakeLatency.pause(latency);
+        objects.remove(filename.startsWith(URL_PREFIX) ? filename.substring(URL_PREFIX.length()) : filename);
+        return true;
+    }
+}
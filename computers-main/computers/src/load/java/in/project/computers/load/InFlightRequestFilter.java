@@ -0,0 +1,74 @@
+package in.project.computers.load;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * นับ Request ที่แอปกำลังประมวลผลอยู่จริง (ได้ Thread แล้ว) และค่าสูงสุดที่เคยเกิดขึ้น
+ * <p>
+ * Request ที่รอ Thread ว่างอยู่ในคิวของ Tomcat ยังไม่ถูกนับ ค่าสูงสุดจึงบอกได้ว่าโหมด Thread รองรับงานพร้อมกันได้เท่าไร
+ * (Platform Thread ถูกจำกัดที่ {@code server.tomcat.threads.max})
+ * Checkout คือ Request ของ {@code /api/orders} (สร้าง Order กับ PayPal และ Capture) ซึ่งรอ PayPal เป็นส่วนใหญ่
+ * </p>
+ */
+@Component
+@Profile("load")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+class InFlightRequestFilter extends OncePerRequestFilter {
+
+    private static final String CHECKOUT_PATH = "/api/orders";
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final AtomicInteger checkoutsInFlight = new AtomicInteger();
+    private final AtomicInteger peakCheckoutsInFlight = new AtomicInteger();
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        boolean checkout = request.getRequestURI().startsWith(CHECKOUT_PATH) && !"GET".equals(request.getMethod())
+                || request.getRequestURI().startsWith(CHECKOUT_PATH + "/capture/");
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        if (checkout) {
+            peakCheckoutsInFlight.accumulateAndGet(checkoutsInFlight.incrementAndGet(), Math::max);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            inFlight.decrementAndGet();
+            if (checkout) {
+                checkoutsInFlight.decrementAndGet();
+            }
+        }
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    int peakInFlight() {
+        return peakInFlight.get();
+    }
+
+    int peakCheckoutsInFlight() {
+        return peakCheckoutsInFlight.get();
+    }
+
+    void resetPeaks() {
+        peakInFlight.set(inFlight.get());
+        peakCheckoutsInFlight.set(checkoutsInFlight.get());
+    }
+}
@@ -0,0 +1,79 @@
+package in.project.computers.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * เก็บ Latency ทุก Request แยกตาม Endpoint (รูปแบบ Path เช่น {@code GET /api/components/{id}})
+ * และคำนวณ Percentile แบบ Nearest-rank จากค่าจริงทั้งหมดตอนสรุปผล
+ */
+class LatencyRecorder {
+
+    private final Map<String, Samples> samplesByEndpoint = new ConcurrentHashMap<>();
+    private volatile boolean recording = true;
+
+    void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    void record(String endpoint, long elapsedNanos, boolean success) {
+        if (recording) {
+            samplesByEndpoint.computeIfAbsent(endpoint, key -> new Samples()).add(elapsedNanos, success);
+        }
+    }
+
+    /**
+     * @param elapsedSeconds เวลาที่ใช้วัดผลทั้งหมด ใช้คำนวณ Throughput
+     */
+    Map<String, LoadReport.EndpointStats> summarize(double elapsedSeconds) {
+        Map<String, LoadReport.EndpointStats> result = new LinkedHashMap<>();
+        samplesByEndpoint.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> result.put(entry.getKey(), entry.getValue().summarize(elapsedSeconds)));
+        return result;
+    }
+
+    private static final class Samples {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void add(long elapsedNanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = elapsedNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized LoadReport.EndpointStats summarize(double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new LoadReport.EndpointStats(
+                    count,
+                    errors,
+                    elapsedSeconds > 0 ? Math.round(count / elapsedSeconds * 100) / 100.0 : 0,
+                    millis(percentile(sorted, 50)),
+                    millis(percentile(sorted, 95)),
+                    millis(percentile(sorted, 99)),
+                    millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.clamp(rank - 1, 0, sorted.length - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 10_000.0) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package in.project.computers.load;
+
+import in.project.computers.entity.component.*;
+import in.project.computers.entity.lookup.*;
+import in.project.computers.event.CatalogChangedEvent;
+import in.project.computers.repository.ComponentRepo.ComponentRepository;
+import in.project.computers.repository.ComponentRepo.InventoryRepository;
+import in.project.computers.repository.ComponentRepo.lookup.FormFactorRepository;
+import in.project.computers.repository.ComponentRepo.lookup.RamTypeRepository;
+import in.project.computers.repository.ComponentRepo.lookup.SocketRepository;
+import in.project.computers.repository.ComponentRepo.lookup.StorageInterfaceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * สร้าง Catalog สำหรับ Load Test จาก Lookup ที่ {@code DataLoader} สร้างไว้
+ * ทุกชิ้นเข้ากันได้ (AM5 / DDR5 / ATX / NVMe) เพื่อให้ทุก Journey สั่งซื้อได้จริง และมีสต็อกพอสำหรับการรันทั้งหมด
+ */
+@Component
+@Profile("load")
+@RequiredArgsConstructor
+@Slf4j
+class LoadCatalogSeeder {
+
+    static final List<String> COMPONENT_TYPES = List.of("cpu", "motherboard", "ram", "gpu", "psu", "case", "cooler", "storage");
+
+    private static final int STOCK_PER_COMPONENT = 1_000_000;
+
+    private final ComponentRepository componentRepository;
+    private final InventoryRepository inventoryRepository;
+    private final SocketRepository socketRepository;
+    private final RamTypeRepository ramTypeRepository;
+    private final FormFactorRepository formFactorRepository;
+    private final StorageInterfaceRepository storageInterfaceRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.load.catalog-size-per-type:50}")
+    private int catalogSizePerType;
+
+    /**
+     * @return จำนวน Component ที่สร้าง
+     */
+    int seed() {
+        Socket am5 = socketRepository.findByName("AM5").orElseThrow();
+        Socket lga1700 = socketRepository.findByName("LGA1700").orElseThrow();
+        RamType ddr5 = ramTypeRepository.findByName("DDR5").orElseThrow();
+        FormFactor atx = formFactorRepository.findByNameAndType("ATX", FormFactorType.MOTHERBOARD).orElseThrow();
+        FormFactor microAtx = formFactorRepository.findByNameAndType("Micro-ATX", FormFactorType.MOTHERBOARD).orElseThrow();
+        FormFactor atxPsu = formFactorRepository.findByNameAndType("ATX", FormFactorType.PSU).orElseThrow();
+        FormFactor m2 = formFactorRepository.findByNameAndType("M.2 2280", FormFactorType.STORAGE).orElseThrow();
+        StorageInterface nvme = storageInterfaceRepository.findByName("NVMe").orElseThrow();
+
+        List<in.project.computers.entity.component.Component> components = new ArrayList<>();
+        for (int i = 0; i < catalogSizePerType; i++) {
+            components.add(Cpu.builder().type("cpu").mpn("LOAD-CPU-" + i).name("AMD Ryzen 7 7800X3D #" + i)
+                    .description("8-Core, 16-Thread desktop processor").isActive(true).socket(am5).wattage(120).build());
+            components.add(Motherboard.builder().type("motherboard").mpn("LOAD-MB-" + i).name("ASUS TUF Gaming B650-PLUS #" + i)
+                    .description("AM5 ATX motherboard").isActive(true).socket(am5).ramType(ddr5).formFactor(atx)
+                    .max_ram_gb(192).pcie_x16_slot_count(2).m2_slot_count(3).ram_slot_count(4).sata_port_count(4).wattage(50).build());
+            components.add(RamKit.builder().type("ram").mpn("LOAD-RAM-" + i).name("Corsair Vengeance 32GB #" + i)
+                    .description("2x16GB DDR5-6000").isActive(true).ramType(ddr5).ram_size_gb(32).moduleCount(2).wattage(10).build());
+            components.add(Gpu.builder().type("gpu").mpn("LOAD-GPU-" + i).name("NVIDIA GeForce RTX 4070 #" + i)
+                    .description("12GB GDDR6X").isActive(true).wattage(200).length_mm(300).build());
+            components.add(Psu.builder().type("psu").mpn("LOAD-PSU-" + i).name("Corsair RM850x #" + i)
+                    .description("850W 80+ Gold").isActive(true).wattage(850).formFactor(atxPsu).build());
+            components.add(Case.builder().type("case").mpn("LOAD-CASE-" + i).name("Corsair 4000D Airflow #" + i)
+                    .description("Mid-tower ATX case").isActive(true).supportedFormFactors(List.of(atx, microAtx))
+                    .supportedPsuFormFactors(List.of(atxPsu)).max_gpu_length_mm(360).max_cooler_height_mm(170)
+                    .bays_2_5_inch(2).bays_3_5_inch(2).supportedRadiatorSizesMm(List.of(240, 280, 360)).build());
+            components.add(Cooler.builder().type("cooler").mpn("LOAD-COOLER-" + i).name("Noctua NH-D15 #" + i)
+                    .description("Dual-tower air cooler").isActive(true).supportedSockets(List.of(am5, lga1700))
+                    .height_mm(165).radiatorSize_mm(0).wattage(5).build());
+            components.add(StorageDrive.builder().type("storage").mpn("LOAD-SSD-" + i).name("Samsung 980 PRO 1TB #" + i)
+                    .description("PCIe 4.0 NVMe SSD").isActive(true).storageInterface(nvme).formFactor(m2).capacity_gb(1000).build());
+        }
+        List<in.project.computers.entity.component.Component> saved = componentRepository.saveAll(components);
+        inventoryRepository.saveAll(saved.stream()
+                .map(component -> Inventory.builder()
+                        .componentId(component.getId())
+                        .quantity(STOCK_PER_COMPONENT)
+                        .price(BigDecimal.valueOf(1_000 + (component.getMpn().hashCode() & 0x7fff)))
+                        .build())
+                .toList());
+
+        // ให้ Cache, Search Index และ Catalog Snapshot โหลดข้อมูลใหม่เหมือนการนำเข้าข้อมูลจริง
+        eventPublisher.publishEvent(CatalogChangedEvent.all());
+        log.info("Seeded {} components ({} per type) with inventory.", saved.size(), catalogSizePerType);
+        return saved.size();
+    }
+}
@@ -0,0 +1,382 @@
+package in.project.computers.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.project.computers.dto.builds.ComputerBuildRequest;
+import in.project.computers.dto.order.CreateOrderRequest;
+import in.project.computers.dto.user.AuthenticationRequest;
+import in.project.computers.dto.user.UserRequest;
+import in.project.computers.entity.order.PaymentMethod;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntPredicate;
+
+/**
+ * <h3>Load Driver</h3>
+ * <p>
+ * ผู้ใช้จำลองหนึ่งคนต่อหนึ่ง Virtual Thread ยิง HTTP จริงเข้าแอปที่รันอยู่ (ผ่าน Security, Filter และ Serialization ครบ)
+ * ผู้ใช้แต่ละคนลงทะเบียนและล็อกอินหนึ่งครั้ง แล้วทำ Journey ซ้ำ:
+ * ดู Catalog → ค้นหา → ดูสินค้า → บันทึก Build → ตรวจความเข้ากันได้ → สั่งซื้อ (PayPal) → กลับจาก PayPal (Capture) → ดูรายการ Order
+ * </p>
+ * <p>
+ * Scenario {@code checkout} ({@code app.load.scenario}) ดู Catalog ครั้งเดียวแล้วทำเฉพาะ สั่งซื้อ (PayPal) → Capture ซ้ำ
+ * ซึ่งเกือบทั้งหมดคือการรอ PayPal ใช้เทียบจำนวน Checkout พร้อมกันสูงสุดและหน่วยความจำต่อ Request
+ * ระหว่าง {@code spring.threads.virtual.enabled=true} กับ {@code false} (ดู {@link ResourceSampler})
+ * </p>
+ * <p>
+ * รอบ Warm-up ใช้ผู้ใช้ชุดแยกและไม่ถูกนับในผล ถ้า Request ใดล้มเหลว Journey นั้นจะหยุดและนับเป็น Journey ที่ล้มเหลว
+ * </p>
+ */
+@Component
+@Profile("load")
+@RequiredArgsConstructor
+@Slf4j
+class LoadDriver {
+
+    static final String SCENARIO_JOURNEY = "journey";
+    static final String SCENARIO_CHECKOUT = "checkout";
+
+    private static final List<String> SEARCH_TERMS = List.of("ryzen", "rtx 4070", "ddr5", "corsair", "nvme ssd", "noctua", "b650", "850w");
+
+    private final ObjectMapper objectMapper;
+    private final ResourceSampler resourceSampler;
+
+    @Value("${app.load.scenario:" + SCENARIO_JOURNEY + "}")
+    private String scenario;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.load.users:50}")
+    private int users;
+
+    @Value("${app.load.journeys-per-user:20}")
+    private int journeysPerUser;
+
+    @Value("${app.load.warmup-journeys-per-user:2}")
+    private int warmupJourneysPerUser;
+
+    /**
+     * ลงทะเบียน/ล็อกอินพร้อมกันได้ไม่เกินเท่านี้ (BCrypt ใช้ CPU สูง ถ้าให้ผู้ใช้หลายร้อยคนทำพร้อมกัน Request จะ Timeout)
+     */
+    @Value("${app.load.sign-in-concurrency:#{T(java.lang.Runtime).getRuntime().availableProcessors() * 2}}")
+    private int signInConcurrency;
+
+    @Value("${app.load.request-timeout:30s}")
+    private Duration requestTimeout;
+
+    LoadReport run(String baseUrl) {
+        if (!SCENARIO_JOURNEY.equals(scenario) && !SCENARIO_CHECKOUT.equals(scenario)) {
+            throw new IllegalArgumentException("Unknown app.load.scenario '" + scenario + "' (expected journey or checkout)");
+        }
+        LatencyRecorder recorder = new LatencyRecorder();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .followRedirects(HttpClient.Redirect.NEVER)
+                     .connectTimeout(requestTimeout)
+                     .executor(executor)
+                     .build()) {
+            resourceSampler.captureBaseline();
+            if (warmupJourneysPerUser > 0) {
+                log.info("Warming up: {} users x {} journeys...", users, warmupJourneysPerUser);
+                recorder.setRecording(false);
+                runPhase("warmup", warmupJourneysPerUser, new Session(client, baseUrl, recorder));
+                recorder.setRecording(true);
+            }
+
+            log.info("Measuring ({} scenario, {} threads): {} users x {} journeys...", scenario, threadMode(), users, journeysPerUser);
+            Session session = new Session(client, baseUrl, recorder);
+            resourceSampler.start();
+            long start = System.nanoTime();
+            runPhase("run", journeysPerUser, session);
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            LoadReport.ConcurrencyStats concurrency = resourceSampler.stop();
+
+            long completed = session.journeysCompleted.get();
+            return new LoadReport(scenario, threadMode(), users, completed, session.journeysFailed.get(),
+                    Math.round(elapsedSeconds * 100) / 100.0, Math.round(completed / elapsedSeconds * 100) / 100.0,
+                    concurrency, recorder.summarize(elapsedSeconds));
+        }
+    }
+
+    // =========================================================================
+    // SECTION: Journeys
+    // =========================================================================
+
+    private void runPhase(String phase, int journeys, Session session) {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        Semaphore signIns = new Semaphore(signInConcurrency);
+        CountDownLatch signedIn = new CountDownLatch(users);
+        try (ExecutorService userThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                String email = "load-" + phase + "-" + runId + "-" + i + "@load.test";
+                userThreads.submit(() -> runUser(session, email, journeys, signIns, signedIn));
+            }
+        }
+    }
+
+    /**
+     * ผู้ใช้ทุกคนเริ่ม Journey พร้อมกันหลังทุกคนล็อกอินเสร็จ ({@code signedIn}) เพื่อให้ได้จำนวนผู้ใช้พร้อมกันครบตาม {@code app.load.users}
+     */
+    private void runUser(Session session, String email, int journeys, Semaphore signIns, CountDownLatch signedIn) {
+        VirtualUser user = new VirtualUser(email);
+        try {
+            signIns.acquire();
+            try {
+                register(session, user);
+                login(session, user);
+            } finally {
+                signIns.release();
+            }
+            if (SCENARIO_CHECKOUT.equals(scenario)) {
+                browseCatalog(session, user);
+            }
+        } catch (JourneyFailedException e) {
+            log.warn("User {} could not sign in: {}", email, e.getMessage());
+            session.journeysFailed.addAndGet(journeys);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } finally {
+            signedIn.countDown();
+        }
+        try {
+            signedIn.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        for (int i = 0; i < journeys; i++) {
+            try {
+                if (SCENARIO_CHECKOUT.equals(scenario)) {
+                    checkout(session, user, Map.of(randomOfType(user, "cpu"), 1, randomOfType(user, "gpu"), 1), Map.of());
+                } else {
+                    runJourney(session, user);
+                }
+                session.journeysCompleted.incrementAndGet();
+            } catch (JourneyFailedException e) {
+                log.debug("Journey of {} failed: {}", email, e.getMessage());
+                session.journeysFailed.incrementAndGet();
+            }
+        }
+    }
+
+    private void runJourney(Session session, VirtualUser user) {
+        browseCatalog(session, user);
+
+        String query = URLEncoder.encode(random(SEARCH_TERMS), StandardCharsets.UTF_8);
+        session.send("GET /api/components/search", get(session, "/api/components/search?q=" + query + "&limit=20", user), LoadDriver::isOk);
+
+        String componentId = random(user.componentIdsByType.get(random(LoadCatalogSeeder.COMPONENT_TYPES)));
+        session.send("GET /api/components/{id}", get(session, "/api/components/" + componentId, user), LoadDriver::isOk);
+
+        ComputerBuildRequest buildRequest = ComputerBuildRequest.builder()
+                .buildName("Load build " + UUID.randomUUID())
+                .cpuId(randomOfType(user, "cpu"))
+                .motherboardId(randomOfType(user, "motherboard"))
+                .psuId(randomOfType(user, "psu"))
+                .caseId(randomOfType(user, "case"))
+                .coolerId(randomOfType(user, "cooler"))
+                .ramKits(Map.of(randomOfType(user, "ram"), 2))
+                .gpus(Map.of(randomOfType(user, "gpu"), 1))
+                .storageDrives(Map.of(randomOfType(user, "storage"), 1))
+                .build();
+        String buildId = session.json(session.send("POST /api/builds", post(session, "/api/builds", buildRequest, user), LoadDriver::isOk))
+                .path("id").asText();
+
+        session.send("GET /api/builds/check/{id}", get(session, "/api/builds/check/" + buildId, user), LoadDriver::isOk);
+
+        checkout(session, user, Map.of(), Map.of(buildId, 1));
+
+        session.send("GET /api/orders", get(session, "/api/orders", user), LoadDriver::isOk);
+    }
+
+    /**
+     * สั่งซื้อด้วย PayPal แล้วกลับมาที่ successUrl เหมือน Browser ของผู้ใช้หลังอนุมัติ (Capture)
+     */
+    private void checkout(Session session, VirtualUser user, Map<String, Integer> components, Map<String, Integer> builds) {
+        CreateOrderRequest orderRequest = new CreateOrderRequest(
+                components, builds, "99/1 Load Test Road, Bangkok 10110", "0812345678", PaymentMethod.PAYPAL);
+        HttpRequest createOrder = session.request("/api/orders", user)
+                .header("Idempotency-Key", UUID.randomUUID().toString())
+                .POST(session.body(orderRequest))
+                .build();
+        String approvalLink = session.json(session.send("POST /api/orders", createOrder, LoadDriver::isOk))
+                .path("approvalLink").asText();
+
+        // Browser ของผู้ใช้ถูก PayPal Redirect กลับมาที่ successUrl แล้วแอป Redirect ต่อไปยังหน้า Frontend
+        URI approval = URI.create(approvalLink);
+        HttpResponse<String> capture = session.send("GET /api/orders/capture/{id}",
+                session.request(approval.getRawPath() + "?" + approval.getRawQuery(), null).GET().build(), status -> status == 302);
+        String location = capture.headers().firstValue("Location").orElse("");
+        if (!location.contains("payment-successful")) {
+            throw new JourneyFailedException("Capture redirected to " + location);
+        }
+    }
+
+    private void register(Session session, VirtualUser user) {
+        UserRequest request = UserRequest.builder().name("Load User").email(user.email).password(user.password).build();
+        session.send("POST /api/register", post(session, "/api/register", request, null), LoadDriver::isOk);
+    }
+
+    private void login(Session session, VirtualUser user) {
+        HttpResponse<String> response = session.send("POST /api/login",
+                post(session, "/api/login", new AuthenticationRequest(user.email, user.password), null), LoadDriver::isOk);
+        user.token = session.json(response).path("token").asText();
+    }
+
+    /**
+     * ดู Catalog ทั้งหมดโดยส่ง If-None-Match เหมือน Browser (304 เมื่อ Catalog ไม่เปลี่ยน)
+     */
+    private void browseCatalog(Session session, VirtualUser user) {
+        HttpRequest.Builder request = session.request("/api/components", user).GET();
+        if (user.catalogEtag != null) {
+            request.header("If-None-Match", user.catalogEtag);
+        }
+        HttpResponse<String> response = session.send("GET /api/components", request.build(), status -> isOk(status) || status == 304);
+        if (response.statusCode() == 304) {
+            return;
+        }
+        Map<String, List<String>> idsByType = new HashMap<>();
+        for (JsonNode component : session.json(response)) {
+            idsByType.computeIfAbsent(component.path("type").asText(), type -> new ArrayList<>()).add(component.path("id").asText());
+        }
+        if (!idsByType.keySet().containsAll(LoadCatalogSeeder.COMPONENT_TYPES)) {
+            throw new JourneyFailedException("Catalog is missing component types: " + idsByType.keySet());
+        }
+        user.componentIdsByType = idsByType;
+        user.catalogEtag = response.headers().firstValue("ETag").orElse(null);
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private HttpRequest get(Session session, String path, VirtualUser user) {
+        return session.request(path, user).GET().build();
+    }
+
+    private HttpRequest post(Session session, String path, Object body, VirtualUser user) {
+        return session.request(path, user).POST(session.body(body)).build();
+    }
+
+    private String threadMode() {
+        return virtualThreads ? "virtual" : "platform";
+    }
+
+    private static String randomOfType(VirtualUser user, String type) {
+        return random(user.componentIdsByType.get(type));
+    }
+
+    private static <T> T random(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static boolean isOk(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    private static final class VirtualUser {
+        private final String email;
+        private final String password = "Load-test-password-1";
+        private String token;
+        private String catalogEtag;
+        private Map<String, List<String>> componentIdsByType = Map.of();
+
+        private VirtualUser(String email) {
+            this.email = email;
+        }
+    }
+
+    /**
+     * ส่ง Request พร้อมจับเวลา ผลลัพธ์ที่ไม่ตรงกับที่คาดไว้จะถูกนับเป็น Error และหยุด Journey
+     */
+    private final class Session {
+        private final HttpClient client;
+        private final String baseUrl;
+        private final LatencyRecorder recorder;
+        private final AtomicLong journeysCompleted = new AtomicLong();
+        private final AtomicLong journeysFailed = new AtomicLong();
+
+        private Session(HttpClient client, String baseUrl, LatencyRecorder recorder) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+            this.recorder = recorder;
+        }
+
+        HttpRequest.Builder request(String path, VirtualUser user) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(requestTimeout)
+                    .header("Accept", "application/json")
+                    .header("Content-Type", "application/json");
+            if (user != null && user.token != null) {
+                builder.header("Authorization", "Bearer " + user.token);
+            }
+            return builder;
+        }
+
+        HttpRequest.BodyPublisher body(Object body) {
+            try {
+                return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize request body", e);
+            }
+        }
+
+        HttpResponse<String> send(String endpoint, HttpRequest request, IntPredicate expectedStatus) {
+            long start = System.nanoTime();
+            HttpResponse<String> response;
+            try {
+                response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                recorder.record(endpoint, System.nanoTime() - start, false);
+                throw new JourneyFailedException(endpoint + " failed: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new JourneyFailedException(endpoint + " interrupted");
+            }
+            boolean success = expectedStatus.test(response.statusCode());
+            recorder.record(endpoint, System.nanoTime() - start, success);
+            if (!success) {
+                throw new JourneyFailedException(endpoint + " returned " + response.statusCode() + ": " + response.body());
+            }
+            return response;
+        }
+
+        JsonNode json(HttpResponse<String> response) {
+            try {
+                return objectMapper.readTree(response.body());
+            } catch (JsonProcessingException e) {
+                throw new JourneyFailedException("Invalid JSON from " + response.uri() + ": " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static final class JourneyFailedException extends RuntimeException {
+        private JourneyFailedException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package in.project.computers.load;
+
+import java.util.Map;
+
+/**
+ * ผลของ Load Test หนึ่งรอบ (เขียนเป็น JSON ที่ {@code app.load.report-file})
+ *
+ * @param scenario           {@code journey} (Journey เต็ม) หรือ {@code checkout} (สั่งซื้อด้วย PayPal และ Capture ซ้ำ)
+ * @param threadMode         โหมด Thread ของแอป ({@code virtual} หรือ {@code platform} ตาม {@code spring.threads.virtual.enabled})
+ * @param users              จำนวนผู้ใช้พร้อมกัน (Virtual Thread ละหนึ่งคน)
+ * @param journeysCompleted  Journey ที่ทำครบทุกขั้นตอน (ไม่นับรอบ Warm-up)
+ * @param journeysFailed     Journey ที่หยุดกลางทางเพราะ Request ใด Request หนึ่งล้มเหลว
+ * @param durationSeconds    เวลาที่ใช้วัดผล
+ * @param journeysPerSecond  Throughput ระดับ Journey
+ * @param concurrency        งานพร้อมกันสูงสุดฝั่งแอปและหน่วยความจำที่ใช้
+ * @param endpoints          สถิติแยกตาม Endpoint
+ */
+record LoadReport(
+        String scenario,
+        String threadMode,
+        int users,
+        long journeysCompleted,
+        long journeysFailed,
+        double durationSeconds,
+        double journeysPerSecond,
+        ConcurrencyStats concurrency,
+        Map<String, EndpointStats> endpoints) {
+
+    /**
+     * @param throughput Request ต่อวินาที
+     * @param p50Ms      Latency หน่วยมิลลิวินาที
+     */
+    record EndpointStats(long requests, long errors, double throughput, double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+
+    /**
+     * ค่าของช่วงวัดผล ({@code -1} เมื่อวัดไม่ได้ เช่น RSS นอก Linux)
+     *
+     * @param peakInFlightRequests   Request ที่แอปประมวลผลพร้อมกันสูงสุด
+     * @param peakInFlightCheckouts  Request สร้าง Order/Capture ที่ประมวลผลพร้อมกันสูงสุด
+     * @param peakPlatformThreads    จำนวน Platform Thread สูงสุดของ JVM (ไม่นับ Virtual Thread)
+     * @param heapPerInFlightKb      Heap ที่เพิ่มขึ้นจากค่าพื้นฐาน หารด้วย Request พร้อมกันสูงสุด
+     * @param rssPerInFlightKb       RSS ที่เพิ่มขึ้นจากค่าพื้นฐาน (รวม Stack ของ Platform Thread) หารด้วย Request พร้อมกันสูงสุด
+     * @param pinnedEvents           จำนวนครั้งที่ Virtual Thread ถูก Pin นานเกิน Threshold
+     */
+    record ConcurrencyStats(int peakInFlightRequests, int peakInFlightCheckouts, int peakPlatformThreads,
+                            double baselineHeapMb, double peakHeapMb, double heapPerInFlightKb,
+                            double baselineRssMb, double peakRssMb, double rssPerInFlightKb,
+                            long pinnedEvents) {
+    }
+
+    String toTable() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%nLoad test (%s, %s threads): %d users, %d journeys completed, %d failed, %.1f s (%.1f journeys/s)%n",
+                scenario, threadMode, users, journeysCompleted, journeysFailed, durationSeconds, journeysPerSecond));
+        table.append(String.format("Peak in-flight: %d requests, %d checkouts, %d platform threads, %d pinned events%n",
+                concurrency.peakInFlightRequests(), concurrency.peakInFlightCheckouts(),
+                concurrency.peakPlatformThreads(), concurrency.pinnedEvents()));
+        table.append(String.format("Memory: heap %.1f -> %.1f MB (%.1f KB per in-flight request), RSS %.1f -> %.1f MB (%.1f KB per in-flight request)%n",
+                concurrency.baselineHeapMb(), concurrency.peakHeapMb(), concurrency.heapPerInFlightKb(),
+                concurrency.baselineRssMb(), concurrency.peakRssMb(), concurrency.rssPerInFlightKb()));
+        table.append(String.format("%-40s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms", "Max ms"));
+        endpoints.forEach((endpoint, stats) -> table.append(String.format("%-40s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, stats.requests(), stats.errors(), stats.throughput(),
+                stats.p50Ms(), stats.p95Ms(), stats.p99Ms(), stats.maxMs())));
+        return table.toString();
+    }
+}
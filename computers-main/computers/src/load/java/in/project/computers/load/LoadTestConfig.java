@@ -0,0 +1,60 @@
+package in.project.computers.load;
+
+import com.mongodb.ConnectionString;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import in.project.computers.service.AWSS3Bucket.S3Service;
+import in.project.computers.service.PaypalService.PaypalService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoConnectionDetails;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+/**
+ * <h3>Load Test Configuration</h3>
+ * <p>
+ * ใช้เฉพาะ Profile {@code load}: แทน MongoDB ด้วย Server ในหน่วยความจำที่รันใน Process เดียวกัน
+ * (Repository และ MongoTemplate ทำงานผ่าน Driver ตามปกติ) และแทน S3/PayPal ด้วย Fake ที่จำลอง Latency
+ * </p>
+ */
+@Configuration
+@Profile("load")
+public class LoadTestConfig {
+
+    private static final String DATABASE_NAME = "computers";
+
+    @Bean(destroyMethod = "shutdownNow")
+    public MongoServer inMemoryMongoServer() {
+        return new MongoServer(new MemoryBackend());
+    }
+
+    /**
+     * ให้ MongoClient ของ Spring Boot ต่อกับ Server ในหน่วยความจำ (Port สุ่ม) แทน {@code spring.data.mongodb.uri}
+     * Client ยังถูกสร้างตามปกติ จึงได้ Metrics/Tracing ของคำสั่ง Mongo เหมือนตอนรันจริง
+     */
+    @Bean
+    public MongoConnectionDetails inMemoryMongoConnectionDetails(MongoServer inMemoryMongoServer) {
+        InetSocketAddress address = inMemoryMongoServer.bind();
+        ConnectionString connectionString = new ConnectionString(
+                "mongodb://" + address.getHostString() + ":" + address.getPort() + "/" + DATABASE_NAME);
+        return () -> connectionString;
+    }
+
+    @Bean
+    @Primary
+    public S3Service fakeS3Service(@Value("${app.load.s3-latency:50ms}") Duration latency) {
+        return new FakeS3Service(latency);
+    }
+
+    @Bean
+    @Primary
+    public PaypalService fakePaypalService(@Value("${app.load.paypal-latency:150ms}") Duration latency,
+                                           @Value("${app.load.paypal-token-lifetime:10s}") Duration tokenLifetime) {
+        return new FakePaypalService(latency, tokenLifetime);
+    }
+}
@@ -0,0 +1,79 @@
+package in.project.computers.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * เริ่ม Load Test เมื่อแอปพร้อมรับ Request: สร้าง Catalog → รัน {@link LoadDriver} → พิมพ์และบันทึกรายงาน
+ * แล้วปิดแอปเมื่อ {@code app.load.exit-on-complete=true}
+ */
+@Component
+@Profile("load")
+@RequiredArgsConstructor
+@Slf4j
+class LoadTestRunner {
+
+    private final LoadCatalogSeeder catalogSeeder;
+    private final LoadDriver loadDriver;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.load.report-file:target/load-report.json}")
+    private Path reportFile;
+
+    @Value("${app.load.exit-on-complete:true}")
+    private boolean exitOnComplete;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE) // หลัง Listener ที่สร้าง Search Index / Catalog Snapshot ตอนเริ่มแอป
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        // รันแยก Thread เพื่อไม่ให้การเริ่มแอปค้างอยู่ระหว่างทดสอบ
+        Thread.ofPlatform().name("load-test").start(() -> run(event.getApplicationContext()));
+    }
+
+    private void run(ConfigurableApplicationContext context) {
+        int exitCode = 0;
+        try {
+            catalogSeeder.seed();
+            String port = context.getEnvironment().getProperty("local.server.port", "8080");
+            LoadReport report = loadDriver.run("http://localhost:" + port);
+            log.info(report.toTable());
+            writeReport(report);
+            if (report.journeysCompleted() == 0) {
+                exitCode = 1;
+            }
+        } catch (RuntimeException e) {
+            log.error("Load test aborted.", e);
+            exitCode = 1;
+        }
+        if (exitOnComplete) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+
+    private void writeReport(LoadReport report) {
+        try {
+            if (reportFile.getParent() != null) {
+                Files.createDirectories(reportFile.getParent());
+            }
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), report);
+            log.info("Load test report written to {}", reportFile.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("Could not write the load test report to {}", reportFile, e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package in.project.computers.load;
+
+import in.project.computers.util.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * วัดหน่วยความจำและจำนวน Thread ระหว่าง Load Test เพื่อเทียบโหมด Virtual Thread กับ Platform Thread
+ * <p>
+ * เก็บค่าพื้นฐานก่อน Warm-up (หลัง GC) แล้วสุ่มวัดทุก {@code app.load.sample-interval} ระหว่างวัดผล
+ * หน่วยความจำต่อ Request = (ค่าสูงสุด - ค่าพื้นฐาน) / จำนวน Request พร้อมกันสูงสุด เป็นค่าประมาณที่รวมขยะที่ยังไม่ถูก GC ด้วย
+ * RSS (Linux เท่านั้น) รวม Stack ของ Platform Thread ซึ่งอยู่นอก Heap ส่วน Stack ของ Virtual Thread อยู่ใน Heap
+ * </p>
+ */
+@Component
+@Profile("load")
+@RequiredArgsConstructor
+class ResourceSampler {
+
+    private static final Path PROC_STATUS = Path.of("/proc/self/status");
+    private static final long MB = 1024 * 1024;
+
+    private final InFlightRequestFilter inFlightRequests;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.load.sample-interval:50ms}")
+    private Duration sampleInterval;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private long baselineHeap;
+    private long baselineRss;
+    private int baselinePlatformThreads;
+    private volatile long peakHeap;
+    private volatile long peakRss;
+    private volatile int peakPlatformThreads;
+    private long pinnedBeforeStart;
+    private volatile boolean sampling;
+    private Thread sampler;
+
+    /**
+     * เรียกก่อน Warm-up: บันทึกค่าพื้นฐานขณะแอปว่าง
+     */
+    void captureBaseline() {
+        System.gc();
+        baselineHeap = memory.getHeapMemoryUsage().getUsed();
+        baselineRss = residentSetSize();
+        baselinePlatformThreads = threads.getThreadCount();
+    }
+
+    /**
+     * เรียกเมื่อเริ่มวัดผล: ล้างค่าสูงสุดและเริ่มสุ่มวัด
+     */
+    void start() {
+        inFlightRequests.resetPeaks();
+        peakHeap = baselineHeap;
+        peakRss = baselineRss;
+        peakPlatformThreads = baselinePlatformThreads;
+        pinnedBeforeStart = pinnedEvents();
+        sampling = true;
+        sampler = Thread.ofPlatform().name("load-resource-sampler").daemon(true).start(this::sampleUntilStopped);
+    }
+
+    LoadReport.ConcurrencyStats stop() {
+        sampling = false;
+        try {
+            sampler.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int peakInFlight = Math.max(1, inFlightRequests.peakInFlight());
+        return new LoadReport.ConcurrencyStats(
+                inFlightRequests.peakInFlight(),
+                inFlightRequests.peakCheckoutsInFlight(),
+                peakPlatformThreads,
+                toMb(baselineHeap),
+                toMb(peakHeap),
+                round((peakHeap - baselineHeap) / 1024.0 / peakInFlight),
+                baselineRss < 0 ? -1 : toMb(baselineRss),
+                peakRss < 0 ? -1 : toMb(peakRss),
+                baselineRss < 0 ? -1 : round((peakRss - baselineRss) / 1024.0 / peakInFlight),
+                pinnedEvents() - pinnedBeforeStart);
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private void sampleUntilStopped() {
+        while (sampling) {
+            peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+            peakPlatformThreads = Math.max(peakPlatformThreads, threads.getThreadCount());
+            long rss = residentSetSize();
+            if (rss >= 0) {
+                peakRss = Math.max(peakRss, rss);
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sampleInterval.toNanos());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private long pinnedEvents() {
+        return meterRegistry.find(VirtualThreadPinningMonitor.PINNED_METRIC).timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    /**
+     * VmRSS จาก /proc (หน่วย kB) หรือ -1 เมื่อไม่ได้รันบน Linux
+     */
+    private static long residentSetSize() {
+        if (!Files.isReadable(PROC_STATUS)) {
+            return -1;
+        }
+        try {
+            for (String line : Files.readAllLines(PROC_STATUS)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        }
+        return -1;
+    }
+
+    private static double toMb(long bytes) {
+        return round((double) bytes / MB);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
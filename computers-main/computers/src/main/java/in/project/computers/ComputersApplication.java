@@ -2,8 +2,10 @@ package in.project.computers;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ComputersApplication {
 
 	public static void main(String[] args) {
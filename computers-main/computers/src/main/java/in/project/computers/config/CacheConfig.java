@@ -0,0 +1,51 @@
+package in.project.computers.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * กำหนด Cache ภายใน Process (Caffeine) ของแอปพลิเคชัน
+ * แต่ละ Cache มีอายุ (TTL) และขนาดสูงสุดของตัวเอง
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ORDER_ANALYTICS = "orderAnalytics";
+    public static final String COMPONENT_DETAILS = "componentDetails";
+    public static final String COMPONENT_LIST = "componentList";
+
+    @Value("${app.cache.analytics.ttl:60s}")
+    private Duration analyticsTtl;
+
+    @Value("${app.cache.components.ttl:10m}")
+    private Duration componentsTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                buildCache(ORDER_ANALYTICS, analyticsTtl, 500),
+                buildCache(COMPONENT_DETAILS, componentsTtl, 100_000),
+                buildCache(COMPONENT_LIST, componentsTtl, 1)
+        ));
+        return cacheManager;
+    }
+
+    private CaffeineCache buildCache(String name, Duration ttl, long maximumSize) {
+        return new CaffeineCache(name, Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build());
+    }
+}
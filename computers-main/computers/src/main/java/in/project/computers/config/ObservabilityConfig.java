@@ -0,0 +1,86 @@
+package in.project.computers.config;
+
+import in.project.computers.util.MongoQueryCounter;
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.observation.ObservationFilter;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * ตั้งค่า Observation (Metrics) ของ Service ภายในแอป
+ * <p>
+ * Observation ของแอปใช้ชื่อขึ้นต้นด้วย {@value #APP_OBSERVATION_PREFIX} (เช่น {@code app.order.create})
+ * และถูกสร้างจาก {@code @Observed} บน Service ทุกตัวจะได้ Tag {@code outcome}
+ * ({@code SUCCESS}, {@code CLIENT_ERROR} หรือ {@code SERVER_ERROR}) จาก Exception ที่เกิดขึ้น
+ * เมื่อเปิด Tracing ทุก Observation จะเป็น Span ด้วย และคำสั่ง MongoDB แต่ละคำสั่งจะเป็น Span ลูกของ Observation ที่ทำงานอยู่
+ * </p>
+ */
+@Configuration
+public class ObservabilityConfig {
+
+    public static final String APP_OBSERVATION_PREFIX = "app.";
+    static final String MONGO_COMMAND_OBSERVATION = "spring.data.mongodb.command";
+    public static final String OUTCOME = "outcome";
+    public static final String PAYMENT_METHOD = "payment.method";
+
+    @Bean
+    public ObservationFilter outcomeObservationFilter() {
+        return context -> {
+            if (context.getName() != null && context.getName().startsWith(APP_OBSERVATION_PREFIX)) {
+                context.addLowCardinalityKeyValue(KeyValue.of(OUTCOME, outcomeOf(context.getError())));
+            }
+            return context;
+        };
+    }
+
+    /**
+     * Span ต่อคำสั่ง MongoDB ({@code spring.data.mongodb.command}) โดยผูก Parent จาก Observation ปัจจุบันผ่าน Request Context ของ Driver
+     * (Timer ของ Observation นี้ถูกตัดทิ้งด้วย {@link #mongoObservationMeterFilter()})
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoObservationCustomizer(ObservationRegistry observationRegistry) {
+        return builder -> builder
+                .contextProvider(ContextProviderFactory.create(observationRegistry))
+                .addCommandListener(new MongoObservationCommandListener(observationRegistry));
+    }
+
+    /**
+     * Boot จับเวลาทุกคำสั่ง MongoDB อยู่แล้วด้วย {@code MongoMetricsCommandListener} ({@code mongodb.driver.commands})
+     * จึงไม่สร้าง Timer ซ้ำจาก Observation ของคำสั่งเดียวกัน ใช้ Observation นี้เป็น Span อย่างเดียว
+     */
+    @Bean
+    public MeterFilter mongoObservationMeterFilter() {
+        return MeterFilter.denyNameStartsWith(MONGO_COMMAND_OBSERVATION);
+    }
+
+    /**
+     * นับคำสั่ง MongoDB ต่อ HTTP Request สำหรับ {@code MongoQueryBudgetFilter} (เฉพาะเมื่อเปิด {@code app.mongo.query-budget.enabled})
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoQueryCounterCustomizer(
+            @Value("${app.mongo.query-budget.enabled:false}") boolean queryBudgetEnabled) {
+        return builder -> {
+            if (queryBudgetEnabled) {
+                builder.addCommandListener(new MongoQueryCounter());
+            }
+        };
+    }
+
+    private static String outcomeOf(Throwable error) {
+        if (error == null) {
+            return "SUCCESS";
+        }
+        // ResponseStatusException 4xx คือคำขอที่ไม่ถูกต้อง (เช่น สถานะ Order ไม่ตรง) ไม่ใช่ระบบล้มเหลว
+        if (error instanceof ResponseStatusException e && e.getStatusCode().is4xxClientError()) {
+            return "CLIENT_ERROR";
+        }
+        return "SERVER_ERROR";
+    }
+}
@@ -1,8 +1,6 @@
 package in.project.computers.config;
 
 import com.paypal.base.rest.APIContext;
-import com.paypal.base.rest.OAuthTokenCredential;
-import com.paypal.base.rest.PayPalRESTException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -32,15 +30,9 @@ public class PaypalConfig {
 
 
     @Bean
-    public OAuthTokenCredential oAuthTokenCredential() {
-        return new OAuthTokenCredential(clientId, clientSecret, paypalSdkConfig());
-    }
-
-
-    @Bean
-    public APIContext apiContext() throws PayPalRESTException {
-
-        APIContext context = new APIContext(oAuthTokenCredential().getAccessToken());
+    public APIContext apiContext() {
+        // SDK ขอ Access Token เมื่อเรียก API ครั้งแรกและขอใหม่เมื่อหมดอายุ (เดิมขอครั้งเดียวตอนเริ่มแอป ทำให้ Token หมดอายุระหว่างทำงาน)
+        APIContext context = new APIContext(clientId, clientSecret, mode);
         context.setConfigurationMap(paypalSdkConfig());
         return context;
     }
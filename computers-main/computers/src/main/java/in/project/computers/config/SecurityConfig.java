@@ -1,8 +1,13 @@
 package in.project.computers.config;
 
 import in.project.computers.filters.JwtAuthenticationFilter;
+import in.project.computers.filters.RateLimitFilter;
 import in.project.computers.service.userAuthenticationService.AppUserDetailsService;
+import in.project.computers.util.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -15,8 +20,8 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -29,9 +34,11 @@ import java.util.List;
 @EnableWebSecurity
 @EnableMethodSecurity // สำคัญมาก: ต้องเปิดใช้งาน @EnableMethodSecurity เพื่อให้ @PreAuthorize ทำงาน
 @AllArgsConstructor
+@Slf4j
 public class SecurityConfig {
     private final AppUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -45,13 +52,16 @@ public class SecurityConfig {
                         // ***************************************************************
 
                         // --- 1. Public Endpoints (Anyone can access) ---
-                        .requestMatchers("/api/register", "/api/login").permitAll()
+                        .requestMatchers("/api/register", "/api/login", "/api/refresh", "/api/logout").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/components/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/lookups").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/orders/capture/**").permitAll() // PayPal Success Callback
                         .requestMatchers(HttpMethod.GET, "/api/orders/cancel/**").permitAll()  // PayPal Cancel Callback
 
                         // --- 2. Admin-Only Endpoints ---
                         .requestMatchers("/api/admin/orders/**").hasRole("ADMIN") // *** เพิ่มสำหรับ Admin Order Controller ***
+                        .requestMatchers("/api/admin/analytics/**").hasRole("ADMIN")
+                        .requestMatchers("/api/admin/exports/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/api/components/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PATCH, "/api/components/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/components/**").hasRole("ADMIN")
@@ -65,14 +75,21 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // หลัง JWT เพื่อให้ POST /api/orders ใช้ผู้ใช้เป็น Key ได้
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
         return http.build();
     }
 
     // --- Beans อื่นๆ เหมือนเดิม ---
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    // BCrypt รันบน Thread Pool แยกที่มีคิวจำกัด (ดู BoundedPasswordEncoder)
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${app.password-hashing.strength:10}") int strength,
+            @Value("${app.password-hashing.threads:0}") int threads,
+            @Value("${app.password-hashing.queue-capacity:64}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(strength, threads, queueCapacity, meterRegistry);
     }
 
     @Bean
@@ -81,7 +98,8 @@ public class SecurityConfig {
         // NOTE: For Docker, you might need to allow the frontend service name or gateway IP
         config.setAllowedOrigins(List.of("http://localhost:5173", "http://localhost:5174", "http://localhost:3000"));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
-        config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        config.setAllowedHeaders(List.of("Authorization", "Content-Type", "Idempotency-Key", "If-None-Match"));
+        config.setExposedHeaders(List.of("ETag", "Idempotent-Replayed", "Retry-After"));
         config.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", config);
@@ -89,10 +107,31 @@ public class SecurityConfig {
     }
 
     @Bean
-    public AuthenticationManager authenticationManager() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+    public AuthenticationManager authenticationManager(BoundedPasswordEncoder passwordEncoder) {
+        // Hash ที่ cost ต่ำกว่า app.password-hashing.strength จะถูก Hash ใหม่หลังล็อกอินสำเร็จแบบ Best-effort
+        // (ไม่ใช้ setUserDetailsPasswordService เพราะการ Hash ใหม่ที่ถูกปฏิเสธหรือบันทึกไม่สำเร็จจะทำให้การล็อกอินล้ม)
+        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider() {
+            @Override
+            protected Authentication createSuccessAuthentication(Object principal, Authentication authentication, UserDetails user) {
+                if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+                    passwordEncoder.tryEncode(authentication.getCredentials().toString()).ifPresentOrElse(
+                            upgraded -> upgradePassword(user, upgraded),
+                            () -> log.debug("Skipped password hash upgrade for '{}': hashing pool is busy.", user.getUsername()));
+                }
+                return super.createSuccessAuthentication(principal, authentication, user);
+            }
+        };
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return new ProviderManager(authProvider);
     }
+
+    private void upgradePassword(UserDetails user, String upgradedHash) {
+        try {
+            userDetailsService.updatePassword(user, upgradedHash);
+        } catch (RuntimeException e) {
+            // Hash เดิมยังใช้ได้ ล็อกอินครั้งถัดไปจะลองใหม่
+            log.warn("Could not store upgraded password hash for '{}'.", user.getUsername(), e);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package in.project.computers.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * รูปแบบ Binary เพิ่มเติมสำหรับ Response (เลือกด้วย Header {@code Accept})
+ * <ul>
+ *     <li>{@code application/cbor}</li>
+ *     <li>{@code application/x-jackson-smile}</li>
+ * </ul>
+ * JSON ยังเป็นค่าเริ่มต้นเมื่อ Client ไม่ได้ระบุ
+ * ทั้งสอง Converter สร้างจาก {@link Jackson2ObjectMapperBuilder} ของ Spring Boot จึงได้การตั้งค่าเดียวกับ JSON
+ * (เช่น รูปแบบวันที่และ Module ต่างๆ)
+ */
+@Configuration
+public class SerializationConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
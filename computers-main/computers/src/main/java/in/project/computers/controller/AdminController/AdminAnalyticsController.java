@@ -0,0 +1,100 @@
+package in.project.computers.controller.AdminController;
+
+import in.project.computers.dto.analytics.DailyRevenueResponse;
+import in.project.computers.dto.analytics.OrderAnalyticsSummaryResponse;
+import in.project.computers.dto.analytics.TopSellingComponentResponse;
+import in.project.computers.service.analyticsService.OrderAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h3>Admin Analytics Controller</h3>
+ * <p>
+ * Endpoint รายงานยอดขายสำหรับ Dashboard ของ Admin
+ * หากไม่ระบุช่วงวันที่ จะใช้ 30 วันล่าสุด (รวมวันนี้) ตาม Time Zone ใน {@code app.analytics.zone}
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/admin/analytics")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminAnalyticsController {
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+
+    private final OrderAnalyticsService analyticsService;
+
+    @Value("${app.analytics.zone:UTC}")
+    private ZoneId zone;
+
+    /**
+     * <h4>[GET] /api/admin/analytics/revenue/daily</h4>
+     * <p>ยอดขายรายวัน (Gross, Refunded, Net) จาก Daily Rollup</p>
+     * <p><b>ตัวอย่างการเรียก:</b> {@code GET /api/admin/analytics/revenue/daily?from=2025-06-01&to=2025-06-30}</p>
+     */
+    @GetMapping("/revenue/daily")
+    public ResponseEntity<List<DailyRevenueResponse>> getDailyRevenue(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = resolveTo(to);
+        return ResponseEntity.ok(analyticsService.getDailyRevenue(resolveFrom(from, end), end));
+    }
+
+    /**
+     * <h4>[GET] /api/admin/analytics/summary</h4>
+     * <p>ภาพรวมของช่วงวันที่: ยอดขาย, ค่าเฉลี่ยต่อ Order (AOV) และอัตราการคืนเงิน</p>
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<OrderAnalyticsSummaryResponse> getSummary(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = resolveTo(to);
+        return ResponseEntity.ok(analyticsService.getSummary(resolveFrom(from, end), end));
+    }
+
+    /**
+     * <h4>[GET] /api/admin/analytics/top-components</h4>
+     * <p>Component ที่ขายดีที่สุด นับรวมชิ้นส่วนที่อยู่ใน Build ด้วย (ไม่นับ Order ที่ถูกคืนเงิน)</p>
+     * <p><b>ตัวอย่างการเรียก:</b> {@code GET /api/admin/analytics/top-components?limit=10}</p>
+     */
+    @GetMapping("/top-components")
+    public ResponseEntity<List<TopSellingComponentResponse>> getTopSellingComponents(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        LocalDate end = resolveTo(to);
+        return ResponseEntity.ok(analyticsService.getTopSellingComponents(resolveFrom(from, end), end, limit));
+    }
+
+    /**
+     * <h4>[POST] /api/admin/analytics/rollups/rebuild</h4>
+     * <p>คำนวณ Daily Rollup ของช่วงวันที่ใหม่จากประวัติ Order (ใช้ครั้งแรกหลังติดตั้ง หรือเมื่อข้อมูลคลาดเคลื่อน)</p>
+     */
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildRollups(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Admin action: Rebuilding order daily rollups from {} to {}", from, to);
+        long days = analyticsService.rebuildDailyRollups(from, to);
+        return ResponseEntity.ok(Map.of("from", from, "to", to, "days", days));
+    }
+
+    private LocalDate resolveTo(LocalDate to) {
+        return to != null ? to : LocalDate.now(zone);
+    }
+
+    private LocalDate resolveFrom(LocalDate from, LocalDate to) {
+        return from != null ? from : to.minusDays(DEFAULT_RANGE_DAYS - 1);
+    }
+}
@@ -0,0 +1,84 @@
+package in.project.computers.controller.AdminController;
+
+import in.project.computers.dto.order.OrderSearchCriteria;
+import in.project.computers.entity.order.OrderStatus;
+import in.project.computers.entity.order.PaymentMethod;
+import in.project.computers.entity.order.PaymentStatus;
+import in.project.computers.service.exportService.ExportFormat;
+import in.project.computers.service.exportService.ExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+
+/**
+ * <h3>Admin Export Controller</h3>
+ * <p>
+ * Endpoint สำหรับดาวน์โหลดข้อมูลจำนวนมาก (Order สำหรับฝ่ายบัญชี และ Catalog สำหรับฝ่ายปฏิบัติการ)
+ * ข้อมูลจะถูกเขียนลง Response ทีละแถวผ่าน {@link StreamingResponseBody} โดยไม่โหลดทั้งหมดเข้า Memory
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/admin/exports")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminExportController {
+
+    private final ExportService exportService;
+
+    /**
+     * <h4>[GET] /api/admin/exports/orders</h4>
+     * <p>Export Order แบบ 1 แถวต่อ 1 สินค้า (ชิ้นส่วนใน Build ถูกแยกเป็นแถวละชิ้น)</p>
+     * <p><b>ตัวอย่างการเรียก:</b> {@code GET /api/admin/exports/orders?format=csv&from=2025-06-01T00:00:00Z&to=2025-07-01T00:00:00Z}</p>
+     */
+    @GetMapping("/orders")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "orderStatus", required = false) OrderStatus orderStatus,
+            @RequestParam(value = "paymentStatus", required = false) PaymentStatus paymentStatus,
+            @RequestParam(value = "paymentMethod", required = false) PaymentMethod paymentMethod,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        log.info("Admin action: Exporting orders as {}. From: {}, To: {}", exportFormat, from, to);
+        OrderSearchCriteria criteria = OrderSearchCriteria.builder()
+                .orderStatus(orderStatus)
+                .paymentStatus(paymentStatus)
+                .paymentMethod(paymentMethod)
+                .from(from)
+                .to(to)
+                .build();
+        StreamingResponseBody body = outputStream -> exportService.writeOrders(criteria, exportFormat, outputStream);
+        return streaming("orders", exportFormat, body);
+    }
+
+    /**
+     * <h4>[GET] /api/admin/exports/catalog</h4>
+     * <p>Export Component ทั้งหมดพร้อมจำนวนสต็อกและราคา</p>
+     * <p><b>ตัวอย่างการเรียก:</b> {@code GET /api/admin/exports/catalog?format=ndjson}</p>
+     */
+    @GetMapping("/catalog")
+    public ResponseEntity<StreamingResponseBody> exportCatalog(
+            @RequestParam(value = "format", defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        log.info("Admin action: Exporting catalog as {}", exportFormat);
+        StreamingResponseBody body = outputStream -> exportService.writeCatalog(exportFormat, outputStream);
+        return streaming("catalog", exportFormat, body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> streaming(String name, ExportFormat format, StreamingResponseBody body) {
+        String filename = name + "-" + Instant.now().getEpochSecond() + "." + format.getExtension();
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
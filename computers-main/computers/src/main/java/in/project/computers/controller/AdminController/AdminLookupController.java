@@ -1,11 +1,13 @@
 package in.project.computers.controller.AdminController;
 
 import in.project.computers.service.componentService.LookupService;
+import in.project.computers.util.CatalogHttpCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Map;
 
@@ -15,9 +17,10 @@ import java.util.Map;
 public class AdminLookupController {
 
     private final LookupService lookupService;
+    private final CatalogHttpCache catalogHttpCache;
 
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllLookups() {
-        return ResponseEntity.ok(lookupService.getAllLookups());
+    public ResponseEntity<Map<String, Object>> getAllLookups(WebRequest webRequest) {
+        return catalogHttpCache.respond(webRequest, lookupService::getAllLookups);
     }
 }
@@ -2,11 +2,19 @@
 
 package in.project.computers.controller.AdminController;
 
+import in.project.computers.dto.component.bulk.ComponentImportReport;
+import in.project.computers.dto.component.bulk.InventoryBulkUpdateReport;
+import in.project.computers.dto.component.bulk.InventoryBulkUpdateRequest;
 import in.project.computers.dto.component.componentRequest.ComponentRequest;
-// ComponentUpdateRequest and PriceUpdateRequest are no longer needed
 import in.project.computers.dto.component.componentRequest.StockAdjustmentRequest;
 import in.project.computers.dto.component.componentResponse.ComponentResponse;
+import in.project.computers.service.catalogService.CatalogSnapshot;
+import in.project.computers.service.catalogService.CatalogSnapshotService;
+import in.project.computers.service.componentService.ComponentBulkUpdateService;
+import in.project.computers.service.componentService.ComponentImportService;
 import in.project.computers.service.componentService.ComponentService;
+import in.project.computers.service.exportService.ExportFormat;
+import in.project.computers.util.CatalogHttpCache;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,9 +22,14 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/components")
@@ -26,22 +39,37 @@ import java.util.List;
 public class ComponentManagementController {
 
     private final ComponentService componentService;
+    private final ComponentImportService componentImportService;
+    private final ComponentBulkUpdateService componentBulkUpdateService;
+    private final CatalogHttpCache catalogHttpCache;
+    private final CatalogSnapshotService catalogSnapshotService;
 
-    // ... getAllComponents and getComponentById methods are unchanged ...
+    /**
+     * <h4>[GET] /api/components</h4>
+     * <p>Public endpoint returning the whole catalog. Supports conditional GET via ETag / If-None-Match.</p>
+     * <p>Served from the in-memory catalog snapshot when it is up to date; falls back to the database while it is being rebuilt.</p>
+     */
     @GetMapping
-    @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<ComponentResponse>> getAllComponents() {
-        log.info("Request to fetch all components");
-        List<ComponentResponse> components = componentService.getAllComponents();
-        return ResponseEntity.ok(components);
+    public ResponseEntity<?> getAllComponents(WebRequest webRequest) {
+        log.debug("Request to fetch all components");
+        return catalogSnapshotService.current()
+                .<ResponseEntity<?>>map(snapshot -> catalogHttpCache.respond(webRequest, snapshot, snapshot.catalogJson(), snapshot.components()))
+                .orElseGet(() -> catalogHttpCache.respond(webRequest, componentService::getAllComponents));
     }
 
+    /**
+     * <h4>[GET] /api/components/{id}</h4>
+     * <p>Public endpoint returning one component. Supports conditional GET via ETag / If-None-Match.</p>
+     * <p>Served from the in-memory catalog snapshot when it is up to date; falls back to the database otherwise.</p>
+     */
     @GetMapping("/{id}")
-    @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ComponentResponse> getComponentById(@PathVariable String id) {
-        log.info("Request to fetch component with ID: {}", id);
-        ComponentResponse component = componentService.getComponentDetailsById(id);
-        return ResponseEntity.ok(component);
+    public ResponseEntity<?> getComponentById(@PathVariable String id, WebRequest webRequest) {
+        log.debug("Request to fetch component with ID: {}", id);
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current();
+        if (snapshot.isPresent() && snapshot.get().component(id) != null) {
+            return catalogHttpCache.respond(webRequest, snapshot.get(), snapshot.get().componentJson(id), snapshot.get().component(id));
+        }
+        return catalogHttpCache.respond(webRequest, () -> componentService.getComponentDetailsById(id));
     }
 
     @PostMapping("/")
@@ -54,6 +82,30 @@ public class ComponentManagementController {
         return new ResponseEntity<>(newComponent, HttpStatus.CREATED);
     }
 
+    /**
+     * <h4>[POST] /api/components/import</h4>
+     * <p>Admin endpoint to create many components at once from a CSV or NDJSON upload.</p>
+     * <p>Rows that pass validation are saved even when other rows fail; the per-row errors are returned in the report.</p>
+     * @param file The upload. CSV uses a header row named after the request fields, list values are separated by '|'.
+     * @param format "csv" or "ndjson". When omitted, it is inferred from the file extension.
+     * @param dryRun When true, only validates the file without saving anything.
+     * @return The import report.
+     */
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ComponentImportReport> importComponents(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun) {
+        ExportFormat importFormat = format != null ? ExportFormat.from(format) : inferFormat(file.getOriginalFilename());
+        log.info("Admin action: Importing components from '{}' as {}. Dry run: {}", file.getOriginalFilename(), importFormat, dryRun);
+        try (InputStream inputStream = file.getInputStream()) {
+            return ResponseEntity.ok(componentImportService.importComponents(importFormat, inputStream, dryRun));
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read the uploaded file.", e);
+        }
+    }
+
     /**
      * <h4>[PUT] /api/components/{id}</h4>
      * <p>Admin endpoint to fully update a component's details and/or image.</p>
@@ -86,6 +138,20 @@ public class ComponentManagementController {
         return ResponseEntity.ok(updatedComponent);
     }
 
+    /**
+     * <h4>[PATCH] /api/components/inventory/bulk</h4>
+     * <p>Admin endpoint to change prices and/or stock of many components in one request (e.g. a supplier price sync).</p>
+     * <p>Each item targets a component by {@code componentId} or {@code mpn}. Items that fail validation are reported and skipped.</p>
+     * @param request The list of {@code {componentId|mpn, price?, stockDelta?}} items.
+     * @return The update report.
+     */
+    @PatchMapping("/inventory/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<InventoryBulkUpdateReport> bulkUpdateInventory(@Valid @RequestBody InventoryBulkUpdateRequest request) {
+        log.info("Admin action: Bulk updating inventory for {} item(s)", request.getItems().size());
+        return ResponseEntity.ok(componentBulkUpdateService.updateInventories(request));
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @PreAuthorize("hasRole('ADMIN')")
@@ -93,4 +159,11 @@ public class ComponentManagementController {
         log.info("Admin action: Deleting component with ID: {}", id);
         componentService.deleteComponent(id);
     }
-}
\ No newline at end of file
+
+    private ExportFormat inferFormat(String filename) {
+        if (filename != null && (filename.endsWith(".ndjson") || filename.endsWith(".jsonl"))) {
+            return ExportFormat.NDJSON;
+        }
+        return ExportFormat.CSV;
+    }
+}
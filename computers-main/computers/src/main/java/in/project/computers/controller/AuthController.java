@@ -2,14 +2,15 @@ package in.project.computers.controller;
 
 import in.project.computers.dto.user.AuthenticationRequest;
 import in.project.computers.dto.user.AuthenticationResponse;
-import in.project.computers.service.userAuthenticationService.AppUserDetailsService;
-import in.project.computers.util.JwtUtil;
+import in.project.computers.dto.user.RefreshTokenRequest;
+import in.project.computers.service.userAuthenticationService.TokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,9 +18,9 @@ import org.springframework.web.bind.annotation.*;
  * <h3>Authentication Controller</h3>
  * <p>
  * Controller สำหรับจัดการกระบวนการยืนยันตัวตน (Authentication) ของระบบ
- * รับผิดชอบ Endpoint สำหรับการล็อกอิน (Login) โดยเฉพาะ
- * เมื่อผู้ใช้ส่ง Email และ Password ที่ถูกต้อง, ระบบจะตรวจสอบและออก JSON Web Token (JWT)
- * เพื่อใช้ในการยืนยันตัวตนในคำขอ (Request) ต่อๆ ไป
+ * รับผิดชอบ Endpoint สำหรับการล็อกอิน (Login), ต่ออายุ Token (Refresh) และออกจากระบบ (Logout)
+ * เมื่อผู้ใช้ส่ง Email และ Password ที่ถูกต้อง, ระบบจะตรวจสอบและออก JSON Web Token (JWT) อายุสั้น
+ * เพื่อใช้ในการยืนยันตัวตนในคำขอ (Request) ต่อๆ ไป พร้อม Refresh Token สำหรับขอ JWT ใบใหม่
  * </p>
  */
 @RestController
@@ -30,8 +31,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthenticationManager authenticationManager;
-    private final AppUserDetailsService userDetailsService;
-    private final JwtUtil jwtUtil;
+    private final TokenService tokenService;
 
     /**
      * <h4>[POST] /api/login</h4>
@@ -41,9 +41,9 @@ public class AuthController {
      *     <li>1. รับ `email` และ `password` จาก Request Body</li>
      *     <li>2. ใช้ `AuthenticationManager` ของ Spring Security เพื่อตรวจสอบว่าข้อมูลที่ส่งมาถูกต้องหรือไม่
      *        (ถ้าไม่ถูกต้อง Spring Security จะโยน `BadCredentialsException` และคืนสถานะ 401 UNAUTHORIZED โดยอัตโนมัติ)</li>
-     *     <li>3. หากตรวจสอบผ่าน, จะดึงข้อมูล `UserDetails` (รวมถึง Roles) ของผู้ใช้ออกมา</li>
-     *     <li>4. ใช้ `JwtUtil` เพื่อสร้าง JWT Token ซึ่งจะฝังข้อมูลผู้ใช้และ Roles ไว้ข้างใน</li>
-     *     <li>5. คืนค่า Token กลับไปให้ Client ในรูปแบบของ `AuthenticationResponse`</li>
+     *     <li>3. หากตรวจสอบผ่าน, จะใช้ `UserDetails` (รวมถึง Roles) ที่ได้จากการตรวจสอบ โดยไม่ต้องอ่านผู้ใช้จาก Database ซ้ำ</li>
+     *     <li>4. ใช้ `TokenService` เพื่อเริ่ม Session ใหม่: สร้าง JWT Token (ฝังข้อมูลผู้ใช้, Roles และ Session ID) และ Refresh Token</li>
+     *     <li>5. คืนค่า Token ทั้งสองกลับไปให้ Client ในรูปแบบของ `AuthenticationResponse`</li>
      * </ul>
      * <p><b>ตัวอย่าง Request Body (JSON):</b></p>
      * <pre>{@code
@@ -56,7 +56,9 @@ public class AuthController {
      * <pre>{@code
      * {
      *   "email": "user@example.com",
-     *   "jwt": "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJ1c2VyQGV4YW1wbGUuY29tIiwicm9sZXMi..."
+     *   "token": "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJ1c2VyQGV4YW1wbGUuY29tIiwicm9sZXMi...",
+     *   "refreshToken": "Qm9oZ3VzLXJhbmRvbS0yNTYtYml0LXZhbHVl...",
+     *   "expiresIn": 900
      * }
      * }</pre>
      *
@@ -67,9 +69,10 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<AuthenticationResponse> login(@RequestBody AuthenticationRequest request) {
         log.info("Authentication attempt for user: {}", request.getEmail());
+        final Authentication authentication;
         try {
-            // ขั้นตอนการตรวจสอบ Credential
-            authenticationManager.authenticate(
+            // ขั้นตอนการตรวจสอบ Credential (BCrypt รันบน Thread Pool ของ BoundedPasswordEncoder, คิวเต็มจะได้ 503)
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
             );
         } catch (BadCredentialsException e) {
@@ -79,12 +82,36 @@ public class AuthController {
         }
 
         // ถ้า authenticate ผ่าน, ดำเนินการสร้าง Token
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(request.getEmail());
-        final String jwtToken = jwtUtil.generateToken(userDetails);
+        final UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        final AuthenticationResponse response = tokenService.issueTokens(userDetails);
 
         log.info("User '{}' authenticated successfully. JWT generated.", userDetails.getUsername());
-        AuthenticationResponse response = new AuthenticationResponse(request.getEmail(), jwtToken);
-
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * <h4>[POST] /api/refresh</h4>
+     * <p>แลก Refresh Token เป็น JWT และ Refresh Token ใบใหม่ (Refresh Token แต่ละใบใช้ได้ครั้งเดียว)</p>
+     * <p>ถ้าส่ง Refresh Token ที่เคยใช้แล้ว ระบบจะเพิกถอนทั้ง Session และตอบ 401 ผู้ใช้ต้องล็อกอินใหม่</p>
+     *
+     * @param request DTO ที่มี refreshToken
+     * @return AuthenticationResponse ชุดใหม่ (รูปแบบเดียวกับ /api/login)
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthenticationResponse> refresh(@RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(tokenService.refresh(request.getRefreshToken()));
+    }
+
+    /**
+     * <h4>[POST] /api/logout</h4>
+     * <p>เพิกถอน Session ของ Refresh Token: JWT ที่ออกไปแล้วของ Session นี้ใช้ไม่ได้ทันที (Instance อื่นภายในรอบ Sync)</p>
+     *
+     * @param request DTO ที่มี refreshToken
+     * @return 204 No Content เสมอ แม้ Token จะไม่มีอยู่แล้ว
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshTokenRequest request) {
+        tokenService.logout(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
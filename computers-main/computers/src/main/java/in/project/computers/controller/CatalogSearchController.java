@@ -0,0 +1,89 @@
+package in.project.computers.controller;
+
+import in.project.computers.dto.search.CatalogSearchRequest;
+import in.project.computers.dto.search.CatalogSearchResponse;
+import in.project.computers.dto.search.SuggestionResponse;
+import in.project.computers.service.searchService.AutocompleteService;
+import in.project.computers.service.searchService.CatalogSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h3>Catalog Search Controller</h3>
+ * <p>ค้นหา Component ด้วยข้อความ (รองรับ Prefix และการพิมพ์ผิดเล็กน้อย) พร้อม Filter และจำนวนตาม Facet</p>
+ */
+@RestController
+@RequestMapping("/api/components/search")
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogSearchController {
+
+    private final CatalogSearchService catalogSearchService;
+    private final AutocompleteService autocompleteService;
+
+    /**
+     * <h4>[GET] /api/components/search</h4>
+     * <p><b>ตัวอย่างการเรียก:</b> {@code GET /api/components/search?q=ryzen 7&socket=AM5&maxPrice=15000&limit=20}</p>
+     * <p>{@code limit} สูงสุด 100 และ {@code offset} สูงสุด 1000 (เกินกว่านั้นตอบ 400)</p>
+     */
+    @GetMapping
+    public ResponseEntity<CatalogSearchResponse> search(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "socket", required = false) String socket,
+            @RequestParam(value = "ramType", required = false) String ramType,
+            @RequestParam(value = "formFactor", required = false) String formFactor,
+            @RequestParam(value = "brand", required = false) String brand,
+            @RequestParam(value = "minPrice", required = false) BigDecimal minPrice,
+            @RequestParam(value = "maxPrice", required = false) BigDecimal maxPrice,
+            @RequestParam(value = "inStock", defaultValue = "false") boolean inStockOnly,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        CatalogSearchRequest request = CatalogSearchRequest.builder()
+                .query(query)
+                .type(type)
+                .socket(socket)
+                .ramType(ramType)
+                .formFactor(formFactor)
+                .brand(brand)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .inStockOnly(inStockOnly)
+                .offset(offset)
+                .limit(limit)
+                .build();
+        return ResponseEntity.ok(catalogSearchService.search(request));
+    }
+
+    /**
+     * <h4>[GET] /api/components/search/suggest</h4>
+     * <p>คำแนะนำขณะพิมพ์จากชื่อหรือ MPN เรียงตามสินค้าที่มีสต็อกและความนิยม ตอบจาก Memory โดยไม่ Query ฐานข้อมูล</p>
+     * <p><b>ตัวอย่างการเรียก:</b> {@code GET /api/components/search/suggest?q=veng&limit=8}</p>
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam("q") String prefix,
+            @RequestParam(value = "limit", defaultValue = "8") int limit) {
+        return ResponseEntity.ok(autocompleteService.suggest(prefix, limit));
+    }
+
+    /**
+     * <h4>[POST] /api/components/search/rebuild</h4>
+     * <p>Admin endpoint สำหรับสร้าง Search Index และ Autocomplete Trie ใหม่ทั้งหมด (ปกติไม่จำเป็น เพราะอัปเดตเองเมื่อข้อมูลเปลี่ยน)</p>
+     */
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildIndex() {
+        log.info("Admin action: Rebuilding catalog search index and autocomplete trie");
+        return ResponseEntity.ok(Map.of(
+                "indexedComponents", catalogSearchService.rebuildIndex(),
+                "suggestionComponents", autocompleteService.rebuild()));
+    }
+}
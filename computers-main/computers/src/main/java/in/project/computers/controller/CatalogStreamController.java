@@ -0,0 +1,34 @@
+package in.project.computers.controller;
+
+import in.project.computers.dto.component.componentResponse.ComponentResponse;
+import in.project.computers.service.catalogService.CatalogStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+/**
+ * <h3>Catalog Stream Controller</h3>
+ * <p>
+ * Catalog แบบ NDJSON (หนึ่งบรรทัดต่อหนึ่ง Component) อ่านจาก Reactive Repository
+ * Spring MVC Subscribe {@link Flux} แบบ Async: Request Thread ถูกคืนทันที และเขียนทีละรายการเมื่อรายการก่อนหน้าถูกส่งแล้ว
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/components/feed")
+@RequiredArgsConstructor
+@CrossOrigin("*")
+public class CatalogStreamController {
+
+    private final CatalogStreamService catalogStreamService;
+
+    /**
+     * <h4>[GET] /api/components/feed</h4>
+     * <p>Public endpoint. Streams every component (with stock and price) as NDJSON, ordered by ID.</p>
+     * <p><b>ตัวอย่างการเรียก:</b> {@code GET /api/components/feed?type=gpu}</p>
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ComponentResponse> streamComponents(@RequestParam(required = false) String type) {
+        return catalogStreamService.streamComponents(type);
+    }
+}
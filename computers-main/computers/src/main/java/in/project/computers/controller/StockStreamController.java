@@ -0,0 +1,32 @@
+package in.project.computers.controller;
+
+import in.project.computers.service.stockStreamService.StockStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * <h3>Stock Stream Controller</h3>
+ * <p>Server-Sent Events ของจำนวนสต็อก ราคา และสถานะ isActive ของ Component (แทนการ Poll)</p>
+ */
+@RestController
+@RequestMapping("/api/components/stream")
+@RequiredArgsConstructor
+@CrossOrigin("*")
+public class StockStreamController {
+
+    private final StockStreamService stockStreamService;
+
+    /**
+     * <h4>[GET] /api/components/stream</h4>
+     * <p>Public endpoint. ส่ง Event ชื่อ {@code stock} (ข้อมูลเป็น JSON ของ StockUpdate) เมื่อเริ่มต้น และทุกครั้งที่ค่าเปลี่ยน</p>
+     * <p><b>ตัวอย่างการเรียก:</b> {@code GET /api/components/stream?ids=665f...a1,665f...b2}</p>
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam("ids") List<String> componentIds) {
+        return stockStreamService.subscribe(componentIds);
+    }
+}
@@ -1,20 +1,23 @@
 package in.project.computers.controller.orderController;
 
 import com.paypal.base.rest.PayPalRESTException;
+import in.project.computers.dto.order.OrderPageResponse;
 import in.project.computers.dto.order.OrderResponse;
+import in.project.computers.dto.order.OrderSearchCriteria;
+import in.project.computers.entity.order.OrderStatus;
+import in.project.computers.entity.order.PaymentMethod;
+import in.project.computers.entity.order.PaymentStatus;
 import in.project.computers.service.orderService.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
-// หมายเหตุ: หากต้องการเพิ่ม Endpoint สำหรับ Admin ที่ดึงข้อมูล Order หลายๆ รายการ
-// ควรพิจารณาใช้ Pageable เพื่อจัดการ Pagination
-// import org.springframework.data.domain.Page;
-// import org.springframework.data.domain.Pageable;
+import java.time.Instant;
 
 /**
  * <h3>Admin Order Controller</h3>
@@ -35,6 +38,44 @@ public class AdminOrderController {
     // หมายเหตุ: ในอนาคตอาจจะต้องสร้าง AdminOrderService แยกต่างหาก
     // เพื่อจัดการ Logic ที่ซับซ้อนและไม่ควรปนกับ User-facing service
 
+    /**
+     * <h4>[GET] /api/admin/orders</h4>
+     * <p>Endpoint สำหรับดึงรายการ Order ทั้งหมดในระบบ ทีละหน้าแบบ Cursor (Keyset Pagination บน createdAt, _id)</p>
+     * <p>ทุกตัวกรองเป็น Optional และสามารถใช้ร่วมกันได้</p>
+     * <p><b>ตัวอย่างการเรียก:</b> {@code GET /api/admin/orders?orderStatus=PROCESSING&paymentMethod=PAYPAL&from=2025-01-01T00:00:00Z&limit=50}</p>
+     *
+     * @param orderStatus   กรองตามสถานะ Order
+     * @param paymentStatus กรองตามสถานะการชำระเงิน
+     * @param paymentMethod กรองตามวิธีการชำระเงิน
+     * @param from          วันเวลาเริ่มต้น (ISO-8601, รวม)
+     * @param to            วันเวลาสิ้นสุด (ISO-8601, ไม่รวม)
+     * @param stockIssue    {@code true} = เฉพาะ Order ที่รับเงินแล้วแต่ตัดสต็อกไม่สำเร็จ (ต้องตรวจสอบ)
+     * @param cursor        ค่า {@code nextCursor} จากหน้าก่อนหน้า
+     * @param limit         จำนวน Order ต่อหน้า (ค่าเริ่มต้น 20, สูงสุด 100)
+     * @return หน้าของ Order แบบย่อ พร้อม Cursor ของหน้าถัดไป
+     */
+    @GetMapping
+    public ResponseEntity<OrderPageResponse> getAllOrders(
+            @RequestParam(value = "orderStatus", required = false) OrderStatus orderStatus,
+            @RequestParam(value = "paymentStatus", required = false) PaymentStatus paymentStatus,
+            @RequestParam(value = "paymentMethod", required = false) PaymentMethod paymentMethod,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(value = "stockIssue", required = false) Boolean stockIssue,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        log.info("Admin action: Listing orders. Status: {}, Payment: {}, Method: {}", orderStatus, paymentStatus, paymentMethod);
+        OrderSearchCriteria criteria = OrderSearchCriteria.builder()
+                .orderStatus(orderStatus)
+                .paymentStatus(paymentStatus)
+                .paymentMethod(paymentMethod)
+                .from(from)
+                .to(to)
+                .stockIssue(stockIssue)
+                .build();
+        return ResponseEntity.ok(orderService.getAllOrders(criteria, cursor, limit));
+    }
+
     /**
      * <h4>[POST] /api/admin/orders/approve-refund/{orderId}</h4>
      * <p>Endpoint สำหรับอนุมัติคำขอคืนเงินที่ผู้ใช้ส่งเข้ามา</p>
@@ -116,20 +157,6 @@ public class AdminOrderController {
      * ==========================================================
      */
 
-    // /**
-    //  * <h4>[GET] /api/admin/orders</h4>
-    //  * <p>Endpoint สำหรับดึงรายการ Order ทั้งหมดในระบบ พร้อมระบบแบ่งหน้า (Pagination)</p>
-    //  * <p><b>ตัวอย่างการเรียก:</b> {@code GET /api/admin/orders?page=0&size=20&sort=createdAt,desc}</p>
-    //  * @param pageable ตัวแปรสำหรับจัดการ Pagination และการเรียงลำดับ
-    //  * @return Page<OrderResponse> ที่มีข้อมูล Order ในหน้านั้นๆ และข้อมูลเกี่ยวกับจำนวนหน้าทั้งหมด
-    //  */
-    // @GetMapping
-    // public ResponseEntity<Page<OrderResponse>> getAllOrders(Pageable pageable) {
-    //     // ต้องสร้างเมธอด `getAllOrders(pageable)` ใน Service เพิ่ม
-    //     Page<OrderResponse> orders = orderService.getAllOrders(pageable);
-    //     return ResponseEntity.ok(orders);
-    // }
-
     // /**
     //  * <h4>[POST] /api/admin/orders/approve-slip/{orderId}</h4>
     //  * <p>Endpoint สำหรับอนุมัติสลิปโอนเงินที่ผู้ใช้ส่งมา</p>
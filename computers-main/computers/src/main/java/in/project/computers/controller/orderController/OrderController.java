@@ -3,8 +3,11 @@ package in.project.computers.controller.orderController;
 import com.paypal.base.rest.PayPalRESTException;
 import in.project.computers.dto.order.CreateOrderRequest;
 import in.project.computers.dto.order.CreateOrderResponse;
+import in.project.computers.dto.order.OrderPageResponse;
 import in.project.computers.dto.order.OrderResponse;
+import in.project.computers.service.idempotencyService.IdempotencyService;
 import in.project.computers.service.orderService.OrderService;
+import in.project.computers.service.userAuthenticationService.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,8 +20,6 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.view.RedirectView;
 
-import java.util.List;
-
 /**
  * <h3>Order Controller (สำหรับ User)</h3>
  * <p>
@@ -33,6 +34,8 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final UserService userService;
 
     // ดึงค่า URL ของ Frontend จาก application.properties เพื่อใช้ในการ Redirect
     @Value("${app.frontend.url}")
@@ -51,17 +54,26 @@ public class OrderController {
      * }
      * }</pre>
      * <p><b>สิ่งที่ต้องมี:</b> ต้องมี Token ของผู้ใช้ที่ล็อกอินแล้วใน Header (`Authorization: Bearer <TOKEN>`)</p>
+     * <p><b>Idempotency:</b> ส่ง Header {@code Idempotency-Key} (เช่น UUID ที่สร้างครั้งเดียวต่อการกดสั่งซื้อ)
+     * เพื่อให้การกดซ้ำหรือการ Retry ได้ Order เดิมกลับไป (พร้อม Header {@code Idempotent-Replayed: true}) แทนการสร้าง Order ใหม่</p>
      *
-     * @param request DTO ที่มีข้อมูลคำสั่งซื้อ
+     * @param request        DTO ที่มีข้อมูลคำสั่งซื้อ
+     * @param idempotencyKey ค่าจาก Header {@code Idempotency-Key} (ไม่บังคับ)
      * @return ResponseEntity ที่มี CreateOrderResponse (อาจมี PayPal link หรือแค่ Order ID)
      */
     @PostMapping
     @PreAuthorize("isAuthenticated()") // ผู้ใช้ต้องล็อกอินก่อน
-    public ResponseEntity<CreateOrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request) {
+    public ResponseEntity<CreateOrderResponse> createOrder(
+            @Valid @RequestBody CreateOrderRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         try {
             log.info("User authenticated, received request to create order.");
-            CreateOrderResponse response = orderService.createOrder(request);
-            return ResponseEntity.ok(response);
+            IdempotencyService.Result<CreateOrderResponse> result = idempotencyService.execute(
+                    "create-order", userService.findByUserId(), idempotencyKey, request, CreateOrderResponse.class,
+                    () -> orderService.createOrder(request));
+            return ResponseEntity.ok()
+                    .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+                    .body(result.body());
         } catch (PayPalRESTException e) {
             log.error("Error communicating with PayPal during order creation. Error: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error communicating with PayPal", e);
@@ -143,16 +155,21 @@ public class OrderController {
 
     /**
      * <h4>[GET] /api/orders</h4>
-     * <p>Endpoint สำหรับให้ผู้ใช้ดูรายการ Order ทั้งหมดของตนเอง</p>
+     * <p>Endpoint สำหรับให้ผู้ใช้ดูรายการ Order ของตนเอง ทีละหน้า (Cursor Pagination)</p>
+     * <p><b>ตัวอย่างการเรียก:</b> {@code GET /api/orders?limit=20&cursor=MTcxOTk...}</p>
      * <p><b>สิ่งที่ต้องมี:</b> Token ของผู้ใช้ที่ล็อกอินแล้วใน Header (`Authorization: Bearer <TOKEN>`)</p>
      *
-     * @return รายการ Order ทั้งหมดของผู้ใช้ (List of OrderResponse)
+     * @param cursor ค่า {@code nextCursor} จากหน้าก่อนหน้า (ไม่ต้องส่งสำหรับหน้าแรก)
+     * @param limit  จำนวน Order ต่อหน้า (ค่าเริ่มต้น 20, สูงสุด 100)
+     * @return หน้าของ Order แบบย่อ พร้อม Cursor ของหน้าถัดไป
      */
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<OrderResponse>> getUserOrders() {
-        log.info("User authenticated, fetching their orders.");
-        return ResponseEntity.ok(orderService.getCurrentUserOrders());
+    public ResponseEntity<OrderPageResponse> getUserOrders(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        log.info("User authenticated, fetching their orders. Limit: {}", limit);
+        return ResponseEntity.ok(orderService.getCurrentUserOrders(cursor, limit));
     }
 
     /**
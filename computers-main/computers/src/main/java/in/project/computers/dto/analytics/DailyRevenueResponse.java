@@ -0,0 +1,21 @@
+package in.project.computers.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRevenueResponse {
+    private String day;
+    private long paidOrders;
+    private BigDecimal grossRevenue;
+    private long refundedOrders;
+    private BigDecimal refundedAmount;
+    private BigDecimal netRevenue;
+}
@@ -0,0 +1,29 @@
+package in.project.computers.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * ภาพรวมยอดขายในช่วงวันที่ที่ระบุ คำนวณจาก Daily Rollup
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderAnalyticsSummaryResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private String currency;
+    private long paidOrders;
+    private BigDecimal grossRevenue;
+    private BigDecimal averageOrderValue;
+    private long refundedOrders;
+    private BigDecimal refundedAmount;
+    // สัดส่วน refundedOrders / paidOrders (0.0 - 1.0)
+    private double refundRate;
+}
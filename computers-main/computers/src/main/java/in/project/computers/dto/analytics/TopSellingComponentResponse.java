@@ -0,0 +1,23 @@
+package in.project.computers.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * ยอดขายของ Component หนึ่งชิ้น นับรวมทั้งที่ขายแยกและที่อยู่ใน Build
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopSellingComponentResponse {
+    private String componentId;
+    private String name;
+    private String mpn;
+    private long unitsSold;
+    private BigDecimal revenue;
+}
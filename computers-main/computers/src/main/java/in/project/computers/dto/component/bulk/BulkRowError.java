@@ -0,0 +1,20 @@
+package in.project.computers.dto.component.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ข้อผิดพลาดของแถวเดียวในงานแบบ Bulk
+ * {@code row} คือลำดับแถวของข้อมูลในไฟล์ (เริ่มที่ 1 และไม่นับ Header ของ CSV)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRowError {
+    private long row;
+    private String mpn;
+    private String message;
+}
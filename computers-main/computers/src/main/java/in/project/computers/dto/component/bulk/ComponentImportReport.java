@@ -0,0 +1,24 @@
+package in.project.computers.dto.component.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * สรุปผลการนำเข้า Component แบบ Bulk
+ * แถวที่ผ่านการตรวจสอบจะถูกบันทึกแม้จะมีแถวอื่นผิดพลาด รายละเอียดแถวที่ไม่ผ่านอยู่ใน {@code errors}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComponentImportReport {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private boolean dryRun;
+    private List<BulkRowError> errors;
+}
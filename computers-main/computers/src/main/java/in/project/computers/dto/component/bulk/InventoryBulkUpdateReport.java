@@ -0,0 +1,26 @@
+package in.project.computers.dto.component.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * สรุปผลการปรับราคา/สต็อกแบบ Bulk
+ * {@code row} ใน {@code errors} คือลำดับของรายการใน Request (เริ่มที่ 1)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryBulkUpdateReport {
+    private int requested;
+    private int applied;
+    private int failed;
+    // จำนวน Component ที่สถานะ isActive เปลี่ยนเป็น true / false จากการปรับสต็อกครั้งนี้
+    private long activated;
+    private long deactivated;
+    private List<BulkRowError> errors;
+}
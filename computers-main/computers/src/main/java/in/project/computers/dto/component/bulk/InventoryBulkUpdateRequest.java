@@ -0,0 +1,43 @@
+package in.project.computers.dto.component.bulk;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * คำขอปรับราคาและ/หรือสต็อกของหลาย Component พร้อมกัน
+ * แต่ละรายการระบุ Component ด้วย {@code componentId} หรือ {@code mpn} อย่างใดอย่างหนึ่ง
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InventoryBulkUpdateRequest {
+
+    @NotEmpty(message = "Items cannot be empty")
+    @Size(max = 10000, message = "A single request can update at most 10000 items")
+    private List<@Valid Item> items;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Item {
+        private String componentId;
+        private String mpn;
+        /**
+         * ราคาใหม่ (ไม่ระบุ = ไม่เปลี่ยนราคา)
+         */
+        @DecimalMin(value = "0.0", inclusive = false, message = "Price must be positive")
+        private BigDecimal price;
+        /**
+         * จำนวนที่เพิ่ม (บวก) หรือลด (ลบ) จากสต็อกปัจจุบัน (ไม่ระบุ = ไม่เปลี่ยนสต็อก)
+         */
+        private Integer stockDelta;
+    }
+}
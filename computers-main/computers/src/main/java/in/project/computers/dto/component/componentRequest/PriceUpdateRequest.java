@@ -1,21 +0,0 @@
-package in.project.computers.dto.component.componentRequest;
-
-import jakarta.validation.constraints.DecimalMin;
-import jakarta.validation.constraints.NotNull;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.math.BigDecimal;
-
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class PriceUpdateRequest {
-    /**
-     * ราคาใหม่ของสินค้า
-     */
-    @NotNull(message = "New price cannot be null")
-    @DecimalMin(value = "0.0", inclusive = false, message = "Price must be positive")
-    private BigDecimal price;
-}
@@ -0,0 +1,26 @@
+package in.project.computers.dto.component.stream;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+
+/**
+ * ข้อมูลสต็อก/ราคาล่าสุดของ Component ที่ส่งให้ Client ผ่าน Server-Sent Events (Event ชื่อ {@code stock})
+ *
+ * @param componentId ID ของ Component
+ * @param quantity    จำนวนคงเหลือ
+ * @param price       ราคาปัจจุบัน
+ * @param isActive    เปิดขายอยู่หรือไม่
+ * @param deleted     {@code true} เมื่อ Component ถูกลบแล้ว (หรือไม่มีอยู่จริง)
+ */
+public record StockUpdate(
+        String componentId,
+        int quantity,
+        BigDecimal price,
+        @JsonProperty("isActive") boolean isActive,
+        boolean deleted) {
+
+    public static StockUpdate deleted(String componentId) {
+        return new StockUpdate(componentId, 0, BigDecimal.ZERO, false, true);
+    }
+}
@@ -0,0 +1,34 @@
+package in.project.computers.dto.order;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * ตำแหน่งของ Order ตัวสุดท้ายในหน้าที่แล้ว ใช้สำหรับ Keyset Pagination บน {@code (createdAt, _id)}
+ * เข้ารหัสเป็น Base64 (URL-safe) เพื่อให้ Client ส่งกลับมาแบบ Opaque Token
+ */
+public record OrderCursor(Instant createdAt, String id) {
+
+    public String encode() {
+        String raw = createdAt.toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            Instant createdAt = Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator)));
+            return new OrderCursor(createdAt, raw.substring(separator + 1));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid pagination cursor.");
+        }
+    }
+}
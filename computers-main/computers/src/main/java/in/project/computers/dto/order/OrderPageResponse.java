@@ -0,0 +1,22 @@
+package in.project.computers.dto.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO สำหรับผลลัพธ์การแบ่งหน้าแบบ Cursor (Keyset Pagination)
+ * ส่งค่า {@code nextCursor} กลับไปใน Request ถัดไปเพื่อดึงหน้าต่อไป (เป็น {@code null} เมื่อไม่มีข้อมูลเหลือแล้ว)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageResponse {
+    private List<OrderSummaryResponse> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -27,6 +27,7 @@ public class OrderResponse {
     private OrderStatus orderStatus;
     private PaymentStatus paymentStatus;
     private PaymentDetails paymentDetails;
+    private String stockIssue;
     private Instant createdAt;
     private Instant updatedAt;
 }
\ No newline at end of file
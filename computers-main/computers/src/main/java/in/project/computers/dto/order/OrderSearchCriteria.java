@@ -0,0 +1,30 @@
+package in.project.computers.dto.order;
+
+import in.project.computers.entity.order.OrderStatus;
+import in.project.computers.entity.order.PaymentMethod;
+import in.project.computers.entity.order.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * เงื่อนไขการกรอง Order สำหรับ Admin ทุกฟิลด์เป็น Optional (null = ไม่กรอง)
+ * ช่วงวันที่ใช้ {@code createdAt} โดย {@code from} เป็นแบบรวม และ {@code to} เป็นแบบไม่รวม
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSearchCriteria {
+    private String userId;
+    private OrderStatus orderStatus;
+    private PaymentStatus paymentStatus;
+    private PaymentMethod paymentMethod;
+    private Instant from;
+    private Instant to;
+    // true = เฉพาะ Order ที่มี stockIssue (รอ Admin ตรวจ)
+    private Boolean stockIssue;
+}
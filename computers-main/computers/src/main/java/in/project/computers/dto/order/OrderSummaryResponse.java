@@ -0,0 +1,49 @@
+package in.project.computers.dto.order;
+
+import in.project.computers.entity.order.LineItemType;
+import in.project.computers.entity.order.OrderStatus;
+import in.project.computers.entity.order.PaymentMethod;
+import in.project.computers.entity.order.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO แบบย่อสำหรับแสดงรายการ Order (Order History / Admin Listing)
+ * ไม่มี {@code lineItems.containedItems} และรายละเอียดการชำระเงินแบบเต็ม เพื่อลดขนาดข้อมูลที่ต้องอ่านและส่ง
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryResponse {
+    private String id;
+    private String userId;
+    private String email;
+    private List<LineSummary> lineItems;
+    private BigDecimal totalAmount;
+    private String currency;
+    private OrderStatus orderStatus;
+    private PaymentStatus paymentStatus;
+    private PaymentMethod paymentMethod;
+    private Instant createdAt;
+    private Instant updatedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineSummary {
+        private LineItemType itemType;
+        private String name;
+        private int quantity;
+        private BigDecimal unitPrice;
+        private String componentId;
+        private String buildId;
+    }
+}
@@ -0,0 +1,28 @@
+package in.project.computers.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * ผลลัพธ์การค้นหาหนึ่งรายการ (ข้อมูลย่อสำหรับแสดงในรายการ ใช้ {@code id} ดึงรายละเอียดเต็มจาก /api/components/{id})
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogSearchHit {
+    private String id;
+    private String type;
+    private String mpn;
+    private String name;
+    private String brand;
+    private String imageUrl;
+    private BigDecimal price;
+    private int quantity;
+    private boolean inStock;
+    private float score;
+}
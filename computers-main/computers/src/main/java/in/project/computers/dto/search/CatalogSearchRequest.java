@@ -0,0 +1,30 @@
+package in.project.computers.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * เงื่อนไขการค้นหา Catalog
+ * ทุกฟิลด์เป็น Optional ถ้าไม่ระบุ {@code query} จะคืน Component ทั้งหมดที่ผ่าน Filter
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogSearchRequest {
+    private String query;
+    private String type;
+    private String socket;
+    private String ramType;
+    private String formFactor;
+    private String brand;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private boolean inStockOnly;
+    private int offset;
+    private int limit;
+}
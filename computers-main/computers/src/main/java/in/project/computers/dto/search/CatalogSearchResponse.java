@@ -0,0 +1,28 @@
+package in.project.computers.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ผลการค้นหา Catalog พร้อมจำนวนตาม Facet
+ * <p>
+ * {@code facets} คือ ชื่อ Facet -> (ค่า -> จำนวน) โดยจำนวนของแต่ละ Facet นับโดยไม่รวม Filter ของ Facet นั้นเอง
+ * เพื่อให้ผู้ใช้เห็นตัวเลือกอื่นใน Facet เดียวกันได้
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogSearchResponse {
+    private long total;
+    private int offset;
+    private int limit;
+    private List<CatalogSearchHit> hits;
+    private Map<String, Map<String, Long>> facets;
+}
@@ -0,0 +1,21 @@
+package in.project.computers.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * คำแนะนำหนึ่งรายการของ Autocomplete
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionResponse {
+    private String id;
+    private String name;
+    private String mpn;
+    private String type;
+    private boolean inStock;
+}
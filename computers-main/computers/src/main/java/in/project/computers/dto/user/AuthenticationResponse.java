@@ -7,5 +7,10 @@ import lombok.Getter;
 @Getter
 public class AuthenticationResponse {
     private String email;
+    // Access Token (JWT) อายุสั้น ส่งใน Header Authorization: Bearer
     private String token;
+    // ใช้ครั้งเดียวที่ /api/refresh เพื่อรับ Token คู่ใหม่
+    private String refreshToken;
+    // อายุของ token (วินาที)
+    private long expiresIn;
 }
@@ -0,0 +1,37 @@
+package in.project.computers.entity.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * ยอดสรุปรายวันของ Order (Materialized Rollup)
+ * ถูกอัปเดตแบบ Incremental ({@code $inc}) ทุกครั้งที่ Order ถูกชำระเงิน (PROCESSING) หรือถูกคืนเงิน (REFUNDED)
+ * เพื่อให้ Dashboard อ่านข้อมูลจาก Collection เล็กๆ นี้แทนการ Scan Order ทั้งหมด
+ * <p>
+ * {@code id} คือวันที่ในรูปแบบ {@code yyyy-MM-dd} ตาม Time Zone ที่กำหนดใน {@code app.analytics.zone}
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "order_daily_rollups")
+public class OrderDailyRollup {
+    @Id
+    private String id;
+
+    private long paidOrders;
+    private BigDecimal grossRevenue;
+
+    private long refundedOrders;
+    private BigDecimal refundedAmount;
+
+    private Instant updatedAt;
+}
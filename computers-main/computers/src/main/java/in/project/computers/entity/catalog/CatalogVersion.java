@@ -0,0 +1,29 @@
+package in.project.computers.entity.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * เลขเวอร์ชันของ Catalog ที่เพิ่มขึ้นทุกครั้งที่ Component, Inventory หรือ Lookup เปลี่ยน
+ * เก็บไว้ในฐานข้อมูลเพื่อให้เวอร์ชันไม่ย้อนกลับหลัง Restart (ETag เดิมจึงไม่ชนกับข้อมูลใหม่)
+ * มีเอกสารเดียวที่ {@code id = "catalog"}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "catalog_versions")
+public class CatalogVersion {
+    @Id
+    private String id;
+
+    private long version;
+
+    private Instant updatedAt;
+}
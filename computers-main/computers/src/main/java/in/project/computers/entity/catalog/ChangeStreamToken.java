@@ -0,0 +1,27 @@
+package in.project.computers.entity.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+
+import java.time.Instant;
+
+/**
+ * Resume Token ล่าสุดของ Change Stream ที่ Instance หนึ่งประมวลผลแล้ว
+ * ใช้ต่อ Stream จากจุดเดิมหลัง Restart (แยกเอกสารตาม {@code id} = Node ID ของแต่ละ Instance)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@org.springframework.data.mongodb.core.mapping.Document(collection = "change_stream_tokens")
+public class ChangeStreamToken {
+    @Id
+    private String id;
+
+    private org.bson.Document token;
+
+    private Instant updatedAt;
+}
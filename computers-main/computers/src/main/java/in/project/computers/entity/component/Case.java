@@ -3,7 +3,6 @@ package in.project.computers.entity.component;
 import in.project.computers.entity.lookup.FormFactor;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 
 import java.util.List;
 
@@ -14,10 +13,8 @@ import java.util.List;
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 public class Case extends Component {
-    @DBRef
-    private List<FormFactor> supportedFormFactors;
-    @DBRef
-    private List<FormFactor> supportedPsuFormFactors;
+    private List<FormFactor> supportedFormFactors; // Embedded (เดิมเป็น @DBRef)
+    private List<FormFactor> supportedPsuFormFactors; // Embedded (เดิมเป็น @DBRef)
     private int max_gpu_length_mm;
     private int max_cooler_height_mm;
     private int bays_2_5_inch;
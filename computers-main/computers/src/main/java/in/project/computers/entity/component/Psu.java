@@ -2,7 +2,6 @@ package in.project.computers.entity.component;
 import in.project.computers.entity.lookup.FormFactor;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 
 @Data
 @SuperBuilder
@@ -11,6 +10,5 @@ import org.springframework.data.mongodb.core.mapping.DBRef;
 @EqualsAndHashCode(callSuper = true)
 public class Psu extends Component {
     private int wattage;
-    @DBRef
-    private FormFactor formFactor;
+    private FormFactor formFactor; // Embedded (เดิมเป็น @DBRef)
 }
\ No newline at end of file
@@ -4,7 +4,6 @@ import in.project.computers.entity.lookup.FormFactor;
 import in.project.computers.entity.lookup.StorageInterface;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 
 @Data
 @SuperBuilder
@@ -12,9 +11,7 @@ import org.springframework.data.mongodb.core.mapping.DBRef;
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 public class StorageDrive extends Component {
-    @DBRef
-    private StorageInterface storageInterface;
+    private StorageInterface storageInterface; // Embedded (เดิมเป็น @DBRef)
     private int capacity_gb;
-    @DBRef
-    private FormFactor formFactor;
+    private FormFactor formFactor; // Embedded (เดิมเป็น @DBRef)
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package in.project.computers.entity.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * ผลลัพธ์ของ Request แรกที่ใช้ {@code Idempotency-Key} หนึ่งๆ เก็บไว้เพื่อตอบซ้ำเมื่อ Client ส่ง Request เดิมมาอีก
+ * เอกสารถูกลบอัตโนมัติเมื่อถึง {@code expiresAt} (TTL Index)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+
+    public enum Status {
+        /** Request แรกยังทำงานอยู่ */
+        IN_PROGRESS,
+        /** ทำงานสำเร็จ และเก็บ Response ไว้แล้ว */
+        COMPLETED
+    }
+
+    /** {@code <scope>:<userId>:<Idempotency-Key>} */
+    @Id
+    private String id;
+
+    /** SHA-256 ของ Request Body ใช้ตรวจว่า Key เดิมถูกใช้กับ Request อื่นหรือไม่ */
+    private String requestHash;
+
+    private Status status;
+
+    /** Response Body ของ Request แรก (JSON) */
+    private String responseBody;
+
+    private Instant createdAt;
+
+    /** เวลาที่เริ่มทำงาน ใช้ตัดสินว่า IN_PROGRESS ค้างอยู่จาก Instance ที่ล่มไปแล้วหรือไม่ */
+    private Instant lockedAt;
+
+    /** TTL Index {@code expiresAt_ttl} สร้างใน {@code IdempotencyServiceImpl.ensureTtlIndex} */
+    private Instant expiresAt;
+}
@@ -3,11 +3,13 @@ package in.project.computers.entity.order;
 import lombok.Builder;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 
+// Index ของ Collection นี้สร้างใน OrderStateMachine.ensureIndexes (แอปไม่ได้เปิด auto-index-creation)
 @Document(collection = "orders")
 @Data
 @Builder
@@ -35,7 +37,17 @@ public class Order {
 
     private PaymentDetails paymentDetails;
 
+    // เวลาที่ Request จองการ Capture (PENDING -> CAPTURING) ใช้หา Capture ที่ค้างเพราะ Request ตายไปกลางทาง
+    private Instant captureClaimedAt;
+
+    // ตัดสต็อกไม่สำเร็จหลัง PayPal รับเงินแล้ว (null = ไม่มีปัญหา) Admin ต้องตรวจสต็อกหรือคืนเงินเอง
+    private String stockIssue;
+
 
     private Instant createdAt;
     private Instant updatedAt;
+
+    // Optimistic Locking สำหรับ save() ทั้งก้อน; การเปลี่ยนสถานะผ่าน OrderStateMachine จะ $inc ค่านี้ด้วย
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ public enum OrderStatus {
     CANCELLED,        // ยกเลิกแล้ว
 
     REFUND_REQUESTED, // ผู้ใช้ส่งคำขอคืนเงิน
+    REFUND_PROCESSING, // แอดมินอนุมัติแล้ว กำลังคืนเงินกับผู้ให้บริการชำระเงิน
     REFUNDED,         // คืนเงินสำเร็จแล้ว
     REFUND_REJECTED   // แอดมินปฏิเสธคำขอคืนเงิน
 }
\ No newline at end of file
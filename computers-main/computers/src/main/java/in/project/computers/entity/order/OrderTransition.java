@@ -0,0 +1,100 @@
+package in.project.computers.entity.order;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * State Machine ของ Order: การเปลี่ยนสถานะที่อนุญาตทั้งหมด
+ * <p>
+ * แต่ละ Transition ระบุสถานะต้นทางที่ยอมรับ (ของ Order และของการชำระเงิน; เซตว่าง = ไม่สนใจ)
+ * และสถานะปลายทาง (null = ไม่เปลี่ยน) การเปลี่ยนจริงทำแบบ Atomic ด้วย findAndModify
+ * ที่มีสถานะต้นทางอยู่ในเงื่อนไข ({@code OrderStateMachine})
+ * </p>
+ */
+public enum OrderTransition {
+
+    /** ผู้ใช้ยกเลิก Order ที่ยังไม่ได้ชำระเงิน */
+    CANCEL(EnumSet.of(OrderStatus.PENDING_PAYMENT), EnumSet.of(PaymentStatus.PENDING),
+            OrderStatus.CANCELLED, PaymentStatus.FAILED),
+
+    /** ผู้ใช้ส่งสลิปโอนเงิน */
+    SUBMIT_SLIP(EnumSet.of(OrderStatus.PENDING_PAYMENT), EnumSet.of(PaymentStatus.PENDING),
+            null, PaymentStatus.PENDING_APPROVAL),
+
+    /** ผู้ใช้สร้างลิงก์ PayPal ใหม่ หลังการชำระครั้งก่อนไม่สำเร็จ */
+    RETRY_PAYMENT(EnumSet.of(OrderStatus.PENDING_PAYMENT), EnumSet.of(PaymentStatus.PENDING, PaymentStatus.FAILED),
+            null, PaymentStatus.PENDING),
+
+    /** Callback จาก PayPal จองการ Capture (มีเพียง Request เดียวที่ชนะ) */
+    CLAIM_CAPTURE(EnumSet.of(OrderStatus.PENDING_PAYMENT), EnumSet.of(PaymentStatus.PENDING),
+            null, PaymentStatus.CAPTURING),
+
+    /** Capture สำเร็จ */
+    COMPLETE_CAPTURE(EnumSet.of(OrderStatus.PENDING_PAYMENT), EnumSet.of(PaymentStatus.CAPTURING),
+            OrderStatus.PROCESSING, PaymentStatus.COMPLETED),
+
+    /** PayPal ไม่อนุมัติการชำระเงิน */
+    FAIL_CAPTURE(EnumSet.of(OrderStatus.PENDING_PAYMENT), EnumSet.of(PaymentStatus.CAPTURING),
+            null, PaymentStatus.FAILED),
+
+    /** เรียก PayPal ไม่สำเร็จ: คืนสถานะให้ลองใหม่ได้ */
+    RELEASE_CAPTURE(EnumSet.of(OrderStatus.PENDING_PAYMENT), EnumSet.of(PaymentStatus.CAPTURING),
+            null, PaymentStatus.PENDING),
+
+    /** ผู้ใช้ขอคืนเงิน */
+    REQUEST_REFUND(EnumSet.of(OrderStatus.PROCESSING, OrderStatus.SHIPPED, OrderStatus.COMPLETED), EnumSet.noneOf(PaymentStatus.class),
+            OrderStatus.REFUND_REQUESTED, null),
+
+    /** Admin อนุมัติการคืนเงิน: จองก่อนเรียกผู้ให้บริการชำระเงิน เพื่อไม่ให้คืนเงินซ้ำ */
+    CLAIM_REFUND(EnumSet.of(OrderStatus.REFUND_REQUESTED), EnumSet.noneOf(PaymentStatus.class),
+            OrderStatus.REFUND_PROCESSING, null),
+
+    /** คืนเงินสำเร็จ */
+    COMPLETE_REFUND(EnumSet.of(OrderStatus.REFUND_PROCESSING), EnumSet.noneOf(PaymentStatus.class),
+            OrderStatus.REFUNDED, PaymentStatus.REFUNDED),
+
+    /** คืนเงินไม่สำเร็จ: กลับไปรอการอนุมัติ */
+    RELEASE_REFUND(EnumSet.of(OrderStatus.REFUND_PROCESSING), EnumSet.noneOf(PaymentStatus.class),
+            OrderStatus.REFUND_REQUESTED, null),
+
+    /** Admin ปฏิเสธการคืนเงิน */
+    REJECT_REFUND(EnumSet.of(OrderStatus.REFUND_REQUESTED), EnumSet.noneOf(PaymentStatus.class),
+            OrderStatus.REFUND_REJECTED, null);
+
+    private final Set<OrderStatus> fromOrderStatuses;
+    private final Set<PaymentStatus> fromPaymentStatuses;
+    private final OrderStatus targetOrderStatus;
+    private final PaymentStatus targetPaymentStatus;
+
+    OrderTransition(Set<OrderStatus> fromOrderStatuses, Set<PaymentStatus> fromPaymentStatuses,
+                    OrderStatus targetOrderStatus, PaymentStatus targetPaymentStatus) {
+        this.fromOrderStatuses = fromOrderStatuses;
+        this.fromPaymentStatuses = fromPaymentStatuses;
+        this.targetOrderStatus = targetOrderStatus;
+        this.targetPaymentStatus = targetPaymentStatus;
+    }
+
+    public Set<OrderStatus> getFromOrderStatuses() {
+        return fromOrderStatuses;
+    }
+
+    public Set<PaymentStatus> getFromPaymentStatuses() {
+        return fromPaymentStatuses;
+    }
+
+    public OrderStatus getTargetOrderStatus() {
+        return targetOrderStatus;
+    }
+
+    public PaymentStatus getTargetPaymentStatus() {
+        return targetPaymentStatus;
+    }
+
+    /**
+     * ตรวจจากสถานะที่อ่านมา (ใช้สร้างข้อความ Error ที่ชัดเจนก่อนเปลี่ยนจริง การตัดสินสุดท้ายอยู่ที่ findAndModify)
+     */
+    public boolean isAllowedFrom(Order order) {
+        return fromOrderStatuses.contains(order.getOrderStatus())
+                && (fromPaymentStatuses.isEmpty() || fromPaymentStatuses.contains(order.getPaymentStatus()));
+    }
+}
@@ -2,6 +2,7 @@ package in.project.computers.entity.order;
 
 public enum PaymentStatus {
     PENDING,          // Waiting for user to initiate/complete payment.
+    CAPTURING,        // PayPal capture claimed by one request and in progress.
     PENDING_APPROVAL, // Bank transfer slip submitted, waiting for admin to verify.
     COMPLETED,        // Payment successful and verified.
     FAILED,           // Payment attempt failed.
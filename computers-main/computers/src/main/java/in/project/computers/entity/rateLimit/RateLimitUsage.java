@@ -0,0 +1,40 @@
+package in.project.computers.entity.rateLimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * จำนวน Token ที่ Instance หนึ่งใช้ไปจาก Bucket หนึ่ง ใช้แบ่งปันการใช้งานระหว่าง Instance ({@code app.rate-limit.sync.enabled})
+ * เอกสารถูกลบอัตโนมัติเมื่อถึง {@code expiresAt} (TTL Index)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "rate_limit_usage")
+public class RateLimitUsage {
+
+    /** {@code <nodeId>|<bucketKey>} */
+    @Id
+    private String id;
+
+    /** {@code <group>:<ip|user>:<value>} */
+    private String bucketKey;
+
+    private String group;
+
+    private String nodeId;
+
+    /** Token ทั้งหมดที่ Instance นี้ใช้ไป (เพิ่มขึ้นอย่างเดียว ผู้อ่านคิดส่วนต่างจากค่าที่เห็นครั้งก่อน) */
+    private long consumed;
+
+    private Instant updatedAt;
+
+    private Instant expiresAt;
+}
@@ -0,0 +1,30 @@
+package in.project.computers.entity.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Refresh Token หนึ่งใบ เก็บเฉพาะ SHA-256 ของ Token (ค่าจริงอยู่ที่ Client เท่านั้น)
+ * ทุกใบที่ได้จากการ Refresh ต่อกันมาจากการล็อกอินครั้งเดียวมี {@code sessionId} เดียวกัน
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "refresh_tokens")
+@Builder
+public class RefreshToken {
+    @Id
+    private String id;
+    private String sessionId;
+    private String email;
+    private Instant issuedAt;
+    private Instant expiresAt;
+    // ถูกใช้ Refresh ไปแล้ว: ถ้ามีการใช้ซ้ำแสดงว่า Token หลุด ทั้ง Session จะถูกเพิกถอน
+    private Instant usedAt;
+}
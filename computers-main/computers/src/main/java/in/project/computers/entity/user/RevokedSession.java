@@ -0,0 +1,26 @@
+package in.project.computers.entity.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Session ที่ถูกเพิกถอน (Logout หรือพบการใช้ Refresh Token ซ้ำ) ทุก Instance อ่านไปเก็บในหน่วยความจำ
+ * {@code expiresAt} คือเวลาที่ Access Token ใบสุดท้ายของ Session หมดอายุ หลังจากนั้น MongoDB ลบเอกสารเอง (TTL Index)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "revoked_sessions")
+@Builder
+public class RevokedSession {
+    @Id
+    private String id;
+    private Instant revokedAt;
+    private Instant expiresAt;
+}
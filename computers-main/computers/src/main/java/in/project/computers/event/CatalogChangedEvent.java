@@ -0,0 +1,54 @@
+package in.project.computers.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Event ภายในแอปพลิเคชันที่ถูก Publish ทุกครั้งที่ข้อมูล Catalog เปลี่ยน
+ * (สร้าง/แก้ไข/ลบ Component, ราคาหรือสต็อกใน Inventory, หรือตาราง Lookup)
+ * <p>
+ * ผู้ฟัง (เช่น Cache หรือ Index ต่างๆ) ควรโหลดข้อมูลของ {@code componentIds} ใหม่จากฐานข้อมูล
+ * หาก ID ใดไม่พบแล้วแสดงว่า Component นั้นถูกลบ
+ * </p>
+ *
+ * @param componentIds ID ของ Component ที่ได้รับผลกระทบ (ว่างได้เมื่อ {@code scope} เป็น {@link Scope#LOOKUPS} หรือ {@link Scope#ALL})
+ * @param scope        ส่วนของข้อมูลที่เปลี่ยน
+ * @param remote       {@code true} เมื่อการแก้ไขเกิดบน Instance อื่น (ได้รับผ่าน MongoDB Change Stream)
+ *                     ผู้ฟังควรล้าง/โหลดข้อมูลใน Memory ใหม่เท่านั้น ห้ามเขียนฐานข้อมูลซ้ำ
+ */
+public record CatalogChangedEvent(Set<String> componentIds, Scope scope, boolean remote) {
+
+    public enum Scope {
+        /** ข้อมูลของตัว Component เปลี่ยน (รวมถึงสร้างหรือลบ) */
+        COMPONENTS,
+        /** เปลี่ยนเฉพาะราคา/จำนวนสต็อก (และสถานะ isActive ที่ตามมา) */
+        INVENTORY,
+        /** ตาราง Lookup (Socket, RAM Type, Form Factor, Storage Interface) เปลี่ยน */
+        LOOKUPS,
+        /** ไม่ทราบว่าอะไรเปลี่ยนบ้าง (เช่น Change Stream ต่อจาก Resume Token เดิมไม่ได้) ต้องโหลดทุกอย่างใหม่ */
+        ALL
+    }
+
+    public static CatalogChangedEvent components(Collection<String> componentIds) {
+        return new CatalogChangedEvent(Set.copyOf(componentIds), Scope.COMPONENTS, false);
+    }
+
+    public static CatalogChangedEvent inventory(Collection<String> componentIds) {
+        return new CatalogChangedEvent(Set.copyOf(componentIds), Scope.INVENTORY, false);
+    }
+
+    public static CatalogChangedEvent lookups() {
+        return new CatalogChangedEvent(Set.of(), Scope.LOOKUPS, false);
+    }
+
+    public static CatalogChangedEvent all() {
+        return new CatalogChangedEvent(Set.of(), Scope.ALL, false);
+    }
+
+    /**
+     * สำเนาของ Event นี้ที่ระบุว่ามาจาก Instance อื่น
+     */
+    public CatalogChangedEvent asRemote() {
+        return new CatalogChangedEvent(componentIds, scope, true);
+    }
+}
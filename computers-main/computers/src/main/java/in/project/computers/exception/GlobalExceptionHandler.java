@@ -1,6 +1,8 @@
 package in.project.computers.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -31,6 +33,15 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return handleExceptionInternal(ex, body, new HttpHeaders(), ex.getStatusCode(), request);
     }
 
+    // save() ของ Entity ที่มี @Version แพ้ Request อื่นที่แก้เอกสารเดียวกันไปก่อน
+    @ExceptionHandler(value = { OptimisticLockingFailureException.class })
+    protected ResponseEntity<Object> handleOptimisticLockingFailure(OptimisticLockingFailureException ex, WebRequest request) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", HttpStatus.CONFLICT.value());
+        body.put("error", "The resource was modified by another request. Please reload and try again.");
+        return handleExceptionInternal(ex, body, new HttpHeaders(), HttpStatus.CONFLICT, request);
+    }
+
     @ExceptionHandler(value = { Exception.class })
     protected ResponseEntity<Object> handleGenericException(Exception ex, WebRequest request) {
         Map<String, Object> body = new LinkedHashMap<>();
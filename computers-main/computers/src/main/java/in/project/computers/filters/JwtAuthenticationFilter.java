@@ -1,6 +1,9 @@
 package in.project.computers.filters;
 
+import in.project.computers.service.userAuthenticationService.TokenRevocationService;
 import in.project.computers.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,7 +14,6 @@ import lombok.extern.slf4j.Slf4j; // <-- 1. Import Slf4j for logging
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -25,7 +27,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final TokenRevocationService revocationService;
 
     @Override
     protected void doFilterInternal(
@@ -41,27 +43,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         final String token = authHeader.substring(7);
-        final String email = jwtUtil.extractUsername(token);
 
-        if (StringUtils.hasText(email) && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(email);
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            // ตรวจลายเซ็น, วันหมดอายุ และรายการเพิกถอนในหน่วยความจำ ไม่อ่านผู้ใช้จาก Database
+            final Claims claims;
+            try {
+                claims = jwtUtil.parseToken(token);
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Rejected JWT: {}", e.getMessage());
+                filterChain.doFilter(request, response);
+                return;
+            }
+            final String sessionId = claims.get(JwtUtil.SESSION_CLAIM, String.class);
+            // Token ที่ไม่มี Session ID (ออกก่อนมี Refresh Token) เพิกถอนไม่ได้ จึงไม่รับ
+            if (!StringUtils.hasText(claims.getSubject()) || !StringUtils.hasText(sessionId) || revocationService.isRevoked(sessionId)) {
+                log.debug("Rejected JWT of revoked or unknown session for user '{}'", claims.getSubject());
+                filterChain.doFilter(request, response);
+                return;
+            }
 
-            if (jwtUtil.validateToken(token, userDetails)) {
+            UserDetails userDetails = jwtUtil.toUserDetails(claims);
 
-                // --- 3. ADD THIS LOGGING BLOCK ---
-                log.info("User '{}' authenticated successfully. Authorities: {}",
-                        userDetails.getUsername(),
-                        userDetails.getAuthorities());
-                // --- END OF LOGGING BLOCK ---
+            // --- 3. ADD THIS LOGGING BLOCK ---
+            log.info("User '{}' authenticated successfully. Authorities: {}",
+                    userDetails.getUsername(),
+                    userDetails.getAuthorities());
+            // --- END OF LOGGING BLOCK ---
 
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails,
+                    null,
+                    userDetails.getAuthorities()
+            );
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
         filterChain.doFilter(request, response);
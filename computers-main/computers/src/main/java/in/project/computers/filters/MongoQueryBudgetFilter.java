@@ -0,0 +1,111 @@
+package in.project.computers.filters;
+
+import in.project.computers.util.MongoQueryCounter;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * <h3>Mongo Query Budget Filter</h3>
+ * <p>
+ * นับคำสั่ง MongoDB ต่อหนึ่ง HTTP Request (ผ่าน {@link MongoQueryCounter}) เพื่อจับ N+1 ตั้งแต่ตอนพัฒนา/ทดสอบ
+ * เปิดด้วย {@code app.mongo.query-budget.enabled=true} (ปิดใน Production)
+ * </p>
+ * <ul>
+ *     <li>ใส่จำนวนคำสั่งใน Header {@value #HEADER} (นับถึงตอนที่ Response เริ่มถูกส่ง) ให้ Test และ Dev Tools อ่านได้</li>
+ *     <li>เมื่อเกินงบของ Endpoint ({@code app.mongo.query-budget.limits}, รูปแบบ {@code "GET /api/components=2"})
+ *     หรืองบเริ่มต้น จะ Log คำสั่งทั้งหมดพร้อม Call Stack ของโค้ดที่สั่ง Query</li>
+ * </ul>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10) // ครอบ Security Filter ด้วย เพื่อนับ Query ของการยืนยันตัวตนรวมอยู่ใน Request
+@Slf4j
+public class MongoQueryBudgetFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Mongo-Query-Count";
+
+    @Value("${app.mongo.query-budget.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.mongo.query-budget.default:20}")
+    private int defaultBudget;
+
+    @Value("${app.mongo.query-budget.limits:}")
+    private List<String> limits;
+
+    private Map<String, Integer> budgets = Map.of();
+
+    @PostConstruct
+    void parseBudgets() {
+        Map<String, Integer> parsed = new HashMap<>();
+        for (String limit : limits) {
+            if (limit.isBlank()) {
+                continue;
+            }
+            int separator = limit.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid app.mongo.query-budget.limits entry (expected 'METHOD /path=N'): " + limit);
+            }
+            parsed.put(limit.substring(0, separator).trim(), Integer.parseInt(limit.substring(separator + 1).trim()));
+        }
+        budgets = Map.copyOf(parsed);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        try (MongoQueryCounter.Scope scope = MongoQueryCounter.open(true)) {
+            filterChain.doFilter(request, new OnCommittedResponseWrapper(response) {
+                @Override
+                protected void onResponseCommitted() {
+                    setHeader(HEADER, String.valueOf(scope.count()));
+                }
+            });
+            // Response ขนาดเล็กยังไม่ถูกส่งตอนนี้ (Container ส่งหลัง Filter จบ) จึงต้องใส่ Header เองที่นี่
+            if (!response.isCommitted()) {
+                response.setHeader(HEADER, String.valueOf(scope.count()));
+            }
+            checkBudget(request, scope);
+        }
+    }
+
+    /**
+     * Budget ตาม Path Pattern ของ Handler (เช่น {@code GET /api/components/{id}}) ไม่ใช่ URL จริง
+     */
+    private void checkBudget(HttpServletRequest request, MongoQueryCounter.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        int budget = budgets.getOrDefault(endpoint, defaultBudget);
+        if (scope.count() > budget) {
+            log.warn("Mongo query budget exceeded for {}: {} command(s), budget {}.{}{}", endpoint, scope.count(), budget,
+                    System.lineSeparator(),
+                    scope.commands().stream()
+                            .map(command -> "\t" + command)
+                            .collect(Collectors.joining(System.lineSeparator())));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package in.project.computers.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.project.computers.service.rateLimitService.RateLimitGroup;
+import in.project.computers.service.rateLimitService.RateLimitService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * <h3>Rate Limit Filter</h3>
+ * <p>
+ * จำกัดอัตรา Request ของ Route ใน {@link RateLimitGroup} (อยู่ใน Security Chain ต่อจาก {@link JwtAuthenticationFilter}
+ * จึงรู้ผู้ใช้ที่ล็อกอินแล้ว) เมื่อ Token หมดจะตอบ 429 พร้อม Header {@code Retry-After} (วินาที) โดยไม่เรียก Controller
+ * </p>
+ * <p>
+ * IP คือ {@code request.getRemoteAddr()} ถ้าแอปอยู่หลัง Reverse Proxy ต้องตั้ง {@code server.forward-headers-strategy}
+ * ไม่เช่นนั้นทุก Client จะใช้ Bucket เดียวกันของ Proxy
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitService rateLimitService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Optional<RateLimitGroup> group = RateLimitGroup.match(request.getMethod(), path);
+        if (group.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = keyOf(group.get(), request);
+        Optional<Duration> retryAfter = rateLimitService.tryAcquire(group.get(), key);
+        if (retryAfter.isPresent()) {
+            log.debug("Rate limit exceeded for {} ({} {})", key, request.getMethod(), path);
+            reject(response, retryAfter.get());
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static String keyOf(RateLimitGroup group, HttpServletRequest request) {
+        if (group.perUser()) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return "user:" + authentication.getName();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, Duration retryAfter) throws IOException {
+        // ปัดขึ้นเป็นวินาที: Client ที่รอตาม Header จะได้ Token แน่นอน
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too many requests. Please retry after " + seconds + " second(s).");
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
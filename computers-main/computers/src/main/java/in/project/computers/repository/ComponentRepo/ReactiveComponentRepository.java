@@ -0,0 +1,18 @@
+package in.project.computers.repository.ComponentRepo;
+
+import in.project.computers.entity.component.Component;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Repository แบบ Reactive ของ Component สำหรับเส้นทางอ่าน Catalog แบบ Streaming เท่านั้น
+ * (การเขียนทั้งหมดยังใช้ {@link ComponentRepository})
+ */
+@Repository
+public interface ReactiveComponentRepository extends ReactiveMongoRepository<Component, String> {
+
+    Flux<Component> findByType(String type, Sort sort);
+
+}
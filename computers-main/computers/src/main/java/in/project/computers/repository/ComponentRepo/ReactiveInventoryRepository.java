@@ -0,0 +1,19 @@
+package in.project.computers.repository.ComponentRepo;
+
+import in.project.computers.entity.component.Inventory;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+/**
+ * Repository แบบ Reactive ของ Inventory สำหรับเส้นทางอ่าน Catalog แบบ Streaming เท่านั้น
+ * (การเขียนทั้งหมดยังใช้ {@link InventoryRepository})
+ */
+@Repository
+public interface ReactiveInventoryRepository extends ReactiveMongoRepository<Inventory, String> {
+
+    Flux<Inventory> findAllByComponentIdIn(Collection<String> componentIds);
+
+}
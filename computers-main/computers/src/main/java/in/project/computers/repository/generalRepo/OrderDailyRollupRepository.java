@@ -0,0 +1,15 @@
+package in.project.computers.repository.generalRepo;
+
+import in.project.computers.entity.analytics.OrderDailyRollup;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.List;
+
+public interface OrderDailyRollupRepository extends MongoRepository<OrderDailyRollup, String> {
+
+    // id มีรูปแบบ yyyy-MM-dd จึงเปรียบเทียบแบบ String ได้ตรงตามลำดับวันที่
+    @Query("{ '_id': { $gte: ?0, $lte: ?1 } }")
+    List<OrderDailyRollup> findDaysBetween(String fromDay, String toDay, Sort sort);
+}
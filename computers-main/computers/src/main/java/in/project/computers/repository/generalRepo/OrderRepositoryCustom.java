@@ -0,0 +1,34 @@
+package in.project.computers.repository.generalRepo;
+
+import in.project.computers.dto.order.OrderCursor;
+import in.project.computers.dto.order.OrderSearchCriteria;
+import in.project.computers.entity.order.Order;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Query เพิ่มเติมของ {@link OrderRepository} ที่ต้องใช้ {@code MongoTemplate} โดยตรง
+ */
+public interface OrderRepositoryCustom {
+
+    /**
+     * ดึง Order แบบย่อ (ไม่มี {@code lineItems.containedItems}) เรียงจากใหม่ไปเก่าตาม {@code (createdAt, _id)}
+     *
+     * @param criteria เงื่อนไขการกรอง (ฟิลด์ที่เป็น null จะไม่ถูกนำมากรอง)
+     * @param after    ตำแหน่งของ Order ตัวสุดท้ายในหน้าก่อนหน้า หรือ null สำหรับหน้าแรก
+     * @param limit    จำนวนสูงสุดที่ต้องการ
+     * @return รายการ Order ที่ถูก Projection แล้ว
+     */
+    List<Order> findSummaries(OrderSearchCriteria criteria, OrderCursor after, int limit);
+
+    /**
+     * อ่าน Order ฉบับเต็มทั้งหมดที่ตรงเงื่อนไขผ่าน Mongo Cursor เรียงจากเก่าไปใหม่
+     * ผู้เรียกต้องปิด Stream (try-with-resources) เพื่อคืน Cursor ให้ Server
+     *
+     * @param criteria  เงื่อนไขการกรอง
+     * @param batchSize จำนวนเอกสารที่ดึงจาก Server ต่อรอบ
+     * @return Stream ของ Order ที่อ่านทีละ Batch
+     */
+    Stream<Order> streamAll(OrderSearchCriteria criteria, int batchSize);
+}
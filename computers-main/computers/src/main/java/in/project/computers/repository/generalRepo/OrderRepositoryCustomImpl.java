@@ -0,0 +1,94 @@
+package in.project.computers.repository.generalRepo;
+
+import in.project.computers.dto.order.OrderCursor;
+import in.project.computers.dto.order.OrderSearchCriteria;
+import in.project.computers.entity.order.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Order> findSummaries(OrderSearchCriteria criteria, OrderCursor after, int limit) {
+        List<Criteria> conditions = buildConditions(criteria);
+
+        // Keyset: (createdAt < c) OR (createdAt == c AND _id < id) ทำให้ไม่ต้องใช้ skip ซึ่งช้าลงเรื่อยๆ ตามจำนวนหน้า
+        if (after != null) {
+            conditions.add(new Criteria().orOperator(
+                    Criteria.where("createdAt").lt(after.createdAt()),
+                    new Criteria().andOperator(
+                            Criteria.where("createdAt").is(after.createdAt()),
+                            Criteria.where("id").lt(after.id()))));
+        }
+
+        Query query = toQuery(conditions);
+        query.with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")));
+        query.limit(limit);
+        query.fields()
+                .exclude("lineItems.containedItems")
+                .exclude("userAddress")
+                .exclude("phoneNumber")
+                .exclude("paymentDetails.transactionId")
+                .exclude("paymentDetails.payerId")
+                .exclude("paymentDetails.payerEmail")
+                .exclude("paymentDetails.providerStatus");
+
+        return mongoTemplate.find(query, Order.class);
+    }
+
+    @Override
+    public Stream<Order> streamAll(OrderSearchCriteria criteria, int batchSize) {
+        Query query = toQuery(buildConditions(criteria));
+        // ลำดับนี้คือ created_id_idx / user_created_id_idx แบบเดินย้อนกลับ จึงไม่ต้อง Sort ในหน่วยความจำ
+        // เผื่อ Planner เลือก Index อื่นตามตัวกรอง (เช่น paymentStatus) ให้ Sort ลงดิสก์ได้แทนที่จะล้มเกิน 100MB
+        query.with(Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id")));
+        query.allowDiskUse(true);
+        query.cursorBatchSize(batchSize);
+        return mongoTemplate.stream(query, Order.class);
+    }
+
+    private List<Criteria> buildConditions(OrderSearchCriteria criteria) {
+        List<Criteria> conditions = new ArrayList<>();
+
+        if (criteria.getUserId() != null) {
+            conditions.add(Criteria.where("userId").is(criteria.getUserId()));
+        }
+        if (criteria.getOrderStatus() != null) {
+            conditions.add(Criteria.where("orderStatus").is(criteria.getOrderStatus()));
+        }
+        if (criteria.getPaymentStatus() != null) {
+            conditions.add(Criteria.where("paymentStatus").is(criteria.getPaymentStatus()));
+        }
+        if (criteria.getPaymentMethod() != null) {
+            conditions.add(Criteria.where("paymentDetails.paymentMethod").is(criteria.getPaymentMethod()));
+        }
+        if (criteria.getFrom() != null || criteria.getTo() != null) {
+            Criteria createdAt = Criteria.where("createdAt");
+            if (criteria.getFrom() != null) createdAt.gte(criteria.getFrom());
+            if (criteria.getTo() != null) createdAt.lt(criteria.getTo());
+            conditions.add(createdAt);
+        }
+        if (criteria.getStockIssue() != null) {
+            conditions.add(Criteria.where("stockIssue").exists(criteria.getStockIssue()));
+        }
+        return conditions;
+    }
+
+    private Query toQuery(List<Criteria> conditions) {
+        Query query = new Query();
+        if (!conditions.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(conditions));
+        }
+        return query;
+    }
+}
@@ -2,9 +2,16 @@ package in.project.computers.repository.generalRepo;
 
 import in.project.computers.entity.user.UserEntity;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 
 import java.util.Optional;
 
 public interface UserRepository extends MongoRepository<UserEntity, String> {
     Optional<UserEntity> findByEmail(String Email);
+
+    // เขียนเฉพาะ Hash รหัสผ่านใน Command เดียว (ใช้ตอนเพิ่ม BCrypt cost หลังล็อกอิน)
+    @Query("{ 'email': ?0 }")
+    @Update("{ '$set': { 'password': ?1 } }")
+    long updatePasswordByEmail(String email, String password);
 }
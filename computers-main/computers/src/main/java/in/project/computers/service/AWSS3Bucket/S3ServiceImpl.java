@@ -1,5 +1,6 @@
 package in.project.computers.service.AWSS3Bucket;
 
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -28,6 +29,7 @@ public class S3ServiceImpl implements S3Service {
     private String bucketName;
 
     @Override
+    @Observed(name = "app.s3.upload")
     public String uploadFile(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "File to be uploaded cannot be empty.");
@@ -55,6 +57,7 @@ public class S3ServiceImpl implements S3Service {
     }
 
     @Override
+    @Observed(name = "app.s3.delete")
     public boolean deleteFile(String filename) {
         if (filename == null || filename.isBlank()) {
             return true;
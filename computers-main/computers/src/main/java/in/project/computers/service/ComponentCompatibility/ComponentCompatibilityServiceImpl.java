@@ -7,6 +7,7 @@ import in.project.computers.entity.lookup.StorageInterface;
 import in.project.computers.repository.ComponentRepo.lookup.StorageInterfaceRepository;
 import in.project.computers.repository.generalRepo.ComputerBuildRepository;
 import in.project.computers.service.userAuthenticationService.UserService;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -47,6 +48,7 @@ public class ComponentCompatibilityServiceImpl implements ComponentCompatibility
     }
 
     @Override
+    @Observed(name = "app.compatibility.check")
     public CompatibilityResult checkCompatibility(String buildId) {
         String currentUserId = userService.findByUserId();
 
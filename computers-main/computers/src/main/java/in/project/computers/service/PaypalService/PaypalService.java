@@ -55,6 +55,16 @@ public interface PaypalService {
      */
     Payment executePayment(String paymentId, String payerId) throws PayPalRESTException;
 
+    /**
+     * อ่านสถานะปัจจุบันของ Payment จาก PayPal (ไม่เปลี่ยนแปลงอะไร)
+     * ใช้ตรวจ Payment ของ Order ที่การ Capture ถูกขัดจังหวะ ว่า PayPal รับเงินไปแล้วหรือยัง
+     *
+     * @param paymentId ID ของ Payment ที่ได้จากขั้นตอน createPayment
+     * @return อ็อบเจกต์ {@link Payment} ที่มี state ปัจจุบัน ("created", "approved", "failed" ฯลฯ)
+     * @throws PayPalRESTException หากเกิดข้อผิดพลาดในการติดต่อกับ PayPal API
+     */
+    Payment getPayment(String paymentId) throws PayPalRESTException;
+
     /**
      * ทำการคืนเงิน (Refund) สำหรับ Transaction การขาย (Sale) ที่เกิดขึ้นบน PayPal
      *
@@ -3,6 +3,7 @@ package in.project.computers.service.PaypalService;
 import com.paypal.api.payments.*;
 import com.paypal.base.rest.APIContext;
 import com.paypal.base.rest.PayPalRESTException;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -30,6 +31,7 @@ public class PaypalServiceImpl implements PaypalService {
      * {@inheritDoc}
      */
     @Override
+    @Observed(name = "app.paypal.create-payment")
     public Payment createPayment(BigDecimal total, String currency, String intent, String description, String cancelUrl, String successUrl) throws PayPalRESTException {
         // 1. สร้างอ็อบเจกต์ Amount สำหรับระบุยอดเงินและสกุลเงิน
         List<Transaction> transactions = getTransactions(total, currency, description);
@@ -75,6 +77,7 @@ public class PaypalServiceImpl implements PaypalService {
      * {@inheritDoc}
      */
     @Override
+    @Observed(name = "app.paypal.execute-payment")
     public Payment executePayment(String paymentId, String payerId) throws PayPalRESTException {
         // 1. สร้างอ็อบเจกต์ Payment ว่างๆ โดยระบุ ID ของ Payment ที่ต้องการจะยืนยัน
         Payment payment = new Payment();
@@ -92,6 +95,16 @@ public class PaypalServiceImpl implements PaypalService {
      * {@inheritDoc}
      */
     @Override
+    @Observed(name = "app.paypal.get-payment")
+    public Payment getPayment(String paymentId) throws PayPalRESTException {
+        return Payment.get(apiContext, paymentId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Observed(name = "app.paypal.refund")
     public Refund refundPayment(String saleId, BigDecimal amount, String currency) throws PayPalRESTException {
         // 1. สร้างอ็อบเจกต์ Sale โดยระบุ ID ของ Sale ที่ต้องการจะ Refund
         //    Sale ID นี้คือ Payment ID ที่เราได้มาตอน executePayment สำเร็จ
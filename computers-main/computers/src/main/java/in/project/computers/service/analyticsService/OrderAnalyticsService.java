@@ -0,0 +1,58 @@
+package in.project.computers.service.analyticsService;
+
+import in.project.computers.dto.analytics.DailyRevenueResponse;
+import in.project.computers.dto.analytics.OrderAnalyticsSummaryResponse;
+import in.project.computers.dto.analytics.TopSellingComponentResponse;
+import in.project.computers.entity.order.Order;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h3>Order Analytics Service</h3>
+ * <p>
+ * รายงานยอดขายสำหรับ Admin โดยคำนวณฝั่งฐานข้อมูล (Aggregation Pipeline) และอ่านจาก Daily Rollup
+ * ผลลัพธ์ของรายงานจะถูก Cache ไว้ช่วงสั้นๆ (ดู {@code app.cache.analytics.ttl})
+ * ช่วงวันที่ทั้งหมดเป็นแบบรวมทั้งสองฝั่ง ({@code from} และ {@code to})
+ * </p>
+ */
+public interface OrderAnalyticsService {
+
+    /**
+     * ยอดขายรายวันจาก Daily Rollup
+     */
+    List<DailyRevenueResponse> getDailyRevenue(LocalDate from, LocalDate to);
+
+    /**
+     * ภาพรวมของช่วงวันที่: จำนวน Order ที่ชำระแล้ว, ยอดขาย, ค่าเฉลี่ยต่อ Order และอัตราการคืนเงิน
+     */
+    OrderAnalyticsSummaryResponse getSummary(LocalDate from, LocalDate to);
+
+    /**
+     * Component ที่ขายดีที่สุด (นับรวมชิ้นส่วนใน Build) โดยใช้ $unwind บน lineItems และ containedItems
+     */
+    List<TopSellingComponentResponse> getTopSellingComponents(LocalDate from, LocalDate to, int limit);
+
+    /**
+     * จำนวนชิ้นที่ขายได้ของทุก Component ในช่วงวันที่ (Component ID -> จำนวน) ไม่ผ่าน Cache
+     */
+    Map<String, Long> getUnitsSoldByComponent(LocalDate from, LocalDate to);
+
+    /**
+     * บันทึก Order ที่เพิ่งชำระเงินสำเร็จ (สถานะ PROCESSING) ลงใน Daily Rollup ของวันที่สร้าง Order
+     */
+    void recordOrderPaid(Order order);
+
+    /**
+     * บันทึก Order ที่เพิ่งถูกคืนเงิน (สถานะ REFUNDED) ลงใน Daily Rollup ของวันที่คืนเงิน
+     */
+    void recordOrderRefunded(Order order);
+
+    /**
+     * คำนวณ Daily Rollup ของช่วงวันที่ใหม่ทั้งหมดจากประวัติ Order (ใช้ครั้งแรก หรือเมื่อข้อมูลไม่ตรงกัน)
+     *
+     * @return จำนวนวันที่ถูกเขียนลง Rollup Collection
+     */
+    long rebuildDailyRollups(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,293 @@
+package in.project.computers.service.analyticsService;
+
+import in.project.computers.config.CacheConfig;
+import in.project.computers.dto.analytics.DailyRevenueResponse;
+import in.project.computers.dto.analytics.OrderAnalyticsSummaryResponse;
+import in.project.computers.dto.analytics.TopSellingComponentResponse;
+import in.project.computers.entity.analytics.OrderDailyRollup;
+import in.project.computers.entity.order.Order;
+import in.project.computers.entity.order.OrderStatus;
+import in.project.computers.entity.order.PaymentStatus;
+import in.project.computers.repository.generalRepo.OrderDailyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
+
+    private final MongoTemplate mongoTemplate;
+    private final OrderDailyRollupRepository rollupRepository;
+
+    @Value("${app.analytics.zone:UTC}")
+    private ZoneId zone;
+
+    @Value("${app.currency:THB}")
+    private String currency;
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.ORDER_ANALYTICS, key = "'daily:' + #from + ':' + #to")
+    public List<DailyRevenueResponse> getDailyRevenue(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return rollupRepository.findDaysBetween(from.toString(), to.toString(), Sort.by("id")).stream()
+                .map(rollup -> {
+                    BigDecimal gross = zeroIfNull(rollup.getGrossRevenue());
+                    BigDecimal refunded = zeroIfNull(rollup.getRefundedAmount());
+                    return DailyRevenueResponse.builder()
+                            .day(rollup.getId())
+                            .paidOrders(rollup.getPaidOrders())
+                            .grossRevenue(gross)
+                            .refundedOrders(rollup.getRefundedOrders())
+                            .refundedAmount(refunded)
+                            .netRevenue(gross.subtract(refunded))
+                            .build();
+                })
+                .toList();
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.ORDER_ANALYTICS, key = "'summary:' + #from + ':' + #to")
+    public OrderAnalyticsSummaryResponse getSummary(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        long paidOrders = 0;
+        long refundedOrders = 0;
+        BigDecimal grossRevenue = BigDecimal.ZERO;
+        BigDecimal refundedAmount = BigDecimal.ZERO;
+
+        // Rollup มีเพียง 1 เอกสารต่อวัน การรวมผลฝั่งแอปจึงอ่านข้อมูลไม่เกินจำนวนวันในช่วงที่ขอ
+        for (OrderDailyRollup rollup : rollupRepository.findDaysBetween(from.toString(), to.toString(), Sort.unsorted())) {
+            paidOrders += rollup.getPaidOrders();
+            refundedOrders += rollup.getRefundedOrders();
+            grossRevenue = grossRevenue.add(zeroIfNull(rollup.getGrossRevenue()));
+            refundedAmount = refundedAmount.add(zeroIfNull(rollup.getRefundedAmount()));
+        }
+
+        BigDecimal averageOrderValue = paidOrders == 0 ? BigDecimal.ZERO
+                : grossRevenue.divide(BigDecimal.valueOf(paidOrders), 2, RoundingMode.HALF_UP);
+        double refundRate = paidOrders == 0 ? 0.0 : (double) refundedOrders / paidOrders;
+
+        return OrderAnalyticsSummaryResponse.builder()
+                .from(from)
+                .to(to)
+                .currency(currency)
+                .paidOrders(paidOrders)
+                .grossRevenue(grossRevenue)
+                .averageOrderValue(averageOrderValue)
+                .refundedOrders(refundedOrders)
+                .refundedAmount(refundedAmount)
+                .refundRate(refundRate)
+                .build();
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.ORDER_ANALYTICS, key = "'top:' + #from + ':' + #to + ':' + #limit")
+    public List<TopSellingComponentResponse> getTopSellingComponents(LocalDate from, LocalDate to, int limit) {
+        validateRange(from, to);
+        List<Document> pipeline = new ArrayList<>(soldItemStages(from, to));
+        pipeline.addAll(List.of(
+                new Document("$group", new Document("_id", "$items.componentId")
+                        .append("name", new Document("$first", "$items.name"))
+                        .append("mpn", new Document("$first", "$items.mpn"))
+                        .append("unitsSold", new Document("$sum", "$items.units"))
+                        .append("revenue", new Document("$sum", "$items.revenue"))),
+                new Document("$sort", new Document("unitsSold", -1).append("_id", 1)),
+                new Document("$limit", Math.clamp(limit, 1, 100))
+        ));
+
+        List<TopSellingComponentResponse> result = new ArrayList<>();
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Order.class))
+                .aggregate(pipeline)
+                .forEach(doc -> result.add(TopSellingComponentResponse.builder()
+                        .componentId(doc.getString("_id"))
+                        .name(doc.getString("name"))
+                        .mpn(doc.getString("mpn"))
+                        .unitsSold(((Number) doc.get("unitsSold")).longValue())
+                        .revenue(toBigDecimal(doc.get("revenue")))
+                        .build()));
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getUnitsSoldByComponent(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        List<Document> pipeline = new ArrayList<>(soldItemStages(from, to));
+        pipeline.add(new Document("$group", new Document("_id", "$items.componentId")
+                .append("unitsSold", new Document("$sum", "$items.units"))));
+
+        Map<String, Long> unitsSold = new HashMap<>();
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Order.class))
+                .aggregate(pipeline)
+                .forEach(doc -> unitsSold.put(doc.getString("_id"), ((Number) doc.get("unitsSold")).longValue()));
+        return unitsSold;
+    }
+
+    @Override
+    public void recordOrderPaid(Order order) {
+        String day = dayOf(order.getCreatedAt() != null ? order.getCreatedAt() : Instant.now());
+        Update update = new Update()
+                .inc("paidOrders", 1)
+                .inc("grossRevenue", new Decimal128(zeroIfNull(order.getTotalAmount())))
+                .set("updatedAt", Instant.now());
+        upsertRollup(day, update, order.getId());
+    }
+
+    @Override
+    public void recordOrderRefunded(Order order) {
+        String day = dayOf(Instant.now());
+        Update update = new Update()
+                .inc("refundedOrders", 1)
+                .inc("refundedAmount", new Decimal128(zeroIfNull(order.getTotalAmount())))
+                .set("updatedAt", Instant.now());
+        upsertRollup(day, update, order.getId());
+    }
+
+    @Override
+    public long rebuildDailyRollups(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        log.info("Rebuilding order daily rollups from {} to {} ({})", from, to, zone);
+        String rollupCollection = mongoTemplate.getCollectionName(OrderDailyRollup.class);
+        String orderCollection = mongoTemplate.getCollectionName(Order.class);
+        Date start = startOf(from);
+        Date end = startOf(to.plusDays(1));
+
+        mongoTemplate.remove(Query.query(Criteria.where("_id").gte(from.toString()).lte(to.toString())), OrderDailyRollup.class);
+
+        // Order ที่เคยชำระเงินแล้ว (รวมที่ถูกคืนเงินภายหลัง) นับเข้าวันที่สร้าง Order เช่นเดียวกับ recordOrderPaid
+        List<Document> paidPipeline = List.of(
+                new Document("$match", new Document("paymentStatus", new Document("$in",
+                        List.of(PaymentStatus.COMPLETED.name(), PaymentStatus.REFUNDED.name())))
+                        .append("createdAt", new Document("$gte", start).append("$lt", end))),
+                new Document("$group", new Document("_id", dayExpression("$createdAt"))
+                        .append("paidOrders", new Document("$sum", 1L))
+                        .append("grossRevenue", new Document("$sum", new Document("$toDecimal", "$totalAmount")))),
+                new Document("$set", new Document("updatedAt", new Date())),
+                mergeInto(rollupCollection));
+
+        // Order ที่ถูกคืนเงินแล้ว นับเข้าวันที่คืนเงิน (updatedAt) เช่นเดียวกับ recordOrderRefunded
+        List<Document> refundPipeline = List.of(
+                new Document("$match", new Document("orderStatus", OrderStatus.REFUNDED.name())
+                        .append("updatedAt", new Document("$gte", start).append("$lt", end))),
+                new Document("$group", new Document("_id", dayExpression("$updatedAt"))
+                        .append("refundedOrders", new Document("$sum", 1L))
+                        .append("refundedAmount", new Document("$sum", new Document("$toDecimal", "$totalAmount")))),
+                new Document("$set", new Document("updatedAt", new Date())),
+                mergeInto(rollupCollection));
+
+        mongoTemplate.getCollection(orderCollection).aggregate(paidPipeline).toCollection();
+        mongoTemplate.getCollection(orderCollection).aggregate(refundPipeline).toCollection();
+
+        long days = mongoTemplate.count(Query.query(Criteria.where("_id").gte(from.toString()).lte(to.toString())), OrderDailyRollup.class);
+        log.info("Order daily rollups rebuilt. {} day(s) written.", days);
+        return days;
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private void upsertRollup(String day, Update update, String orderIdForLog) {
+        // Rollup เป็นข้อมูลเสริม หากบันทึกไม่สำเร็จจะไม่ทำให้การชำระเงิน/คืนเงินล้มเหลว (แก้ไขได้ด้วย rebuildDailyRollups)
+        try {
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(day)), update, OrderDailyRollup.class);
+        } catch (RuntimeException e) {
+            log.error("Failed to update daily rollup {} for order ID: {}", day, orderIdForLog, e);
+        }
+    }
+
+    /**
+     * Stage ที่แตก Order ที่ชำระแล้วในช่วงวันที่ให้เหลือ 1 เอกสารต่อ Component ที่ขาย ในฟิลด์ {@code items}
+     * (ชิ้นส่วนใน Build ถูกแยกออกมาพร้อมคูณจำนวน)
+     */
+    private List<Document> soldItemStages(LocalDate from, LocalDate to) {
+        return List.of(
+                new Document("$match", new Document("paymentStatus", PaymentStatus.COMPLETED.name())
+                        .append("createdAt", new Document("$gte", startOf(from)).append("$lt", startOf(to.plusDays(1))))),
+                new Document("$unwind", "$lineItems"),
+                new Document("$project", new Document("items", new Document("$cond", List.of(
+                        new Document("$eq", List.of("$lineItems.itemType", "BUILD")),
+                        buildPartsExpression(),
+                        List.of(standaloneComponentExpression()))))),
+                new Document("$unwind", "$items"));
+    }
+
+    private Document buildPartsExpression() {
+        return new Document("$map", new Document("input", new Document("$ifNull", List.of("$lineItems.containedItems", List.of())))
+                .append("as", "c")
+                .append("in", new Document("componentId", "$$c.componentId")
+                        .append("name", "$$c.name")
+                        .append("mpn", "$$c.mpn")
+                        .append("units", new Document("$multiply", List.of("$$c.quantity", "$lineItems.quantity")))
+                        .append("revenue", new Document("$multiply", List.of(
+                                new Document("$toDecimal", "$$c.priceAtTimeOfOrder"), "$$c.quantity", "$lineItems.quantity")))));
+    }
+
+    private Document standaloneComponentExpression() {
+        return new Document("componentId", "$lineItems.componentId")
+                .append("name", "$lineItems.name")
+                .append("mpn", "$lineItems.mpn")
+                .append("units", "$lineItems.quantity")
+                .append("revenue", new Document("$multiply", List.of(
+                        new Document("$toDecimal", "$lineItems.unitPrice"), "$lineItems.quantity")));
+    }
+
+    private Document dayExpression(String field) {
+        return new Document("$dateToString", new Document("format", "%Y-%m-%d")
+                .append("date", field)
+                .append("timezone", zone.getId()));
+    }
+
+    private Document mergeInto(String collection) {
+        return new Document("$merge", new Document("into", collection)
+                .append("on", "_id")
+                .append("whenMatched", "merge")
+                .append("whenNotMatched", "insert"));
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid date range: 'from' must be on or before 'to'.");
+        }
+    }
+
+    private String dayOf(Instant instant) {
+        return LocalDate.ofInstant(instant, zone).toString();
+    }
+
+    private Date startOf(LocalDate day) {
+        return Date.from(day.atStartOfDay(zone).toInstant());
+    }
+
+    private static BigDecimal zeroIfNull(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof Decimal128 decimal) return decimal.bigDecimalValue();
+        if (value instanceof Number number) return new BigDecimal(number.toString());
+        return BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,440 @@
+package in.project.computers.service.catalogService;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import in.project.computers.entity.catalog.CatalogVersion;
+import in.project.computers.entity.catalog.ChangeStreamToken;
+import in.project.computers.entity.component.Component;
+import in.project.computers.entity.component.Inventory;
+import in.project.computers.entity.lookup.FormFactor;
+import in.project.computers.entity.lookup.RamType;
+import in.project.computers.entity.lookup.Socket;
+import in.project.computers.entity.lookup.StorageInterface;
+import in.project.computers.event.CatalogChangedEvent;
+import in.project.computers.util.ThreadFactories;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h3>Catalog Change Stream Listener</h3>
+ * <p>
+ * ติดตาม MongoDB Change Stream ของ {@code component}, {@code inventories}, ตาราง Lookup และ {@code catalog_versions}
+ * เพื่อให้ Cache/Index/Snapshot ใน Memory ของทุก Instance ตรงกัน เมื่อ Admin แก้ไขข้อมูลผ่าน Instance ใด Instance หนึ่ง
+ * </p>
+ * <ul>
+ *     <li>การเปลี่ยนแปลงของ Component/Inventory/Lookup ถูกแปลงเป็น {@link CatalogChangedEvent} ({@code remote = true})
+ *     แบบรวมเป็นชุด แล้ว Publish ภายในแอป ผู้ฟังเดิมจึงล้าง Cache เฉพาะ ID ที่เกี่ยวข้อง</li>
+ *     <li>การเปลี่ยนแปลงของ {@code catalog_versions} ส่งต่อให้ {@link CatalogVersionService#observeStoredVersion(long)}
+ *     หลัง Event ของข้อมูลในชุดเดียวกันเสมอ (ETag ใหม่จึงไม่มาก่อนการล้าง Cache)</li>
+ * </ul>
+ * <p>
+ * Change ที่ Instance นี้เขียนเองและ Publish Event ภายในไปแล้วจะถูกข้ามเมื่อย้อนกลับมาทาง Stream
+ * (จำ ID ไว้ช่วงสั้นๆ ตาม {@code app.change-stream.local-echo-window}) ผู้ฟังจึงไม่ Rebuild ซ้ำสองรอบ
+ * </p>
+ * <p>
+ * Resume Token ถูกบันทึกใน {@code change_stream_tokens} (แยกตาม Node ID) เพื่อต่อจากจุดเดิมหลัง Restart
+ * หาก Token หมดอายุ (Oplog ถูกเขียนทับแล้ว) จะ Publish {@link CatalogChangedEvent.Scope#ALL} เพื่อโหลดทุกอย่างใหม่แล้วเริ่ม Stream ใหม่
+ * </p>
+ * <p>
+ * Change Stream ต้องใช้ Replica Set หรือ Sharded Cluster ถ้าเป็น MongoDB แบบ Standalone จะปิดตัวเองและแต่ละ Instance ทำงานแบบเดิม
+ * </p>
+ */
+@org.springframework.stereotype.Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogChangeStreamListener {
+
+    /** ChangeStreamHistoryLost: Resume Token เก่ากว่าข้อมูลที่เหลืออยู่ใน Oplog */
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    /** InvalidResumeToken */
+    private static final int INVALID_RESUME_TOKEN = 260;
+    /** ChangeStreamFatalError */
+    private static final int CHANGE_STREAM_FATAL_ERROR = 280;
+    /** Server ไม่รองรับ $changeStream (Standalone) */
+    private static final int CHANGE_STREAM_NOT_SUPPORTED = 40573;
+    private static final int MAX_PENDING_IDS = 1_000;
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(1);
+    /** Key ของตาราง Lookup ใน {@link #recentLocalChanges} (ไม่มี ID ราย Component) */
+    private static final String LOOKUPS_KEY = "lookups";
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogVersionService catalogVersionService;
+
+    @Value("${app.change-stream.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.change-stream.node-id:${HOSTNAME:local}}")
+    private String nodeId;
+
+    @Value("${app.change-stream.token-save-interval:30s}")
+    private Duration tokenSaveInterval;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // ต้องนานกว่าเวลาที่ Change ใช้ย้อนกลับมาทาง Stream แต่สั้นพอที่การแก้ ID เดียวกันจาก Instance อื่นจะไม่ถูกข้าม
+    @Value("${app.change-stream.local-echo-window:5s}")
+    private Duration localEchoWindow;
+
+    /** Component ID (หรือ {@link #LOOKUPS_KEY}) ที่ Instance นี้เพิ่งแก้เอง -> เวลาหมดอายุ ({@link System#nanoTime()}) */
+    private final Map<String, Long> recentLocalChanges = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+    private Thread worker;
+
+    private String componentCollection;
+    private String inventoryCollection;
+    private String versionCollection;
+    private Set<String> lookupCollections;
+
+    /**
+     * เปิด Stream ก่อนผู้ฟัง {@link ApplicationReadyEvent} อื่น (ที่สร้าง Index/Snapshot)
+     * เพื่อไม่ให้การแก้ไขที่เกิดระหว่างการสร้างตกหล่น
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void start() {
+        if (!enabled) {
+            log.info("Catalog change stream disabled (app.change-stream.enabled=false).");
+            return;
+        }
+        componentCollection = mongoTemplate.getCollectionName(Component.class);
+        inventoryCollection = mongoTemplate.getCollectionName(Inventory.class);
+        versionCollection = mongoTemplate.getCollectionName(CatalogVersion.class);
+        lookupCollections = Set.of(
+                mongoTemplate.getCollectionName(Socket.class),
+                mongoTemplate.getCollectionName(RamType.class),
+                mongoTemplate.getCollectionName(FormFactor.class),
+                mongoTemplate.getCollectionName(StorageInterface.class));
+
+        running = true;
+        worker = ThreadFactories.named("catalog-change-stream", virtualThreads).newThread(this::run);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> current = cursor;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (RuntimeException e) {
+                log.debug("Error closing change stream cursor on shutdown.", e);
+            }
+        }
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * จำ ID ของการแก้ไขที่เกิดบน Instance นี้ ผู้ฟังในแอปได้รับ Event นี้ไปแล้ว
+     * Change เดียวกันที่ย้อนกลับมาทาง Stream (รวมถึงการเขียนที่ตามมา เช่น isActive ของ Component) จึงไม่ต้อง Publish ซ้ำ
+     */
+    @EventListener
+    public void onLocalCatalogChanged(CatalogChangedEvent event) {
+        if (event.remote() || !running) {
+            return;
+        }
+        long expiresAt = System.nanoTime() + localEchoWindow.toNanos();
+        switch (event.scope()) {
+            case COMPONENTS, INVENTORY -> event.componentIds().forEach(id -> recentLocalChanges.put(id, expiresAt));
+            case LOOKUPS -> recentLocalChanges.put(LOOKUPS_KEY, expiresAt);
+            case ALL -> {
+                // Publish ALL เองเฉพาะเมื่อกู้จาก Stream ที่ขาดหายซึ่งไม่มี Change ย้อนกลับมา
+            }
+        }
+    }
+
+    private boolean isLocalEcho(String key) {
+        Long expiresAt = recentLocalChanges.get(key);
+        return expiresAt != null && expiresAt - System.nanoTime() > 0;
+    }
+
+    // =========================================================================
+    // SECTION: Stream Loop
+    // =========================================================================
+
+    private void run() {
+        BsonDocument resumeToken = loadToken();
+        long retryDelayMs = 1_000;
+        while (running) {
+            try {
+                resumeToken = consume(resumeToken);
+                retryDelayMs = 1_000;
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == CHANGE_STREAM_NOT_SUPPORTED) {
+                    log.warn("MongoDB deployment does not support change streams (standalone server). Cross-instance cache invalidation is disabled.");
+                    return;
+                }
+                if (isTokenLost(e)) {
+                    log.warn("Change stream resume token can no longer be used ({}). Reloading all in-memory catalog data.", e.getErrorCodeName());
+                    resumeToken = null;
+                    deleteToken();
+                    publish(CatalogChangedEvent.all().asRemote());
+                    continue;
+                }
+                retryDelayMs = backOff(e, retryDelayMs);
+            } catch (MongoException | IllegalStateException e) {
+                if (!running) {
+                    return;
+                }
+                retryDelayMs = backOff(e, retryDelayMs);
+            }
+        }
+    }
+
+    /**
+     * อ่าน Stream จนกว่าจะหยุดทำงานหรือเกิด Error คืน Resume Token ล่าสุดที่ประมวลผลแล้ว
+     */
+    private BsonDocument consume(BsonDocument resumeToken) {
+        List<Bson> pipeline = List.of(
+                Aggregates.match(Filters.in("ns.coll", watchedCollections())),
+                // เก็บเฉพาะฟิลด์ที่ใช้ (_id คือ Resume Token และถูกเก็บเสมอ)
+                Aggregates.project(Projections.include(
+                        "operationType", "ns", "documentKey", "fullDocument.componentId", "fullDocument.version")));
+        ChangeStreamIterable<Document> stream = mongoTemplate.getDb().watch(pipeline)
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+
+        PendingChanges pending = new PendingChanges();
+        BsonDocument lastSaved = resumeToken;
+        Instant lastSavedAt = Instant.now();
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> opened = stream.cursor()) {
+            cursor = opened;
+            log.info("Catalog change stream started (node {}, {}).", nodeId, resumeToken != null ? "resumed" : "from now");
+            while (running) {
+                ChangeStreamDocument<Document> change = opened.tryNext();
+                if (change != null) {
+                    pending.add(change);
+                    resumeToken = change.getResumeToken();
+                    if (pending.size() < MAX_PENDING_IDS) {
+                        continue;
+                    }
+                }
+                boolean published = pending.publish();
+                // Post-Batch Resume Token เลื่อนไปข้างหน้าแม้ไม่มี Event ที่ตรงกับ Filter
+                BsonDocument latest = opened.getResumeToken();
+                if (latest != null && pending.isEmpty()) {
+                    resumeToken = latest;
+                }
+                if (resumeToken != null && !resumeToken.equals(lastSaved)
+                        && (published || Duration.between(lastSavedAt, Instant.now()).compareTo(tokenSaveInterval) >= 0)) {
+                    saveToken(resumeToken);
+                    lastSaved = resumeToken;
+                    lastSavedAt = Instant.now();
+                }
+            }
+        } finally {
+            cursor = null;
+        }
+        return resumeToken;
+    }
+
+    private List<String> watchedCollections() {
+        Set<String> collections = new HashSet<>(lookupCollections);
+        collections.add(componentCollection);
+        collections.add(inventoryCollection);
+        collections.add(versionCollection);
+        return List.copyOf(collections);
+    }
+
+    private boolean isTokenLost(MongoCommandException e) {
+        int code = e.getErrorCode();
+        return code == CHANGE_STREAM_HISTORY_LOST || code == INVALID_RESUME_TOKEN || code == CHANGE_STREAM_FATAL_ERROR;
+    }
+
+    private long backOff(RuntimeException e, long delayMs) {
+        log.warn("Catalog change stream interrupted; reconnecting in {} ms.", delayMs, e);
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+        return Math.min(delayMs * 2, MAX_RETRY_DELAY.toMillis());
+    }
+
+    private void publish(CatalogChangedEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            // ผู้ฟังแต่ละตัวจัดการ Error เองอยู่แล้ว แต่ไม่ให้ Stream หยุดเพราะผู้ฟังตัวใดตัวหนึ่ง
+            log.error("Failed to apply remote catalog change {}.", event, e);
+        }
+    }
+
+    // =========================================================================
+    // SECTION: Resume Token Storage
+    // =========================================================================
+
+    private BsonDocument loadToken() {
+        try {
+            ChangeStreamToken stored = mongoTemplate.findById(nodeId, ChangeStreamToken.class);
+            return stored != null && stored.getToken() != null ? BsonDocument.parse(stored.getToken().toJson()) : null;
+        } catch (RuntimeException e) {
+            log.warn("Could not load change stream resume token for node {}. Starting from now.", nodeId, e);
+            return null;
+        }
+    }
+
+    private void saveToken(BsonDocument token) {
+        try {
+            mongoTemplate.save(ChangeStreamToken.builder()
+                    .id(nodeId)
+                    .token(Document.parse(token.toJson()))
+                    .updatedAt(Instant.now())
+                    .build());
+        } catch (RuntimeException e) {
+            log.warn("Could not save change stream resume token for node {}.", nodeId, e);
+        }
+    }
+
+    private void deleteToken() {
+        try {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(nodeId)), ChangeStreamToken.class);
+        } catch (RuntimeException e) {
+            log.warn("Could not delete change stream resume token for node {}.", nodeId, e);
+        }
+    }
+
+    // =========================================================================
+    // SECTION: Change Batching
+    // =========================================================================
+
+    /**
+     * รวบรวม Change Event ที่อ่านได้ในรอบเดียวกันแล้ว Publish เป็น {@link CatalogChangedEvent} ไม่เกินหนึ่งรายการต่อ Scope
+     */
+    final class PendingChanges {
+        private final Set<String> components = new HashSet<>();
+        private final Set<String> inventory = new HashSet<>();
+        private boolean lookups;
+        private boolean everything;
+        private long storedVersion = -1;
+
+        void add(ChangeStreamDocument<Document> change) {
+            String collection = change.getNamespace() != null ? change.getNamespace().getCollectionName() : null;
+            String operation = change.getOperationTypeString();
+            if (collection == null || "drop".equals(operation) || "rename".equals(operation) || "invalidate".equals(operation)) {
+                everything = true;
+                return;
+            }
+            Document fullDocument = change.getFullDocument();
+            if (collection.equals(componentCollection)) {
+                String id = idOf(change.getDocumentKey());
+                if (id != null && !isLocalEcho(id)) {
+                    components.add(id);
+                }
+            } else if (collection.equals(inventoryCollection)) {
+                // Inventory ที่ถูกลบมาพร้อมกับการลบ Component ซึ่งมี Change Event ของตัวเองอยู่แล้ว
+                Object componentId = fullDocument != null ? fullDocument.get("componentId") : null;
+                if (componentId != null && !isLocalEcho(componentId.toString())) {
+                    inventory.add(componentId.toString());
+                }
+            } else if (collection.equals(versionCollection)) {
+                if (fullDocument != null && fullDocument.get("version") instanceof Number number) {
+                    storedVersion = Math.max(storedVersion, number.longValue());
+                }
+            } else if (lookupCollections.contains(collection) && !isLocalEcho(LOOKUPS_KEY)) {
+                lookups = true;
+            }
+        }
+
+        int size() {
+            return components.size() + inventory.size();
+        }
+
+        boolean isEmpty() {
+            return size() == 0 && !lookups && !everything && storedVersion < 0;
+        }
+
+        /**
+         * @return {@code true} ถ้ามี Event ถูก Publish
+         */
+        boolean publish() {
+            if (!recentLocalChanges.isEmpty()) {
+                long now = System.nanoTime();
+                recentLocalChanges.forEach((key, expiresAt) -> {
+                    if (expiresAt - now <= 0) {
+                        recentLocalChanges.remove(key, expiresAt);
+                    }
+                });
+            }
+            if (isEmpty()) {
+                return false;
+            }
+            if (everything) {
+                publish(CatalogChangedEvent.all().asRemote());
+            } else {
+                if (lookups) {
+                    publish(CatalogChangedEvent.lookups().asRemote());
+                }
+                if (!components.isEmpty()) {
+                    publish(CatalogChangedEvent.components(components).asRemote());
+                }
+                inventory.removeAll(components);
+                if (!inventory.isEmpty()) {
+                    publish(CatalogChangedEvent.inventory(inventory).asRemote());
+                }
+            }
+            if (storedVersion >= 0) {
+                catalogVersionService.observeStoredVersion(storedVersion);
+            }
+            components.clear();
+            inventory.clear();
+            lookups = false;
+            everything = false;
+            storedVersion = -1;
+            return true;
+        }
+
+        private void publish(CatalogChangedEvent event) {
+            CatalogChangeStreamListener.this.publish(event);
+        }
+
+        private String idOf(BsonDocument documentKey) {
+            BsonValue id = documentKey != null ? documentKey.get("_id") : null;
+            if (id == null) {
+                return null;
+            }
+            return id.isObjectId() ? id.asObjectId().getValue().toHexString()
+                    : id.isString() ? id.asString().getValue() : id.toString();
+        }
+    }
+}
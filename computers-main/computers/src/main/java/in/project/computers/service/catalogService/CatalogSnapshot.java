@@ -0,0 +1,113 @@
+package in.project.computers.service.catalogService;
+
+import in.project.computers.dto.component.componentResponse.ComponentResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read Model ของ Catalog ทั้งหมด ณ เวอร์ชันหนึ่ง (Component + Inventory + ราคา) ที่ Serialize เป็น JSON ไว้ล่วงหน้า
+ * <p>
+ * สร้างครั้งเดียวแล้วไม่ถูกแก้ไขอีก จึงแชร์ระหว่าง Request ได้โดยไม่ต้อง Lock
+ * Byte Array ที่ได้จาก {@link #catalogJson()} และ {@link #componentJson(String)} ห้ามแก้ไข (ส่งออกไปเป็น Response Body ตรงๆ)
+ * Object ใน {@link #components()} ใช้สำหรับรูปแบบอื่น (CBOR/Smile) และห้ามแก้ไขเช่นกัน
+ * </p>
+ */
+public final class CatalogSnapshot {
+
+    private final long version;
+    private final List<ComponentResponse> components;
+    private final Map<String, ComponentResponse> componentsById;
+    private final byte[] catalogJson;
+    private final Map<String, byte[]> componentJsonById;
+
+    CatalogSnapshot(long version,
+                    List<ComponentResponse> components,
+                    Map<String, ComponentResponse> componentsById,
+                    byte[] catalogJson,
+                    Map<String, byte[]> componentJsonById) {
+        this.version = version;
+        this.components = List.copyOf(components);
+        this.componentsById = Map.copyOf(componentsById);
+        this.catalogJson = catalogJson;
+        this.componentJsonById = Map.copyOf(componentJsonById);
+    }
+
+    /**
+     * เวอร์ชันของ Catalog ที่อ่านก่อนเริ่มโหลดข้อมูลของ Snapshot นี้ (ดู {@link CatalogVersionService})
+     */
+    public long version() {
+        return version;
+    }
+
+    public String etag() {
+        return CatalogVersionService.etagOf(version);
+    }
+
+    public int size() {
+        return components.size();
+    }
+
+    public List<ComponentResponse> components() {
+        return components;
+    }
+
+    /**
+     * @return Component ตาม ID หรือ null ถ้าไม่มีใน Snapshot
+     */
+    public ComponentResponse component(String componentId) {
+        return componentsById.get(componentId);
+    }
+
+    /**
+     * JSON Array ของ Catalog ทั้งหมด (เหมือนกับ Response ของ {@code GET /api/components})
+     */
+    public byte[] catalogJson() {
+        return catalogJson;
+    }
+
+    /**
+     * @return JSON ของ Component ตาม ID หรือ null ถ้าไม่มีใน Snapshot
+     */
+    public byte[] componentJson(String componentId) {
+        return componentJsonById.get(componentId);
+    }
+
+    /**
+     * สร้าง Snapshot ใหม่ที่เวอร์ชัน {@code version} โดยแทนที่เฉพาะ Component ใน {@code replaced} (Copy-on-Write)
+     * <p>
+     * Component อื่นใช้ Object และ JSON เดิมร่วมกับ Snapshot นี้ JSON ของทั้ง Catalog ต่อจาก JSON รายตัวโดยไม่ Serialize ใหม่
+     * ลำดับใน {@link #components()} คงเดิม ID ใน {@code replaced} ต้องมีอยู่ใน Snapshot นี้แล้ว
+     * </p>
+     *
+     * @param replaced     Response ใหม่ตาม ID
+     * @param replacedJson JSON ของ Response ใหม่ตาม ID (ต้องมีครบทุก ID ใน {@code replaced})
+     */
+    CatalogSnapshot withReplaced(long version, Map<String, ComponentResponse> replaced, Map<String, byte[]> replacedJson) {
+        if (replaced.isEmpty()) {
+            return new CatalogSnapshot(version, components, componentsById, catalogJson, componentJsonById);
+        }
+        List<ComponentResponse> newComponents = new ArrayList<>(components.size());
+        Map<String, ComponentResponse> newById = new HashMap<>(componentsById);
+        Map<String, byte[]> newJsonById = new HashMap<>(componentJsonById);
+        for (ComponentResponse component : components) {
+            newComponents.add(replaced.getOrDefault(component.getId(), component));
+        }
+        newById.putAll(replaced);
+        newJsonById.putAll(replacedJson);
+
+        ByteArrayOutputStream json = new ByteArrayOutputStream(catalogJson.length + 64 * replaced.size());
+        json.write('[');
+        for (int i = 0; i < newComponents.size(); i++) {
+            if (i > 0) {
+                json.write(',');
+            }
+            json.writeBytes(newJsonById.get(newComponents.get(i).getId()));
+        }
+        json.write(']');
+        return new CatalogSnapshot(version, newComponents, newById, json.toByteArray(), newJsonById);
+    }
+}
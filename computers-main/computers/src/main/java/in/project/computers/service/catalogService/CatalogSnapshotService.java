@@ -0,0 +1,26 @@
+package in.project.computers.service.catalogService;
+
+import java.util.Optional;
+
+/**
+ * Service ดูแล {@link CatalogSnapshot} (Read Model ของ Catalog ที่อยู่ใน Memory)
+ * เพื่อให้ GET ของ Catalog ตอบได้โดยไม่ต้อง Query ฐานข้อมูลและไม่ต้องแปลง/Serialize ข้อมูลใหม่ทุก Request
+ */
+public interface CatalogSnapshotService {
+
+    /**
+     * Snapshot ที่ตรงกับเวอร์ชันปัจจุบันของ Catalog
+     * <p>
+     * ถ้ายังไม่มี หรือ Snapshot ล้าหลังเวอร์ชันปัจจุบัน (กำลังสร้างใหม่หลังการแก้ไข) จะคืนค่าว่าง
+     * และสั่งสร้างใหม่ในเบื้องหลัง ผู้เรียกต้องอ่านข้อมูลจากฐานข้อมูลแทน
+     * </p>
+     */
+    Optional<CatalogSnapshot> current();
+
+    /**
+     * สร้าง Snapshot ใหม่จากฐานข้อมูลทันที (ใน Thread ที่เรียก) แล้วสลับแทนที่ตัวเดิม
+     *
+     * @return จำนวน Component ใน Snapshot ใหม่
+     */
+    int rebuild();
+}
@@ -0,0 +1,225 @@
+package in.project.computers.service.catalogService;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import in.project.computers.dto.component.componentResponse.ComponentResponse;
+import in.project.computers.entity.component.Component;
+import in.project.computers.entity.component.Inventory;
+import in.project.computers.event.CatalogChangedEvent;
+import in.project.computers.repository.ComponentRepo.ComponentRepository;
+import in.project.computers.repository.ComponentRepo.InventoryRepository;
+import in.project.computers.service.componentService.ComponentConverter;
+import in.project.computers.util.ThreadFactories;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * <h3>Catalog Snapshot Service</h3>
+ * <p>
+ * สร้าง {@link CatalogSnapshot} จากฐานข้อมูล (Component ทั้งหมด + Inventory ใน 2 Query) แล้ว Serialize เป็น JSON ไว้ล่วงหน้า
+ * จากนั้นสลับ Reference แบบ {@code volatile} ทีเดียว Request ที่กำลังอ่าน Snapshot เดิมอยู่จึงไม่เห็นข้อมูลครึ่งๆ กลางๆ
+ * </p>
+ * <p>
+ * การสร้างใหม่ทำใน Thread เบื้องหลังเพียง Thread เดียว เมื่อได้รับ {@link CatalogChangedEvent} หลายครั้งติดกัน
+ * (เช่น Bulk Update) จะรวมเป็นการสร้างใหม่ไม่เกินหนึ่งครั้งต่อรอบ
+ * </p>
+ * <p>
+ * Event แบบ {@link CatalogChangedEvent.Scope#INVENTORY} (เกิดทุกครั้งที่ชำระเงินหรือคืนเงิน) ไม่สร้างใหม่ทั้ง Catalog
+ * แต่โหลดเฉพาะ Component ที่ระบุแล้วแทนที่ Response และ JSON ของตัวนั้นใน Snapshot ใหม่ (Copy-on-Write ดู {@link CatalogSnapshot#withReplaced})
+ * ระหว่างนั้น Snapshot เดิมยังตอบ Request ได้ตามปกติ Scope อื่น (COMPONENTS, LOOKUPS, ALL) ยังสร้างใหม่ทั้งหมด
+ * </p>
+ * <p>
+ * Snapshot จำเวอร์ชันของ Catalog ที่อ่านไว้ก่อนโหลดข้อมูล และ {@link #current()} จะคืน Snapshot เฉพาะเมื่อเวอร์ชันนั้นตรงกับ
+ * {@link CatalogVersionService#currentVersion()} เท่านั้น จึงไม่มีทางส่งข้อมูลเก่าคู่กับ ETag ใหม่ (หรือข้อมูลใหม่คู่กับ ETag เก่า)
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogSnapshotServiceImpl implements CatalogSnapshotService {
+
+    private final ComponentRepository componentRepository;
+    private final InventoryRepository inventoryRepository;
+    private final ComponentConverter componentConverter;
+    private final CatalogVersionService catalogVersionService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final AtomicBoolean fullRebuildRequested = new AtomicBoolean(true);
+    private final Set<String> pendingInventoryIds = ConcurrentHashMap.newKeySet();
+    private volatile CatalogSnapshot snapshot;
+    private ObjectWriter catalogWriter;
+    private ExecutorService rebuildExecutor;
+
+    @PostConstruct
+    void initialize() {
+        // เขียนเป็น List<ComponentResponse> ให้ได้ JSON เหมือนกับที่ Controller ส่งออกเอง
+        catalogWriter = objectMapper.writerFor(
+                objectMapper.getTypeFactory().constructCollectionType(List.class, ComponentResponse.class));
+        rebuildExecutor = Executors.newSingleThreadExecutor(ThreadFactories.named("catalog-snapshot", virtualThreads));
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildSnapshotOnStartup() {
+        scheduleRebuild();
+    }
+
+    /**
+     * ต้อง Mark ID ก่อนที่ {@link CatalogVersionService} จะเพิ่มเวอร์ชัน (ผู้ฟังนั้นทำงานเป็นลำดับสุดท้าย)
+     * รอบที่อ่านเวอร์ชันใหม่ได้จึงเห็น ID เหล่านี้ใน {@code pendingInventoryIds} เสมอ
+     */
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.scope() == CatalogChangedEvent.Scope.INVENTORY && !event.componentIds().isEmpty()) {
+            pendingInventoryIds.addAll(event.componentIds());
+        } else {
+            fullRebuildRequested.set(true);
+        }
+        scheduleRebuild();
+    }
+
+    @Override
+    public Optional<CatalogSnapshot> current() {
+        CatalogSnapshot current = snapshot;
+        if (current != null && current.version() == catalogVersionService.currentVersion()) {
+            return Optional.of(current);
+        }
+        scheduleRebuild();
+        return Optional.empty();
+    }
+
+    @Override
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+        // อ่านเวอร์ชันก่อนโหลดข้อมูล: ถ้ามีการแก้ไขระหว่างโหลด เวอร์ชันจะไม่ตรงและ Snapshot นี้จะไม่ถูกใช้
+        long version = catalogVersionService.currentVersion();
+
+        Map<String, Inventory> inventories = inventoryRepository.findAll().stream()
+                .collect(Collectors.toMap(Inventory::getComponentId, Function.identity(), (a, b) -> a));
+        List<Component> components = componentRepository.findAll();
+
+        List<ComponentResponse> responses = components.stream()
+                .map(component -> componentConverter.convertEntityToResponse(component, inventories.get(component.getId())))
+                .toList();
+        Map<String, ComponentResponse> responsesById = new HashMap<>(responses.size() * 2);
+        Map<String, byte[]> jsonById = new HashMap<>(responses.size() * 2);
+        try {
+            for (ComponentResponse response : responses) {
+                responsesById.put(response.getId(), response);
+                jsonById.put(response.getId(), objectMapper.writeValueAsBytes(response));
+            }
+            snapshot = new CatalogSnapshot(version, responses, responsesById, catalogWriter.writeValueAsBytes(responses), jsonById);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog snapshot", e);
+        }
+        log.info("Catalog snapshot (version {}) built with {} component(s) in {} ms.",
+                version, responses.size(), System.currentTimeMillis() - start);
+        return responses.size();
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    /**
+     * โหลดเฉพาะ Component ที่สต็อก/ราคาเปลี่ยนแล้วสร้าง Snapshot ใหม่จาก {@code base}
+     *
+     * @return {@code false} ถ้าแก้เฉพาะส่วนไม่ได้ (Component ไม่อยู่ใน Snapshot หรือถูกลบไปแล้ว) ผู้เรียกต้องสร้างใหม่ทั้งหมด
+     */
+    private boolean applyInventoryChanges(CatalogSnapshot base) {
+        // อ่านเวอร์ชันก่อนดึง ID: ID ของทุกการแก้ไขที่เวอร์ชันนี้นับรวมแล้วถูก Mark ไว้ก่อน จึงถูกดึงมาในรอบนี้แน่นอน
+        long version = catalogVersionService.currentVersion();
+        Set<String> ids = new HashSet<>(pendingInventoryIds);
+        pendingInventoryIds.removeAll(ids);
+        if (ids.isEmpty()) {
+            if (base.version() != version) {
+                snapshot = base.withReplaced(version, Map.of(), Map.of());
+            }
+            return true;
+        }
+
+        List<String> idList = new ArrayList<>(ids);
+        Map<String, Inventory> inventories = inventoryRepository.findAllByComponentIdIn(idList).stream()
+                .collect(Collectors.toMap(Inventory::getComponentId, Function.identity(), (a, b) -> a));
+        List<Component> components = componentRepository.findAllById(idList);
+        if (components.size() != ids.size()
+                || components.stream().anyMatch(component -> base.component(component.getId()) == null)) {
+            return false;
+        }
+
+        Map<String, ComponentResponse> replaced = new HashMap<>(components.size() * 2);
+        Map<String, byte[]> replacedJson = new HashMap<>(components.size() * 2);
+        try {
+            for (Component component : components) {
+                // แปลงใหม่ทั้งตัวเพราะ isActive เปลี่ยนตามสต็อกด้วย
+                ComponentResponse response = componentConverter.convertEntityToResponse(component, inventories.get(component.getId()));
+                replaced.put(response.getId(), response);
+                replacedJson.put(response.getId(), objectMapper.writeValueAsBytes(response));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog snapshot", e);
+        }
+        snapshot = base.withReplaced(version, replaced, replacedJson);
+        log.debug("Catalog snapshot (version {}) updated {} component(s) in place.", version, replaced.size());
+        return true;
+    }
+
+    private void scheduleRebuild() {
+        if (!rebuildScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuildExecutor.execute(this::runScheduledRebuild);
+        } catch (RuntimeException e) {
+            rebuildScheduled.set(false);
+            log.warn("Could not schedule catalog snapshot rebuild.", e);
+        }
+    }
+
+    private void runScheduledRebuild() {
+        // ปลด Flag ก่อนเริ่ม: Event ที่มาระหว่างสร้างจะได้คิวรอบถัดไปหนึ่งรอบ
+        rebuildScheduled.set(false);
+        try {
+            CatalogSnapshot base = snapshot;
+            if (fullRebuildRequested.getAndSet(false) || base == null || !applyInventoryChanges(base)) {
+                // ล้าง ID ก่อนโหลด: การแก้ไขที่ Mark ไว้ก่อนหน้านี้อยู่ในข้อมูลที่กำลังจะโหลดแล้ว
+                pendingInventoryIds.clear();
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            // Snapshot เดิมจะไม่ตรงเวอร์ชัน Request จึงอ่านจากฐานข้อมูลแทนจนกว่าจะสร้างสำเร็จ
+            // ID ที่ดึงออกไปแล้วอาจยังไม่ถูกนำไปใช้ รอบถัดไปจึงต้องสร้างใหม่ทั้งหมด
+            fullRebuildRequested.set(true);
+            log.error("Failed to rebuild catalog snapshot.", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package in.project.computers.service.catalogService;
+
+import in.project.computers.dto.component.componentResponse.ComponentResponse;
+import reactor.core.publisher.Flux;
+
+/**
+ * Service อ่าน Catalog แบบ Reactive จากฐานข้อมูลโดยตรง (ไม่ผ่าน {@link CatalogSnapshot})
+ * ส่ง Component ทีละรายการตามที่ผู้รับพร้อมรับ จึงไม่ต้องโหลดทั้ง Catalog เข้า Memory และไม่ถือ Thread ระหว่างรอฐานข้อมูล
+ */
+public interface CatalogStreamService {
+
+    /**
+     * Component ทั้งหมด (หรือเฉพาะชนิดที่ระบุ) พร้อมจำนวนสต็อกและราคา เรียงตาม ID
+     *
+     * @param type ชนิดของ Component (เช่น {@code gpu}) หรือ null เพื่อเอาทุกชนิด
+     */
+    Flux<ComponentResponse> streamComponents(String type);
+}
@@ -0,0 +1,70 @@
+package in.project.computers.service.catalogService;
+
+import in.project.computers.dto.component.componentResponse.ComponentResponse;
+import in.project.computers.entity.component.Component;
+import in.project.computers.entity.component.Inventory;
+import in.project.computers.repository.ComponentRepo.ReactiveComponentRepository;
+import in.project.computers.repository.ComponentRepo.ReactiveInventoryRepository;
+import in.project.computers.service.componentService.ComponentConverter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h3>Catalog Stream Service</h3>
+ * <p>
+ * อ่าน Component ผ่าน Cursor ของ Reactive Driver เป็นชุดละ {@code app.catalog.stream.batch-size} รายการ
+ * แล้วโหลด Inventory ของทั้งชุดใน Query เดียว (ไม่เกิด N+1) ก่อนแปลงเป็น {@link ComponentResponse}
+ * </p>
+ * <p>
+ * Backpressure: ขอชุดถัดไปจาก Cursor เมื่อผู้รับ (Response ของ HTTP) ส่งชุดก่อนหน้าออกไปแล้วเท่านั้น
+ * Memory ที่ใช้ต่อ Request จึงจำกัดอยู่ที่ประมาณสองชุด ไม่ว่า Catalog จะใหญ่เท่าใด
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogStreamServiceImpl implements CatalogStreamService {
+
+    private static final Sort BY_ID = Sort.by("id");
+
+    private final ReactiveComponentRepository componentRepository;
+    private final ReactiveInventoryRepository inventoryRepository;
+    private final ComponentConverter componentConverter;
+
+    @Value("${app.catalog.stream.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Flux<ComponentResponse> streamComponents(String type) {
+        log.debug("Streaming components. Type: {}", type);
+        Flux<Component> components = type == null || type.isBlank()
+                ? componentRepository.findAll(BY_ID)
+                : componentRepository.findByType(type, BY_ID);
+        return components
+                .buffer(batchSize)
+                // concatMap รักษาลำดับและดึงชุดถัดไปเพียงชุดเดียวล่วงหน้า
+                .concatMap(this::withInventory, 1);
+    }
+
+    private Flux<ComponentResponse> withInventory(List<Component> batch) {
+        return inventoryRepository.findAllByComponentIdIn(batch.stream().map(Component::getId).toList())
+                .collectMap(Inventory::getComponentId)
+                .flatMapIterable(inventories -> convert(batch, inventories));
+    }
+
+    private List<ComponentResponse> convert(List<Component> batch, Map<String, Inventory> inventories) {
+        return batch.stream()
+                .map(component -> componentConverter.convertEntityToResponse(component, inventories.get(component.getId())))
+                .toList();
+    }
+}
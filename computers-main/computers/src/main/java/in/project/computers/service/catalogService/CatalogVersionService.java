@@ -0,0 +1,27 @@
+package in.project.computers.service.catalogService;
+
+/**
+ * Service เก็บเวอร์ชันปัจจุบันของ Catalog ไว้ใน Memory (อ่านได้โดยไม่ต้อง Query ฐานข้อมูล)
+ * ใช้สร้าง ETag ของ Endpoint ที่อ่านข้อมูล Catalog
+ */
+public interface CatalogVersionService {
+
+    long currentVersion();
+
+    /**
+     * Strong ETag (มีเครื่องหมายคำพูด) ที่เปลี่ยนทุกครั้งที่เวอร์ชันเปลี่ยน
+     */
+    String currentEtag();
+
+    /**
+     * รับทราบเวอร์ชันที่ Instance อื่นบันทึกไว้ในฐานข้อมูล (จาก Change Stream) ค่าใน Memory จะไม่ลดลง
+     */
+    void observeStoredVersion(long storedVersion);
+
+    /**
+     * Strong ETag ของเวอร์ชันที่ระบุ (รูปแบบเดียวกับ {@link #currentEtag()})
+     */
+    static String etagOf(long version) {
+        return "\"catalog-" + version + "\"";
+    }
+}
@@ -0,0 +1,116 @@
+package in.project.computers.service.catalogService;
+
+import in.project.computers.entity.catalog.CatalogVersion;
+import in.project.computers.event.CatalogChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <h3>Catalog Version Service</h3>
+ * <p>
+ * โหลดเวอร์ชันจาก Collection {@code catalog_versions} ตอนเริ่มแอป และเพิ่มเวอร์ชัน ({@code $inc}) ทุกครั้งที่ได้รับ {@link CatalogChangedEvent} ที่เกิดบน Instance นี้
+ * ส่วนเวอร์ชันที่ Instance อื่นเพิ่มจะได้รับผ่าน {@link #observeStoredVersion(long)}
+ * หลังโหลดแล้วค่าใน Memory จะเพิ่มขึ้นอย่างเดียว
+ * </p>
+ * <p>
+ * หากยังโหลดจากฐานข้อมูลไม่ได้ จะใช้เวลาปัจจุบัน (ms) เป็นเวอร์ชันชั่วคราว ซึ่งไม่ชนกับเวอร์ชันที่เก็บไว้
+ * เพื่อไม่ให้ตอบ 304 ผิดพลาดกับ ETag ที่ออกไปก่อน Restart
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogVersionServiceImpl implements CatalogVersionService {
+
+    private static final String CATALOG_ID = "catalog";
+
+    private final MongoTemplate mongoTemplate;
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadVersion() {
+        try {
+            // เพิ่ม 1 ตอนเริ่มแอปด้วย เผื่อข้อมูลถูกแก้ไขโดยตรงในฐานข้อมูลระหว่างที่แอปไม่ได้ทำงาน
+            long stored = incrementStoredVersion();
+            version.set(stored);
+            log.info("Catalog version loaded: {}", stored);
+        } catch (RuntimeException e) {
+            log.error("Could not load catalog version. Using temporary version {}.", version.get(), e);
+        }
+    }
+
+    @Override
+    public long currentVersion() {
+        return version.get();
+    }
+
+    @Override
+    public String currentEtag() {
+        return CatalogVersionService.etagOf(version.get());
+    }
+
+    /**
+     * ทำงานหลังผู้ฟังอื่น (เช่นการล้าง Cache) เพื่อไม่ให้ ETag ใหม่ถูกส่งคู่กับข้อมูลเก่าที่ยังค้างใน Cache
+     */
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.remote()) {
+            // Instance ที่แก้ไขข้อมูลเป็นผู้เพิ่มเวอร์ชันเอง และเวอร์ชันใหม่จะตามมาทาง Change Stream (observeStoredVersion)
+            if (event.scope() == CatalogChangedEvent.Scope.ALL) {
+                reloadStoredVersion();
+            }
+            return;
+        }
+        try {
+            long stored = incrementStoredVersion();
+            version.accumulateAndGet(stored, (current, candidate) -> Math.max(current + 1, candidate));
+        } catch (RuntimeException e) {
+            long next = version.incrementAndGet();
+            log.warn("Could not persist catalog version; bumped in memory only to {}.", next, e);
+        }
+    }
+
+    @Override
+    public void observeStoredVersion(long storedVersion) {
+        long current = version.accumulateAndGet(storedVersion, Math::max);
+        log.debug("Observed stored catalog version {} (current {}).", storedVersion, current);
+    }
+
+    private void reloadStoredVersion() {
+        try {
+            CatalogVersion stored = mongoTemplate.findById(CATALOG_ID, CatalogVersion.class);
+            if (stored != null) {
+                observeStoredVersion(stored.getVersion());
+            }
+        } catch (RuntimeException e) {
+            long next = version.incrementAndGet();
+            log.warn("Could not reload catalog version; bumped in memory only to {}.", next, e);
+        }
+    }
+
+    private long incrementStoredVersion() {
+        CatalogVersion stored = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(CATALOG_ID)),
+                new Update().inc("version", 1).set("updatedAt", Instant.now()),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                CatalogVersion.class);
+        if (stored == null) {
+            throw new IllegalStateException("Catalog version upsert returned no document");
+        }
+        return stored.getVersion();
+    }
+}
@@ -0,0 +1,19 @@
+package in.project.computers.service.componentService;
+
+import in.project.computers.dto.component.bulk.InventoryBulkUpdateReport;
+import in.project.computers.dto.component.bulk.InventoryBulkUpdateRequest;
+
+/**
+ * Service สำหรับปรับราคาและสต็อกของ Component จำนวนมากในครั้งเดียว (เช่น การ Sync ราคาจาก Supplier)
+ */
+public interface ComponentBulkUpdateService {
+
+    /**
+     * ปรับราคา/สต็อกตามรายการที่ส่งมาด้วย Bulk Write ครั้งเดียวบน Inventory
+     * แล้วปรับสถานะ {@code isActive} ของ Component ที่สต็อกเปลี่ยนให้สอดคล้องกัน
+     *
+     * @param request รายการที่ต้องการปรับ
+     * @return สรุปผลพร้อมข้อผิดพลาดรายรายการ
+     */
+    InventoryBulkUpdateReport updateInventories(InventoryBulkUpdateRequest request);
+}
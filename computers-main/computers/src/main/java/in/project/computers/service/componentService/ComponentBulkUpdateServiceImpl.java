@@ -0,0 +1,206 @@
+package in.project.computers.service.componentService;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import in.project.computers.dto.component.bulk.BulkRowError;
+import in.project.computers.dto.component.bulk.InventoryBulkUpdateReport;
+import in.project.computers.dto.component.bulk.InventoryBulkUpdateRequest;
+import in.project.computers.entity.component.Component;
+import in.project.computers.entity.component.Inventory;
+import in.project.computers.event.CatalogChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * <h3>Component Bulk Update Service</h3>
+ * <p>
+ * ใช้ Query ไม่กี่ครั้งต่อ Request ไม่ว่าจะมีกี่รายการ: แปลง MPN เป็น ID (1 Query), โหลดสต็อกปัจจุบัน (1 Query),
+ * Unordered Bulk Write บน Inventory (1 Command) และปรับ {@code isActive} แบบ updateMany (2 Command)
+ * </p>
+ * <p>
+ * การลดสต็อกใช้เงื่อนไข {@code quantity >= |stockDelta|} ใน Filter ด้วย ทำให้สต็อกไม่ติดลบแม้มี Order เข้ามาพร้อมกัน
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ComponentBulkUpdateServiceImpl implements ComponentBulkUpdateService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public InventoryBulkUpdateReport updateInventories(InventoryBulkUpdateRequest request) {
+        List<InventoryBulkUpdateRequest.Item> items = request.getItems();
+        log.info("Applying bulk inventory update with {} item(s).", items.size());
+        List<BulkRowError> errors = new ArrayList<>();
+
+        Map<String, String> idsByMpn = resolveMpns(items);
+        Map<String, Integer> projectedQuantities = loadQuantities(items, idsByMpn);
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Inventory.class);
+        Set<String> touchedIds = new HashSet<>();
+        Set<String> stockChangedIds = new HashSet<>();
+        int operations = 0;
+
+        for (int i = 0; i < items.size(); i++) {
+            InventoryBulkUpdateRequest.Item item = items.get(i);
+            String componentId = hasText(item.getComponentId()) ? item.getComponentId() : idsByMpn.get(item.getMpn());
+            String error = validateItem(item, componentId, projectedQuantities);
+            if (error != null) {
+                errors.add(BulkRowError.builder().row(i + 1L).mpn(item.getMpn()).message(error).build());
+                continue;
+            }
+
+            int stockDelta = item.getStockDelta() != null ? item.getStockDelta() : 0;
+            Criteria filter = where("componentId").is(componentId);
+            Update update = new Update();
+            if (item.getPrice() != null) {
+                update.set("price", item.getPrice());
+            }
+            if (stockDelta != 0) {
+                if (stockDelta < 0) {
+                    filter = filter.and("quantity").gte(-stockDelta);
+                }
+                update.inc("quantity", stockDelta);
+                projectedQuantities.merge(componentId, stockDelta, Integer::sum);
+                stockChangedIds.add(componentId);
+            }
+            bulkOps.updateOne(Query.query(filter), update);
+            touchedIds.add(componentId);
+            operations++;
+        }
+
+        int applied = 0;
+        if (operations > 0) {
+            BulkWriteResult result = bulkOps.execute();
+            applied = result.getMatchedCount();
+            if (applied < operations) {
+                // สต็อกถูกเปลี่ยนโดย Order ระหว่างการตรวจสอบและการเขียน ทำให้เงื่อนไขสต็อกไม่ตรง
+                errors.add(BulkRowError.builder()
+                        .message((operations - applied) + " update(s) were not applied because stock changed concurrently. Please retry them.")
+                        .build());
+            }
+        }
+
+        long[] flipped = syncActiveFlags(stockChangedIds);
+        if (!touchedIds.isEmpty()) {
+            eventPublisher.publishEvent(CatalogChangedEvent.inventory(touchedIds));
+        }
+
+        log.info("Bulk inventory update finished. Applied: {}/{}, Activated: {}, Deactivated: {}", applied, items.size(), flipped[0], flipped[1]);
+        return InventoryBulkUpdateReport.builder()
+                .requested(items.size())
+                .applied(applied)
+                .failed(items.size() - applied)
+                .activated(flipped[0])
+                .deactivated(flipped[1])
+                .errors(errors)
+                .build();
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private String validateItem(InventoryBulkUpdateRequest.Item item, String componentId, Map<String, Integer> projectedQuantities) {
+        if (!hasText(item.getComponentId()) && !hasText(item.getMpn())) {
+            return "Either componentId or mpn is required.";
+        }
+        if (item.getPrice() == null && item.getStockDelta() == null) {
+            return "Nothing to update: provide price and/or stockDelta.";
+        }
+        if (componentId == null) {
+            return "Component not found with MPN: " + item.getMpn();
+        }
+        Integer currentQuantity = projectedQuantities.get(componentId);
+        if (currentQuantity == null) {
+            return "Inventory not found for component ID: " + componentId;
+        }
+        if (item.getStockDelta() != null && currentQuantity + item.getStockDelta() < 0) {
+            return "Cannot remove " + Math.abs(item.getStockDelta()) + " items. Only " + currentQuantity + " are in stock.";
+        }
+        return null;
+    }
+
+    private Map<String, String> resolveMpns(List<InventoryBulkUpdateRequest.Item> items) {
+        List<String> mpns = items.stream()
+                .filter(item -> !hasText(item.getComponentId()) && hasText(item.getMpn()))
+                .map(InventoryBulkUpdateRequest.Item::getMpn)
+                .distinct()
+                .toList();
+        if (mpns.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> idsByMpn = new HashMap<>();
+        for (Document doc : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Component.class))
+                .find(Filters.in("mpn", mpns))
+                .projection(Projections.include("mpn"))) {
+            Object id = doc.get("_id");
+            idsByMpn.put(doc.getString("mpn"), id instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id));
+        }
+        return idsByMpn;
+    }
+
+    private Map<String, Integer> loadQuantities(Collection<InventoryBulkUpdateRequest.Item> items, Map<String, String> idsByMpn) {
+        Set<String> componentIds = new HashSet<>(idsByMpn.values());
+        items.stream()
+                .map(InventoryBulkUpdateRequest.Item::getComponentId)
+                .filter(this::hasText)
+                .forEach(componentIds::add);
+        return loadQuantities(componentIds);
+    }
+
+    private Map<String, Integer> loadQuantities(Collection<String> componentIds) {
+        if (componentIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        Query query = Query.query(where("componentId").in(componentIds));
+        query.fields().include("componentId", "quantity");
+        Map<String, Integer> quantities = new HashMap<>();
+        for (Inventory inventory : mongoTemplate.find(query, Inventory.class)) {
+            quantities.put(inventory.getComponentId(), inventory.getQuantity());
+        }
+        return quantities;
+    }
+
+    /**
+     * ปรับ {@code isActive} ของ Component ตามสต็อกล่าสุด (มีสต็อก = active)
+     *
+     * @return [จำนวนที่เปลี่ยนเป็น active, จำนวนที่เปลี่ยนเป็น inactive]
+     */
+    private long[] syncActiveFlags(Set<String> componentIds) {
+        if (componentIds.isEmpty()) {
+            return new long[]{0, 0};
+        }
+        List<String> inStock = new ArrayList<>();
+        List<String> outOfStock = new ArrayList<>();
+        loadQuantities(componentIds).forEach((id, quantity) -> (quantity > 0 ? inStock : outOfStock).add(id));
+
+        long activated = inStock.isEmpty() ? 0 : mongoTemplate.updateMulti(
+                Query.query(where("_id").in(inStock).and("isActive").is(false)),
+                Update.update("isActive", true), Component.class).getModifiedCount();
+        long deactivated = outOfStock.isEmpty() ? 0 : mongoTemplate.updateMulti(
+                Query.query(where("_id").in(outOfStock).and("isActive").is(true)),
+                Update.update("isActive", false), Component.class).getModifiedCount();
+        return new long[]{activated, deactivated};
+    }
+
+    private boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,41 @@
+package in.project.computers.service.componentService;
+
+import in.project.computers.config.CacheConfig;
+import in.project.computers.event.CatalogChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * ล้าง Cache ของ Component ที่เกี่ยวข้องเมื่อได้รับ {@link CatalogChangedEvent}
+ * ทำงานก่อนผู้ฟังอื่น เพื่อให้ Catalog Version ถูกเพิ่มหลังจาก Cache ถูกล้างแล้วเท่านั้น
+ */
+@org.springframework.stereotype.Component
+@RequiredArgsConstructor
+@Slf4j
+public class ComponentCacheEvictionListener {
+
+    private final CacheManager cacheManager;
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        Cache details = cacheManager.getCache(CacheConfig.COMPONENT_DETAILS);
+        if (details != null) {
+            if (event.scope() == CatalogChangedEvent.Scope.LOOKUPS || event.scope() == CatalogChangedEvent.Scope.ALL) {
+                details.clear();
+            } else {
+                event.componentIds().forEach(details::evict);
+            }
+        }
+        Cache list = cacheManager.getCache(CacheConfig.COMPONENT_LIST);
+        if (list != null) {
+            list.clear();
+        }
+        log.debug("Evicted component caches for {} change of {} component(s).", event.scope(), event.componentIds().size());
+    }
+}
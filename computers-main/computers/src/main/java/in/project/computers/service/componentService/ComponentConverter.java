@@ -3,6 +3,7 @@ package in.project.computers.service.componentService;
 import in.project.computers.dto.component.componentRequest.ComponentRequest;
 import in.project.computers.dto.component.componentResponse.ComponentResponse;
 import in.project.computers.entity.component.Component;
+import in.project.computers.entity.component.Inventory;
 
 /**
  * เอกสารอธิบาย:
@@ -22,6 +23,14 @@ public interface ComponentConverter {
      */
     ComponentResponse convertEntityToResponse(Component entity);
 
+    /**
+     * แปลง Entity เป็น Response โดยใช้ Inventory ที่โหลดมาแล้ว (ไม่ Query Inventory ซ้ำ) เหมาะกับการแปลงทีละหลายรายการ
+     * @param entity Entity จากฐานข้อมูล
+     * @param inventory Inventory ของ Component นี้ หรือ null ถ้าไม่มี (จำนวน 0, ราคา 0)
+     * @return ComponentResponse ทั่วไป
+     */
+    ComponentResponse convertEntityToResponse(Component entity, Inventory inventory);
+
     /**
      * เมธอดใหม่ (Type-Safe): แปลง Entity เป็น Response ชนิดที่ระบุ และทำการ cast อย่างปลอดภัย
      * @param entity Entity จากฐานข้อมูล
@@ -10,6 +10,7 @@ import in.project.computers.repository.ComponentRepo.lookup.FormFactorRepository
 import in.project.computers.repository.ComponentRepo.lookup.RamTypeRepository;
 import in.project.computers.repository.ComponentRepo.lookup.SocketRepository;
 import in.project.computers.repository.ComponentRepo.lookup.StorageInterfaceRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,9 +22,11 @@ import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+// เรียกครั้งละ Component (หลายพันครั้งต่อการสร้าง Catalog) จึงวัดด้วย Timer อย่างเดียว ไม่สร้าง Observation/Span
 @org.springframework.stereotype.Component
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "app.component.convert", histogram = true)
 public class ComponentConverterImpl implements ComponentConverter {
 
     private final SocketRepository socketRepository;
@@ -80,7 +83,22 @@ public class ComponentConverterImpl implements ComponentConverter {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Cannot create response for type: " + entity.getType());
         }
-        return converter.apply(entity);
+        Inventory inventory = inventoryRepository.findByComponentId(entity.getId()).orElse(null);
+        return applyInventory(converter.apply(entity), inventory);
+    }
+
+    @Override
+    public ComponentResponse convertEntityToResponse(Component entity, Inventory inventory) {
+        if (entity == null) {
+            return null;
+        }
+        Function<Component, ComponentResponse> converter = responseConverters.get(entity.getClass());
+        if (converter == null) {
+            log.error("No response converter found for entity type: {}", entity.getType());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Cannot create response for type: " + entity.getType());
+        }
+        return applyInventory(converter.apply(entity), inventory);
     }
 
     @Override
@@ -209,22 +227,22 @@ public class ComponentConverterImpl implements ComponentConverter {
     }
 
     private <B extends ComponentResponse.ComponentResponseBuilder<?, ?>> B setCommonResponseProperties(B builder, Component entity) {
-        Optional<Inventory> inventoryOpt = inventoryRepository.findByComponentId(entity.getId());
-        int quantity = inventoryOpt.map(Inventory::getQuantity).orElse(0);
-        BigDecimal price = inventoryOpt.map(Inventory::getPrice).orElse(BigDecimal.ZERO);
-
         builder.id(entity.getId())
                 .mpn(entity.getMpn())
                 .isActive(entity.isActive())
                 .type(entity.getType())
                 .name(entity.getName())
                 .description(entity.getDescription())
-                .imageUrl(entity.getImageUrl())
-                .quantity(quantity)
-                .price(price);
+                .imageUrl(entity.getImageUrl());
         return builder;
     }
 
+    private ComponentResponse applyInventory(ComponentResponse response, Inventory inventory) {
+        response.setQuantity(inventory != null ? inventory.getQuantity() : 0);
+        response.setPrice(inventory != null && inventory.getPrice() != null ? inventory.getPrice() : BigDecimal.ZERO);
+        return response;
+    }
+
     private CaseResponse buildCaseResponse(Case entity) {
         List<String> motherboardFFNames = (entity.getSupportedFormFactors() == null) ? Collections.emptyList() :
                 entity.getSupportedFormFactors().stream().map(FormFactor::getName).collect(Collectors.toList());
@@ -0,0 +1,174 @@
+package in.project.computers.service.componentService;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import in.project.computers.dto.component.componentRequest.ComponentRequest;
+import in.project.computers.service.exportService.ExportFormat;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * อ่านไฟล์นำเข้า Component ทีละแถว (CSV หรือ NDJSON) โดยไม่โหลดทั้งไฟล์เข้า Memory
+ * <p>
+ * CSV: แถวแรกเป็น Header ที่ใช้ชื่อเดียวกับฟิลด์ของ {@link ComponentRequest} (เช่น {@code type,mpn,name,price,quantity,socket})
+ * ฟิลด์ที่เป็น List ให้คั่นค่าด้วย {@code |} เช่น {@code AM4|AM5}
+ * </p>
+ * <p>NDJSON: หนึ่งบรรทัดคือ JSON ของ {@link ComponentRequest} หนึ่งตัว ในรูปแบบเดียวกับ API สร้าง Component</p>
+ */
+class ComponentImportReader implements Closeable {
+
+    private static final Set<String> LIST_COLUMNS = Set.of(
+            "motherboard_form_factor_support", "psu_form_factor_support", "supportedRadiatorSizesMm", "socket_support");
+
+    private final ExportFormat format;
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long rowNumber;
+
+    ComponentImportReader(ExportFormat format, InputStream inputStream, ObjectMapper objectMapper) {
+        this.format = format;
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), 64 * 1024);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * แถวที่อ่านได้หนึ่งแถว ถ้าแปลงไม่สำเร็จ {@code request} จะเป็น {@code null} และมีข้อความใน {@code error}
+     */
+    record ParsedRow(long row, ComponentRequest request, String mpn, String error) {
+    }
+
+    /**
+     * @return แถวถัดไป หรือ {@code null} เมื่อสิ้นสุดไฟล์
+     */
+    ParsedRow next() throws IOException {
+        return format == ExportFormat.CSV ? nextCsvRow() : nextJsonRow();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ParsedRow nextJsonRow() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        long row = ++rowNumber;
+        try {
+            ComponentRequest request = objectMapper.readValue(line, ComponentRequest.class);
+            return new ParsedRow(row, request, request.getMpn(), null);
+        } catch (JsonProcessingException e) {
+            return new ParsedRow(row, null, null, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private ParsedRow nextCsvRow() throws IOException {
+        if (header == null) {
+            header = readCsvRecord();
+            if (header == null) {
+                return null;
+            }
+            header = header.stream().map(String::trim).toList();
+        }
+
+        List<String> values;
+        do {
+            values = readCsvRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.getFirst().isBlank());
+
+        long row = ++rowNumber;
+        if (values.size() > header.size()) {
+            return new ParsedRow(row, null, null, "Row has " + values.size() + " columns but header has " + header.size());
+        }
+
+        ObjectNode node = objectMapper.createObjectNode();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            String column = header.get(i);
+            if (LIST_COLUMNS.contains(column)) {
+                ArrayNode array = node.putArray(column);
+                for (String item : value.split("\\|")) {
+                    if (!item.isBlank()) {
+                        array.add(item.trim());
+                    }
+                }
+            } else {
+                node.put(column, value);
+            }
+        }
+
+        String mpn = node.hasNonNull("mpn") ? node.get("mpn").asText() : null;
+        try {
+            return new ParsedRow(row, objectMapper.treeToValue(node, ComponentRequest.class), mpn, null);
+        } catch (JsonProcessingException e) {
+            return new ParsedRow(row, null, mpn, "Invalid row: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * อ่าน CSV หนึ่ง Record ตาม RFC 4180 (รองรับค่าที่อยู่ใน {@code "..."} ซึ่งมี comma, {@code ""} หรือขึ้นบรรทัดใหม่)
+     */
+    private List<String> readCsvRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    int peek = reader.read();
+                    if (peek == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (peek != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                break;
+            } else if (ch != '\r') {
+                field.append(ch);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
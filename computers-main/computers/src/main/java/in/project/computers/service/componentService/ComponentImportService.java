@@ -0,0 +1,23 @@
+package in.project.computers.service.componentService;
+
+import in.project.computers.dto.component.bulk.ComponentImportReport;
+import in.project.computers.service.exportService.ExportFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service สำหรับนำเข้า Component จำนวนมากจากไฟล์ CSV หรือ NDJSON
+ */
+public interface ComponentImportService {
+
+    /**
+     * อ่านไฟล์แบบ Streaming ตรวจสอบแต่ละแถว แล้วบันทึก Component และ Inventory เป็นชุด (Chunk)
+     *
+     * @param format       รูปแบบของไฟล์
+     * @param inputStream  ข้อมูลไฟล์
+     * @param dryRun       ถ้าเป็น {@code true} จะตรวจสอบอย่างเดียวโดยไม่บันทึกลงฐานข้อมูล
+     * @return สรุปผลพร้อมรายการข้อผิดพลาดรายแถว
+     */
+    ComponentImportReport importComponents(ExportFormat format, InputStream inputStream, boolean dryRun) throws IOException;
+}
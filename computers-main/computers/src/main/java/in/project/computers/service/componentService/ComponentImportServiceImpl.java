@@ -0,0 +1,285 @@
+package in.project.computers.service.componentService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.Filters;
+import in.project.computers.dto.component.bulk.BulkRowError;
+import in.project.computers.dto.component.bulk.ComponentImportReport;
+import in.project.computers.dto.component.componentRequest.ComponentRequest;
+import in.project.computers.entity.component.Component;
+import in.project.computers.entity.component.Inventory;
+import in.project.computers.event.CatalogChangedEvent;
+import in.project.computers.service.exportService.ExportFormat;
+import in.project.computers.util.ThreadFactories;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * <h3>Component Import Service</h3>
+ * <p>
+ * นำเข้า Component ทีละ Chunk: ตรวจสอบ MPN ซ้ำในไฟล์และในฐานข้อมูล (1 Query ต่อ Chunk),
+ * แปลง Request เป็น Entity แบบขนานผ่าน {@link ComponentConverter} (ซึ่งตรวจสอบค่า Lookup ต่างๆ)
+ * แล้วบันทึก Component และ Inventory ด้วย Unordered Bulk Insert
+ * </p>
+ * <p>
+ * การนำเข้าไม่ได้อยู่ใน Transaction เดียว แถวที่ผ่านจะถูกบันทึกแม้แถวอื่นจะผิดพลาด
+ * หากบันทึก Inventory ของแถวใดไม่สำเร็จ Component ของแถวนั้นจะถูกลบออกเพื่อไม่ให้ข้อมูลค้าง
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ComponentImportServiceImpl implements ComponentImportService {
+
+    private final ComponentConverter componentConverter;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.import.parallelism:4}")
+    private int parallelism;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService validationExecutor;
+
+    @PostConstruct
+    void initializeExecutor() {
+        // จำนวน Thread คงที่แม้ในโหมด Virtual เพื่อจำกัดจำนวน Lookup Query ที่ยิงพร้อมกันตาม app.import.parallelism
+        validationExecutor = Executors.newFixedThreadPool(parallelism, ThreadFactories.numbered("component-import-", virtualThreads));
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        validationExecutor.shutdown();
+    }
+
+    @Override
+    public ComponentImportReport importComponents(ExportFormat format, InputStream inputStream, boolean dryRun) throws IOException {
+        log.info("Starting component import. Format: {}, Dry run: {}", format, dryRun);
+        List<BulkRowError> errors = new ArrayList<>();
+        Set<String> seenMpns = new HashSet<>();
+        long totalRows = 0;
+        long imported = 0;
+
+        try (ComponentImportReader reader = new ComponentImportReader(format, inputStream, objectMapper)) {
+            List<ComponentImportReader.ParsedRow> chunk = new ArrayList<>(chunkSize);
+            ComponentImportReader.ParsedRow row;
+            while ((row = reader.next()) != null) {
+                totalRows++;
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    imported += processChunk(chunk, seenMpns, errors, dryRun);
+                    chunk.clear();
+                }
+            }
+            imported += processChunk(chunk, seenMpns, errors, dryRun);
+        }
+
+        errors.sort(Comparator.comparingLong(BulkRowError::getRow));
+        log.info("Component import finished. Rows: {}, Imported: {}, Failed: {}, Dry run: {}", totalRows, imported, errors.size(), dryRun);
+        return ComponentImportReport.builder()
+                .totalRows(totalRows)
+                .imported(imported)
+                .failed(errors.size())
+                .dryRun(dryRun)
+                .errors(errors)
+                .build();
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private record ValidRow(long row, ComponentRequest request, Component component) {
+    }
+
+    private int processChunk(List<ComponentImportReader.ParsedRow> chunk, Set<String> seenMpns, List<BulkRowError> errors, boolean dryRun) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        // 1. ตรวจสอบค่าพื้นฐานและ MPN ที่ซ้ำกันภายในไฟล์
+        List<ComponentImportReader.ParsedRow> candidates = new ArrayList<>(chunk.size());
+        for (ComponentImportReader.ParsedRow row : chunk) {
+            String error = row.error() != null ? row.error() : validateBasicFields(row.request());
+            if (error == null && !seenMpns.add(row.request().getMpn())) {
+                error = "Duplicate MPN in file: " + row.request().getMpn();
+            }
+            if (error != null) {
+                errors.add(rowError(row.row(), row.mpn(), error));
+            } else {
+                candidates.add(row);
+            }
+        }
+
+        // 2. ตรวจสอบ MPN ที่มีอยู่แล้วในฐานข้อมูลด้วย Query เดียว
+        Set<String> existingMpns = findExistingMpns(candidates.stream().map(row -> row.request().getMpn()).toList());
+
+        // 3. แปลงเป็น Entity แบบขนาน (แต่ละแถวอาจต้อง Query ตาราง Lookup)
+        List<CompletableFuture<Object>> conversions = new ArrayList<>(candidates.size());
+        for (ComponentImportReader.ParsedRow row : candidates) {
+            if (existingMpns.contains(row.request().getMpn())) {
+                conversions.add(CompletableFuture.completedFuture("Component with MPN " + row.request().getMpn() + " already exists."));
+            } else {
+                conversions.add(CompletableFuture.supplyAsync(() -> convert(row.request()), validationExecutor));
+            }
+        }
+
+        List<ValidRow> validRows = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            ComponentImportReader.ParsedRow row = candidates.get(i);
+            Object result = conversions.get(i).join();
+            if (result instanceof Component component) {
+                validRows.add(new ValidRow(row.row(), row.request(), component));
+            } else {
+                errors.add(rowError(row.row(), row.request().getMpn(), (String) result));
+            }
+        }
+
+        if (dryRun || validRows.isEmpty()) {
+            return validRows.size();
+        }
+        return insertChunk(validRows, errors);
+    }
+
+    private String validateBasicFields(ComponentRequest request) {
+        if (request.getMpn() == null || request.getMpn().isBlank()) {
+            return "MPN is required.";
+        }
+        if (request.getName() == null || request.getName().isBlank()) {
+            return "Name is required.";
+        }
+        if (request.getPrice() == null || request.getPrice().compareTo(BigDecimal.ZERO) < 0) {
+            return "Price is required and must not be negative.";
+        }
+        if (request.getQuantity() < 0) {
+            return "Quantity must not be negative.";
+        }
+        return null;
+    }
+
+    /**
+     * @return {@link Component} เมื่อแปลงสำเร็จ หรือข้อความ Error เมื่อไม่ผ่าน
+     */
+    private Object convert(ComponentRequest request) {
+        try {
+            Component component = componentConverter.convertRequestToEntity(request);
+            component.setId(new ObjectId().toHexString());
+            component.setImageUrl(request.getImageUrl());
+            component.setActive(request.getQuantity() > 0);
+            return component;
+        } catch (ResponseStatusException e) {
+            return e.getReason();
+        } catch (RuntimeException e) {
+            log.warn("Unexpected error while converting component with MPN {}", request.getMpn(), e);
+            return "Invalid component data: " + e.getMessage();
+        }
+    }
+
+    private Set<String> findExistingMpns(List<String> mpns) {
+        if (mpns.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> existing = new HashSet<>();
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Component.class))
+                .distinct("mpn", Filters.in("mpn", mpns), String.class)
+                .into(existing);
+        return existing;
+    }
+
+    private int insertChunk(List<ValidRow> rows, List<BulkRowError> errors) {
+        // ID ถูกกำหนดไว้ล่วงหน้าแล้ว จึงสร้าง Inventory ได้ทันทีโดยไม่ต้องรอผลจาก Component
+        Set<Integer> failedComponents = bulkInsert(Component.class, rows.stream().map(ValidRow::component).toList(), rows, errors);
+
+        List<ValidRow> inserted = new ArrayList<>(rows.size() - failedComponents.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (!failedComponents.contains(i)) {
+                inserted.add(rows.get(i));
+            }
+        }
+        if (inserted.isEmpty()) {
+            return 0;
+        }
+
+        List<Inventory> inventories = inserted.stream()
+                .map(row -> Inventory.builder()
+                        .componentId(row.component().getId())
+                        .quantity(row.request().getQuantity())
+                        .price(row.request().getPrice())
+                        .build())
+                .toList();
+        Set<Integer> failedInventories = bulkInsert(Inventory.class, inventories, inserted, errors);
+
+        if (!failedInventories.isEmpty()) {
+            List<String> orphanIds = failedInventories.stream().map(i -> inserted.get(i).component().getId()).toList();
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(orphanIds)), Component.class);
+            log.warn("Removed {} imported component(s) whose inventory could not be created.", orphanIds.size());
+        }
+
+        List<String> importedIds = new ArrayList<>(inserted.size());
+        for (int i = 0; i < inserted.size(); i++) {
+            if (!failedInventories.contains(i)) {
+                importedIds.add(inserted.get(i).component().getId());
+            }
+        }
+        eventPublisher.publishEvent(CatalogChangedEvent.components(importedIds));
+        return importedIds.size();
+    }
+
+    /**
+     * Insert แบบ Unordered (เอกสารที่ผิดพลาดไม่หยุดเอกสารอื่น) และคืนค่า Index ของเอกสารที่บันทึกไม่สำเร็จ
+     */
+    private <T> Set<Integer> bulkInsert(Class<T> entityClass, List<T> documents, List<ValidRow> rows, List<BulkRowError> errors) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass).insert(documents).execute();
+            return Set.of();
+        } catch (BulkOperationException e) {
+            return collectWriteErrors(e.getErrors(), rows, errors);
+        } catch (org.springframework.dao.DuplicateKeyException e) {
+            if (e.getCause() instanceof MongoBulkWriteException bulkException) {
+                return collectWriteErrors(bulkException.getWriteErrors(), rows, errors);
+            }
+            throw e;
+        }
+    }
+
+    private Set<Integer> collectWriteErrors(List<BulkWriteError> writeErrors, List<ValidRow> rows, List<BulkRowError> errors) {
+        Set<Integer> failed = new HashSet<>();
+        for (BulkWriteError writeError : writeErrors) {
+            ValidRow row = rows.get(writeError.getIndex());
+            failed.add(writeError.getIndex());
+            errors.add(rowError(row.row(), row.request().getMpn(), "Database write failed: " + writeError.getMessage()));
+        }
+        return failed;
+    }
+
+    private BulkRowError rowError(long row, String mpn, String message) {
+        return BulkRowError.builder().row(row).mpn(mpn).message(message).build();
+    }
+}
@@ -2,16 +2,20 @@
 
 package in.project.computers.service.componentService;
 
+import in.project.computers.config.CacheConfig;
 import in.project.computers.entity.component.Component;
 import in.project.computers.entity.component.Inventory;
 import in.project.computers.dto.component.componentRequest.ComponentRequest;
 import in.project.computers.dto.component.componentRequest.StockAdjustmentRequest;
 import in.project.computers.dto.component.componentResponse.ComponentResponse;
+import in.project.computers.event.CatalogChangedEvent;
 import in.project.computers.repository.ComponentRepo.ComponentRepository;
 import in.project.computers.repository.ComponentRepo.InventoryRepository;
 import in.project.computers.service.AWSS3Bucket.S3Service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +23,8 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -31,6 +37,7 @@ public class ComponentServiceImpl implements ComponentService {
     private final InventoryRepository inventoryRepository;
     private final ComponentConverter componentConverter;
     private final S3Service s3Service;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -40,6 +47,7 @@ public class ComponentServiceImpl implements ComponentService {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Component with MPN " + request.getMpn() + " already exists.");
         }
         Component savedComponent = createNewComponentAndInventory(request, imageFile);
+        eventPublisher.publishEvent(CatalogChangedEvent.components(List.of(savedComponent.getId())));
         return componentConverter.convertEntityToResponse(savedComponent);
     }
 
@@ -70,6 +78,7 @@ public class ComponentServiceImpl implements ComponentService {
         }
 
         log.info("Successfully saved updates for component ID: {}", componentId);
+        eventPublisher.publishEvent(CatalogChangedEvent.components(List.of(componentId)));
         return componentConverter.convertEntityToResponse(updatedComponent);
     }
 
@@ -83,6 +92,7 @@ public class ComponentServiceImpl implements ComponentService {
         performStockAdjustment(component, inventory, request.getQuantity());
         inventoryRepository.save(inventory);
         componentRepository.save(component);
+        eventPublisher.publishEvent(CatalogChangedEvent.inventory(List.of(componentId)));
         return componentConverter.convertEntityToResponse(findComponentById(componentId));
     }
 
@@ -98,6 +108,7 @@ public class ComponentServiceImpl implements ComponentService {
         inventoryRepository.delete(inventoryToDelete);
         componentRepository.delete(componentToDelete);
         log.info("... component and inventory with ID: {} deleted successfully from DB.", componentId);
+        eventPublisher.publishEvent(CatalogChangedEvent.components(List.of(componentId)));
 
         if (imageUrl != null && !imageUrl.isBlank()) {
             deleteS3File(imageUrl);
@@ -107,6 +118,7 @@ public class ComponentServiceImpl implements ComponentService {
     // ... getComponentDetailsById and getAllComponents are unchanged ...
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COMPONENT_DETAILS, key = "#componentId")
     public ComponentResponse getComponentDetailsById(String componentId) {
         log.debug("Fetching details for component ID: {}", componentId);
         Component component = findComponentById(componentId);
@@ -115,11 +127,14 @@ public class ComponentServiceImpl implements ComponentService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COMPONENT_LIST, key = "'all'")
     public List<ComponentResponse> getAllComponents() {
         log.debug("Fetching all components from the database.");
+        Map<String, Inventory> inventories = inventoryRepository.findAll().stream()
+                .collect(Collectors.toMap(Inventory::getComponentId, Function.identity(), (a, b) -> a));
         return componentRepository.findAll()
                 .stream()
-                .map(componentConverter::convertEntityToResponse)
+                .map(component -> componentConverter.convertEntityToResponse(component, inventories.get(component.getId())))
                 .collect(Collectors.toList());
     }
 
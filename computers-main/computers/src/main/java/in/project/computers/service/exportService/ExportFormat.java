@@ -0,0 +1,45 @@
+package in.project.computers.service.exportService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+
+/**
+ * รูปแบบไฟล์ที่รองรับสำหรับการ Export แบบ Streaming
+ */
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return MediaType.parseMediaType(contentType);
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * แปลงค่าจาก Query Parameter (ไม่สนตัวพิมพ์เล็ก/ใหญ่) เป็น {@link ExportFormat}
+     */
+    public static ExportFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + value + ". Supported: csv, ndjson");
+        }
+    }
+}
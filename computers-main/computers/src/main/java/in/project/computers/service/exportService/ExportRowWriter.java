@@ -0,0 +1,73 @@
+package in.project.computers.service.exportService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * เขียนข้อมูลทีละแถวลง OutputStream โดยตรงในรูปแบบ CSV หรือ NDJSON
+ * ไม่เก็บแถวไว้ใน Memory นอกจาก Buffer ของ Writer ทำให้ใช้หน่วยความจำคงที่ไม่ว่าจะมีกี่แถว
+ */
+class ExportRowWriter {
+
+    private final ExportFormat format;
+    private final List<String> columns;
+    private final Writer writer;
+    private final ObjectMapper objectMapper;
+
+    ExportRowWriter(ExportFormat format, List<String> columns, OutputStream outputStream, ObjectMapper objectMapper) {
+        this.format = format;
+        this.columns = columns;
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        this.objectMapper = objectMapper;
+    }
+
+    void writeHeader() throws IOException {
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(columns.toArray());
+        }
+    }
+
+    void writeRow(Object... values) throws IOException {
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(values);
+            return;
+        }
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            row.put(columns.get(i), values[i]);
+        }
+        writer.write(objectMapper.writeValueAsString(row));
+        writer.write('\n');
+    }
+
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeCsvLine(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) writer.write(',');
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        boolean needsQuoting = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        return needsQuoting ? '"' + text.replace("\"", "\"\"") + '"' : text;
+    }
+}
@@ -0,0 +1,33 @@
+package in.project.computers.service.exportService;
+
+import in.project.computers.dto.order.OrderSearchCriteria;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * <h3>Export Service</h3>
+ * <p>
+ * Export ข้อมูลจำนวนมากแบบ Streaming: อ่านจาก Mongo Cursor ทีละ Batch และเขียนแต่ละแถวลง OutputStream ทันที
+ * โดยไม่สร้าง List ของผลลัพธ์ทั้งหมดไว้ใน Memory
+ * </p>
+ */
+public interface ExportService {
+
+    /**
+     * Export Order แบบแบนราบ: 1 แถวต่อ 1 สินค้า (Component เดี่ยว หรือชิ้นส่วนแต่ละชิ้นใน Build)
+     *
+     * @param criteria     เงื่อนไขการกรอง Order
+     * @param format       รูปแบบไฟล์
+     * @param outputStream ปลายทางที่จะเขียนข้อมูล (ปกติคือ Response Body)
+     */
+    void writeOrders(OrderSearchCriteria criteria, ExportFormat format, OutputStream outputStream) throws IOException;
+
+    /**
+     * Export Catalog: 1 แถวต่อ 1 Component พร้อมจำนวนสต็อกและราคาจาก Inventory
+     *
+     * @param format       รูปแบบไฟล์
+     * @param outputStream ปลายทางที่จะเขียนข้อมูล
+     */
+    void writeCatalog(ExportFormat format, OutputStream outputStream) throws IOException;
+}
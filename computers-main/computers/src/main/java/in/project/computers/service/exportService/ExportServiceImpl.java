@@ -0,0 +1,162 @@
+package in.project.computers.service.exportService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Projections;
+import in.project.computers.dto.order.OrderSearchCriteria;
+import in.project.computers.entity.component.Component;
+import in.project.computers.entity.component.Inventory;
+import in.project.computers.entity.order.LineItemType;
+import in.project.computers.entity.order.Order;
+import in.project.computers.entity.order.OrderItemSnapshot;
+import in.project.computers.entity.order.OrderLineItem;
+import in.project.computers.repository.ComponentRepo.InventoryRepository;
+import in.project.computers.repository.generalRepo.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+    private static final List<String> ORDER_COLUMNS = List.of(
+            "orderId", "createdAt", "updatedAt", "userId", "email",
+            "orderStatus", "paymentStatus", "paymentMethod", "currency", "orderTotal",
+            "lineType", "lineName", "lineQuantity", "lineUnitPrice", "buildId",
+            "componentId", "mpn", "itemName", "itemQuantity", "itemUnitPrice");
+
+    private static final List<String> CATALOG_COLUMNS = List.of(
+            "componentId", "type", "mpn", "name", "isActive", "quantity", "price", "imageUrl", "description");
+
+    private final OrderRepository orderRepository;
+    private final InventoryRepository inventoryRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.export.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void writeOrders(OrderSearchCriteria criteria, ExportFormat format, OutputStream outputStream) throws IOException {
+        ExportRowWriter writer = new ExportRowWriter(format, ORDER_COLUMNS, outputStream, objectMapper);
+        writer.writeHeader();
+        long orders = 0;
+        try (Stream<Order> stream = orderRepository.streamAll(criteria, batchSize)) {
+            Iterator<Order> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                writeOrderRows(writer, iterator.next());
+                if (++orders % batchSize == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        log.info("Order export ({}) completed. {} order(s) written.", format, orders);
+    }
+
+    @Override
+    public void writeCatalog(ExportFormat format, OutputStream outputStream) throws IOException {
+        ExportRowWriter writer = new ExportRowWriter(format, CATALOG_COLUMNS, outputStream, objectMapper);
+        writer.writeHeader();
+        long components = 0;
+
+        // อ่านเอกสารดิบเฉพาะฟิลด์ที่ใช้ เพื่อไม่ต้อง Map เป็น Entity แบบ Polymorphic และไม่ต้อง Resolve @DBRef
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Component.class))
+                .find()
+                .projection(Projections.include("mpn", "type", "name", "isActive", "imageUrl", "description"))
+                .batchSize(batchSize)
+                .cursor()) {
+            List<Document> chunk = new ArrayList<>(batchSize);
+            while (cursor.hasNext()) {
+                chunk.add(cursor.next());
+                if (chunk.size() == batchSize) {
+                    components += writeCatalogChunk(writer, chunk);
+                    chunk.clear();
+                }
+            }
+            components += writeCatalogChunk(writer, chunk);
+        }
+        writer.flush();
+        log.info("Catalog export ({}) completed. {} component(s) written.", format, components);
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private void writeOrderRows(ExportRowWriter writer, Order order) throws IOException {
+        List<OrderLineItem> lineItems = order.getLineItems();
+        if (lineItems == null || lineItems.isEmpty()) {
+            writeOrderRow(writer, order, null, null, null, null, null, null);
+            return;
+        }
+        for (OrderLineItem line : lineItems) {
+            if (line.getItemType() == LineItemType.BUILD && line.getContainedItems() != null) {
+                for (OrderItemSnapshot part : line.getContainedItems()) {
+                    writeOrderRow(writer, order, line, part.getComponentId(), part.getMpn(), part.getName(),
+                            part.getQuantity() * line.getQuantity(), part.getPriceAtTimeOfOrder());
+                }
+            } else {
+                writeOrderRow(writer, order, line, line.getComponentId(), line.getMpn(), line.getName(),
+                        line.getQuantity(), line.getUnitPrice());
+            }
+        }
+    }
+
+    private void writeOrderRow(ExportRowWriter writer, Order order, OrderLineItem line,
+                               String componentId, String mpn, String itemName, Integer itemQuantity, Object itemUnitPrice) throws IOException {
+        writer.writeRow(
+                order.getId(), order.getCreatedAt(), order.getUpdatedAt(), order.getUserId(), order.getEmail(),
+                order.getOrderStatus(), order.getPaymentStatus(),
+                order.getPaymentDetails() != null ? order.getPaymentDetails().getPaymentMethod() : null,
+                order.getCurrency(), order.getTotalAmount(),
+                line != null ? line.getItemType() : null,
+                line != null ? line.getName() : null,
+                line != null ? line.getQuantity() : null,
+                line != null ? line.getUnitPrice() : null,
+                line != null ? line.getBuildId() : null,
+                componentId, mpn, itemName, itemQuantity, itemUnitPrice);
+    }
+
+    private int writeCatalogChunk(ExportRowWriter writer, List<Document> chunk) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<String> ids = chunk.stream().map(doc -> idOf(doc.get("_id"))).toList();
+        Map<String, Inventory> inventories = inventoryRepository.findAllByComponentIdIn(ids).stream()
+                .collect(Collectors.toMap(Inventory::getComponentId, Function.identity(), (a, b) -> a));
+
+        for (Document doc : chunk) {
+            String id = idOf(doc.get("_id"));
+            Inventory inventory = inventories.get(id);
+            writer.writeRow(
+                    id, doc.getString("type"), doc.getString("mpn"), doc.getString("name"),
+                    doc.getBoolean("isActive", false),
+                    inventory != null ? inventory.getQuantity() : null,
+                    inventory != null ? inventory.getPrice() : null,
+                    doc.getString("imageUrl"), doc.getString("description"));
+        }
+        writer.flush();
+        return chunk.size();
+    }
+
+    private static String idOf(Object id) {
+        return id instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id);
+    }
+}
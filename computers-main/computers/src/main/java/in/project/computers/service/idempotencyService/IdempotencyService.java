@@ -0,0 +1,41 @@
+package in.project.computers.service.idempotencyService;
+
+/**
+ * <h3>Idempotency Service</h3>
+ * <p>
+ * รองรับ Header {@code Idempotency-Key}: Request แรกของ Key หนึ่งๆ จะถูกทำงานจริงและเก็บ Response ไว้
+ * Request ถัดไปที่ใช้ Key เดิมและ Body เดิมจะได้ Response เดิมกลับไปโดยไม่ทำงานซ้ำ
+ * </p>
+ * <ul>
+ *     <li>Key เดิมแต่ Body ต่างกัน: 422 Unprocessable Entity</li>
+ *     <li>Key เดิมขณะ Request แรกยังทำงานไม่เสร็จ: 409 Conflict</li>
+ *     <li>Request แรกล้มเหลว (Exception): Key ถูกปล่อยให้ลองใหม่ได้</li>
+ * </ul>
+ */
+public interface IdempotencyService {
+
+    String HEADER = "Idempotency-Key";
+
+    /**
+     * @param scope        ชื่อการทำงาน (เช่น {@code "create-order"}) แยก Key ของแต่ละ Endpoint ออกจากกัน
+     * @param ownerId      เจ้าของ Key (เช่น User ID) เพื่อไม่ให้ผู้ใช้ต่างคนใช้ Key ชนกัน
+     * @param key          ค่าจาก Header หรือ null เพื่อทำงานตามปกติ (ไม่ Idempotent)
+     * @param request      Request Body ใช้สร้าง Fingerprint
+     * @param responseType ชนิดของ Response สำหรับอ่านค่าที่เก็บไว้กลับมา
+     * @param action       งานที่ต้องทำในครั้งแรก
+     */
+    <T, E extends Exception> Result<T> execute(String scope, String ownerId, String key, Object request,
+                                               Class<T> responseType, IdempotentAction<T, E> action) throws E;
+
+    /**
+     * @param body     Response ของ Request แรก
+     * @param replayed {@code true} ถ้าเป็นค่าที่เก็บไว้จาก Request ก่อนหน้า
+     */
+    record Result<T>(T body, boolean replayed) {
+    }
+
+    @FunctionalInterface
+    interface IdempotentAction<T, E extends Exception> {
+        T run() throws E;
+    }
+}
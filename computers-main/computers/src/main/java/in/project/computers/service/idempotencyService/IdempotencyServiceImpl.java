@@ -0,0 +1,187 @@
+package in.project.computers.service.idempotencyService;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.project.computers.entity.idempotency.IdempotencyRecord;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * <h3>Idempotency Service Implementation</h3>
+ * <p>
+ * การจอง Key ใช้การ Insert ด้วย {@code _id} เดียวกัน (Unique โดยธรรมชาติของ MongoDB) จึงมีเพียง Request เดียวที่ชนะแม้ส่งมาพร้อมกันหลาย Instance
+ * Key ที่ค้างสถานะ IN_PROGRESS นานกว่า {@code app.idempotency.lock-timeout} (เช่น Instance ล่มระหว่างทำงาน) จะถูกยึดใหม่ได้ด้วย findAndModify
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${app.idempotency.lock-timeout:2m}")
+    private Duration lockTimeout;
+
+    /**
+     * TTL Index ต้องมีอยู่จริงเพื่อให้ MongoDB ลบ Key ที่หมดอายุ (แอปไม่ได้เปิด auto-index-creation)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureTtlIndex() {
+        try {
+            mongoTemplate.indexOps(IdempotencyRecord.class)
+                    .createIndex(new Index().on("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO).named("expiresAt_ttl"));
+        } catch (RuntimeException e) {
+            log.error("Could not create TTL index on idempotency_keys. Expired keys will not be removed automatically.", e);
+        }
+    }
+
+    @Override
+    public <T, E extends Exception> Result<T> execute(String scope, String ownerId, String key, Object request,
+                                                      Class<T> responseType, IdempotentAction<T, E> action) throws E {
+        if (key == null) {
+            return new Result<>(action.run(), false);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters.");
+        }
+
+        String id = scope + ":" + ownerId + ":" + key;
+        String requestHash = fingerprint(request);
+        IdempotencyRecord existing = acquire(id, requestHash);
+        if (existing != null) {
+            return replay(existing, requestHash, responseType);
+        }
+
+        T response;
+        try {
+            response = action.run();
+        } catch (Exception e) {
+            // ปล่อย Key เพื่อให้ Client ลองใหม่ด้วย Key เดิมได้
+            release(id);
+            throw e;
+        }
+        complete(id, response);
+        return new Result<>(response, false);
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    /**
+     * จอง Key สำหรับ Request นี้
+     *
+     * @return null ถ้าจองได้ (ต้องทำงานจริง) หรือ Record เดิมของ Request ก่อนหน้า
+     */
+    private IdempotencyRecord acquire(String id, String requestHash) {
+        Instant now = Instant.now();
+        try {
+            mongoTemplate.insert(IdempotencyRecord.builder()
+                    .id(id)
+                    .requestHash(requestHash)
+                    .status(IdempotencyRecord.Status.IN_PROGRESS)
+                    .createdAt(now)
+                    .lockedAt(now)
+                    .expiresAt(now.plus(ttl))
+                    .build());
+            return null;
+        } catch (DuplicateKeyException duplicate) {
+            // ยึด Key ที่ค้าง IN_PROGRESS จาก Request ที่ไม่จบ (Request เดิมเท่านั้น)
+            IdempotencyRecord stale = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(id)
+                            .and("status").is(IdempotencyRecord.Status.IN_PROGRESS)
+                            .and("requestHash").is(requestHash)
+                            .and("lockedAt").lt(now.minus(lockTimeout))),
+                    new Update().set("lockedAt", now).set("expiresAt", now.plus(ttl)),
+                    FindAndModifyOptions.options().returnNew(true),
+                    IdempotencyRecord.class);
+            if (stale != null) {
+                log.warn("Took over stale in-progress idempotency key {}.", id);
+                return null;
+            }
+            IdempotencyRecord existing = mongoTemplate.findById(id, IdempotencyRecord.class);
+            if (existing == null) {
+                // ถูกปล่อยหรือหมดอายุไประหว่างนั้น: ลองจองใหม่อีกครั้ง
+                return acquire(id, requestHash);
+            }
+            return existing;
+        }
+    }
+
+    private <T> Result<T> replay(IdempotencyRecord existing, String requestHash, Class<T> responseType) {
+        if (!existing.getRequestHash().equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " has already been used with a different request.");
+        }
+        if (existing.getStatus() != IdempotencyRecord.Status.COMPLETED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "A request with this " + HEADER + " is still being processed.");
+        }
+        try {
+            log.info("Replaying stored response for idempotency key {}.", existing.getId());
+            return new Result<>(objectMapper.readValue(existing.getResponseBody(), responseType), true);
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Stored idempotent response could not be read.", e);
+        }
+    }
+
+    private void complete(String id, Object response) {
+        try {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id)),
+                    new Update()
+                            .set("status", IdempotencyRecord.Status.COMPLETED)
+                            .set("responseBody", objectMapper.writeValueAsString(response)),
+                    IdempotencyRecord.class);
+        } catch (JsonProcessingException | RuntimeException e) {
+            // งานสำเร็จไปแล้ว: ไม่ให้ Client ได้ Error แต่ Key นี้จะ Replay ไม่ได้ (ได้ 409 จนกว่า Lock จะหมดเวลา)
+            log.error("Could not store response for idempotency key {}.", id, e);
+        }
+    }
+
+    private void release(String id) {
+        try {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(id)
+                    .and("status").is(IdempotencyRecord.Status.IN_PROGRESS)), IdempotencyRecord.class);
+        } catch (RuntimeException e) {
+            log.warn("Could not release idempotency key {}.", id, e);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] body = request == null ? new byte[0] : objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request body could not be fingerprinted.", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.paypal.api.payments.Payment;
 import com.paypal.base.rest.PayPalRESTException;
 import in.project.computers.dto.order.CreateOrderRequest;
 import in.project.computers.dto.order.OrderResponse;
+import in.project.computers.dto.order.OrderSummaryResponse;
 import in.project.computers.entity.order.Order;
 import in.project.computers.entity.order.PaymentDetails;
 import in.project.computers.entity.order.PaymentMethod;
@@ -101,4 +102,12 @@ public interface OrderHelperService {
      * @return DTO ที่พร้อมส่งกลับไปยัง Client
      */
     OrderResponse entityToResponse(Order order);
+
+    /**
+     * แปลง {@link Order} Entity (ที่อาจถูก Projection มาแล้ว) ไปเป็น {@link OrderSummaryResponse} DTO แบบย่อ
+     *
+     * @param order Entity ที่ต้องการแปลง
+     * @return DTO แบบย่อสำหรับแสดงในรายการ
+     */
+    OrderSummaryResponse entityToSummary(Order order);
 }
\ No newline at end of file
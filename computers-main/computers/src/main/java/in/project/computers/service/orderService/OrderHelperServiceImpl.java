@@ -7,11 +7,13 @@ import com.paypal.base.rest.APIContext;
 import com.paypal.base.rest.PayPalRESTException;
 import in.project.computers.dto.order.CreateOrderRequest;
 import in.project.computers.dto.order.OrderResponse;
+import in.project.computers.dto.order.OrderSummaryResponse;
 import in.project.computers.entity.component.*;
 import in.project.computers.entity.computerBuild.BuildPart;
 import in.project.computers.entity.computerBuild.ComputerBuild;
 import in.project.computers.entity.order.*;
 import in.project.computers.entity.user.UserEntity;
+import in.project.computers.event.CatalogChangedEvent;
 import in.project.computers.repository.ComponentRepo.ComponentRepository;
 import in.project.computers.repository.ComponentRepo.InventoryRepository;
 import in.project.computers.repository.generalRepo.ComputerBuildRepository;
@@ -20,6 +22,12 @@ import in.project.computers.service.PaypalService.PaypalService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -40,18 +48,17 @@ import java.util.stream.Stream;
 @Slf4j
 public class OrderHelperServiceImpl implements OrderHelperService {
 
-    // --- NO CHANGE ---
-    // The dependencies and class properties have not changed from your original file.
     private final ComponentRepository componentRepository;
     private final InventoryRepository inventoryRepository;
     private final ComputerBuildRepository buildRepository;
     private final OrderRepository orderRepository;
     private final PaypalService paypalService;
     private final APIContext apiContext;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MongoTemplate mongoTemplate;
 
     @Value("${app.currency:THB}")
     private String currency;
-    // --- END NO CHANGE ---
 
 
     // --- METHOD: createAndValidateBaseOrder (HEAVILY REFACTORED) ---
@@ -130,9 +137,7 @@ public class OrderHelperServiceImpl implements OrderHelperService {
     }
 
 
-    // --- NEW HELPER METHODS ---
-    // These methods did not exist in your original file. They were created to support
-    // the new, structured way of handling orders.
+    // --- Line Item Helpers ---
     private OrderLineItem createBuildLineItem(ComputerBuild build, int quantity, Map<String, Inventory> inventoryMap) {
         List<OrderItemSnapshot> snapshots = new ArrayList<>();
 
@@ -183,17 +188,22 @@ public class OrderHelperServiceImpl implements OrderHelperService {
     // BUILD or a COMPONENT and correctly calculates stock changes for all parts inside a build.
     @Override
     public void decrementStockForOrder(Order order) {
-        for (OrderLineItem lineItem : order.getLineItems()) {
-            if (lineItem.getItemType() == LineItemType.COMPONENT) {
-                updateStock(lineItem.getComponentId(), -lineItem.getQuantity());
-            } else if (lineItem.getItemType() == LineItemType.BUILD) {
-                for (OrderItemSnapshot part : lineItem.getContainedItems()) {
-                    int totalQuantityToRemove = part.getQuantity() * lineItem.getQuantity();
-                    updateStock(part.getComponentId(), -totalQuantityToRemove);
+        try {
+            for (OrderLineItem lineItem : order.getLineItems()) {
+                if (lineItem.getItemType() == LineItemType.COMPONENT) {
+                    updateStock(lineItem.getComponentId(), -lineItem.getQuantity());
+                } else if (lineItem.getItemType() == LineItemType.BUILD) {
+                    for (OrderItemSnapshot part : lineItem.getContainedItems()) {
+                        int totalQuantityToRemove = part.getQuantity() * lineItem.getQuantity();
+                        updateStock(part.getComponentId(), -totalQuantityToRemove);
+                    }
                 }
             }
+            log.info("Stock successfully decremented for order ID: {}", order.getId());
+        } finally {
+            // รายการที่ตัดไปแล้วก่อนเกิด Error ก็เปลี่ยนจริง Cache ต้องรู้ด้วย
+            eventPublisher.publishEvent(CatalogChangedEvent.inventory(collectComponentIds(order)));
         }
-        log.info("Stock successfully decremented for order ID: {}", order.getId());
     }
 
     @Override
@@ -209,26 +219,43 @@ public class OrderHelperServiceImpl implements OrderHelperService {
             }
         }
         log.info("Stock successfully incremented for order ID: {}", order.getId());
+        eventPublisher.publishEvent(CatalogChangedEvent.inventory(collectComponentIds(order)));
+    }
+
+    private List<String> collectComponentIds(Order order) {
+        List<String> componentIds = new ArrayList<>();
+        for (OrderLineItem lineItem : order.getLineItems()) {
+            if (lineItem.getItemType() == LineItemType.COMPONENT) {
+                componentIds.add(lineItem.getComponentId());
+            } else if (lineItem.getItemType() == LineItemType.BUILD) {
+                lineItem.getContainedItems().forEach(part -> componentIds.add(part.getComponentId()));
+            }
+        }
+        return componentIds;
     }
 
-    // --- This private helper `updateStock` is new, but it contains logic similar to what was inside the original stock methods.
+    /**
+     * ปรับสต็อกด้วย findAndModify ครั้งเดียว ({@code $inc} แบบมีเงื่อนไข {@code quantity >= -quantityChange} เหมือน Bulk Update)
+     * จึงไม่ทับการแก้ไขสต็อกที่เกิดพร้อมกันจาก Request อื่น แล้วปรับ {@code isActive} ตามจำนวนที่ได้หลังแก้ไข
+     */
     private void updateStock(String componentId, int quantityChange) {
-        Inventory inventory = inventoryRepository.findByComponentId(componentId)
-                .orElseThrow(() -> new IllegalStateException("Data Inconsistency: Inventory not found for component ID " + componentId));
-        int newQuantity = inventory.getQuantity() + quantityChange;
-        if (newQuantity < 0) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Stock for component ID " + componentId + " was depleted.");
+        Criteria filter = Criteria.where("componentId").is(componentId);
+        if (quantityChange < 0) {
+            filter = filter.and("quantity").gte(-quantityChange);
         }
-        inventory.setQuantity(newQuantity);
-        inventoryRepository.save(inventory);
-
-        componentRepository.findById(componentId).ifPresent(component -> {
-            boolean shouldBeActive = newQuantity > 0;
-            if (component.isActive() != shouldBeActive) {
-                component.setActive(shouldBeActive);
-                componentRepository.save(component);
+        Inventory updated = mongoTemplate.findAndModify(Query.query(filter), new Update().inc("quantity", quantityChange),
+                FindAndModifyOptions.options().returnNew(true), Inventory.class);
+        if (updated == null) {
+            if (!mongoTemplate.exists(Query.query(Criteria.where("componentId").is(componentId)), Inventory.class)) {
+                throw new IllegalStateException("Data Inconsistency: Inventory not found for component ID " + componentId);
             }
-        });
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Stock for component ID " + componentId + " was depleted.");
+        }
+
+        boolean shouldBeActive = updated.getQuantity() > 0;
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(componentId).and("isActive").ne(shouldBeActive)),
+                Update.update("isActive", shouldBeActive), Component.class);
     }
 
 
@@ -336,8 +363,6 @@ public class OrderHelperServiceImpl implements OrderHelperService {
     }
 
 
-    // --- NO CHANGE ---
-    // This method has the same logic as your original file.
     @Override
     public Order findOrderForProcessing(String orderId, String userId, PaymentMethod expectedMethod) {
         Order order = orderRepository.findById(orderId)
@@ -353,7 +378,6 @@ public class OrderHelperServiceImpl implements OrderHelperService {
         }
         return order;
     }
-    // --- END NO CHANGE ---
 
 
     // --- METHOD: entityToResponse (MINOR CHANGE) ---
@@ -383,8 +407,38 @@ public class OrderHelperServiceImpl implements OrderHelperService {
                 .orderStatus(order.getOrderStatus())
                 .paymentStatus(order.getPaymentStatus())
                 .paymentDetails(order.getPaymentDetails())
+                .stockIssue(order.getStockIssue())
+                .createdAt(order.getCreatedAt())
+                .updatedAt(order.getUpdatedAt())
+                .build();
+    }
+
+    @Override
+    public OrderSummaryResponse entityToSummary(Order order) {
+        List<OrderSummaryResponse.LineSummary> lines = order.getLineItems() == null ? List.of() :
+                order.getLineItems().stream()
+                        .map(line -> OrderSummaryResponse.LineSummary.builder()
+                                .itemType(line.getItemType())
+                                .name(line.getName())
+                                .quantity(line.getQuantity())
+                                .unitPrice(line.getUnitPrice())
+                                .componentId(line.getComponentId())
+                                .buildId(line.getBuildId())
+                                .build())
+                        .collect(Collectors.toList());
+
+        return OrderSummaryResponse.builder()
+                .id(order.getId())
+                .userId(order.getUserId())
+                .email(order.getEmail())
+                .lineItems(lines)
+                .totalAmount(order.getTotalAmount())
+                .currency(order.getCurrency())
+                .orderStatus(order.getOrderStatus())
+                .paymentStatus(order.getPaymentStatus())
+                .paymentMethod(order.getPaymentDetails() != null ? order.getPaymentDetails().getPaymentMethod() : null)
                 .createdAt(order.getCreatedAt())
                 .updatedAt(order.getUpdatedAt())
                 .build();
     }
-}
\ No newline at end of file
+}
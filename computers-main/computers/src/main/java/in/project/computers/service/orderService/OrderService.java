@@ -3,12 +3,12 @@ package in.project.computers.service.orderService;
 import com.paypal.base.rest.PayPalRESTException;
 import in.project.computers.dto.order.CreateOrderRequest;
 import in.project.computers.dto.order.CreateOrderResponse;
+import in.project.computers.dto.order.OrderPageResponse;
 import in.project.computers.dto.order.OrderResponse;
+import in.project.computers.dto.order.OrderSearchCriteria;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
-
 /**
  * <h3>OrderService Interface</h3>
  * <p>
@@ -74,14 +74,26 @@ public interface OrderService {
     OrderResponse getOrderById(String orderId);
 
     /**
-     * ดึงรายการ Order ทั้งหมดของผู้ใช้ที่กำลังล็อกอินอยู่ในปัจจุบัน
+     * ดึงรายการ Order ของผู้ใช้ที่กำลังล็อกอินอยู่ในปัจจุบัน ทีละหน้าแบบ Cursor
      * <p>
-     * ผลลัพธ์จะถูกเรียงลำดับตามวันที่สร้างล่าสุด (ใหม่สุดอยู่บนสุด)
+     * ผลลัพธ์จะถูกเรียงลำดับตามวันที่สร้างล่าสุด (ใหม่สุดอยู่บนสุด) และเป็นข้อมูลแบบย่อ
      * </p>
      *
-     * @return {@code List<OrderResponse>} รายการ Order ทั้งหมดของผู้ใช้
+     * @param cursor ค่า {@code nextCursor} จากหน้าก่อนหน้า หรือ null สำหรับหน้าแรก
+     * @param limit  จำนวน Order ต่อหน้า (จะถูกจำกัดไม่ให้เกินค่าสูงสุดที่ระบบกำหนด)
+     * @return {@link OrderPageResponse} ที่มีรายการ Order และ Cursor ของหน้าถัดไป
+     */
+    OrderPageResponse getCurrentUserOrders(String cursor, int limit);
+
+    /**
+     * [สำหรับ Admin] ดึงรายการ Order ทั้งหมดในระบบ ทีละหน้าแบบ Cursor พร้อมตัวกรอง
+     *
+     * @param criteria เงื่อนไขการกรอง (สถานะ Order, สถานะการชำระเงิน, วิธีชำระเงิน, ช่วงวันที่)
+     * @param cursor   ค่า {@code nextCursor} จากหน้าก่อนหน้า หรือ null สำหรับหน้าแรก
+     * @param limit    จำนวน Order ต่อหน้า
+     * @return {@link OrderPageResponse} ที่มีรายการ Order และ Cursor ของหน้าถัดไป
      */
-    List<OrderResponse> getCurrentUserOrders();
+    OrderPageResponse getAllOrders(OrderSearchCriteria criteria, String cursor, int limit);
 
     /**
      * [สำหรับ User] ยกเลิก Order ที่ยังไม่ได้ชำระเงิน หรืออยู่ในสถานะที่อนุญาตให้ยกเลิกได้
@@ -5,23 +5,34 @@ import com.paypal.api.payments.Payment;
 import com.paypal.base.rest.PayPalRESTException;
 import in.project.computers.dto.order.CreateOrderRequest;
 import in.project.computers.dto.order.CreateOrderResponse;
+import in.project.computers.dto.order.OrderCursor;
+import in.project.computers.dto.order.OrderPageResponse;
 import in.project.computers.dto.order.OrderResponse;
+import in.project.computers.dto.order.OrderSearchCriteria;
+import in.project.computers.dto.order.OrderSummaryResponse;
 import in.project.computers.entity.order.*;
+import in.project.computers.config.ObservabilityConfig;
 import in.project.computers.entity.user.UserEntity;
 import in.project.computers.repository.generalRepo.OrderRepository;
-import in.project.computers.repository.generalRepo.UserRepository;
 import in.project.computers.service.AWSS3Bucket.S3Service;
+import in.project.computers.service.analyticsService.OrderAnalyticsService;
 import in.project.computers.service.PaypalService.PaypalService;
 import in.project.computers.service.userAuthenticationService.UserService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -33,44 +44,50 @@ import java.util.stream.Collectors;
 public class OrderServiceImpl implements OrderService {
 
     // --- Dependencies ---
-    // NO CHANGES IN THIS SECTION
     private final OrderRepository orderRepository;
-    private final UserRepository userRepository;
     private final OrderHelperService orderHelper;
     private final UserService userService;
     private final S3Service s3Service;
     private final PaypalService paypalService;
+    private final OrderAnalyticsService orderAnalyticsService;
+    private final OrderStateMachine orderStateMachine;
+    private final ObservationRegistry observationRegistry;
 
 
     // --- Config Properties ---
-    // NO CHANGES IN THIS SECTION
     @Value("${paypal.payment.cancelUrl}")
     private String cancelUrl;
     @Value("${paypal.payment.successUrl}")
     private String successUrl;
 
-    // --- THIS IS THE ONLY METHOD THAT IS CHANGED ---
+    // จำนวน Order สูงสุดต่อหน้าสำหรับ Cursor Pagination
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Tag ผลลัพธ์ของ Capture บน Observation app.order.capture
+    private static final String CAPTURE_RESULT = "capture.result";
+
+    // จำนวน Capture ที่ค้างที่ตรวจกับ PayPal ต่อรอบ
+    private static final int STALE_CAPTURE_BATCH = 50;
+
+    // Capture ที่จองไว้นานกว่านี้ถือว่า Request ที่จองตายไปแล้ว (ต้องนานกว่า Timeout ของการเรียก PayPal มาก)
+    @Value("${app.paypal.capture-claim-timeout:PT5M}")
+    private Duration captureClaimTimeout;
+
     @Override
     @Transactional
+    @Observed(name = "app.order.create")
     public CreateOrderResponse createOrder(CreateOrderRequest request) throws PayPalRESTException {
-        // ขั้นตอนที่ 1: ตรวจสอบและดึงข้อมูลผู้ใช้ปัจจุบัน (NO CHANGE)
-        UserEntity currentUser = userRepository.findById(userService.findByUserId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
-
-        // --- CHANGED ---
-        // The old, incorrect way was removed.
-        // Map<String, Integer> aggregatedItems = orderHelper.unpackAndAggregateItems(request);
-        // Order order = orderHelper.createAndValidateBaseOrder(request, currentUser, aggregatedItems);
+        tagCurrentObservation(ObservabilityConfig.PAYMENT_METHOD, String.valueOf(request.getPaymentMethod()));
+        // ขั้นตอนที่ 1: ตรวจสอบและดึงข้อมูลผู้ใช้ปัจจุบัน
+        UserEntity currentUser = userService.findCurrentUser();
 
-        // This is the new, correct way to call the helper.
-        // The helper now handles all the complex logic internally.
+        // ขั้นตอนที่ 2: สร้าง Order และตรวจสอบสต็อก (Helper จัดการ Build และ Component ทั้งหมดเอง)
         Order order = orderHelper.createAndValidateBaseOrder(request, currentUser);
-        // --- END OF CHANGE ---
 
-        // ขั้นตอนที่ 3: ตั้งค่ารายละเอียดการชำระเงิน (NO CHANGE)
+        // ขั้นตอนที่ 3: ตั้งค่ารายละเอียดการชำระเงิน
         order.setPaymentDetails(PaymentDetails.builder().paymentMethod(request.getPaymentMethod()).build());
 
-        // ขั้นตอนที่ 4: แยก Logic การทำงานตามวิธีการชำระเงินที่ผู้ใช้เลือก (NO CHANGE)
+        // ขั้นตอนที่ 4: แยก Logic การทำงานตามวิธีการชำระเงินที่ผู้ใช้เลือก
         switch (request.getPaymentMethod()) {
             case PAYPAL:
                 return initiatePaypalPayment(order);
@@ -83,54 +100,151 @@ public class OrderServiceImpl implements OrderService {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported payment method.");
         }
     }
-    // --- END OF THE METHOD THAT WAS CHANGED ---
-
-
-    // =========================================================================
-    // ALL METHODS BELOW THIS LINE ARE UNCHANGED, AS YOU REQUESTED.
-    // =========================================================================
 
     @Override
     @Transactional
+    @Observed(name = "app.order.capture", lowCardinalityKeyValues = {ObservabilityConfig.PAYMENT_METHOD, "PAYPAL"})
     public OrderResponse capturePaypalOrder(String orderId, String paymentId, String payerId) throws PayPalRESTException {
         log.info("Attempting to capture PayPal payment for order ID: {}", orderId);
+        // ทุกเส้นทางต้องมี Tag capture.result (ชุด Key ไม่เท่ากัน Prometheus จะทิ้ง Meter) ค่าเริ่มต้นคือ ERROR สำหรับ Exception ที่ไม่คาดคิด
+        tagCurrentObservation(CAPTURE_RESULT, "ERROR");
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> {
                     log.error("PayPal callback error: Order not found with ID: {}", orderId);
+                    tagCurrentObservation(CAPTURE_RESULT, "NOT_FOUND");
                     return new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found with ID: " + orderId);
                 });
 
         if (order.getPaymentDetails() == null || order.getPaymentDetails().getPaymentMethod() != PaymentMethod.PAYPAL) {
             log.error("PayPal callback error: Order {} is not a PayPal order or missing payment details.", orderId);
+            tagCurrentObservation(CAPTURE_RESULT, "INVALID_ORDER");
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "This order is not designated for PayPal payment or is missing payment details.");
         }
-        if (order.getPaymentStatus() != PaymentStatus.PENDING) {
-            log.warn("PayPal callback warning: Attempt to capture an already processed or non-pending order. Order ID: {}, Status: {}", orderId, order.getPaymentStatus());
-            return orderHelper.entityToResponse(order);
+
+        // Compare-and-set PENDING -> CAPTURING: มีเพียง Request เดียว (แม้ Redirect ถูกเรียกซ้ำพร้อมกัน) ที่ได้ไปเรียก PayPal และตัดสต็อก
+        // เก็บเวลาที่จองไว้ ถ้า Request นี้ตายกลางทาง reconcileStaleCaptures จะตรวจ Payment กับ PayPal แล้วปิดให้
+        Order claimed = orderStateMachine.tryApply(orderId, OrderTransition.CLAIM_CAPTURE,
+                new Update().set("captureClaimedAt", Instant.now())).orElse(null);
+        if (claimed == null) {
+            Order current = orderRepository.findById(orderId).orElse(order);
+            log.warn("PayPal callback warning: Attempt to capture an already processed or non-pending order. Order ID: {}, Status: {}", orderId, current.getPaymentStatus());
+            tagCurrentObservation(CAPTURE_RESULT, "ALREADY_PROCESSED");
+            return orderHelper.entityToResponse(current);
         }
 
-        Payment payment = paypalService.executePayment(paymentId, payerId);
+        Payment payment;
+        try {
+            payment = paypalService.executePayment(paymentId, payerId);
+        } catch (PayPalRESTException | RuntimeException e) {
+            // คืนสถานะเพื่อให้ผู้ใช้ลองชำระใหม่ได้
+            orderStateMachine.tryApply(orderId, OrderTransition.RELEASE_CAPTURE, null);
+            tagCurrentObservation(CAPTURE_RESULT, "PAYPAL_ERROR");
+            throw e;
+        }
 
         if ("approved".equals(payment.getState())) {
-            orderHelper.decrementStockForOrder(order);
-
-            PaymentDetails details = order.getPaymentDetails();
-            details.setTransactionId(payment.getId());
-            details.setPayerId(payment.getPayer().getPayerInfo().getPayerId());
-            details.setPayerEmail(payment.getPayer().getPayerInfo().getEmail());
-            details.setProviderStatus(payment.getState());
+            Update completion = new Update()
+                    .set("paymentDetails.transactionId", payment.getId())
+                    .set("paymentDetails.payerId", payment.getPayer().getPayerInfo().getPayerId())
+                    .set("paymentDetails.payerEmail", payment.getPayer().getPayerInfo().getEmail())
+                    .set("paymentDetails.providerStatus", payment.getState());
+            String captureResult = "CAPTURED";
+            try {
+                orderHelper.decrementStockForOrder(claimed);
+            } catch (RuntimeException e) {
+                // PayPal รับเงินไปแล้ว: ต้องบันทึกการชำระเงินเสมอ (ห้ามค้างที่ CAPTURING) แล้วให้ Admin จัดการสต็อกหรือคืนเงิน
+                log.error("PayPal payment {} for order {} was approved but stock could not be decremented. Flagging order for admin review.",
+                        payment.getId(), orderId, e);
+                completion.set("stockIssue", describeStockFailure("Stock decrement failed after payment", e));
+                captureResult = "CAPTURED_STOCK_ISSUE";
+            }
 
-            updateOrderStatusToPaid(order);
+            Order savedOrder;
+            try {
+                savedOrder = orderStateMachine.apply(orderId, OrderTransition.COMPLETE_CAPTURE, completion);
+            } catch (RuntimeException e) {
+                log.error("PayPal payment {} for order {} was approved but the order could not be marked as paid. Reconcile manually.",
+                        payment.getId(), orderId, e);
+                tagCurrentObservation(CAPTURE_RESULT, "COMPLETE_FAILED");
+                throw e;
+            }
+            orderAnalyticsService.recordOrderPaid(savedOrder);
+            tagCurrentObservation(CAPTURE_RESULT, captureResult);
             log.info("Successfully captured PayPal payment for order ID: {}", orderId);
-            return orderHelper.entityToResponse(orderRepository.save(order));
+            return orderHelper.entityToResponse(savedOrder);
         } else {
-            order.setPaymentStatus(PaymentStatus.FAILED);
-            orderRepository.save(order);
+            orderStateMachine.tryApply(orderId, OrderTransition.FAIL_CAPTURE,
+                    new Update().set("paymentDetails.providerStatus", payment.getState()));
             log.error("PayPal payment capture failed for order ID: {}. State: {}", orderId, payment.getState());
+            tagCurrentObservation(CAPTURE_RESULT, "DECLINED");
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Payment could not be approved by PayPal. State: " + payment.getState());
         }
     }
 
+    /**
+     * ปิด Capture ที่ค้างอยู่ที่ CAPTURING เพราะ Request ที่จองไว้ตายก่อนจบ (เช่น Process ถูก Kill ระหว่างเรียก PayPal)
+     * <p>
+     * ตรวจสถานะ Payment กับ PayPal: ถ้ารับเงินแล้วจะบันทึกการชำระเงินและ Flag ให้ Admin ตรวจสต็อก
+     * (ไม่รู้ว่า Request เดิมตัดสต็อกไปแล้วหรือยัง จึงไม่ตัดซ้ำเอง) ถ้ายังไม่ได้ Execute จะคืนเป็น PENDING ให้ผู้ใช้ชำระต่อได้
+     * และถ้า PayPal ปฏิเสธจะเป็น FAILED ถ้าติดต่อ PayPal ไม่ได้จะลองใหม่รอบถัดไป
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${app.paypal.capture-reconcile-interval:PT1M}", initialDelayString = "${app.paypal.capture-reconcile-interval:PT1M}")
+    public void reconcileStaleCaptures() {
+        List<Order> stale;
+        try {
+            stale = orderStateMachine.findStaleCaptures(Instant.now().minus(captureClaimTimeout), STALE_CAPTURE_BATCH);
+        } catch (RuntimeException e) {
+            log.warn("Could not look up stale PayPal captures.", e);
+            return;
+        }
+        for (Order order : stale) {
+            orderStateMachine.takeOverStaleCapture(order).ifPresent(this::reconcileCapture);
+        }
+    }
+
+    private void reconcileCapture(Order order) {
+        String orderId = order.getId();
+        String paymentId = order.getPaymentDetails() != null ? order.getPaymentDetails().getTransactionId() : null;
+        if (paymentId == null || paymentId.isBlank()) {
+            orderStateMachine.tryApply(orderId, OrderTransition.RELEASE_CAPTURE, null);
+            log.warn("Released stale PayPal capture of order {}: no PayPal payment ID recorded.", orderId);
+            return;
+        }
+
+        Payment payment;
+        try {
+            payment = paypalService.getPayment(paymentId);
+        } catch (PayPalRESTException | RuntimeException e) {
+            log.warn("Could not check PayPal payment {} of stale capture for order {}. Retrying next round.", paymentId, orderId, e);
+            return;
+        }
+
+        String state = payment.getState();
+        if ("approved".equals(state)) {
+            Update completion = new Update()
+                    .set("paymentDetails.transactionId", payment.getId())
+                    .set("paymentDetails.providerStatus", state)
+                    .set("stockIssue", "Capture was recovered after an interrupted request; stock may not have been decremented. Verify stock.");
+            if (payment.getPayer() != null && payment.getPayer().getPayerInfo() != null) {
+                completion.set("paymentDetails.payerId", payment.getPayer().getPayerInfo().getPayerId())
+                        .set("paymentDetails.payerEmail", payment.getPayer().getPayerInfo().getEmail());
+            }
+            orderStateMachine.tryApply(orderId, OrderTransition.COMPLETE_CAPTURE, completion).ifPresent(saved -> {
+                orderAnalyticsService.recordOrderPaid(saved);
+                log.warn("Recovered stale PayPal capture for order {}: payment {} was approved. Flagged for stock review.", orderId, paymentId);
+            });
+        } else if ("created".equals(state)) {
+            // ยังไม่ได้ Execute: ยังไม่มีการตัดเงิน ผู้ใช้ Callback ซ้ำหรือชำระใหม่ได้
+            orderStateMachine.tryApply(orderId, OrderTransition.RELEASE_CAPTURE, null);
+            log.warn("Released stale PayPal capture for order {}: payment {} was never executed.", orderId, paymentId);
+        } else {
+            orderStateMachine.tryApply(orderId, OrderTransition.FAIL_CAPTURE,
+                    new Update().set("paymentDetails.providerStatus", state));
+            log.warn("Failed stale PayPal capture for order {}: payment {} is in state {}.", orderId, paymentId, state);
+        }
+    }
+
     @Override
     @Transactional
     public OrderResponse submitPaymentSlip(String orderId, MultipartFile slipImage) {
@@ -141,12 +255,10 @@ public class OrderServiceImpl implements OrderService {
         String userId = userService.findByUserId();
         Order order = orderHelper.findOrderForProcessing(orderId, userId, PaymentMethod.BANK_TRANSFER);
 
-        PaymentDetails details = order.getPaymentDetails();
-        if (details == null) {
-            log.warn("PaymentDetails was null for order {} during slip submission. Creating new.", orderId);
-            details = PaymentDetails.builder().paymentMethod(PaymentMethod.BANK_TRANSFER).build();
-            order.setPaymentDetails(details);
+        if (!OrderTransition.SUBMIT_SLIP.isAllowedFrom(order)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "This order is not pending payment.");
         }
+        PaymentDetails details = order.getPaymentDetails();
 
         String oldSlipUrl = details.getTransactionId();
         if (oldSlipUrl != null && !oldSlipUrl.isBlank() && oldSlipUrl.contains("s3.amazonaws.com")) {
@@ -162,14 +274,18 @@ public class OrderServiceImpl implements OrderService {
         String newSlipImageUrl = s3Service.uploadFile(slipImage);
         log.info("New payment slip uploaded for order {}. URL: {}", orderId, newSlipImageUrl);
 
-        details.setTransactionId(newSlipImageUrl);
-        details.setProviderStatus("SUBMITTED");
-        order.setPaymentStatus(PaymentStatus.PENDING_APPROVAL);
-        order.setUpdatedAt(Instant.now());
-
-        orderRepository.save(order);
+        Order updated;
+        try {
+            updated = orderStateMachine.apply(orderId, OrderTransition.SUBMIT_SLIP, new Update()
+                    .set("paymentDetails.transactionId", newSlipImageUrl)
+                    .set("paymentDetails.providerStatus", "SUBMITTED"));
+        } catch (ResponseStatusException e) {
+            // Order ถูกยกเลิก/เปลี่ยนสถานะไประหว่างอัปโหลด: ไม่เก็บไฟล์ที่ไม่มี Order อ้างถึง
+            s3Service.deleteFile(newSlipImageUrl.substring(newSlipImageUrl.lastIndexOf("/") + 1));
+            throw e;
+        }
         log.info("Payment slip submitted and order {} updated. Awaiting admin approval.", orderId);
-        return orderHelper.entityToResponse(order);
+        return orderHelper.entityToResponse(updated);
     }
 
     @Override
@@ -185,11 +301,15 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    public List<OrderResponse> getCurrentUserOrders() {
+    public OrderPageResponse getCurrentUserOrders(String cursor, int limit) {
         String userId = userService.findByUserId();
-        return orderRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
-                .map(orderHelper::entityToResponse)
-                .collect(Collectors.toList());
+        OrderSearchCriteria criteria = OrderSearchCriteria.builder().userId(userId).build();
+        return findOrderPage(criteria, cursor, limit);
+    }
+
+    @Override
+    public OrderPageResponse getAllOrders(OrderSearchCriteria criteria, String cursor, int limit) {
+        return findOrderPage(criteria, cursor, limit);
     }
 
     @Override
@@ -202,18 +322,15 @@ public class OrderServiceImpl implements OrderService {
         if (!order.getUserId().equals(userId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied.");
         }
-        if (order.getPaymentStatus() != PaymentStatus.PENDING || order.getOrderStatus() != OrderStatus.PENDING_PAYMENT) {
+        if (!OrderTransition.CANCEL.isAllowedFrom(order)) {
             log.warn("User {} attempted to cancel order {} with invalid status: Payment={}, Order={}", userId, orderId, order.getPaymentStatus(), order.getOrderStatus());
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Cannot cancel an order that is not pending payment.");
         }
 
-        order.setOrderStatus(OrderStatus.CANCELLED);
-        order.setPaymentStatus(PaymentStatus.FAILED);
-        order.setUpdatedAt(Instant.now());
-        orderRepository.save(order);
+        Order cancelled = orderStateMachine.apply(orderId, OrderTransition.CANCEL, null);
         log.info("Order ID {} has been cancelled by user {}.", orderId, userId);
 
-        return orderHelper.entityToResponse(order);
+        return orderHelper.entityToResponse(cancelled);
     }
 
     @Override
@@ -230,7 +347,7 @@ public class OrderServiceImpl implements OrderService {
         if (order.getPaymentDetails() == null || order.getPaymentDetails().getPaymentMethod() != PaymentMethod.PAYPAL) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Retry payment is only available for PayPal orders.");
         }
-        if (order.getPaymentStatus() != PaymentStatus.PENDING && order.getPaymentStatus() != PaymentStatus.FAILED) {
+        if (!OrderTransition.RETRY_PAYMENT.isAllowedFrom(order)) {
             log.warn("User {} attempted to retry payment for order {} with status: {}", userId, orderId, order.getPaymentStatus());
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Cannot retry payment for this order. Current status: " + order.getPaymentStatus());
         }
@@ -250,19 +367,13 @@ public class OrderServiceImpl implements OrderService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied. You do not own this order.");
         }
 
-        List<OrderStatus> validStatusesForRefundRequest = List.of(OrderStatus.PROCESSING, OrderStatus.SHIPPED, OrderStatus.COMPLETED);
-        if (!validStatusesForRefundRequest.contains(order.getOrderStatus())) {
+        if (!OrderTransition.REQUEST_REFUND.isAllowedFrom(order)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot request refund for an order with status: " + order.getOrderStatus());
         }
-        if (order.getOrderStatus() == OrderStatus.REFUND_REQUESTED || order.getOrderStatus() == OrderStatus.REFUNDED || order.getOrderStatus() == OrderStatus.REFUND_REJECTED) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "A refund request for this order already exists or has been processed.");
-        }
 
-        order.setOrderStatus(OrderStatus.REFUND_REQUESTED);
-        order.setUpdatedAt(Instant.now());
-        orderRepository.save(order);
+        Order updated = orderStateMachine.apply(orderId, OrderTransition.REQUEST_REFUND, null);
         log.info("User {} successfully requested a refund for order ID: {}", userId, orderId);
-        return orderHelper.entityToResponse(order);
+        return orderHelper.entityToResponse(updated);
     }
 
     @Override
@@ -271,7 +382,7 @@ public class OrderServiceImpl implements OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found with ID: " + orderId));
 
-        if (order.getOrderStatus() != OrderStatus.REFUND_REQUESTED) {
+        if (!OrderTransition.CLAIM_REFUND.isAllowedFrom(order)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "This order is not awaiting a refund approval.");
         }
 
@@ -279,24 +390,44 @@ public class OrderServiceImpl implements OrderService {
         if (paymentDetails == null) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Payment details are missing for this order.");
         }
-
-        if (paymentDetails.getPaymentMethod() == PaymentMethod.PAYPAL) {
-            orderHelper.processPaypalRefund(order, paymentDetails); // DELEGATED to helper
-        } else if (paymentDetails.getPaymentMethod() == PaymentMethod.BANK_TRANSFER) {
-            paymentDetails.setProviderStatus("MANUALLY_REFUNDED_APPROVED");
-        } else {
+        if (paymentDetails.getPaymentMethod() != PaymentMethod.PAYPAL && paymentDetails.getPaymentMethod() != PaymentMethod.BANK_TRANSFER) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unsupported payment method for refund.");
         }
 
-        orderHelper.incrementStockForOrder(order);
+        // REFUND_REQUESTED -> REFUND_PROCESSING: Admin สองคนกดอนุมัติพร้อมกันจะคืนเงิน/คืนสต็อกได้เพียงครั้งเดียว
+        Order claimed = orderStateMachine.apply(orderId, OrderTransition.CLAIM_REFUND, null);
+        PaymentDetails claimedDetails = claimed.getPaymentDetails();
+        try {
+            if (claimedDetails.getPaymentMethod() == PaymentMethod.PAYPAL) {
+                orderHelper.processPaypalRefund(claimed, claimedDetails); // DELEGATED to helper
+            } else {
+                claimedDetails.setProviderStatus("MANUALLY_REFUNDED_APPROVED");
+            }
+        } catch (PayPalRESTException | RuntimeException e) {
+            orderStateMachine.tryApply(orderId, OrderTransition.RELEASE_REFUND, null);
+            throw e;
+        }
 
-        order.setPaymentStatus(PaymentStatus.REFUNDED);
-        order.setOrderStatus(OrderStatus.REFUNDED);
-        order.setUpdatedAt(Instant.now());
+        Update completion = new Update()
+                .set("paymentDetails.transactionId", claimedDetails.getTransactionId())
+                .set("paymentDetails.providerStatus", claimedDetails.getProviderStatus());
+        if (claimed.getStockIssue() != null) {
+            // ตอนรับเงินตัดสต็อกไม่สำเร็จ: ไม่คืนสต็อกที่อาจไม่เคยถูกตัด (Admin ปรับสต็อกเองตาม stockIssue)
+            log.warn("Skipping restock for refunded order {} because its stock was flagged: {}", orderId, claimed.getStockIssue());
+        } else {
+            try {
+                orderHelper.incrementStockForOrder(claimed);
+            } catch (RuntimeException e) {
+                // เงินถูกคืนไปแล้ว: ต้องปิดการคืนเงินเสมอ (ห้ามค้างที่ REFUND_PROCESSING) แล้วให้ Admin คืนสต็อกเอง
+                log.error("Order {} was refunded but stock could not be restored. Flagging order for admin review.", orderId, e);
+                completion.set("stockIssue", describeStockFailure("Stock restock failed after refund", e));
+            }
+        }
 
-        orderRepository.save(order);
+        Order refunded = orderStateMachine.apply(orderId, OrderTransition.COMPLETE_REFUND, completion);
+        orderAnalyticsService.recordOrderRefunded(refunded);
         log.info("Refund for order ID: {} has been approved and processed by admin.", orderId);
-        return orderHelper.entityToResponse(order);
+        return orderHelper.entityToResponse(refunded);
     }
 
     @Override
@@ -305,23 +436,21 @@ public class OrderServiceImpl implements OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found with ID: " + orderId));
 
-        if (order.getOrderStatus() != OrderStatus.REFUND_REQUESTED) {
+        if (!OrderTransition.REJECT_REFUND.isAllowedFrom(order)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "This order is not awaiting a refund approval.");
         }
 
-        order.setOrderStatus(OrderStatus.REFUND_REJECTED);
-        if (order.getPaymentDetails() != null) {
-            order.getPaymentDetails().setProviderStatus("REFUND_REJECTED_BY_ADMIN");
-        }
-        order.setUpdatedAt(Instant.now());
-
-        orderRepository.save(order);
+        Update changes = order.getPaymentDetails() != null
+                ? new Update().set("paymentDetails.providerStatus", "REFUND_REJECTED_BY_ADMIN")
+                : null;
+        Order rejected = orderStateMachine.apply(orderId, OrderTransition.REJECT_REFUND, changes);
         log.info("Refund request for order ID: {} has been rejected by an admin.", orderId);
-        return orderHelper.entityToResponse(order);
+        return orderHelper.entityToResponse(rejected);
     }
 
     private CreateOrderResponse initiatePaypalPayment(Order order) throws PayPalRESTException {
-        if (order.getId() == null) {
+        boolean isNewOrder = order.getId() == null;
+        if (isNewOrder) {
             orderRepository.save(order);
             log.info("Order ID {} generated and saved before initiating PayPal payment.", order.getId());
         }
@@ -351,11 +480,17 @@ public class OrderServiceImpl implements OrderService {
             throw new PayPalRESTException("Could not get approval link or payment ID from PayPal.");
         }
 
-        PaymentDetails details = order.getPaymentDetails();
-        details.setTransactionId(paypalPaymentId);
-        details.setProviderStatus("CREATED_IN_PAYPAL");
-
-        orderRepository.save(order);
+        if (isNewOrder) {
+            PaymentDetails details = order.getPaymentDetails();
+            details.setTransactionId(paypalPaymentId);
+            details.setProviderStatus("CREATED_IN_PAYPAL");
+            orderRepository.save(order); // @Version: ตรวจว่าไม่มีใครแก้ Order ไปก่อน
+        } else {
+            // ชำระใหม่ (PENDING/FAILED -> PENDING) เพื่อให้ Callback ของลิงก์ใหม่ Capture ได้
+            orderStateMachine.apply(order.getId(), OrderTransition.RETRY_PAYMENT, new Update()
+                    .set("paymentDetails.transactionId", paypalPaymentId)
+                    .set("paymentDetails.providerStatus", "CREATED_IN_PAYPAL"));
+        }
         log.info("Updated order ID {} with PayPal Payment ID: {}", order.getId(), paypalPaymentId);
 
         return CreateOrderResponse.builder()
@@ -365,9 +500,44 @@ public class OrderServiceImpl implements OrderService {
                 .build();
     }
 
-    private void updateOrderStatusToPaid(Order order) {
-        order.setPaymentStatus(PaymentStatus.COMPLETED);
-        order.setOrderStatus(OrderStatus.PROCESSING);
-        order.setUpdatedAt(Instant.now());
+    private OrderPageResponse findOrderPage(OrderSearchCriteria criteria, String cursor, int limit) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        // ดึงเกินมา 1 รายการเพื่อใช้ตรวจว่ายังมีหน้าถัดไปหรือไม่ โดยไม่ต้อง count ทั้ง Collection
+        List<Order> orders = orderRepository.findSummaries(criteria, OrderCursor.decode(cursor), pageSize + 1);
+
+        boolean hasMore = orders.size() > pageSize;
+        List<Order> page = hasMore ? orders.subList(0, pageSize) : orders;
+        String nextCursor = null;
+        if (hasMore) {
+            Order last = page.getLast();
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        List<OrderSummaryResponse> items = page.stream()
+                .map(orderHelper::entityToSummary)
+                .collect(Collectors.toList());
+        return OrderPageResponse.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * เพิ่ม Tag ให้ Observation ของ {@code @Observed} ที่กำลังทำงานอยู่ (เช่น วิธีชำระเงินที่รู้หลังอ่าน Request)
+     */
+    private void tagCurrentObservation(String key, String value) {
+        Observation current = observationRegistry.getCurrentObservation();
+        if (current != null) {
+            current.lowCardinalityKeyValue(key, value);
+        }
+    }
+
+    /**
+     * ข้อความสำหรับ Admin ว่าทำไมปรับสต็อกไม่สำเร็จ (เช่น 409 สต็อกหมด หรือ Error ของฐานข้อมูล)
+     */
+    private static String describeStockFailure(String summary, RuntimeException e) {
+        String reason = e instanceof ResponseStatusException statusException ? statusException.getReason() : e.getMessage();
+        return summary + ": " + (reason != null ? reason : e.getClass().getSimpleName());
     }
-}
\ No newline at end of file
+}
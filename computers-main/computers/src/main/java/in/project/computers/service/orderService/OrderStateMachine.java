@@ -0,0 +1,134 @@
+package in.project.computers.service.orderService;
+
+import in.project.computers.entity.order.Order;
+import in.project.computers.entity.order.OrderTransition;
+import in.project.computers.entity.order.PaymentStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * เปลี่ยนสถานะ Order ตาม {@link OrderTransition} ด้วย findAndModify ครั้งเดียว
+ * <p>
+ * เงื่อนไขของ Query คือ {@code {_id, orderStatus ∈ ต้นทาง, paymentStatus ∈ ต้นทาง}} และ Update แก้เฉพาะฟิลด์สถานะ,
+ * ฟิลด์ที่ผู้เรียกส่งมา, {@code updatedAt} และเพิ่ม {@code version} (ไม่เขียน lineItems ทั้งก้อนทับ)
+ * ถ้ามี Request อื่นเปลี่ยนสถานะไปก่อน เงื่อนไขจะไม่ตรงและไม่มีอะไรถูกแก้ไข
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStateMachine {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Index ของ orders (แอปไม่ได้เปิด auto-index-creation): แบ่งหน้าแบบ Keyset ตาม (createdAt, _id)
+     * ทั้งของผู้ใช้และของ Admin และหา Capture ที่ค้าง
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            IndexOperations indexOps = mongoTemplate.indexOps(Order.class);
+            indexOps.ensureIndex(new Index()
+                    .on("userId", Sort.Direction.ASC).on("createdAt", Sort.Direction.DESC).on("_id", Sort.Direction.DESC)
+                    .named("user_created_id_idx"));
+            indexOps.ensureIndex(new Index()
+                    .on("createdAt", Sort.Direction.DESC).on("_id", Sort.Direction.DESC)
+                    .named("created_id_idx"));
+            indexOps.ensureIndex(new Index()
+                    .on("paymentStatus", Sort.Direction.ASC).on("captureClaimedAt", Sort.Direction.ASC)
+                    .named("payment_status_capture_claimed_idx"));
+        } catch (RuntimeException e) {
+            log.error("Could not create indexes on orders.", e);
+        }
+    }
+
+    /**
+     * @param changes ฟิลด์อื่นที่ต้องแก้พร้อมกัน (เช่น {@code paymentDetails.providerStatus}) หรือ null
+     * @return Order หลังเปลี่ยนสถานะ หรือว่างถ้าสถานะปัจจุบันไม่ใช่ต้นทางของ Transition นี้แล้ว
+     */
+    public Optional<Order> tryApply(String orderId, OrderTransition transition, Update changes) {
+        Criteria criteria = Criteria.where("_id").is(orderId).and("orderStatus").in(transition.getFromOrderStatuses());
+        if (!transition.getFromPaymentStatuses().isEmpty()) {
+            criteria.and("paymentStatus").in(transition.getFromPaymentStatuses());
+        }
+        Update update = changes != null ? changes : new Update();
+        if (transition.getTargetOrderStatus() != null) {
+            update.set("orderStatus", transition.getTargetOrderStatus());
+        }
+        if (transition.getTargetPaymentStatus() != null) {
+            update.set("paymentStatus", transition.getTargetPaymentStatus());
+        }
+        update.set("updatedAt", Instant.now()).inc("version", 1);
+
+        Order updated = mongoTemplate.findAndModify(Query.query(criteria), update,
+                FindAndModifyOptions.options().returnNew(true), Order.class);
+        if (updated == null) {
+            log.warn("Order transition {} rejected for order {}: status changed concurrently.", transition, orderId);
+        }
+        return Optional.ofNullable(updated);
+    }
+
+    /**
+     * เหมือน {@link #tryApply} แต่ตอบ 409 Conflict เมื่อเปลี่ยนสถานะไม่ได้
+     */
+    public Order apply(String orderId, OrderTransition transition, Update changes) {
+        return tryApply(orderId, transition, changes)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Order " + orderId + " was modified concurrently and can no longer be " + describe(transition) + "."));
+    }
+
+    /**
+     * Order ที่ค้างอยู่ที่ CAPTURING ตั้งแต่ก่อน {@code cutoff} (รวมการจองแบบเก่าที่ไม่มี {@code captureClaimedAt})
+     */
+    public List<Order> findStaleCaptures(Instant cutoff, int limit) {
+        Query query = Query.query(Criteria.where("paymentStatus").is(PaymentStatus.CAPTURING)
+                .orOperator(Criteria.where("captureClaimedAt").lt(cutoff), Criteria.where("captureClaimedAt").is(null)));
+        query.limit(limit);
+        return mongoTemplate.find(query, Order.class);
+    }
+
+    /**
+     * รับช่วงการจอง Capture ที่ค้างต่อ (Compare-and-set บน {@code captureClaimedAt} เดิม)
+     * แม้หลาย Instance เจอ Order เดียวกันพร้อมกัน จะมีเพียงหนึ่งเดียวที่ได้ไปตรวจกับ PayPal
+     *
+     * @return Order ที่จองใหม่แล้ว หรือว่างถ้ามีผู้อื่นรับช่วงหรือปิดการ Capture ไปก่อน
+     */
+    public Optional<Order> takeOverStaleCapture(Order stale) {
+        Criteria criteria = Criteria.where("_id").is(stale.getId())
+                .and("paymentStatus").is(PaymentStatus.CAPTURING)
+                .and("captureClaimedAt").is(stale.getCaptureClaimedAt());
+        Update update = new Update().set("captureClaimedAt", Instant.now()).set("updatedAt", Instant.now()).inc("version", 1);
+        return Optional.ofNullable(mongoTemplate.findAndModify(Query.query(criteria), update,
+                FindAndModifyOptions.options().returnNew(true), Order.class));
+    }
+
+    private String describe(OrderTransition transition) {
+        return switch (transition) {
+            case CANCEL -> "cancelled";
+            case SUBMIT_SLIP -> "updated with a payment slip";
+            case RETRY_PAYMENT -> "retried";
+            case CLAIM_CAPTURE, COMPLETE_CAPTURE, FAIL_CAPTURE, RELEASE_CAPTURE -> "captured";
+            case REQUEST_REFUND -> "refund-requested";
+            case CLAIM_REFUND, COMPLETE_REFUND, RELEASE_REFUND -> "refunded";
+            case REJECT_REFUND -> "refund-rejected";
+        };
+    }
+}
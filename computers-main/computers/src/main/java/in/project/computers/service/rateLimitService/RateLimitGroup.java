@@ -0,0 +1,53 @@
+package in.project.computers.service.rateLimitService;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * กลุ่มของ Route ที่ถูกจำกัดอัตรา แต่ละกลุ่มมี Bucket แยกกันและตั้งค่าได้ที่ {@code app.rate-limit.<property>.*}
+ */
+public enum RateLimitGroup {
+
+    /** {@code POST /api/login}, {@code POST /api/register} (ใช้ BCrypt ประมาณ 100ms), {@code POST /api/refresh} ต่อ IP */
+    AUTH("auth", false),
+    /** {@code POST /api/orders} ต่อผู้ใช้ */
+    ORDERS("orders", true),
+    /** {@code GET /api/components/**}, {@code GET /api/lookups} ต่อ IP */
+    CATALOG("catalog", false);
+
+    private final String property;
+    private final boolean perUser;
+
+    RateLimitGroup(String property, boolean perUser) {
+        this.property = property;
+        this.perUser = perUser;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    /**
+     * true = ใช้ผู้ใช้ที่ล็อกอินแล้วเป็น Key (ถ้ายังไม่ล็อกอินใช้ IP แทน), false = ใช้ IP เสมอ
+     */
+    public boolean perUser() {
+        return perUser;
+    }
+
+    /**
+     * @param path Path ของ Request ไม่รวม Context Path
+     */
+    public static Optional<RateLimitGroup> match(String method, String path) {
+        String normalized = path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        return Arrays.stream(values()).filter(group -> group.matches(method, normalized)).findFirst();
+    }
+
+    private boolean matches(String method, String path) {
+        return switch (this) {
+            case AUTH -> "POST".equals(method) && (path.equals("/api/login") || path.equals("/api/register") || path.equals("/api/refresh"));
+            case ORDERS -> "POST".equals(method) && path.equals("/api/orders");
+            case CATALOG -> "GET".equals(method)
+                    && (path.equals("/api/components") || path.startsWith("/api/components/") || path.equals("/api/lookups"));
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package in.project.computers.service.rateLimitService;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Service จำกัดอัตรา Request ต่อ Key (IP หรือผู้ใช้) ด้วย Token Bucket แยกตาม {@link RateLimitGroup}
+ */
+public interface RateLimitService {
+
+    /**
+     * ใช้ Token หนึ่งอันจาก Bucket ของ Key นี้
+     *
+     * @param key IP หรือ Username ของผู้ใช้
+     * @return ค่าว่างเมื่ออนุญาต หรือเวลาที่ต้องรอก่อนลองใหม่เมื่อ Token หมด
+     */
+    Optional<Duration> tryAcquire(RateLimitGroup group, String key);
+}
@@ -0,0 +1,222 @@
+package in.project.computers.service.rateLimitService;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import in.project.computers.entity.rateLimit.RateLimitUsage;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * <h3>Rate Limit Service Implementation</h3>
+ * <p>
+ * Bucket ต่อ Key เก็บใน Caffeine Cache ที่จำกัดจำนวน ({@code app.rate-limit.max-keys}) เพื่อไม่ให้ IP ปลอมจำนวนมากทำ Memory เต็ม
+ * Bucket ที่ไม่ถูกใช้นานเท่า {@code period} ที่ยาวที่สุดจะเต็มอยู่แล้ว จึงลบทิ้งได้โดยไม่เปลี่ยนผลลัพธ์
+ * </p>
+ * <p>
+ * เมื่อเปิด {@code app.rate-limit.sync.enabled} แต่ละ Instance จะเขียนจำนวน Token ที่ใช้ไปลง {@code rate_limit_usage}
+ * และหัก Token ที่ Instance อื่นใช้ออกจาก Bucket ของตัวเองทุก {@code app.rate-limit.sync.interval}
+ * (Eventually Consistent: ภายในหนึ่งรอบ Client อาจใช้ได้เกินขีดจำกัดรวมสูงสุดเท่าจำนวน Instance) การ Sync ไม่อยู่บนเส้นทางของ Request
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitServiceImpl implements RateLimitService {
+
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.rate-limit.auth.capacity:10}")
+    private int authCapacity;
+
+    @Value("${app.rate-limit.auth.period:1m}")
+    private Duration authPeriod;
+
+    @Value("${app.rate-limit.orders.capacity:20}")
+    private int ordersCapacity;
+
+    @Value("${app.rate-limit.orders.period:1m}")
+    private Duration ordersPeriod;
+
+    @Value("${app.rate-limit.catalog.capacity:300}")
+    private int catalogCapacity;
+
+    @Value("${app.rate-limit.catalog.period:1m}")
+    private Duration catalogPeriod;
+
+    @Value("${app.rate-limit.max-keys:100000}")
+    private long maxKeys;
+
+    @Value("${app.rate-limit.sync.enabled:false}")
+    private boolean syncEnabled;
+
+    @Value("${app.rate-limit.sync.interval:2s}")
+    private Duration syncInterval;
+
+    @Value("${app.rate-limit.sync.node-id:${HOSTNAME:local}}")
+    private String nodeId;
+
+    private final Map<RateLimitGroup, Limit> limits = new EnumMap<>(RateLimitGroup.class);
+    private Cache<String, TokenBucket> buckets;
+    /** ค่า {@code consumed} ล่าสุดที่เห็นของแต่ละเอกสารของ Instance อื่น */
+    private Cache<String, Long> remoteConsumed;
+    private Duration usageTtl;
+    private Instant lastPull = Instant.EPOCH;
+
+    private record Limit(int capacity, Duration period) {
+    }
+
+    @PostConstruct
+    void initialize() {
+        limits.put(RateLimitGroup.AUTH, limit(RateLimitGroup.AUTH, authCapacity, authPeriod));
+        limits.put(RateLimitGroup.ORDERS, limit(RateLimitGroup.ORDERS, ordersCapacity, ordersPeriod));
+        limits.put(RateLimitGroup.CATALOG, limit(RateLimitGroup.CATALOG, catalogCapacity, catalogPeriod));
+        Duration longestPeriod = limits.values().stream().map(Limit::period).max(Duration::compareTo).orElseThrow();
+        buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(longestPeriod)
+                .build();
+        remoteConsumed = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(longestPeriod.multipliedBy(2))
+                .build();
+        usageTtl = longestPeriod.multipliedBy(2);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Duration> tryAcquire(RateLimitGroup group, String key) {
+        long waitNanos = bucket(group, group.property() + ":" + key).tryConsume(System.nanoTime());
+        if (waitNanos == 0) {
+            return Optional.empty();
+        }
+        meterRegistry.counter("app.rate-limit.rejected", "group", group.property()).increment();
+        return Optional.of(Duration.ofNanos(waitNanos));
+    }
+
+    // =========================================================================
+    // SECTION: Cross-instance Sync
+    // =========================================================================
+
+    /**
+     * TTL Index ต้องมีอยู่จริงเพื่อให้ MongoDB ลบเอกสารของ Bucket ที่เลิกใช้แล้ว (แอปไม่ได้เปิด auto-index-creation)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (!syncEnabled) {
+            return;
+        }
+        try {
+            mongoTemplate.indexOps(RateLimitUsage.class)
+                    .createIndex(new Index().on("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO).named("expiresAt_ttl"));
+            mongoTemplate.indexOps(RateLimitUsage.class)
+                    .createIndex(new Index().on("updatedAt", Sort.Direction.ASC).named("updatedAt"));
+        } catch (RuntimeException e) {
+            log.error("Could not create indexes on rate_limit_usage.", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sync.interval:2s}", initialDelayString = "${app.rate-limit.sync.interval:2s}")
+    public void synchronize() {
+        if (!syncEnabled) {
+            return;
+        }
+        try {
+            pushLocalUsage();
+            pullRemoteUsage();
+        } catch (RuntimeException e) {
+            // Bucket ในเครื่องยังทำงานต่อได้ รอบถัดไปจะลองใหม่
+            log.warn("Rate limit sync failed: {}", e.getMessage());
+        }
+    }
+
+    private void pushLocalUsage() {
+        Instant now = Instant.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RateLimitUsage.class);
+        int pending = 0;
+        for (Map.Entry<String, TokenBucket> entry : buckets.asMap().entrySet()) {
+            long tokens = entry.getValue().drainUnsyncedTokens();
+            if (tokens == 0) {
+                continue;
+            }
+            String bucketKey = entry.getKey();
+            bulk.upsert(Query.query(Criteria.where("_id").is(nodeId + "|" + bucketKey)), new Update()
+                    .inc("consumed", tokens)
+                    .set("bucketKey", bucketKey)
+                    .set("group", bucketKey.substring(0, bucketKey.indexOf(':')))
+                    .set("nodeId", nodeId)
+                    .set("updatedAt", now)
+                    .set("expiresAt", now.plus(usageTtl)));
+            pending++;
+        }
+        if (pending > 0) {
+            bulk.execute();
+        }
+    }
+
+    private void pullRemoteUsage() {
+        Instant now = Instant.now();
+        // ย้อนกลับหนึ่งรอบเผื่อเวลาของแต่ละ Instance ไม่ตรงกัน (ส่วนที่อ่านซ้ำถูกตัดด้วย remoteConsumed)
+        Query query = Query.query(Criteria.where("updatedAt").gt(lastPull.minus(syncInterval)).and("nodeId").ne(nodeId));
+        query.fields().include("bucketKey", "group", "consumed");
+        lastPull = now;
+        long nowNanos = System.nanoTime();
+        for (RateLimitUsage usage : mongoTemplate.find(query, RateLimitUsage.class)) {
+            Long previous = remoteConsumed.getIfPresent(usage.getId());
+            remoteConsumed.put(usage.getId(), usage.getConsumed());
+            // เอกสารที่เพิ่งเห็นครั้งแรกใช้เป็นจุดเริ่มนับ (ยอดสะสมก่อนหน้าอาจเก่ากว่า period แล้ว)
+            if (previous == null || usage.getConsumed() <= previous) {
+                continue;
+            }
+            groupOf(usage.getGroup()).ifPresent(group ->
+                    bucket(group, usage.getBucketKey()).consumeRemote(usage.getConsumed() - previous, nowNanos));
+        }
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private TokenBucket bucket(RateLimitGroup group, String bucketKey) {
+        Limit limit = limits.get(group);
+        return buckets.get(bucketKey, key -> new TokenBucket(limit.capacity(), limit.period(), System.nanoTime()));
+    }
+
+    private static Optional<RateLimitGroup> groupOf(String property) {
+        for (RateLimitGroup group : RateLimitGroup.values()) {
+            if (group.property().equals(property)) {
+                return Optional.of(group);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Limit limit(RateLimitGroup group, int capacity, Duration period) {
+        if (capacity <= 0 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("app.rate-limit." + group.property() + " needs a positive capacity and period");
+        }
+        return new Limit(capacity, period);
+    }
+}
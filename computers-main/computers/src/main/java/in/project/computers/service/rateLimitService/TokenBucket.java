@@ -0,0 +1,60 @@
+package in.project.computers.service.rateLimitService;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <h3>Token Bucket</h3>
+ * <p>
+ * Token Bucket ในรูปแบบ GCRA: เก็บเพียง "เวลาที่ Bucket จะเต็มอีกครั้ง" ({@code theoreticalArrival}) ใน {@link AtomicLong} ตัวเดียว
+ * การใช้ Token คือการเลื่อนเวลานั้นออกไป {@code period / capacity} ด้วย CAS จึงไม่มี Lock และไม่สร้าง Object ต่อ Request
+ * Request ถูกปฏิเสธเมื่อเวลานั้นเกินเวลาปัจจุบันมากกว่า {@code period} (ไม่มี Token เหลือ) และรู้ได้ทันทีว่าต้องรออีกนานเท่าไร
+ * </p>
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+    private final AtomicLong unsyncedTokens = new AtomicLong();
+
+    TokenBucket(int capacity, Duration period, long nowNanos) {
+        this.intervalNanos = Math.max(1, period.toNanos() / capacity);
+        this.burstNanos = intervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0 เมื่อได้ Token หรือเวลา (nanoseconds) ที่ต้องรอจนกว่าจะมี Token ถัดไป
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long excess = next - nowNanos - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                unsyncedTokens.incrementAndGet();
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * หัก Token ที่ Instance อื่นใช้ไป (ไม่เกินจนติดลบกว่า Bucket ว่าง เพื่อไม่ให้ถูกล็อกนานเกิน {@code period})
+     */
+    void consumeRemote(long tokens, long nowNanos) {
+        long consumed = Math.min(tokens, burstNanos / intervalNanos);
+        theoreticalArrival.accumulateAndGet(nowNanos, (current, now) ->
+                Math.min(Math.max(current, now) + consumed * intervalNanos, now + burstNanos));
+    }
+
+    /**
+     * Token ที่ใช้ไปตั้งแต่การ Sync ครั้งก่อน (แล้วเริ่มนับใหม่)
+     */
+    long drainUnsyncedTokens() {
+        return unsyncedTokens.getAndSet(0);
+    }
+}
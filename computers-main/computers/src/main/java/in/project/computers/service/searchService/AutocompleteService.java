@@ -0,0 +1,20 @@
+package in.project.computers.service.searchService;
+
+import in.project.computers.dto.search.SuggestionResponse;
+
+import java.util.List;
+
+/**
+ * Service สำหรับ Search-as-you-type: แนะนำ Component จาก Prefix ของชื่อหรือ MPN โดยไม่ Query ฐานข้อมูล
+ */
+public interface AutocompleteService {
+
+    List<SuggestionResponse> suggest(String prefix, int limit);
+
+    /**
+     * สร้าง Trie ใหม่ทั้งหมดจากฐานข้อมูล
+     *
+     * @return จำนวน Component ใน Trie
+     */
+    int rebuild();
+}
@@ -0,0 +1,197 @@
+package in.project.computers.service.searchService;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import in.project.computers.dto.search.SuggestionResponse;
+import in.project.computers.entity.component.Component;
+import in.project.computers.entity.component.Inventory;
+import in.project.computers.event.CatalogChangedEvent;
+import in.project.computers.service.analyticsService.OrderAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * <h3>Autocomplete Service</h3>
+ * <p>
+ * โหลดชื่อ/MPN จาก Collection {@code component} แบบ Projection (ไม่ Map เป็น Entity) และสต็อกจาก {@code inventories}
+ * เข้า {@link SuggestionTrie} ตอนเริ่มแอป จากนั้นอัปเดตทีละ Component ตาม {@link CatalogChangedEvent}
+ * ความนิยม (จำนวนชิ้นที่ขายได้ในช่วง {@code app.autocomplete.popularity-window-days} วัน) ถูกคำนวณใหม่เป็นระยะ
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AutocompleteServiceImpl implements AutocompleteService {
+
+    private static final Bson COMPONENT_PROJECTION = Projections.include("name", "mpn", "type");
+
+    private final MongoTemplate mongoTemplate;
+    private final OrderAnalyticsService orderAnalyticsService;
+
+    @Value("${app.autocomplete.max-suggestions:10}")
+    private int maxSuggestions;
+
+    @Value("${app.autocomplete.cached-prefix-length:6}")
+    private int cachedPrefixLength;
+
+    @Value("${app.autocomplete.popularity-window-days:90}")
+    private int popularityWindowDays;
+
+    @Value("${app.analytics.zone:UTC}")
+    private ZoneId zone;
+
+    private volatile SuggestionTrie trie;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Could not build the autocomplete trie on startup. Suggestions will be empty until the next rebuild.", e);
+        }
+    }
+
+    @Override
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        SuggestionTrie current = trie;
+        if (current == null) {
+            return List.of();
+        }
+        return current.suggest(prefix, Math.clamp(limit, 1, maxSuggestions)).stream()
+                .map(entry -> SuggestionResponse.builder()
+                        .id(entry.componentId())
+                        .name(entry.name())
+                        .mpn(entry.mpn())
+                        .type(entry.type())
+                        .inStock(entry.inStock())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+        Map<String, Long> popularity = loadPopularity();
+        Map<String, Integer> quantities = loadQuantities(null);
+
+        // สร้าง Trie ใหม่แยกต่างหากแล้วค่อยสลับ เพื่อไม่ให้การค้นหาระหว่าง Rebuild เห็นข้อมูลครึ่งๆ กลางๆ
+        SuggestionTrie rebuilt = new SuggestionTrie(maxSuggestions, cachedPrefixLength);
+        for (Document doc : componentCollection().find().projection(COMPONENT_PROJECTION)) {
+            String id = idOf(doc.get("_id"));
+            rebuilt.put(toEntry(doc, id, quantities.getOrDefault(id, 0), popularity.getOrDefault(id, 0L)));
+        }
+        trie = rebuilt;
+        log.info("Autocomplete trie built with {} component(s) in {} ms.", rebuilt.size(), System.currentTimeMillis() - start);
+        return rebuilt.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.autocomplete.popularity-refresh:PT15M}", initialDelayString = "${app.autocomplete.popularity-refresh:PT15M}")
+    public void refreshPopularity() {
+        SuggestionTrie current = trie;
+        if (current == null) {
+            return;
+        }
+        try {
+            Map<String, Long> popularity = loadPopularity();
+            int changed = 0;
+            for (SuggestionTrie.Entry entry : current.snapshot()) {
+                long units = popularity.getOrDefault(entry.componentId(), 0L);
+                // แก้เฉพาะ popularity ของ Entry ปัจจุบัน: Snapshot อาจเก่ากว่า inStock/ชื่อที่ Event อัปเดตไประหว่างรอบนี้
+                if (units != entry.popularity() && current.update(entry.componentId(), latest -> latest.withPopularity(units))) {
+                    changed++;
+                }
+            }
+            log.debug("Autocomplete popularity refreshed. {} component(s) re-ranked.", changed);
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh autocomplete popularity.", e);
+        }
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        SuggestionTrie current = trie;
+        if (current == null || event.scope() == CatalogChangedEvent.Scope.LOOKUPS) {
+            return;
+        }
+        try {
+            if (event.scope() == CatalogChangedEvent.Scope.ALL) {
+                rebuild();
+                return;
+            }
+            Map<String, Integer> quantities = loadQuantities(event.componentIds());
+            if (event.scope() == CatalogChangedEvent.Scope.INVENTORY) {
+                for (String id : event.componentIds()) {
+                    boolean inStock = quantities.getOrDefault(id, 0) > 0;
+                    current.update(id, entry -> entry.withInStock(inStock));
+                }
+                return;
+            }
+
+            Set<String> missing = new HashSet<>(event.componentIds());
+            List<ObjectId> objectIds = event.componentIds().stream().filter(ObjectId::isValid).map(ObjectId::new).toList();
+            for (Document doc : componentCollection().find(Filters.in("_id", objectIds)).projection(COMPONENT_PROJECTION)) {
+                String id = idOf(doc.get("_id"));
+                long popularity = current.get(id).map(SuggestionTrie.Entry::popularity).orElse(0L);
+                current.put(toEntry(doc, id, quantities.getOrDefault(id, 0), popularity));
+                missing.remove(id);
+            }
+            missing.forEach(current::remove);
+        } catch (RuntimeException e) {
+            log.error("Failed to update autocomplete trie for {} change of {}", event.scope(), event.componentIds(), e);
+        }
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private SuggestionTrie.Entry toEntry(Document doc, String id, int quantity, long popularity) {
+        return new SuggestionTrie.Entry(id, doc.getString("name"), doc.getString("mpn"), doc.getString("type"), quantity > 0, popularity);
+    }
+
+    private Map<String, Long> loadPopularity() {
+        LocalDate today = LocalDate.now(zone);
+        try {
+            return orderAnalyticsService.getUnitsSoldByComponent(today.minusDays(popularityWindowDays), today);
+        } catch (RuntimeException e) {
+            log.warn("Could not load sales data for autocomplete ranking; ranking by stock and name only.", e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * @param componentIds ID ที่ต้องการ หรือ {@code null} เพื่อโหลดทั้งหมด
+     */
+    private Map<String, Integer> loadQuantities(Collection<String> componentIds) {
+        Bson filter = componentIds == null ? new Document() : Filters.in("componentId", componentIds);
+        Map<String, Integer> quantities = new HashMap<>();
+        for (Document doc : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Inventory.class))
+                .find(filter)
+                .projection(Projections.include("componentId", "quantity"))) {
+            Number quantity = doc.get("quantity", Number.class);
+            quantities.put(doc.getString("componentId"), quantity == null ? 0 : quantity.intValue());
+        }
+        return quantities;
+    }
+
+    private com.mongodb.client.MongoCollection<Document> componentCollection() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Component.class));
+    }
+
+    private static String idOf(Object id) {
+        return id instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id);
+    }
+}
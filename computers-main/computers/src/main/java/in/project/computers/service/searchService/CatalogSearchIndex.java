@@ -0,0 +1,394 @@
+package in.project.computers.service.searchService;
+
+import in.project.computers.dto.search.CatalogSearchHit;
+import in.project.computers.dto.search.CatalogSearchRequest;
+import in.project.computers.dto.search.CatalogSearchResponse;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted Index ของ Catalog ที่อยู่ใน Memory
+ * <p>
+ * เก็บ Token -> (Component ID -> น้ำหนัก) ไว้ใน {@link TreeMap} เพื่อให้หา Prefix ได้ด้วย {@code subMap}
+ * การค้นหาแต่ละคำจะรวม 3 แบบ: ตรงทั้งคำ, Prefix และคำที่พิมพ์ผิดเล็กน้อย (Edit Distance 1-2 ตามความยาวคำ)
+ * ทุกคำในคิวรีต้องพบใน Component (AND)
+ * </p>
+ * <p>การอ่านทำพร้อมกันได้ การเขียน (อัปเดตทีละตัวหรือสร้างใหม่ทั้งหมด) ใช้ Write Lock</p>
+ */
+class CatalogSearchIndex {
+
+    private static final float EXACT_BOOST = 3f;
+    private static final float PREFIX_BOOST = 2f;
+    private static final float FUZZY_BOOST = 1f;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_PREFIX_EXPANSIONS = 256;
+
+    private final List<BigDecimal> priceBounds;
+    private final List<String> priceLabels;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, SearchDocument> documents = new HashMap<>();
+    private NavigableMap<String, Map<String, Float>> postings = new TreeMap<>();
+
+    /**
+     * @param priceBounds ขอบบนของแต่ละช่วงราคา (เรียงจากน้อยไปมาก) ช่วงสุดท้ายคือ "มากกว่าขอบบนสุด"
+     */
+    CatalogSearchIndex(List<BigDecimal> priceBounds) {
+        this.priceBounds = priceBounds.stream().sorted().toList();
+        List<String> labels = new ArrayList<>();
+        BigDecimal lower = BigDecimal.ZERO;
+        for (BigDecimal upper : this.priceBounds) {
+            labels.add(lower.toPlainString() + "-" + upper.toPlainString());
+            lower = upper;
+        }
+        labels.add(lower.toPlainString() + "+");
+        this.priceLabels = List.copyOf(labels);
+    }
+
+    // =========================================================================
+    // SECTION: Index Maintenance
+    // =========================================================================
+
+    void replaceAll(Collection<SearchDocument> newDocuments) {
+        Map<String, SearchDocument> newDocumentMap = new HashMap<>(newDocuments.size() * 2);
+        NavigableMap<String, Map<String, Float>> newPostings = new TreeMap<>();
+        for (SearchDocument document : newDocuments) {
+            newDocumentMap.put(document.id(), withBucket(document));
+            addPostings(newPostings, document);
+        }
+        lock.writeLock().lock();
+        try {
+            documents = newDocumentMap;
+            postings = newPostings;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void upsert(SearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            SearchDocument previous = documents.put(document.id(), withBucket(document));
+            if (previous != null) {
+                removePostings(previous);
+            }
+            addPostings(postings, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String componentId) {
+        lock.writeLock().lock();
+        try {
+            SearchDocument previous = documents.remove(componentId);
+            if (previous != null) {
+                removePostings(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * อัปเดตเฉพาะราคาและจำนวนสต็อก (Token ไม่เปลี่ยนจึงไม่ต้องแก้ Posting)
+     */
+    void updateInventory(String componentId, int quantity, BigDecimal price) {
+        lock.writeLock().lock();
+        try {
+            documents.computeIfPresent(componentId, (id, document) -> withBucket(document.withInventory(quantity, price)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private SearchDocument withBucket(SearchDocument document) {
+        return document.withPriceBucket(document.price() == null ? null : priceLabel(document.price()));
+    }
+
+    private static void addPostings(NavigableMap<String, Map<String, Float>> target, SearchDocument document) {
+        document.terms().forEach((term, weight) ->
+                target.computeIfAbsent(term, t -> new HashMap<>()).put(document.id(), weight));
+    }
+
+    private void removePostings(SearchDocument document) {
+        for (String term : document.terms().keySet()) {
+            Map<String, Float> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(document.id());
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    // =========================================================================
+    // SECTION: Search
+    // =========================================================================
+
+    private record ScoredDocument(SearchDocument document, float score) {
+    }
+
+    /**
+     * คะแนนมากก่อน, มีสต็อกก่อน, แล้วเรียงตามชื่อ (เขียนเองแทน Comparator chain เพราะถูกเรียกกับทุกผลลัพธ์)
+     */
+    private static final Comparator<ScoredDocument> RANKING = (a, b) -> {
+        int byScore = Float.compare(b.score(), a.score());
+        if (byScore != 0) {
+            return byScore;
+        }
+        boolean aInStock = a.document().inStock();
+        if (aInStock != b.document().inStock()) {
+            return aInStock ? -1 : 1;
+        }
+        int byName = a.document().sortKey().compareTo(b.document().sortKey());
+        return byName != 0 ? byName : a.document().id().compareTo(b.document().id());
+    };
+
+    CatalogSearchResponse search(CatalogSearchRequest request, int offset, int limit) {
+        Map<SearchFacet, String> filters = activeFilters(request);
+        boolean priceFiltered = request.getMinPrice() != null || request.getMaxPrice() != null;
+        List<String> terms = SearchTokenizer.tokenize(request.getQuery()).stream().distinct().toList();
+
+        Map<SearchFacet, Map<String, long[]>> facetCounts = new EnumMap<>(SearchFacet.class);
+        for (SearchFacet facet : SearchFacet.values()) {
+            facetCounts.put(facet, new HashMap<>());
+        }
+        PriorityQueue<ScoredDocument> top = new PriorityQueue<>(RANKING.reversed());
+        // long ก่อนแล้วค่อยจำกัด: offset + limit ต้องไม่ล้นเป็นค่าติดลบ (Service จำกัด offset ไว้แล้ว)
+        int wanted = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        long total = 0;
+
+        lock.readLock().lock();
+        try {
+            Map<String, Float> scores = terms.isEmpty() ? null : matchAllTerms(terms);
+            Iterable<SearchDocument> candidates = scores == null
+                    ? documents.values()
+                    : scores.keySet().stream().map(documents::get).filter(Objects::nonNull)::iterator;
+
+            for (SearchDocument document : candidates) {
+                if (request.isInStockOnly() && !document.inStock()) {
+                    continue;
+                }
+                // หา Facet ที่ไม่ผ่าน: ไม่มีเลย = อยู่ในผลลัพธ์, มีหนึ่งเดียว = นับเฉพาะใน Facet นั้น, มากกว่านั้น = ข้าม
+                SearchFacet failed = null;
+                boolean rejected = false;
+                for (Map.Entry<SearchFacet, String> filter : filters.entrySet()) {
+                    if (!matchesFacet(document, filter.getKey(), filter.getValue())) {
+                        if (failed != null) {
+                            rejected = true;
+                            break;
+                        }
+                        failed = filter.getKey();
+                    }
+                }
+                if (!rejected && priceFiltered && !matchesPrice(document, request.getMinPrice(), request.getMaxPrice())) {
+                    if (failed != null) {
+                        rejected = true;
+                    } else {
+                        failed = SearchFacet.PRICE;
+                    }
+                }
+                if (rejected) {
+                    continue;
+                }
+
+                if (failed != null) {
+                    countFacet(facetCounts, document, failed);
+                    continue;
+                }
+                total++;
+                for (SearchFacet facet : SearchFacet.values()) {
+                    countFacet(facetCounts, document, facet);
+                }
+                ScoredDocument scored = new ScoredDocument(document, scores == null ? 0f : scores.get(document.id()));
+                if (top.size() < wanted) {
+                    top.offer(scored);
+                } else if (RANKING.compare(scored, top.peek()) < 0) {
+                    top.poll();
+                    top.offer(scored);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<ScoredDocument> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        List<CatalogSearchHit> hits = ranked.subList(Math.min(offset, ranked.size()), ranked.size()).stream()
+                .map(this::toHit)
+                .toList();
+
+        return CatalogSearchResponse.builder()
+                .total(total)
+                .offset(offset)
+                .limit(limit)
+                .hits(hits)
+                .facets(orderFacets(facetCounts))
+                .build();
+    }
+
+    private Map<String, Float> matchAllTerms(List<String> terms) {
+        Map<String, Float> scores = null;
+        for (String term : terms) {
+            Map<String, Float> termScores = matchTerm(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                Map<String, Float> combined = new HashMap<>();
+                for (Map.Entry<String, Float> entry : scores.entrySet()) {
+                    Float termScore = termScores.get(entry.getKey());
+                    if (termScore != null) {
+                        combined.put(entry.getKey(), entry.getValue() + termScore);
+                    }
+                }
+                scores = combined;
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    private Map<String, Float> matchTerm(String term) {
+        Map<String, Float> result = new HashMap<>();
+
+        Map<String, Float> exact = postings.get(term);
+        if (exact != null) {
+            exact.forEach((id, weight) -> result.merge(id, weight * EXACT_BOOST, Math::max));
+        }
+
+        int expansions = 0;
+        for (Map<String, Float> docs : postings.subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+            docs.forEach((id, weight) -> result.merge(id, weight * PREFIX_BOOST, Math::max));
+            if (++expansions >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+        }
+
+        // คำที่พิมพ์ผิด: ตรวจเฉพาะ Token ที่ขึ้นต้นด้วยอักษรเดียวกัน เพื่อจำกัดจำนวนคำที่ต้องคำนวณ
+        if (term.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = term.length() >= 8 ? 2 : 1;
+            String first = term.substring(0, 1);
+            for (Map.Entry<String, Map<String, Float>> entry : postings.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                String candidate = entry.getKey();
+                if (candidate.startsWith(term) || candidate.length() < term.length() - maxEdits) {
+                    continue;
+                }
+                String comparable = candidate.length() > term.length() + maxEdits ? candidate.substring(0, term.length()) : candidate;
+                if (SearchTokenizer.boundedDistance(term, comparable, maxEdits) <= maxEdits) {
+                    entry.getValue().forEach((id, weight) -> result.merge(id, weight * FUZZY_BOOST, Math::max));
+                }
+            }
+        }
+        return result;
+    }
+
+    private Map<SearchFacet, String> activeFilters(CatalogSearchRequest request) {
+        Map<SearchFacet, String> filters = new EnumMap<>(SearchFacet.class);
+        putIfPresent(filters, SearchFacet.TYPE, request.getType());
+        putIfPresent(filters, SearchFacet.SOCKET, request.getSocket());
+        putIfPresent(filters, SearchFacet.RAM_TYPE, request.getRamType());
+        putIfPresent(filters, SearchFacet.FORM_FACTOR, request.getFormFactor());
+        putIfPresent(filters, SearchFacet.BRAND, request.getBrand());
+        return filters;
+    }
+
+    private static void putIfPresent(Map<SearchFacet, String> filters, SearchFacet facet, String value) {
+        if (value != null && !value.isBlank()) {
+            filters.put(facet, value.trim());
+        }
+    }
+
+    private static boolean matchesFacet(SearchDocument document, SearchFacet facet, String value) {
+        Set<String> values = document.facets().get(facet);
+        if (values == null) {
+            return false;
+        }
+        for (String candidate : values) {
+            if (candidate.equalsIgnoreCase(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesPrice(SearchDocument document, BigDecimal min, BigDecimal max) {
+        BigDecimal price = document.price();
+        if (price == null) {
+            return false;
+        }
+        return (min == null || price.compareTo(min) >= 0) && (max == null || price.compareTo(max) <= 0);
+    }
+
+    private static void countFacet(Map<SearchFacet, Map<String, long[]>> counts, SearchDocument document, SearchFacet facet) {
+        Map<String, long[]> facetCounts = counts.get(facet);
+        if (facet == SearchFacet.PRICE) {
+            if (document.priceBucket() != null) {
+                facetCounts.computeIfAbsent(document.priceBucket(), v -> new long[1])[0]++;
+            }
+            return;
+        }
+        Set<String> values = document.facets().get(facet);
+        if (values != null) {
+            for (String value : values) {
+                facetCounts.computeIfAbsent(value, v -> new long[1])[0]++;
+            }
+        }
+    }
+
+    private String priceLabel(BigDecimal price) {
+        for (int i = 0; i < priceBounds.size(); i++) {
+            if (price.compareTo(priceBounds.get(i)) < 0) {
+                return priceLabels.get(i);
+            }
+        }
+        return priceLabels.getLast();
+    }
+
+    private Map<String, Map<String, Long>> orderFacets(Map<SearchFacet, Map<String, long[]>> counts) {
+        Map<String, Map<String, Long>> ordered = new LinkedHashMap<>();
+        for (SearchFacet facet : SearchFacet.values()) {
+            Map<String, long[]> values = counts.get(facet);
+            Map<String, Long> sorted = new LinkedHashMap<>();
+            if (facet == SearchFacet.PRICE) {
+                priceLabels.stream().filter(values::containsKey).forEach(label -> sorted.put(label, values.get(label)[0]));
+            } else {
+                values.entrySet().stream()
+                        .sorted(Comparator.<Map.Entry<String, long[]>>comparingLong(entry -> -entry.getValue()[0]).thenComparing(Map.Entry::getKey))
+                        .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()[0]));
+            }
+            ordered.put(facet.key(), sorted);
+        }
+        return ordered;
+    }
+
+    private CatalogSearchHit toHit(ScoredDocument scored) {
+        SearchDocument document = scored.document();
+        return CatalogSearchHit.builder()
+                .id(document.id())
+                .type(document.type())
+                .mpn(document.mpn())
+                .name(document.name())
+                .brand(document.brand())
+                .imageUrl(document.imageUrl())
+                .price(document.price())
+                .quantity(document.quantity())
+                .inStock(document.inStock())
+                .score(scored.score())
+                .build();
+    }
+}
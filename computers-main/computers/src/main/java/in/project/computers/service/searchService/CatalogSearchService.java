@@ -0,0 +1,19 @@
+package in.project.computers.service.searchService;
+
+import in.project.computers.dto.search.CatalogSearchRequest;
+import in.project.computers.dto.search.CatalogSearchResponse;
+
+/**
+ * Service ค้นหา Catalog แบบ Full-text พร้อม Facet
+ */
+public interface CatalogSearchService {
+
+    CatalogSearchResponse search(CatalogSearchRequest request);
+
+    /**
+     * สร้าง Index ใหม่ทั้งหมดจากฐานข้อมูล
+     *
+     * @return จำนวน Component ใน Index
+     */
+    int rebuildIndex();
+}
@@ -0,0 +1,234 @@
+package in.project.computers.service.searchService;
+
+import in.project.computers.dto.search.CatalogSearchRequest;
+import in.project.computers.dto.search.CatalogSearchResponse;
+import in.project.computers.entity.component.*;
+import in.project.computers.entity.lookup.FormFactor;
+import in.project.computers.entity.lookup.Socket;
+import in.project.computers.event.CatalogChangedEvent;
+import in.project.computers.repository.ComponentRepo.ComponentRepository;
+import in.project.computers.repository.ComponentRepo.InventoryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * <h3>Catalog Search Service</h3>
+ * <p>
+ * สร้าง {@link CatalogSearchIndex} จากฐานข้อมูลเมื่อแอปพร้อมทำงาน และอัปเดตทีละ Component
+ * ตาม {@link CatalogChangedEvent} (การเปลี่ยนแค่ราคา/สต็อกจะไม่โหลด Component ใหม่)
+ * การค้นหาทั้งหมดทำใน Memory โดยไม่ต้อง Query MongoDB
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogSearchServiceImpl implements CatalogSearchService {
+
+    private static final int MAX_LIMIT = 100;
+    // Index เก็บ offset + limit อันดับแรกไว้ใน Heap ระหว่างค้นหา จึงจำกัดความลึกของการแบ่งหน้า
+    static final int MAX_OFFSET = 1_000;
+
+    private static final float MPN_WEIGHT = 4f;
+    private static final float NAME_WEIGHT = 3f;
+    private static final float SPEC_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    private final ComponentRepository componentRepository;
+    private final InventoryRepository inventoryRepository;
+
+    @Value("${app.search.price-buckets:1000,3000,5000,10000,20000,50000}")
+    private List<BigDecimal> priceBuckets;
+
+    private CatalogSearchIndex index;
+
+    @PostConstruct
+    void initializeIndex() {
+        index = new CatalogSearchIndex(priceBuckets);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndexOnStartup() {
+        try {
+            rebuildIndex();
+        } catch (RuntimeException e) {
+            log.error("Could not build the catalog search index on startup. Search results will be empty until the next rebuild.", e);
+        }
+    }
+
+    @Override
+    public CatalogSearchResponse search(CatalogSearchRequest request) {
+        int limit = Math.clamp(request.getLimit(), 1, MAX_LIMIT);
+        int offset = Math.max(request.getOffset(), 0);
+        if (offset > MAX_OFFSET) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "offset must not exceed " + MAX_OFFSET + ". Narrow the query or filters instead.");
+        }
+        return index.search(request, offset, limit);
+    }
+
+    @Override
+    public int rebuildIndex() {
+        long start = System.currentTimeMillis();
+        Map<String, Inventory> inventories = inventoryRepository.findAll().stream()
+                .collect(Collectors.toMap(Inventory::getComponentId, Function.identity(), (a, b) -> a));
+        List<SearchDocument> documents = componentRepository.findAll().stream()
+                .map(component -> toDocument(component, inventories.get(component.getId())))
+                .toList();
+        index.replaceAll(documents);
+        log.info("Catalog search index built with {} component(s) in {} ms.", documents.size(), System.currentTimeMillis() - start);
+        return documents.size();
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        try {
+            switch (event.scope()) {
+                case LOOKUPS, ALL -> rebuildIndex();
+                case INVENTORY -> refreshInventory(event.componentIds());
+                case COMPONENTS -> refreshComponents(event.componentIds());
+            }
+        } catch (RuntimeException e) {
+            // ไม่ให้ความผิดพลาดของ Index ทำให้การแก้ไขข้อมูลหลักล้มเหลว
+            log.error("Failed to update catalog search index for {} change of {}", event.scope(), event.componentIds(), e);
+        }
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private void refreshInventory(Set<String> componentIds) {
+        for (Inventory inventory : inventoryRepository.findAllByComponentIdIn(List.copyOf(componentIds))) {
+            index.updateInventory(inventory.getComponentId(), inventory.getQuantity(), inventory.getPrice());
+        }
+    }
+
+    private void refreshComponents(Set<String> componentIds) {
+        List<String> ids = List.copyOf(componentIds);
+        Map<String, Inventory> inventories = inventoryRepository.findAllByComponentIdIn(ids).stream()
+                .collect(Collectors.toMap(Inventory::getComponentId, Function.identity(), (a, b) -> a));
+        Set<String> missing = new HashSet<>(componentIds);
+        for (Component component : componentRepository.findAllById(ids)) {
+            index.upsert(toDocument(component, inventories.get(component.getId())));
+            missing.remove(component.getId());
+        }
+        missing.forEach(index::remove);
+    }
+
+    private SearchDocument toDocument(Component component, Inventory inventory) {
+        Map<SearchFacet, Set<String>> facets = new EnumMap<>(SearchFacet.class);
+        Map<String, Float> terms = new HashMap<>();
+
+        String brand = resolveBrand(component);
+        addFacet(facets, SearchFacet.TYPE, component.getType());
+        addFacet(facets, SearchFacet.BRAND, brand);
+
+        switch (component) {
+            case Cpu cpu -> addSocket(facets, cpu.getSocket());
+            case Motherboard motherboard -> {
+                addSocket(facets, motherboard.getSocket());
+                if (motherboard.getRamType() != null) {
+                    addFacet(facets, SearchFacet.RAM_TYPE, motherboard.getRamType().getName());
+                }
+                addFormFactor(facets, motherboard.getFormFactor());
+            }
+            case RamKit ramKit -> {
+                if (ramKit.getRamType() != null) {
+                    addFacet(facets, SearchFacet.RAM_TYPE, ramKit.getRamType().getName());
+                }
+            }
+            case Psu psu -> addFormFactor(facets, psu.getFormFactor());
+            case Case pcCase -> {
+                if (pcCase.getSupportedFormFactors() != null) {
+                    pcCase.getSupportedFormFactors().forEach(formFactor -> addFormFactor(facets, formFactor));
+                }
+            }
+            case Cooler cooler -> {
+                if (cooler.getSupportedSockets() != null) {
+                    cooler.getSupportedSockets().forEach(socket -> addSocket(facets, socket));
+                }
+            }
+            case StorageDrive drive -> {
+                addFormFactor(facets, drive.getFormFactor());
+                if (drive.getStorageInterface() != null) {
+                    addTerms(terms, drive.getStorageInterface().getName(), SPEC_WEIGHT);
+                }
+            }
+            default -> {
+            }
+        }
+
+        addTerms(terms, component.getName(), NAME_WEIGHT);
+        addTerms(terms, component.getMpn(), MPN_WEIGHT);
+        String compactMpn = SearchTokenizer.compact(component.getMpn());
+        if (!compactMpn.isEmpty()) {
+            terms.merge(compactMpn, MPN_WEIGHT, Math::max);
+        }
+        addTerms(terms, component.getType(), SPEC_WEIGHT);
+        addTerms(terms, brand, SPEC_WEIGHT);
+        facets.forEach((facet, values) -> values.forEach(value -> addTerms(terms, value, SPEC_WEIGHT)));
+        addTerms(terms, component.getDescription(), DESCRIPTION_WEIGHT);
+
+        return new SearchDocument(
+                component.getId(),
+                component.getType(),
+                component.getMpn(),
+                component.getName(),
+                brand,
+                component.getImageUrl(),
+                inventory != null ? inventory.getPrice() : null,
+                inventory != null ? inventory.getQuantity() : 0,
+                component.getName() == null ? "" : component.getName().toLowerCase(Locale.ROOT),
+                terms,
+                facets,
+                null);
+    }
+
+    /**
+     * ยี่ห้อ: ใช้ยี่ห้อจาก Socket สำหรับ CPU ถ้ามี ไม่อย่างนั้นใช้คำแรกของชื่อสินค้า (เช่น "Corsair Vengeance ...")
+     */
+    private String resolveBrand(Component component) {
+        if (component instanceof Cpu cpu && cpu.getSocket() != null && cpu.getSocket().getBrand() != null) {
+            return cpu.getSocket().getBrand();
+        }
+        if (component.getName() == null || component.getName().isBlank()) {
+            return null;
+        }
+        return component.getName().trim().split("\\s+", 2)[0];
+    }
+
+    private void addSocket(Map<SearchFacet, Set<String>> facets, Socket socket) {
+        if (socket != null) {
+            addFacet(facets, SearchFacet.SOCKET, socket.getName());
+        }
+    }
+
+    private void addFormFactor(Map<SearchFacet, Set<String>> facets, FormFactor formFactor) {
+        if (formFactor != null) {
+            addFacet(facets, SearchFacet.FORM_FACTOR, formFactor.getName());
+        }
+    }
+
+    private void addFacet(Map<SearchFacet, Set<String>> facets, SearchFacet facet, String value) {
+        if (value != null && !value.isBlank()) {
+            facets.computeIfAbsent(facet, f -> new LinkedHashSet<>()).add(value);
+        }
+    }
+
+    private void addTerms(Map<String, Float> terms, String text, float weight) {
+        for (String token : SearchTokenizer.tokenizeForIndex(text)) {
+            terms.merge(token, weight, Math::max);
+        }
+    }
+}
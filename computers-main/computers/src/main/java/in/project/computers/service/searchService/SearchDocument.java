@@ -0,0 +1,40 @@
+package in.project.computers.service.searchService;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ข้อมูลของ Component หนึ่งตัวใน Search Index (ไม่เปลี่ยนแปลงหลังสร้าง อัปเดตโดยแทนที่ทั้งก้อน)
+ *
+ * @param sortKey     ชื่อแบบตัวพิมพ์เล็ก ใช้เรียงผลลัพธ์ที่คะแนนเท่ากัน
+ * @param terms       Token -> น้ำหนักของฟิลด์ที่พบ Token นั้น (ใช้มากสุดเมื่อพบหลายฟิลด์)
+ * @param facets      ค่าของแต่ละ Facet (ยกเว้น {@link SearchFacet#PRICE})
+ * @param priceBucket ช่วงราคาของ Facet {@link SearchFacet#PRICE} กำหนดโดย {@link CatalogSearchIndex} ตอนเพิ่มเข้า Index
+ */
+record SearchDocument(
+        String id,
+        String type,
+        String mpn,
+        String name,
+        String brand,
+        String imageUrl,
+        BigDecimal price,
+        int quantity,
+        String sortKey,
+        Map<String, Float> terms,
+        Map<SearchFacet, Set<String>> facets,
+        String priceBucket) {
+
+    boolean inStock() {
+        return quantity > 0;
+    }
+
+    SearchDocument withInventory(int newQuantity, BigDecimal newPrice) {
+        return new SearchDocument(id, type, mpn, name, brand, imageUrl, newPrice, newQuantity, sortKey, terms, facets, priceBucket);
+    }
+
+    SearchDocument withPriceBucket(String bucket) {
+        return new SearchDocument(id, type, mpn, name, brand, imageUrl, price, quantity, sortKey, terms, facets, bucket);
+    }
+}
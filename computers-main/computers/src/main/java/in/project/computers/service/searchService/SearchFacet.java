@@ -0,0 +1,23 @@
+package in.project.computers.service.searchService;
+
+/**
+ * Facet ที่รองรับในการค้นหา Catalog พร้อมชื่อที่ใช้ใน Response
+ */
+enum SearchFacet {
+    TYPE("type"),
+    SOCKET("socket"),
+    RAM_TYPE("ramType"),
+    FORM_FACTOR("formFactor"),
+    BRAND("brand"),
+    PRICE("price");
+
+    private final String key;
+
+    SearchFacet(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+}
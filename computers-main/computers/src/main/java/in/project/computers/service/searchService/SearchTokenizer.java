@@ -0,0 +1,86 @@
+package in.project.computers.service.searchService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * แยกข้อความเป็น Token สำหรับ Search Index: ตัวพิมพ์เล็กทั้งหมดและตัดด้วยอักขระที่ไม่ใช่ตัวอักษร/ตัวเลข
+ */
+final class SearchTokenizer {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern LETTER_DIGIT_BOUNDARY = Pattern.compile("(?<=\\p{L})(?=\\p{N})|(?<=\\p{N})(?=\\p{L})");
+
+    private SearchTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        for (String token : SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Token สำหรับฝั่ง Index: นอกจาก Token ปกติ ยังแยกคำที่ติดกันระหว่างตัวอักษรและตัวเลขเพิ่ม
+     * (เช่น {@code lga1700} ได้ {@code lga} และ {@code 1700}) เพื่อให้ค้น "LGA 1700" หรือ "RTX 4090" ก็เจอ
+     */
+    static List<String> tokenizeForIndex(String text) {
+        List<String> tokens = tokenize(text);
+        int size = tokens.size();
+        for (int i = 0; i < size; i++) {
+            String[] parts = LETTER_DIGIT_BOUNDARY.split(tokens.get(i));
+            if (parts.length > 1) {
+                tokens.addAll(List.of(parts));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * MPN แบบตัดอักขระพิเศษออก (เช่น {@code BX80715-12400F} เป็น {@code bx8071512400f}) ให้ค้นด้วยรูปแบบใดก็ได้
+     */
+    static String compact(String text) {
+        return text == null ? "" : SEPARATOR.matcher(text.toLowerCase(Locale.ROOT)).replaceAll("");
+    }
+
+    /**
+     * Levenshtein distance ที่หยุดคำนวณทันทีเมื่อเกิน {@code maxDistance}
+     *
+     * @return ระยะทาง หรือ {@code maxDistance + 1} เมื่อเกินกำหนด
+     */
+    static int boundedDistance(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], maxDistance + 1);
+    }
+}
@@ -0,0 +1,416 @@
+package in.project.computers.service.searchService;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Radix Trie (Prefix Tree แบบบีบอัด Edge) สำหรับ Autocomplete
+ * <p>
+ * แต่ละ Component ถูกใส่หลาย Key: ชื่อเริ่มจากทุกคำ (เช่น "corsair vengeance lpx", "vengeance lpx", "lpx")
+ * และ MPN ทั้งแบบมีและไม่มีตัวคั่น
+ * </p>
+ * <p>
+ * Node ที่ครอบคลุม Prefix สั้น (ไม่เกิน {@code cachedPrefixLength} ตัวอักษร) จะเก็บ Top-K ที่คำนวณไว้แล้ว
+ * ทำให้ Prefix สั้นๆ ซึ่งมีผลลัพธ์จำนวนมากตอบได้ทันที ส่วน Prefix ที่ยาวกว่าจะไล่ Subtree ซึ่งมีขนาดเล็ก
+ * Top-K ถูกปรับแบบ Incremental ตามเส้นทางของ Key ที่เพิ่ม/ลบ
+ * </p>
+ */
+class SuggestionTrie {
+
+    /**
+     * Component หนึ่งตัวใน Trie (ไม่เปลี่ยนแปลง การเปลี่ยนอันดับทำโดยลบแล้วใส่ใหม่)
+     */
+    record Entry(String componentId, String name, String mpn, String type, boolean inStock, long popularity) {
+
+        Entry withInStock(boolean inStock) {
+            return new Entry(componentId, name, mpn, type, inStock, popularity);
+        }
+
+        Entry withPopularity(long popularity) {
+            return new Entry(componentId, name, mpn, type, inStock, popularity);
+        }
+    }
+
+    /**
+     * มีสต็อกก่อน, ขายดีก่อน, แล้วเรียงตามชื่อ
+     */
+    static final Comparator<Entry> RANKING = Comparator
+            .comparing((Entry e) -> !e.inStock())
+            .thenComparing(Comparator.comparingLong(Entry::popularity).reversed())
+            .thenComparing(Entry::name, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(Entry::componentId);
+
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final class Node {
+        String label;
+        final int depth;
+        Node[] children = NO_CHILDREN;
+        List<Entry> terminals;
+        List<Entry> top;
+
+        Node(String label, int depth) {
+            this.label = label;
+            this.depth = depth;
+        }
+
+        int startDepth() {
+            return depth - label.length();
+        }
+    }
+
+    private final int topK;
+    private final int cachedPrefixLength;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("", 0);
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    SuggestionTrie(int topK, int cachedPrefixLength) {
+        this.topK = topK;
+        this.cachedPrefixLength = cachedPrefixLength;
+    }
+
+    // =========================================================================
+    // SECTION: Public Operations
+    // =========================================================================
+
+    /**
+     * เพิ่มหรือแทนที่ Component
+     */
+    void put(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            replace(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * แก้ Entry ปัจจุบันของ Component แบบอ่าน-แก้-เขียนภายใต้ Lock เดียว (ผู้เขียนคนอื่นแก้ฟิลด์อื่นพร้อมกันได้โดยไม่ทับกัน)
+     *
+     * @return {@code true} ถ้ามี Entry และค่าที่ได้ต่างจากเดิม
+     */
+    boolean update(String componentId, UnaryOperator<Entry> change) {
+        lock.writeLock().lock();
+        try {
+            Entry current = entries.get(componentId);
+            if (current == null) {
+                return false;
+            }
+            Entry updated = change.apply(current);
+            if (updated.equals(current)) {
+                return false;
+            }
+            replace(updated);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String componentId) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(componentId);
+            if (previous != null) {
+                keysOf(previous).forEach(key -> removeKey(key, previous));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    Optional<Entry> get(String componentId) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(entries.get(componentId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<Entry> snapshot() {
+        lock.readLock().lock();
+        try {
+            return List.copyOf(entries.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<Entry> suggest(String rawPrefix, int limit) {
+        String prefix = normalize(rawPrefix);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node target = findPrefixNode(prefix);
+            if (target == null) {
+                return List.of();
+            }
+            List<Entry> ranked = target.top != null ? target.top : collectTop(target);
+            return List.copyOf(ranked.subList(0, Math.min(limit, ranked.size())));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // =========================================================================
+    // SECTION: Keys
+    // =========================================================================
+
+    private void replace(Entry entry) {
+        Entry previous = entries.put(entry.componentId(), entry);
+        if (previous != null) {
+            keysOf(previous).forEach(key -> removeKey(key, previous));
+        }
+        keysOf(entry).forEach(key -> insertKey(key, entry));
+    }
+
+    static String normalize(String text) {
+        return String.join(" ", SearchTokenizer.tokenize(text));
+    }
+
+    private static Set<String> keysOf(Entry entry) {
+        Set<String> keys = new LinkedHashSet<>();
+        List<String> words = SearchTokenizer.tokenize(entry.name());
+        for (int i = 0; i < words.size(); i++) {
+            keys.add(truncate(String.join(" ", words.subList(i, words.size()))));
+        }
+        String mpn = normalize(entry.mpn());
+        if (!mpn.isEmpty()) {
+            keys.add(truncate(mpn));
+            keys.add(truncate(SearchTokenizer.compact(entry.mpn())));
+        }
+        return keys;
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    // =========================================================================
+    // SECTION: Trie Maintenance
+    // =========================================================================
+
+    private void insertKey(String key, Entry entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int i = 0;
+        while (true) {
+            if (i == key.length()) {
+                if (node.terminals == null) {
+                    node.terminals = new ArrayList<>(1);
+                }
+                node.terminals.add(entry);
+                break;
+            }
+            int index = childIndex(node, key.charAt(i));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(i), key.length());
+                leaf.terminals = new ArrayList<>(1);
+                leaf.terminals.add(entry);
+                if (isCached(leaf)) {
+                    leaf.top = new ArrayList<>(topK);
+                }
+                addChild(node, -index - 1, leaf);
+                path.add(leaf);
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefixLength(child.label, key, i);
+            if (common < child.label.length()) {
+                child = splitEdge(node, index, common);
+            }
+            path.add(child);
+            node = child;
+            i += common;
+        }
+        for (Node onPath : path) {
+            offer(onPath, entry);
+        }
+    }
+
+    private void removeKey(String key, Entry entry) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            int index = childIndex(node, key.charAt(i));
+            if (index < 0) {
+                return;
+            }
+            Node child = node.children[index];
+            if (!key.startsWith(child.label, i)) {
+                return;
+            }
+            path.add(child);
+            node = child;
+            i += child.label.length();
+        }
+        if (node.terminals == null || !node.terminals.remove(entry)) {
+            return;
+        }
+        if (node.terminals.isEmpty()) {
+            node.terminals = null;
+        }
+
+        // ไล่จาก Node ลึกสุดขึ้นมา: ตัด Node ที่ว่าง และคำนวณ Top-K ใหม่ของ Node ที่เคยมี Entry นี้
+        for (int p = path.size() - 1; p > 0; p--) {
+            Node current = path.get(p);
+            Node parent = path.get(p - 1);
+            if (current.terminals == null && current.children.length == 0) {
+                removeChild(parent, current);
+            } else if (current.top != null && current.top.contains(entry)) {
+                current.top = collectTop(current);
+            }
+        }
+    }
+
+    /**
+     * แยก Edge ของลูกตำแหน่ง {@code index} ที่ความยาว {@code common} และคืน Node ใหม่ที่อยู่ตรงกลาง
+     */
+    private Node splitEdge(Node parent, int index, int common) {
+        Node child = parent.children[index];
+        Node middle = new Node(child.label.substring(0, common), child.startDepth() + common);
+        child.label = child.label.substring(common);
+        middle.children = new Node[]{child};
+        parent.children[index] = middle;
+        if (isCached(middle)) {
+            middle.top = child.top != null ? new ArrayList<>(child.top) : collectTop(child);
+        }
+        if (!isCached(child)) {
+            child.top = null;
+        }
+        return middle;
+    }
+
+    private boolean isCached(Node node) {
+        return node.startDepth() < cachedPrefixLength;
+    }
+
+    private void offer(Node node, Entry entry) {
+        List<Entry> top = node.top;
+        if (top == null || top.contains(entry)) {
+            return;
+        }
+        int position = Collections.binarySearch(top, entry, RANKING);
+        position = position < 0 ? -position - 1 : position;
+        if (position < topK) {
+            top.add(position, entry);
+            if (top.size() > topK) {
+                top.removeLast();
+            }
+        }
+    }
+
+    /**
+     * คำนวณ Top-K ของ Node จาก Entry ของตัวเองและ Top-K ของลูก (ลูกที่ไม่มี Cache จะไล่ Subtree แทน)
+     */
+    private List<Entry> collectTop(Node node) {
+        Set<Entry> candidates = new HashSet<>();
+        collectCandidates(node, candidates);
+        List<Entry> sorted = new ArrayList<>(candidates);
+        sorted.sort(RANKING);
+        return new ArrayList<>(sorted.subList(0, Math.min(topK, sorted.size())));
+    }
+
+    private void collectCandidates(Node node, Set<Entry> candidates) {
+        if (node.terminals != null) {
+            candidates.addAll(node.terminals);
+        }
+        for (Node child : node.children) {
+            if (child.top != null) {
+                candidates.addAll(child.top);
+            } else {
+                collectCandidates(child, candidates);
+            }
+        }
+    }
+
+    private Node findPrefixNode(String prefix) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            int index = childIndex(node, prefix.charAt(i));
+            if (index < 0) {
+                return null;
+            }
+            Node child = node.children[index];
+            int common = commonPrefixLength(child.label, prefix, i);
+            if (i + common == prefix.length()) {
+                return child;
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            node = child;
+            i += common;
+        }
+        return node;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Binary search ลูกตามอักษรตัวแรกของ Label (ลูกเรียงตามอักษรตัวแรก)
+     *
+     * @return ตำแหน่งของลูก หรือ {@code -(insertionPoint) - 1} เมื่อไม่พบ
+     */
+    private static int childIndex(Node node, char c) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = node.children[mid].label.charAt(0);
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static void addChild(Node parent, int position, Node child) {
+        Node[] children = new Node[parent.children.length + 1];
+        System.arraycopy(parent.children, 0, children, 0, position);
+        children[position] = child;
+        System.arraycopy(parent.children, position, children, position + 1, parent.children.length - position);
+        parent.children = children;
+    }
+
+    private static void removeChild(Node parent, Node child) {
+        int index = childIndex(parent, child.label.charAt(0));
+        if (index < 0) {
+            return;
+        }
+        Node[] children = new Node[parent.children.length - 1];
+        System.arraycopy(parent.children, 0, children, 0, index);
+        System.arraycopy(parent.children, index + 1, children, index, parent.children.length - index - 1);
+        parent.children = children;
+    }
+}
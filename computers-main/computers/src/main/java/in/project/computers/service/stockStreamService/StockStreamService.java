@@ -0,0 +1,27 @@
+package in.project.computers.service.stockStreamService;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+
+/**
+ * <h3>Stock Stream Service</h3>
+ * <p>
+ * ส่งการเปลี่ยนแปลงของจำนวนสต็อก, ราคา และสถานะ isActive ของ Component ให้ Client ที่ Subscribe ไว้ผ่าน Server-Sent Events
+ * แทนการ Poll รายละเอียด Component ซ้ำๆ
+ * </p>
+ */
+public interface StockStreamService {
+
+    /**
+     * สร้าง Subscription ใหม่ของ Component ที่ระบุ Client จะได้รับสถานะปัจจุบันทันที แล้วได้รับเฉพาะเมื่อค่ามีการเปลี่ยนแปลง
+     *
+     * @param componentIds ID ของ Component ที่ต้องการติดตาม (ไม่ซ้ำ, ไม่เกิน {@code app.stock-stream.max-ids})
+     */
+    SseEmitter subscribe(Collection<String> componentIds);
+
+    /**
+     * จำนวน Connection ที่เปิดอยู่ในขณะนี้
+     */
+    int subscriberCount();
+}
@@ -0,0 +1,347 @@
+package in.project.computers.service.stockStreamService;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import in.project.computers.dto.component.stream.StockUpdate;
+import in.project.computers.entity.component.Component;
+import in.project.computers.entity.component.Inventory;
+import in.project.computers.event.CatalogChangedEvent;
+import in.project.computers.repository.ComponentRepo.InventoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <h3>Stock Stream Service Implementation</h3>
+ * <p>
+ * Connection ที่รอข้อมูลอยู่ไม่ใช้ Thread ใดๆ (Async ของ Spring MVC) การส่งข้อมูลทำบน Virtual Thread
+ * โดย Subscriber แต่ละรายมีคิวของตัวเองที่เก็บเฉพาะค่าล่าสุดต่อ Component (Client ที่ช้าจะข้ามค่ากลางไป ไม่สะสม)
+ * และมี Virtual Thread ส่งข้อมูลได้ครั้งละไม่เกินหนึ่ง Thread ลำดับของข้อความจึงไม่สลับกัน
+ * </p>
+ * <p>
+ * แหล่งข้อมูลคือ {@link CatalogChangedEvent} (มาจาก adjustStock, updateComponent, Bulk Update, การตัด/คืนสต็อกของ Order
+ * และจาก Instance อื่นผ่าน Change Stream) จะ Query ฐานข้อมูลเฉพาะ Component ที่มีผู้ติดตามอยู่
+ * และส่งเฉพาะเมื่อค่าเปลี่ยนจากที่ส่งไปครั้งล่าสุด
+ * </p>
+ * <p>
+ * การโหลดสถานะ (ทั้งจาก Event และสถานะเริ่มต้นของ Subscriber ใหม่) ทำโดย Worker ครั้งละหนึ่งรอบเท่านั้น
+ * ID ที่เปลี่ยนระหว่างรอบจะถูกรวมไว้ใน {@code dirtyIds} แล้วโหลดในรอบถัดไป ผลที่โหลดทีหลังจึงไม่ถูกค่าที่โหลดก่อนหน้าทับ
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockStreamServiceImpl implements StockStreamService {
+
+    private static final String STOCK_EVENT = "stock";
+
+    private final InventoryRepository inventoryRepository;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.stock-stream.max-ids:100}")
+    private int maxIdsPerSubscription;
+
+    @Value("${app.stock-stream.max-subscribers:6000}")
+    private int maxSubscribers;
+
+    @Value("${app.stock-stream.timeout:30m}")
+    private Duration emitterTimeout;
+
+    private final Map<String, Set<Subscriber>> subscribersByComponent = new ConcurrentHashMap<>();
+    private final Map<String, StockUpdate> lastSent = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Set<String> dirtyIds = ConcurrentHashMap.newKeySet();
+    private final Queue<Subscriber> awaitingInitialState = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private ExecutorService sendExecutor;
+
+    @PostConstruct
+    void initializeExecutor() {
+        sendExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("stock-stream-", 0).factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        sendExecutor.shutdownNow();
+    }
+
+    @Override
+    public SseEmitter subscribe(Collection<String> componentIds) {
+        Set<String> ids = new LinkedHashSet<>();
+        for (String id : componentIds) {
+            if (id != null && !id.isBlank()) {
+                ids.add(id.trim());
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one component ID is required");
+        }
+        if (ids.size() > maxIdsPerSubscription) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Too many component IDs. Maximum per subscription: " + maxIdsPerSubscription);
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open stock streams. Please retry later.");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(ids));
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(error -> unregister(subscriber));
+        subscribers.add(subscriber);
+        for (String id : subscriber.componentIds) {
+            subscribersByComponent.computeIfAbsent(id, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+
+        // ส่งสถานะปัจจุบันทันที (โหลดใน Worker เดียวกับ Event เพื่อไม่ให้ Request Thread รอฐานข้อมูล และไม่ทับค่าที่ใหม่กว่า)
+        awaitingInitialState.add(subscriber);
+        scheduleRefresh();
+        return emitter;
+    }
+
+    @Override
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.scope() == CatalogChangedEvent.Scope.LOOKUPS || subscribersByComponent.isEmpty()) {
+            return;
+        }
+        Set<String> watched = new HashSet<>();
+        Collection<String> candidates = event.scope() == CatalogChangedEvent.Scope.ALL
+                ? subscribersByComponent.keySet() : event.componentIds();
+        for (String id : candidates) {
+            if (subscribersByComponent.containsKey(id)) {
+                watched.add(id);
+            }
+        }
+        if (watched.isEmpty()) {
+            return;
+        }
+        // ไม่ให้ผู้แก้ไขข้อมูล (เช่นการชำระเงินของ Order) ต้องรอการ Query และการส่งข้อมูล
+        dirtyIds.addAll(watched);
+        scheduleRefresh();
+    }
+
+    /**
+     * ส่ง Comment ว่างเป็นระยะ เพื่อให้ Proxy ไม่ตัด Connection ที่เงียบ และตรวจพบ Client ที่หายไปแล้ว
+     */
+    @Scheduled(fixedDelayString = "${app.stock-stream.heartbeat:PT30S}", initialDelayString = "${app.stock-stream.heartbeat:PT30S}")
+    public void sendHeartbeats() {
+        subscribers.forEach(Subscriber::offerHeartbeat);
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private void scheduleRefresh() {
+        if (refreshing.compareAndSet(false, true)) {
+            try {
+                sendExecutor.execute(this::refresh);
+            } catch (RuntimeException e) {
+                refreshing.set(false);
+            }
+        }
+    }
+
+    /**
+     * โหลดสถานะของ ID ที่เปลี่ยนและของ Subscriber ใหม่ในครั้งเดียว แล้วส่งต่อ (มีได้ครั้งละหนึ่งรอบเหมือน {@link Subscriber#drain()})
+     */
+    private void refresh() {
+        try {
+            Set<String> componentIds = new HashSet<>(dirtyIds);
+            dirtyIds.removeAll(componentIds);
+            List<Subscriber> newSubscribers = new ArrayList<>();
+            for (Subscriber subscriber; (subscriber = awaitingInitialState.poll()) != null; ) {
+                if (subscribers.contains(subscriber)) {
+                    newSubscribers.add(subscriber);
+                    // ผู้ติดตามเดิมจะได้ค่านี้ด้วยถ้าต่างจากที่เคยส่ง
+                    componentIds.addAll(subscriber.componentIds);
+                }
+            }
+            if (!componentIds.isEmpty()) {
+                broadcast(componentIds, newSubscribers);
+            }
+        } finally {
+            refreshing.set(false);
+        }
+        if (!dirtyIds.isEmpty() || !awaitingInitialState.isEmpty()) {
+            scheduleRefresh();
+        }
+    }
+
+    private void broadcast(Set<String> componentIds, List<Subscriber> newSubscribers) {
+        Map<String, StockUpdate> states;
+        try {
+            states = loadStates(componentIds);
+        } catch (RuntimeException e) {
+            log.warn("Could not load stock state for {} component(s); skipping push.", componentIds.size(), e);
+            return;
+        }
+        for (StockUpdate state : states.values()) {
+            Set<Subscriber> targets = subscribersByComponent.get(state.componentId());
+            if (targets == null) {
+                continue;
+            }
+            StockUpdate previous = lastSent.put(state.componentId(), state);
+            if (!state.equals(previous)) {
+                targets.forEach(subscriber -> subscriber.offer(state));
+            }
+        }
+        // Subscriber ใหม่ได้สถานะปัจจุบันเสมอ (คิวเก็บค่าล่าสุดต่อ Component จึงไม่ส่งซ้ำถ้าได้จากด้านบนแล้ว)
+        for (Subscriber subscriber : newSubscribers) {
+            for (String id : subscriber.componentIds) {
+                StockUpdate state = states.get(id);
+                if (state != null) {
+                    subscriber.offer(state);
+                }
+            }
+        }
+    }
+
+    private Map<String, StockUpdate> loadStates(Set<String> componentIds) {
+        List<String> ids = List.copyOf(componentIds);
+        Map<String, Inventory> inventories = new HashMap<>();
+        for (Inventory inventory : inventoryRepository.findAllByComponentIdIn(ids)) {
+            inventories.put(inventory.getComponentId(), inventory);
+        }
+        Map<String, Boolean> activeById = new HashMap<>();
+        List<ObjectId> objectIds = ids.stream().filter(ObjectId::isValid).map(ObjectId::new).toList();
+        if (!objectIds.isEmpty()) {
+            for (Document doc : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Component.class))
+                    .find(Filters.in("_id", objectIds))
+                    .projection(Projections.include("isActive"))) {
+                activeById.put(doc.getObjectId("_id").toHexString(), Boolean.TRUE.equals(doc.getBoolean("isActive")));
+            }
+        }
+
+        Map<String, StockUpdate> states = new LinkedHashMap<>();
+        for (String id : ids) {
+            Boolean active = activeById.get(id);
+            if (active == null) {
+                states.put(id, StockUpdate.deleted(id));
+                continue;
+            }
+            Inventory inventory = inventories.get(id);
+            int quantity = inventory != null ? inventory.getQuantity() : 0;
+            BigDecimal price = inventory != null && inventory.getPrice() != null ? inventory.getPrice() : BigDecimal.ZERO;
+            states.put(id, new StockUpdate(id, quantity, price, active, false));
+        }
+        return states;
+    }
+
+    private void unregister(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        for (String id : subscriber.componentIds) {
+            subscribersByComponent.computeIfPresent(id, (key, set) -> {
+                set.remove(subscriber);
+                if (set.isEmpty()) {
+                    lastSent.remove(key);
+                    return null;
+                }
+                return set;
+            });
+        }
+    }
+
+    /**
+     * Connection ของ Client หนึ่งราย พร้อมคิวข้อความที่รอส่ง (ค่าล่าสุดต่อ Component)
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<String> componentIds;
+        private final Map<String, StockUpdate> pending = new LinkedHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+
+        private Subscriber(SseEmitter emitter, Set<String> componentIds) {
+            this.emitter = emitter;
+            this.componentIds = componentIds;
+        }
+
+        void offer(StockUpdate update) {
+            synchronized (pending) {
+                pending.put(update.componentId(), update);
+            }
+            scheduleDrain();
+        }
+
+        void offerHeartbeat() {
+            heartbeatDue = true;
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sendExecutor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                List<StockUpdate> batch;
+                synchronized (pending) {
+                    batch = List.copyOf(pending.values());
+                    pending.clear();
+                }
+                for (StockUpdate update : batch) {
+                    emitter.send(SseEmitter.event().name(STOCK_EVENT).data(update, MediaType.APPLICATION_JSON));
+                }
+                if (heartbeatDue) {
+                    heartbeatDue = false;
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client ปิด Connection ไปแล้ว
+                emitter.completeWithError(e);
+                unregister(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            boolean more;
+            synchronized (pending) {
+                more = !pending.isEmpty();
+            }
+            if (more || heartbeatDue) {
+                scheduleDrain();
+            }
+        }
+    }
+}
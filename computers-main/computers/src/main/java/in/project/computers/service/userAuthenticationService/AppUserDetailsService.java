@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority; // Import this
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -15,7 +16,7 @@ import java.util.List; // Import this
 
 @Service
 @AllArgsConstructor
-public class AppUserDetailsService implements UserDetailsService {
+public class AppUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -30,4 +31,13 @@ public class AppUserDetailsService implements UserDetailsService {
 
         return new User(user.getEmail(), user.getPassword(), authorities); // Pass the authorities here
     }
-}
\ No newline at end of file
+
+    /**
+     * เรียกหลังล็อกอินสำเร็จเมื่อ Hash เดิมใช้ BCrypt cost ต่ำกว่าค่าปัจจุบัน (Best-effort ดู {@code SecurityConfig.authenticationManager})
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByEmail(user.getUsername(), newPassword);
+        return User.withUserDetails(user).password(newPassword).build();
+    }
+}
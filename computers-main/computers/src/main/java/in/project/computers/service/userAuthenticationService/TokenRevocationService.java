@@ -0,0 +1,14 @@
+package in.project.computers.service.userAuthenticationService;
+
+public interface TokenRevocationService {
+
+    /**
+     * ตรวจจากหน่วยความจำเท่านั้น เรียกได้ทุก Request
+     */
+    boolean isRevoked(String sessionId);
+
+    /**
+     * เพิกถอนทันทีใน Instance นี้ และบันทึกลง MongoDB ให้ Instance อื่นเห็นภายใน {@code app.auth.revocation.sync-interval}
+     */
+    void revoke(String sessionId);
+}
@@ -0,0 +1,157 @@
+package in.project.computers.service.userAuthenticationService;
+
+import in.project.computers.entity.user.RevokedSession;
+import in.project.computers.util.BloomFilter;
+import in.project.computers.util.JwtUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <h3>Token Revocation Service Implementation</h3>
+ * <p>
+ * รายการ Session ที่ถูกเพิกถอนอยู่ในหน่วยความจำของทุก Instance เพื่อให้การตรวจ Access Token ในแต่ละ Request ไม่ต้องอ่าน Database
+ * ตรวจ {@link BloomFilter} ก่อน: Request เกือบทั้งหมดมาจาก Session ที่ไม่ถูกเพิกถอน จึงจบที่การอ่าน Bit ไม่กี่ตัว
+ * เฉพาะเมื่อ Bloom Filter ตอบว่า "อาจมี" จึงตรวจใน Map จริง (กัน False Positive ที่จะทำให้ผู้ใช้ปกติถูกปฏิเสธ)
+ * </p>
+ * <p>
+ * การเพิกถอนถูกเขียนลง {@code revoked_sessions} และทุก Instance ดึงรายการใหม่ทุก {@code app.auth.revocation.sync-interval}
+ * รายการเก็บไว้นานเท่าอายุ Access Token เพราะหลังจากนั้น Access Token ของ Session นั้นหมดอายุหมดแล้ว
+ * และ Refresh Token ของ Session ถูกลบไปตั้งแต่ตอนเพิกถอน Bloom Filter ลบค่าไม่ได้ จึงสร้างใหม่จาก Map เมื่อมีรายการหมดอายุ
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private final MongoTemplate mongoTemplate;
+    private final JwtUtil jwtUtil;
+
+    @Value("${app.auth.revocation.sync-interval:5s}")
+    private Duration syncInterval;
+
+    @Value("${app.auth.revocation.expected-sessions:10000}")
+    private int expectedSessions;
+
+    @Value("${app.auth.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    /** Session ID -> เวลาที่รายการหมดอายุ */
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private volatile Instant lastPull = Instant.EPOCH;
+
+    @PostConstruct
+    void createBloomFilter() {
+        rebuildBloomFilter();
+    }
+
+    @Override
+    public boolean isRevoked(String sessionId) {
+        BloomFilter filter = bloomFilter;
+        if (filter != null && !filter.mightContain(sessionId)) {
+            return false;
+        }
+        return revoked.containsKey(sessionId);
+    }
+
+    @Override
+    public void revoke(String sessionId) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(jwtUtil.getAccessTokenValidity());
+        remember(sessionId, expiresAt);
+        mongoTemplate.save(RevokedSession.builder().id(sessionId).revokedAt(now).expiresAt(expiresAt).build());
+    }
+
+    // =========================================================================
+    // SECTION: Cross-instance Sync
+    // =========================================================================
+
+    /**
+     * สร้าง TTL Index (แอปไม่ได้เปิด auto-index-creation) แล้วโหลดรายการที่ยังไม่หมดอายุทั้งหมดก่อนเริ่มรับ Request
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            mongoTemplate.indexOps(RevokedSession.class)
+                    .createIndex(new Index().on("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO).named("expiresAt_ttl"));
+            mongoTemplate.indexOps(RevokedSession.class)
+                    .createIndex(new Index().on("revokedAt", Sort.Direction.ASC).named("revokedAt"));
+        } catch (RuntimeException e) {
+            log.error("Could not create indexes on revoked_sessions.", e);
+        }
+        synchronize();
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.revocation.sync-interval:5s}", initialDelayString = "${app.auth.revocation.sync-interval:5s}")
+    public void synchronize() {
+        try {
+            pullRevocations();
+        } catch (RuntimeException e) {
+            // รายการในหน่วยความจำยังใช้ได้ รอบถัดไปจะลองใหม่
+            log.warn("Revocation list sync failed: {}", e.getMessage());
+        }
+        evictExpired();
+    }
+
+    private void pullRevocations() {
+        Instant now = Instant.now();
+        // ย้อนกลับหนึ่งรอบเผื่อเวลาของแต่ละ Instance ไม่ตรงกัน (อ่านซ้ำได้ไม่มีผล)
+        Query query = Query.query(Criteria.where("revokedAt").gt(lastPull.minus(syncInterval)).and("expiresAt").gt(now));
+        int pulled = 0;
+        for (RevokedSession session : mongoTemplate.find(query, RevokedSession.class)) {
+            if (revoked.putIfAbsent(session.getId(), session.getExpiresAt()) == null) {
+                bloomFilter.put(session.getId());
+                pulled++;
+            }
+        }
+        lastPull = now;
+        if (pulled > 0) {
+            log.debug("Pulled {} revoked session(s).", pulled);
+        }
+    }
+
+    private void evictExpired() {
+        Instant now = Instant.now();
+        if (revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now))) {
+            rebuildBloomFilter();
+        }
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private void remember(String sessionId, Instant expiresAt) {
+        // ใส่ Map ก่อน Bloom Filter: Request ที่เห็น Bit แล้วต้องเจอใน Map เสมอ
+        revoked.put(sessionId, expiresAt);
+        bloomFilter.put(sessionId);
+    }
+
+    /**
+     * สร้าง Bloom Filter ใหม่จาก Map (ขยายขนาดเมื่อรายการเกิน {@code expected-sessions} เพื่อคงอัตรา False Positive)
+     * ระหว่างสร้าง {@link #isRevoked} ยังใช้ตัวเดิม และค่าที่ถูก {@link #revoke} ระหว่างนั้นจะถูกใส่ซ้ำในตัวใหม่
+     */
+    private synchronized void rebuildBloomFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedSessions, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        revoked.keySet().forEach(rebuilt::put);
+    }
+}
@@ -0,0 +1,23 @@
+package in.project.computers.service.userAuthenticationService;
+
+import in.project.computers.dto.user.AuthenticationResponse;
+import org.springframework.security.core.userdetails.UserDetails;
+
+public interface TokenService {
+
+    /**
+     * เริ่ม Session ใหม่หลังล็อกอินสำเร็จ: ออก Access Token และ Refresh Token ใบแรก
+     */
+    AuthenticationResponse issueTokens(UserDetails userDetails);
+
+    /**
+     * แลก Refresh Token (ใช้ได้ครั้งเดียว) เป็น Token คู่ใหม่ใน Session เดิม
+     * ถ้า Token เคยถูกใช้แล้วจะเพิกถอนทั้ง Session เพราะแสดงว่ามีผู้อื่นถือ Token นี้อยู่
+     */
+    AuthenticationResponse refresh(String refreshToken);
+
+    /**
+     * เพิกถอน Session ของ Refresh Token นี้ (Access Token ที่ออกไปแล้วใช้ไม่ได้ทันที)
+     */
+    void logout(String refreshToken);
+}
@@ -0,0 +1,181 @@
+package in.project.computers.service.userAuthenticationService;
+
+import in.project.computers.dto.user.AuthenticationResponse;
+import in.project.computers.entity.user.RefreshToken;
+import in.project.computers.entity.user.RevokedSession;
+import in.project.computers.util.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * <h3>Token Service Implementation</h3>
+ * <p>
+ * Access Token (JWT) อายุสั้นตรวจได้ด้วย CPU อย่างเดียว ส่วน Refresh Token เป็นค่าสุ่ม 256 บิตที่เก็บใน {@code refresh_tokens}
+ * เฉพาะ SHA-256 (Token สุ่มมี Entropy สูงพอ ไม่ต้องใช้ BCrypt) ทุกครั้งที่ Refresh จะได้ Refresh Token ใบใหม่และใบเดิมใช้ไม่ได้อีก
+ * </p>
+ * <p>
+ * การ Mark ว่าใช้แล้วเป็น findAndModify แบบมีเงื่อนไข {@code usedAt = null} จึงมีเพียง Request เดียวที่แลกสำเร็จแม้ส่งพร้อมกัน
+ * Refresh Token ที่ถูกใช้ซ้ำหมายถึง Token หลุด ทั้ง Session จะถูกเพิกถอน (ลบ Refresh Token ทั้งหมดและเพิ่มใน {@link TokenRevocationService})
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenServiceImpl implements TokenService {
+
+    private static final int REFRESH_TOKEN_BYTES = 32;
+
+    private final MongoTemplate mongoTemplate;
+    private final JwtUtil jwtUtil;
+    private final AppUserDetailsService userDetailsService;
+    private final TokenRevocationService revocationService;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${app.auth.refresh-token.validity:14d}")
+    private Duration refreshTokenValidity;
+
+    /**
+     * TTL Index ลบ Refresh Token ที่หมดอายุ และ Index ของ sessionId สำหรับเพิกถอนทั้ง Session (แอปไม่ได้เปิด auto-index-creation)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            mongoTemplate.indexOps(RefreshToken.class)
+                    .createIndex(new Index().on("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO).named("expiresAt_ttl"));
+            mongoTemplate.indexOps(RefreshToken.class)
+                    .createIndex(new Index().on("sessionId", Sort.Direction.ASC).named("sessionId"));
+        } catch (RuntimeException e) {
+            log.error("Could not create indexes on refresh_tokens.", e);
+        }
+    }
+
+    @Override
+    public AuthenticationResponse issueTokens(UserDetails userDetails) {
+        return issueTokens(userDetails, UUID.randomUUID().toString());
+    }
+
+    @Override
+    public AuthenticationResponse refresh(String refreshToken) {
+        String id = hash(requireToken(refreshToken));
+        Instant now = Instant.now();
+        // คืนเอกสารก่อนแก้ไข: null = ไม่มี Token นี้ หรือถูกใช้ไปแล้ว
+        RefreshToken current = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(id).and("usedAt").is(null)),
+                Update.update("usedAt", now),
+                RefreshToken.class);
+        if (current == null) {
+            RefreshToken reused = mongoTemplate.findById(id, RefreshToken.class);
+            if (reused != null) {
+                log.warn("Refresh token reuse detected for user '{}'. Revoking session {}.", reused.getEmail(), reused.getSessionId());
+                revokeSession(reused.getSessionId());
+            }
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+        }
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token has expired");
+        }
+
+        // อ่านผู้ใช้ใหม่ทุกครั้งที่ Refresh: Role ที่เปลี่ยนหรือบัญชีที่ถูกลบมีผลภายในอายุของ Access Token
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(current.getEmail());
+        } catch (UsernameNotFoundException e) {
+            revokeSession(current.getSessionId());
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+        }
+        AuthenticationResponse response = issueTokens(userDetails, current.getSessionId());
+        // Session อาจถูกเพิกถอนบน Instance อื่นระหว่างแลก Token: revokeSession บันทึกการเพิกถอนก่อนลบ Refresh Token
+        // ถ้า Token ใบใหม่ถูกเขียนหลังการลบ ก็ต้องเห็นรายการเพิกถอนที่นี่ (ตรวจใน Database เพราะหน่วยความจำ Sync ตามรอบ)
+        if (isSessionRevoked(current.getSessionId())) {
+            mongoTemplate.remove(Query.query(Criteria.where("sessionId").is(current.getSessionId())), RefreshToken.class);
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+        }
+        return response;
+    }
+
+    @Override
+    public void logout(String refreshToken) {
+        RefreshToken token = mongoTemplate.findById(hash(requireToken(refreshToken)), RefreshToken.class);
+        // Token ที่ไม่รู้จักถือว่า Logout แล้ว (เรียกซ้ำได้)
+        if (token != null) {
+            revokeSession(token.getSessionId());
+        }
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private AuthenticationResponse issueTokens(UserDetails userDetails, String sessionId) {
+        byte[] random = new byte[REFRESH_TOKEN_BYTES];
+        secureRandom.nextBytes(random);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+        Instant now = Instant.now();
+        mongoTemplate.insert(RefreshToken.builder()
+                .id(hash(refreshToken))
+                .sessionId(sessionId)
+                .email(userDetails.getUsername())
+                .issuedAt(now)
+                .expiresAt(now.plus(refreshTokenValidity))
+                .build());
+
+        String accessToken = jwtUtil.generateToken(userDetails, sessionId);
+        return new AuthenticationResponse(userDetails.getUsername(), accessToken, refreshToken,
+                jwtUtil.getAccessTokenValidity().toSeconds());
+    }
+
+    /**
+     * บันทึกการเพิกถอนก่อนลบ Refresh Token เสมอ ({@link #refresh} ที่กำลังออก Token ใบใหม่พร้อมกันจะเห็นรายการนี้)
+     */
+    private void revokeSession(String sessionId) {
+        revocationService.revoke(sessionId);
+        mongoTemplate.remove(Query.query(Criteria.where("sessionId").is(sessionId)), RefreshToken.class);
+    }
+
+    private boolean isSessionRevoked(String sessionId) {
+        return revocationService.isRevoked(sessionId)
+                || mongoTemplate.exists(Query.query(Criteria.where("_id").is(sessionId)), RevokedSession.class);
+    }
+
+    private static String requireToken(String refreshToken) {
+        if (!StringUtils.hasText(refreshToken)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "refreshToken is required");
+        }
+        return refreshToken;
+    }
+
+    private static String hash(String refreshToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -2,9 +2,15 @@ package in.project.computers.service.userAuthenticationService;
 
 import in.project.computers.dto.user.UserRequest;
 import in.project.computers.dto.user.UserResponse;
+import in.project.computers.entity.user.UserEntity;
 
 public interface UserService {
     UserResponse registerUser(UserRequest request);
 
     String findByUserId();
+
+    /**
+     * ข้อมูลผู้ใช้ที่กำลังล็อกอินอยู่ (Query เดียว แทนการหา ID แล้วโหลดซ้ำด้วย findById)
+     */
+    UserEntity findCurrentUser();
 }
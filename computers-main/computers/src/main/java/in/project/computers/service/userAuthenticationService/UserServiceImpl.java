@@ -41,10 +41,14 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public String findByUserId() {
+        return findCurrentUser().getId();
+    }
+
+    @Override
+    public UserEntity findCurrentUser() {
         String loggedInUserEmail = authenticationFacade.getAuthentication().getName();
-        UserEntity loggedInUser = userRepository.findByEmail(loggedInUserEmail)
+        return userRepository.findByEmail(loggedInUserEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("ไม่พบผู้ใช้"));
-        return loggedInUser.getId();
     }
 
     /**
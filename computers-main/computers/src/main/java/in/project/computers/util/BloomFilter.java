@@ -0,0 +1,95 @@
+package in.project.computers.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <h3>Bloom Filter</h3>
+ * <p>
+ * Bloom Filter สำหรับ String แบบ Thread-safe (Bit เก็บใน {@link AtomicLongArray} เพิ่มได้พร้อมกันโดยไม่ต้องใช้ Lock)
+ * {@link #mightContain(String)} ตอบ {@code false} ได้แน่นอนเมื่อไม่เคย {@link #put(String)} ค่านั้น
+ * แต่อาจตอบ {@code true} ผิดได้ตามอัตรา False Positive ที่ตั้งไว้ ผู้ใช้จึงต้องตรวจซ้ำกับข้อมูลจริงเมื่อได้ {@code true}
+ * </p>
+ * <p>
+ * ลบค่าออกไม่ได้ ถ้าต้องการลบให้สร้างใหม่จากข้อมูลที่เหลือ
+ * </p>
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions จำนวนค่าที่คาดว่าจะใส่ (ใส่เกินได้ แต่อัตรา False Positive จะสูงขึ้น)
+     * @param falsePositiveRate  อัตรา False Positive ที่ต้องการเมื่อใส่ครบ {@code expectedInsertions} (0 &lt; rate &lt; 1)
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        int insertions = Math.max(1, expectedInsertions);
+        long optimalBits = (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (optimalBits + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / insertions * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long hash = hash64(value);
+        long h1 = hash;
+        long h2 = mix(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << index;
+            int word = (int) (index >>> 6);
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash64(value);
+        long h1 = hash;
+        long h2 = mix(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    /**
+     * FNV-1a 64 บิตบน UTF-8 แล้วผ่าน {@link #mix(long)} เพื่อให้ Bit กระจายทั่วทั้งค่า
+     */
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Finalizer ของ SplitMix64 ใช้สร้าง Hash ตัวที่สองสำหรับ Double Hashing (ผลเป็นเลขคี่เสมอเพื่อไม่ให้วนซ้ำ Bit เดิม)
+     */
+    private static long mix(long value) {
+        long z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return (z ^ (z >>> 31)) | 1;
+    }
+}
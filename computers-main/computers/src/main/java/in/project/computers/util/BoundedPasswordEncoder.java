@@ -0,0 +1,163 @@
+package in.project.computers.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * <h3>Bounded Password Encoder</h3>
+ * <p>
+ * BCrypt ใช้ CPU ราว 50-100 ms ต่อครั้ง (cost 10) ถ้ารันบน Request Thread โดยตรง การล็อกอินพร้อมกันจำนวนมากจะแย่ง CPU จาก Request อื่นทั้งหมด
+ * คลาสนี้ส่ง {@code encode}/{@code matches} ไปรันบน Thread Pool ขนาดคงที่ ({@code app.password-hashing.threads}) ที่มีคิวจำกัด
+ * ({@code app.password-hashing.queue-capacity}) Request Thread รอผลตามปกติ แต่จำนวน BCrypt ที่รันพร้อมกันไม่เกินขนาด Pool
+ * เมื่อคิวเต็มจะตอบ 503 ทันทีแทนที่จะรอต่อคิวยาว ผลคือช่วงที่มีการล็อกอินถล่มจะช้าเฉพาะ Login/Register
+ * </p>
+ * <p>
+ * {@link #upgradeEncoding(String)} คืน {@code true} เมื่อ Hash ที่เก็บไว้มี cost ต่ำกว่า {@code app.password-hashing.strength}
+ * หลังล็อกอินสำเร็จรหัสผ่านจะถูก Hash ใหม่ด้วย cost ปัจจุบันผ่าน {@link #tryEncode(CharSequence)} แบบ Best-effort
+ * (ข้ามเมื่อมีงานรอคิวอยู่ และไม่ทำให้การล็อกอินที่ตรวจรหัสผ่านผ่านแล้วได้ 503) การลด cost ไม่ทำให้ Hash เดิมถูกเขียนใหม่
+ * </p>
+ * <p>
+ * Metrics: {@value #HASH_METRIC} (เวลาที่ใช้ BCrypt จริง แยกตาม {@code operation} และ {@code cost}),
+ * {@value #WAIT_METRIC} (เวลารอคิว), {@value #REJECTED_METRIC} และ Gauge {@value #QUEUE_METRIC}
+ * </p>
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    public static final String HASH_METRIC = "app.password.hash";
+    public static final String WAIT_METRIC = "app.password.hash.wait";
+    public static final String REJECTED_METRIC = "app.password.hash.rejected";
+    public static final String QUEUE_METRIC = "app.password.hash.queued";
+
+    private final BCryptPasswordEncoder delegate;
+    private final String strength;
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    /**
+     * @param strength      BCrypt cost (4-31) ที่ใช้กับ Hash ใหม่
+     * @param threads       จำนวน BCrypt ที่รันพร้อมกันได้ (0 = ครึ่งหนึ่งของจำนวน CPU อย่างน้อย 1)
+     * @param queueCapacity จำนวนงานที่รอได้ก่อนตอบ 503
+     */
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = String.valueOf(strength);
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        // Platform Thread เสมอ: งานเป็น CPU ล้วน การใช้ Virtual Thread ไม่ช่วยอะไรและจะไปแย่ง Carrier Thread ของ Request อื่น
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                ThreadFactories.numbered("password-hash-", false),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.meterRegistry = meterRegistry;
+        this.waitTimer = meterRegistry.timer(WAIT_METRIC);
+        this.rejected = meterRegistry.counter(REJECTED_METRIC);
+        meterRegistry.gauge(QUEUE_METRIC, executor, pool -> pool.getQueue().size());
+        log.info("Password hashing: BCrypt cost {}, {} thread(s), queue capacity {}", strength, poolSize, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit("encode", strength, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit("matches", costOf(encodedPassword), () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hash แบบ Best-effort สำหรับงานที่ข้ามได้ (เช่น Upgrade cost หลังล็อกอิน): รันเฉพาะเมื่อไม่มีงานรอคิว
+     * เพื่อไม่แย่งที่ของ Login/Register และคืนค่าว่างแทนการตอบ 503 เมื่อ Pool เต็ม
+     */
+    public Optional<String> tryEncode(CharSequence rawPassword) {
+        if (!executor.getQueue().isEmpty()) {
+            return Optional.empty();
+        }
+        Future<String> result;
+        try {
+            result = enqueue("encode", strength, () -> delegate.encode(rawPassword));
+        } catch (RejectedExecutionException e) {
+            return Optional.empty();
+        }
+        return Optional.of(await(result));
+    }
+
+    /**
+     * อ่าน cost จาก Hash เท่านั้น ไม่ต้องผ่าน Executor
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private <T> T submit(String operation, String cost, Supplier<T> hashing) {
+        Future<T> result;
+        try {
+            result = enqueue(operation, cost, hashing);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many sign-in requests. Please retry later.");
+        }
+        return await(result);
+    }
+
+    private <T> Future<T> enqueue(String operation, String cost, Supplier<T> hashing) {
+        long submittedAt = System.nanoTime();
+        Timer hashTimer = Timer.builder(HASH_METRIC).tag("operation", operation).tag("cost", cost).register(meterRegistry);
+        return executor.submit(() -> {
+            waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            return hashTimer.record(hashing);
+        });
+    }
+
+    private static <T> T await(Future<T> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * cost จาก Hash รูปแบบ {@code $2a$10$...} หรือ {@code unknown} ถ้าไม่ใช่ BCrypt
+     */
+    private static String costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return "unknown";
+        }
+        String cost = encodedPassword.substring(4, 6);
+        return Character.isDigit(cost.charAt(0)) && Character.isDigit(cost.charAt(1)) ? cost : "unknown";
+    }
+}
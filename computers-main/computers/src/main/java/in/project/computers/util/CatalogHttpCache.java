@@ -0,0 +1,105 @@
+package in.project.computers.util;
+
+import in.project.computers.service.catalogService.CatalogSnapshot;
+import in.project.computers.service.catalogService.CatalogVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * ช่วยตอบ Conditional GET ({@code If-None-Match}) ของ Endpoint ที่อ่านข้อมูล Catalog
+ * <p>
+ * ETag มาจาก {@link CatalogVersionService} ซึ่งอยู่ใน Memory ดังนั้นเมื่อ Client ส่ง ETag ที่ยังเป็นปัจจุบันมา
+ * จะตอบ 304 ทันทีโดยไม่เรียก {@code bodySupplier} (ไม่แตะ MongoDB)
+ * </p>
+ * <p>
+ * ข้อมูล Catalog ไม่ขึ้นกับผู้ใช้ จึงส่ง {@code Cache-Control: public} ให้ Browser/CDN เก็บได้
+ * และต้อง Revalidate ด้วย ETag เมื่อหมดอายุ
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogHttpCache {
+
+    private static final List<MediaType> BINARY_FORMATS = List.of(
+            MediaType.APPLICATION_CBOR, MediaType.parseMediaType("application/x-jackson-smile"));
+
+    private final CatalogVersionService catalogVersionService;
+
+    @Value("${app.catalog.http-cache.max-age:60s}")
+    private Duration maxAge;
+
+    @Value("${app.catalog.http-cache.s-max-age:300s}")
+    private Duration sharedMaxAge;
+
+    public <T> ResponseEntity<T> respond(WebRequest request, Supplier<T> bodySupplier) {
+        // อ่านเวอร์ชันก่อนสร้างข้อมูลเสมอ: ถ้าข้อมูลเปลี่ยนระหว่างนั้น Client จะได้ ETag เก่ากับข้อมูลใหม่ (ปลอดภัย) ไม่ใช่กลับกัน
+        String etag = catalogVersionService.currentEtag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl()).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl()).body(bodySupplier.get());
+    }
+
+    /**
+     * ตอบจาก {@link CatalogSnapshot} ที่ตรงกับเวอร์ชันปัจจุบัน
+     * <p>
+     * ถ้า Client รับ JSON ได้ (รวมถึงไม่ส่ง {@code Accept} มา) จะส่ง JSON ที่ Serialize ไว้ล่วงหน้าออกไปตรงๆ
+     * ถ้าขอรูปแบบอื่น (เช่น CBOR/Smile) จะส่ง {@code body} ให้ Message Converter ตามปกติ
+     * </p>
+     */
+    public ResponseEntity<Object> respond(WebRequest request, CatalogSnapshot snapshot, byte[] json, Object body) {
+        String etag = snapshot.etag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl()).build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(etag).cacheControl(cacheControl());
+        if (prefersJson(request.getHeader(HttpHeaders.ACCEPT))) {
+            return builder.contentType(MediaType.APPLICATION_JSON).body(json);
+        }
+        return builder.body(body);
+    }
+
+    /**
+     * JSON ถูกเลือกเมื่อมีค่า Quality ไม่น้อยกว่ารูปแบบ Binary (เช่น {@code *}{@code /*}) ตามลำดับ Converter ของ Spring
+     */
+    private boolean prefersJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            // ให้ Spring เป็นผู้ตอบ Error ของ Header ที่ไม่ถูกต้องตามปกติ
+            return false;
+        }
+        double json = 0;
+        double other = 0;
+        for (MediaType mediaType : acceptable) {
+            double quality = mediaType.getQualityValue();
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                json = Math.max(json, quality);
+            }
+            if (BINARY_FORMATS.stream().anyMatch(mediaType::isCompatibleWith)) {
+                other = Math.max(other, quality);
+            }
+        }
+        return json > 0 && json >= other;
+    }
+
+    private CacheControl cacheControl() {
+        return CacheControl.maxAge(maxAge).sMaxAge(sharedMaxAge).cachePublic().mustRevalidate();
+    }
+}
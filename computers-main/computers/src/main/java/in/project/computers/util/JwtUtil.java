@@ -5,13 +5,17 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority; // <-- ADDED IMPORT
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors; // <-- ADDED IMPORT
@@ -22,26 +26,57 @@ public class JwtUtil {
     @Value("${jwt.secret.key}")
     private String SECRET_KEY;
 
-    // Time in milliseconds for token validity (10 hours)
-    private static final long TOKEN_VALIDITY = 10 * 60 * 60 * 1000;
+    public static final String ROLES_CLAIM = "roles";
+    // Session (การล็อกอินหนึ่งครั้ง) ที่ออก Token นี้ ใช้เพิกถอน Token ทั้งหมดของ Session
+    public static final String SESSION_CLAIM = "sid";
 
-    public String generateToken(UserDetails userDetails) {
+    // Access Token อายุสั้น ต่ออายุด้วย Refresh Token (/api/refresh)
+    @Value("${app.auth.access-token.validity:15m}")
+    private Duration accessTokenValidity = Duration.ofMinutes(15);
+
+    public String generateToken(UserDetails userDetails, String sessionId) {
         Map<String, Object> claims = new HashMap<>();
         // --- THIS IS THE FIX ---
         // We are now adding the user's roles to the "claims" map.
-        claims.put("roles", userDetails.getAuthorities().stream()
+        claims.put(ROLES_CLAIM, userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList()));
         // --- END OF FIX ---
+        claims.put(SESSION_CLAIM, sessionId);
         return createToken(claims, userDetails.getUsername());
     }
 
+    public Duration getAccessTokenValidity() {
+        return accessTokenValidity;
+    }
+
+    /**
+     * ตรวจลายเซ็นและวันหมดอายุในครั้งเดียว (ใช้ CPU อย่างเดียว ไม่อ่าน Database)
+     *
+     * @throws io.jsonwebtoken.JwtException ถ้า Token ไม่ถูกต้องหรือหมดอายุ
+     */
+    public Claims parseToken(String token) {
+        return extractAllClaims(token);
+    }
+
+    /**
+     * สร้าง {@link UserDetails} จาก Claims ของ Token ที่ตรวจแล้ว (ไม่มีรหัสผ่าน)
+     * Role ใน Token เป็นค่า ณ เวลาที่ออก Token การเปลี่ยน Role จะมีผลเมื่อ Refresh ครั้งถัดไป
+     */
+    public UserDetails toUserDetails(Claims claims) {
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        List<SimpleGrantedAuthority> authorities = roles == null ? List.of() : roles.stream()
+                .map(role -> new SimpleGrantedAuthority(String.valueOf(role)))
+                .toList();
+        return User.withUsername(claims.getSubject()).password("").authorities(authorities).build();
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .claims(claims) // Replaces setClaims
                 .subject(subject) // Replaces setSubject
                 .issuedAt(new Date(System.currentTimeMillis())) // Replaces setIssuedAt
-                .expiration(new Date(System.currentTimeMillis() + TOKEN_VALIDITY)) // Replaces setExpiration
+                .expiration(new Date(System.currentTimeMillis() + accessTokenValidity.toMillis())) // Replaces setExpiration
                 .signWith(getSignInKey()) // Replaces signWith(SignatureAlgorithm, String)
                 .compact();
     }
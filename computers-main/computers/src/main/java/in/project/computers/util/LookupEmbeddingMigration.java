@@ -0,0 +1,182 @@
+package in.project.computers.util;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import in.project.computers.entity.component.Component;
+import in.project.computers.entity.lookup.FormFactor;
+import in.project.computers.entity.lookup.StorageInterface;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Migration: แปลงฟิลด์ Lookup ที่เคยเก็บเป็น {@code @DBRef} ใน Collection {@code component} ให้เป็น Document ฝัง (Embedded)
+ * <ul>
+ *     <li>{@code Case.supportedFormFactors}, {@code Case.supportedPsuFormFactors}</li>
+ *     <li>{@code Psu.formFactor}</li>
+ *     <li>{@code StorageDrive.storageInterface}, {@code StorageDrive.formFactor}</li>
+ * </ul>
+ * <p>
+ * DBRef ทำให้ Spring Data ต้อง Query Collection ของ Lookup ทุกครั้งที่อ่าน Component เหล่านี้
+ * Migration นี้โหลด Lookup ทั้งหมดครั้งเดียว แล้วเขียนทับ DBRef ด้วยสำเนาของ Lookup (รูปแบบเดียวกับ {@code Cpu.socket})
+ * รันซ้ำได้อย่างปลอดภัย: เอกสารที่ฝังข้อมูลแล้วจะถูกข้าม และ DBRef ที่หา Lookup ไม่เจอจะถูกคงไว้ตามเดิม
+ * </p>
+ */
+@org.springframework.stereotype.Component
+@RequiredArgsConstructor
+@Slf4j
+public class LookupEmbeddingMigration implements ApplicationRunner {
+
+    private static final List<String> REFERENCE_FIELDS = List.of(
+            "supportedFormFactors", "supportedPsuFormFactors", "formFactor", "storageInterface");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.migration.embed-lookups.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.migration.embed-lookups.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            MigrationResult result = migrate();
+            if (result.updated() > 0 || result.unresolved() > 0) {
+                log.info("Embedded lookup references in {} component(s) ({} unresolved reference(s) left as DBRef).",
+                        result.updated(), result.unresolved());
+            }
+        } catch (RuntimeException e) {
+            // Component ที่ยังเป็น DBRef ยังอ่านได้ตามปกติ (ช้ากว่า) จึงไม่หยุดการเริ่มแอป
+            log.error("Lookup embedding migration failed. Remaining DBRefs will be resolved on read.", e);
+        }
+    }
+
+    /**
+     * @return จำนวน Component ที่ถูกแก้ไข และจำนวน DBRef ที่หา Lookup ไม่เจอ
+     */
+    public MigrationResult migrate() {
+        Map<Object, Document> lookups = new HashMap<>();
+        loadLookups(mongoTemplate.getCollectionName(FormFactor.class), lookups);
+        loadLookups(mongoTemplate.getCollectionName(StorageInterface.class), lookups);
+
+        MongoCollection<Document> components = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Component.class));
+        Bson anyReferenceField = Filters.or(REFERENCE_FIELDS.stream().map(Filters::exists).toList());
+
+        List<WriteModel<Document>> batch = new ArrayList<>(batchSize);
+        long updated = 0;
+        long unresolved = 0;
+        try (MongoCursor<Document> cursor = components.find(anyReferenceField)
+                .projection(Projections.include(REFERENCE_FIELDS))
+                .batchSize(batchSize)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document document = cursor.next();
+                List<Bson> sets = new ArrayList<>();
+                for (String field : REFERENCE_FIELDS) {
+                    Object value = document.get(field);
+                    Object embedded = embed(value, lookups);
+                    if (embedded != value) {
+                        sets.add(Updates.set(field, embedded));
+                    }
+                    unresolved += countDbRefs(embedded);
+                }
+                if (sets.isEmpty()) {
+                    continue;
+                }
+                batch.add(new UpdateOneModel<>(Filters.eq("_id", document.get("_id")), Updates.combine(sets)));
+                if (batch.size() >= batchSize) {
+                    updated += flush(components, batch);
+                }
+            }
+        }
+        updated += flush(components, batch);
+        return new MigrationResult(updated, unresolved);
+    }
+
+    public record MigrationResult(long updated, long unresolved) {
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private void loadLookups(String collectionName, Map<Object, Document> target) {
+        for (Document lookup : mongoTemplate.getCollection(collectionName).find()) {
+            Document embedded = new Document(lookup);
+            embedded.remove("_class");
+            target.put(lookup.get("_id"), embedded);
+        }
+    }
+
+    /**
+     * แทนที่ DBRef ด้วยสำเนาของ Lookup (รองรับทั้งค่าเดี่ยวและ List) คืน Object เดิมถ้าไม่มีอะไรเปลี่ยน
+     */
+    private Object embed(Object value, Map<Object, Document> lookups) {
+        if (isDbRef(value)) {
+            Document lookup = lookups.get(referencedId(value));
+            return lookup != null ? lookup : value;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> embedded = new ArrayList<>(list.size());
+            boolean changed = false;
+            for (Object element : list) {
+                Object replacement = embed(element, lookups);
+                changed |= replacement != element;
+                embedded.add(replacement);
+            }
+            return changed ? embedded : value;
+        }
+        return value;
+    }
+
+    private long countDbRefs(Object value) {
+        if (isDbRef(value)) {
+            return 1;
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().filter(this::isDbRef).count();
+        }
+        return 0;
+    }
+
+    /**
+     * ปกติ Driver อ่าน DBRef เป็น {@link DBRef} แต่ถ้า Codec Registry ไม่มี DBRef Codec จะได้ {@code {$ref, $id}} ธรรมดา จึงตรวจทั้งสองรูปแบบ
+     */
+    private boolean isDbRef(Object value) {
+        return value instanceof DBRef || (value instanceof Document document && document.containsKey("$ref"));
+    }
+
+    private Object referencedId(Object value) {
+        return value instanceof DBRef ref ? ref.getId() : ((Document) value).get("$id");
+    }
+
+    private long flush(MongoCollection<Document> components, List<WriteModel<Document>> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        long modified = components.bulkWrite(batch, new BulkWriteOptions().ordered(false)).getModifiedCount();
+        batch.clear();
+        return modified;
+    }
+}
@@ -0,0 +1,116 @@
+package in.project.computers.util;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <h3>Mongo Query Counter</h3>
+ * <p>
+ * {@link CommandListener} ที่นับคำสั่ง MongoDB ที่ส่งจาก Thread ที่เปิด {@link Scope} ไว้ (เช่นหนึ่ง HTTP Request)
+ * Driver แบบ Sync เรียก Listener บน Thread ที่สั่ง Query จึงผูกคำสั่งกับ Scope ผ่าน ThreadLocal ได้ตรงตัว
+ * คำสั่งจาก Thread อื่น (Monitor ของ Driver, งาน Async) จะไม่ถูกนับ
+ * </p>
+ * <p>ใช้ใน Dev/Test เพื่อจับ N+1 ดู {@code MongoQueryBudgetFilter}</p>
+ */
+public class MongoQueryCounter implements CommandListener {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * เปิด Scope การนับบน Thread ปัจจุบัน (ต้องปิดด้วย {@link Scope#close()} บน Thread เดิม)
+     *
+     * @param captureStacks เก็บ Call Stack ของแต่ละคำสั่งไว้สำหรับ Log เมื่อเกินงบ (มีค่าใช้จ่ายสูงกว่าการนับอย่างเดียว)
+     */
+    public static Scope open(boolean captureStacks) {
+        Scope scope = new Scope(CURRENT.get(), captureStacks);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.record(event);
+        }
+    }
+
+    /**
+     * คำสั่งที่ถูกนับ: ชื่อคำสั่ง, Collection และ Stack Frame ของโค้ดในแอป (ว่างเมื่อไม่ได้เก็บ Stack)
+     */
+    public record Command(String name, String collection, List<StackTraceElement> stack) {
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(name);
+            if (collection != null) {
+                text.append(' ').append(collection);
+            }
+            stack.forEach(frame -> text.append(System.lineSeparator()).append("\t\tat ").append(frame));
+            return text.toString();
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private static final String APP_PACKAGE = "in.project.computers.";
+
+        private final Scope parent;
+        private final boolean captureStacks;
+        private final List<Command> commands = Collections.synchronizedList(new ArrayList<>());
+
+        private Scope(Scope parent, boolean captureStacks) {
+            this.parent = parent;
+            this.captureStacks = captureStacks;
+        }
+
+        public int count() {
+            return commands.size();
+        }
+
+        public List<Command> commands() {
+            synchronized (commands) {
+                return List.copyOf(commands);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                if (parent != null) {
+                    CURRENT.set(parent);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        }
+
+        private void record(CommandStartedEvent event) {
+            if (parent != null) {
+                parent.record(event);
+            }
+            BsonValue target = event.getCommand().get(event.getCommandName());
+            commands.add(new Command(
+                    event.getCommandName(),
+                    target != null && target.isString() ? target.asString().getValue() : null,
+                    captureStacks ? applicationFrames() : List.of()));
+        }
+
+        /**
+         * เฉพาะ Frame ของโค้ดในแอป (ตัด Frame ของ Driver/Spring/Proxy และของ Counter เองออก)
+         */
+        private static List<StackTraceElement> applicationFrames() {
+            return Arrays.stream(new Throwable().getStackTrace())
+                    .filter(frame -> frame.getClassName().startsWith(APP_PACKAGE))
+                    .filter(frame -> !frame.getClassName().startsWith(MongoQueryCounter.class.getName()))
+                    .filter(frame -> !frame.getClassName().contains("$$"))
+                    .toList();
+        }
+    }
+}
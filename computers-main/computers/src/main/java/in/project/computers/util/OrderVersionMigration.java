@@ -0,0 +1,42 @@
+package in.project.computers.util;
+
+import in.project.computers.entity.order.Order;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migration: ตั้งค่า {@code version = 0} ให้ Order เดิมที่ยังไม่มีฟิลด์ {@code @Version}
+ * <p>
+ * ถ้า version เป็น null Spring Data จะถือว่าเป็นเอกสารใหม่และ save() จะพยายาม Insert ซ้ำ (Duplicate Key)
+ * รันซ้ำได้อย่างปลอดภัย: แก้เฉพาะเอกสารที่ยังไม่มีฟิลด์นี้
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderVersionMigration implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            long updated = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("version").exists(false)),
+                    new Update().set("version", 0L),
+                    Order.class).getModifiedCount();
+            if (updated > 0) {
+                log.info("Initialized the version field of {} existing order(s).", updated);
+            }
+        } catch (RuntimeException e) {
+            log.error("Order version migration failed. Saving legacy orders may fail until it succeeds.", e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package in.project.computers.util;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * สร้าง Observation ({@code app.repository}) ครอบทุกการเรียก Spring Data Repository ของแอป
+ * <p>
+ * เมื่อเปิด Tracing แต่ละการเรียกจะเป็น Span ชื่อ {@code <Repository>.<method>} ซึ่งเป็น Parent ของ Span
+ * คำสั่ง MongoDB ที่เกิดขึ้นจริง ทำให้เห็นรูปแบบ N+1 (Repository ถูกเรียกซ้ำใน Loop) ได้จาก Trace ของ Request เดียว
+ * </p>
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryObservationAspect {
+
+    public static final String OBSERVATION_NAME = "app.repository";
+
+    private final ObservationRegistry observationRegistry;
+
+    // Repository แบบ Reactive คืน Publisher ทันที การครอบด้วย Observation จะวัดแค่การสร้าง Publisher ไม่ใช่ Query จริง
+    @Around("this(org.springframework.data.repository.Repository)"
+            + " && !target(org.springframework.data.repository.reactive.ReactiveCrudRepository)"
+            + " && !target(org.springframework.data.repository.reactive.ReactiveSortingRepository)")
+    public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryName(joinPoint.getThis());
+        String method = joinPoint.getSignature().getName();
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+                .contextualName(repository + "." + method)
+                .lowCardinalityKeyValue("repository", repository)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        try (Observation.Scope ignored = observation.openScope()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /**
+     * ชื่อ Interface ของแอปที่ Proxy Implement อยู่ (เช่น {@code InventoryRepository}) แทนชื่อ Class ของ Proxy
+     */
+    private String repositoryName(Object proxy) {
+        return Arrays.stream(AopUtils.getTargetClass(proxy).getInterfaces())
+                .filter(Repository.class::isAssignableFrom)
+                .filter(type -> !type.getName().startsWith("org.springframework."))
+                .findFirst()
+                .map(Class::getSimpleName)
+                .orElseGet(() -> AopUtils.getTargetClass(proxy).getSimpleName());
+    }
+}
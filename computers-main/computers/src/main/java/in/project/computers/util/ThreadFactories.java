@@ -0,0 +1,34 @@
+package in.project.computers.util;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * สร้าง {@link ThreadFactory} ของ Executor ภายในแอปตามโหมด Thread ({@code spring.threads.virtual.enabled})
+ * <p>
+ * โหมด Virtual: ทุก Thread เป็น Virtual Thread (Daemon เสมอ) ใช้ Heap ตามที่ใช้จริงแทน Stack ขนาดคงที่ของ Platform Thread
+ * โหมด Platform: Daemon Platform Thread เหมือนเดิม
+ * </p>
+ */
+public final class ThreadFactories {
+
+    private ThreadFactories() {
+    }
+
+    /**
+     * ทุก Thread ใช้ชื่อเดียวกัน (สำหรับ Executor ที่มี Thread เดียว)
+     */
+    public static ThreadFactory named(String name, boolean virtual) {
+        return virtual
+                ? Thread.ofVirtual().name(name).factory()
+                : Thread.ofPlatform().name(name).daemon(true).factory();
+    }
+
+    /**
+     * ชื่อ Thread เป็น {@code prefix + ลำดับ} เริ่มจาก 1 (เช่น {@code component-import-1})
+     */
+    public static ThreadFactory numbered(String prefix, boolean virtual) {
+        return virtual
+                ? Thread.ofVirtual().name(prefix, 1).factory()
+                : Thread.ofPlatform().name(prefix, 1).daemon(true).factory();
+    }
+}
@@ -0,0 +1,138 @@
+package in.project.computers.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * <h3>Virtual Thread Pinning Monitor</h3>
+ * <p>
+ * ฟัง JFR Event {@value #PINNED_EVENT} ในแอปเอง: Virtual Thread ที่ Block (I/O, sleep, รอ Lock) ขณะถือ Monitor
+ * ของ {@code synchronized} จะปล่อย Carrier Thread ไม่ได้ (Pinned) ถ้าเกิดบ่อย Request ทั้งหมดจะถูกจำกัดด้วยจำนวน Carrier
+ * (เท่าจำนวน CPU) แทนที่จะขยายได้ตามจำนวน Request
+ * </p>
+ * <p>
+ * จุดที่รู้อยู่แล้วคือ PayPal SDK: {@code OAuthTokenCredential.getAccessToken()} เข้า {@code synchronized} บน Map ของ Token
+ * ที่ใช้ร่วมกันทั้ง JVM ทุกครั้งที่เรียก API และขอ Token ใหม่ผ่าน HTTP ภายใน Block นั้นเมื่อ Token หมดอายุ
+ * </p>
+ * <ul>
+ *     <li>Timer {@value #PINNED_METRIC} (Tag {@code source} = Frame แรกที่ไม่ใช่ของ JDK) บอกจำนวนครั้งและเวลาที่ถูก Pin</li>
+ *     <li>Log Stack เต็มครั้งแรกของแต่ละ {@code source} (ครั้งถัดไปเป็น DEBUG) เพื่อหา {@code synchronized} ต้นเหตุ</li>
+ * </ul>
+ * <p>เปิดด้วย {@code app.virtual-threads.pinning-diagnostics.enabled=true} (มีผลเมื่อเปิด {@code spring.threads.virtual.enabled})</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    public static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    public static final String PINNED_METRIC = "app.virtual-threads.pinned";
+
+    private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.", "com.sun.");
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.virtual-threads.pinning-diagnostics.enabled:false}")
+    private boolean enabled;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * บันทึกเฉพาะครั้งที่ถูก Pin นานกว่านี้ (ค่าเริ่มต้นของ JFR คือ 20ms)
+     */
+    @Value("${app.virtual-threads.pinning-diagnostics.threshold:20ms}")
+    private Duration threshold;
+
+    @Value("${app.virtual-threads.pinning-diagnostics.stack-depth:32}")
+    private int stackDepth;
+
+    private final Set<String> loggedSources = ConcurrentHashMap.newKeySet();
+    private RecordingStream recording;
+
+    @PostConstruct
+    void start() {
+        if (!enabled || !virtualThreads) {
+            return;
+        }
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        log.info("Virtual thread pinning diagnostics enabled (threshold {} ms).", threshold.toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = framesOf(event.getStackTrace());
+        String source = sourceOf(frames);
+        Timer.builder(PINNED_METRIC)
+                .description("Time virtual threads spent blocked while pinned to their carrier thread")
+                .tag("source", source)
+                .register(meterRegistry)
+                .record(event.getDuration());
+
+        if (loggedSources.add(source)) {
+            log.warn("Virtual thread pinned for {} ms in {} (blocked inside a synchronized block or native frame):{}{}",
+                    event.getDuration().toMillis(), source, System.lineSeparator(), format(frames));
+        } else if (log.isDebugEnabled()) {
+            log.debug("Virtual thread pinned for {} ms in {}", event.getDuration().toMillis(), source);
+        }
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private List<RecordedFrame> framesOf(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return List.of();
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        return frames.size() > stackDepth ? frames.subList(0, stackDepth) : frames;
+    }
+
+    /**
+     * Frame บนสุดที่ไม่ใช่ของ JDK คือโค้ด (ของแอปหรือ Library) ที่สั่ง Block ระหว่างถือ Monitor
+     */
+    private static String sourceOf(List<RecordedFrame> frames) {
+        return frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(frame -> JDK_PACKAGES.stream().noneMatch(frame.getMethod().getType().getName()::startsWith))
+                .findFirst()
+                .map(VirtualThreadPinningMonitor::methodOf)
+                .orElse("jdk");
+    }
+
+    private static String format(List<RecordedFrame> frames) {
+        return frames.stream()
+                .map(frame -> "\tat " + methodOf(frame) + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : ""))
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    private static String methodOf(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+}
@@ -0,0 +1,178 @@
+package in.project.computers.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import in.project.computers.dto.user.AuthenticationRequest;
+import in.project.computers.dto.user.RefreshTokenRequest;
+import in.project.computers.dto.user.UserRequest;
+import in.project.computers.entity.user.RefreshToken;
+import in.project.computers.entity.user.RevokedSession;
+import in.project.computers.filters.MongoQueryBudgetFilter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ตรวจ Login / Refresh / Logout กับ MongoDB ในหน่วยความจำ: Refresh Token ใช้ได้ครั้งเดียว, การใช้ซ้ำเพิกถอนทั้ง Session
+ * และ Access Token ถูกตรวจโดยไม่อ่าน Database
+ */
+@SpringBootTest(properties = {
+        "jwt.secret.key=test-secret-key-that-is-long-enough-for-hs256",
+        "aws.access.key=test",
+        "aws.secret.key=test",
+        "paypal.client.id=test",
+        "paypal.client.secret=test",
+        "app.change-stream.enabled=false",
+        // MongoServer หยุดใน @AfterAll ก่อน Context ถูกปิด: ไม่ให้ Sync รอบถัดไปค้างรอ Server ตอนปิด JVM
+        "app.auth.revocation.sync-interval=1h",
+        "app.rate-limit.enabled=false",
+        "app.mongo.query-budget.enabled=true"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AuthTokenFlowTest {
+
+    private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+    private static final String MONGO_URI = MONGO.bindAndGetConnectionString() + "/computers";
+
+    private static final String EMAIL = "tokens@test.local";
+    private static final String PASSWORD = "token-password";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> MONGO_URI);
+    }
+
+    @BeforeAll
+    void register() throws Exception {
+        mockMvc.perform(post("/api/register").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserRequest("Tokens", EMAIL, PASSWORD))))
+                .andExpect(status().isCreated());
+    }
+
+    @AfterAll
+    void stopMongo() {
+        MONGO.shutdownNow();
+    }
+
+    @Test
+    void loginIssuesAShortLivedAccessTokenAndARefreshToken() throws Exception {
+        JsonNode tokens = login();
+
+        assertThat(tokens.path("token").asText()).isNotBlank();
+        assertThat(tokens.path("refreshToken").asText()).isNotBlank();
+        assertThat(tokens.path("expiresIn").asLong()).isEqualTo(15 * 60);
+        assertThat(isAccepted(tokens.path("token").asText())).isTrue();
+    }
+
+    @Test
+    void refreshRotatesTheRefreshTokenAndReuseRevokesTheSession() throws Exception {
+        JsonNode first = login();
+        JsonNode second = refresh(first.path("refreshToken").asText(), status().isOk());
+        assertThat(second.path("refreshToken").asText()).isNotEqualTo(first.path("refreshToken").asText());
+        assertThat(isAccepted(second.path("token").asText())).isTrue();
+
+        // ใบเดิมถูกใช้ไปแล้ว: ถือว่า Token หลุด ทั้ง Session ใช้ไม่ได้
+        refresh(first.path("refreshToken").asText(), status().isUnauthorized());
+        refresh(second.path("refreshToken").asText(), status().isUnauthorized());
+        assertThat(isAccepted(first.path("token").asText())).isFalse();
+        assertThat(isAccepted(second.path("token").asText())).isFalse();
+    }
+
+    @Test
+    void refreshRacingARevocationOnAnotherInstanceDoesNotLeaveAUsableToken() throws Exception {
+        JsonNode tokens = login();
+        String sessionId = mongoTemplate.findById(sha256(tokens.path("refreshToken").asText()), RefreshToken.class).getSessionId();
+        // Instance อื่นบันทึกการเพิกถอนแล้ว แต่ยังไม่ได้ลบ Refresh Token และ Instance นี้ยังไม่ได้ Sync รายการ
+        mongoTemplate.insert(RevokedSession.builder().id(sessionId).revokedAt(Instant.now()).expiresAt(Instant.now().plusSeconds(900)).build());
+
+        refresh(tokens.path("refreshToken").asText(), status().isUnauthorized());
+        assertThat(mongoTemplate.exists(Query.query(Criteria.where("sessionId").is(sessionId)), RefreshToken.class)).isFalse();
+    }
+
+    @Test
+    void logoutRevokesOnlyThatSession() throws Exception {
+        JsonNode loggedOut = login();
+        JsonNode other = login();
+
+        mockMvc.perform(post("/api/logout").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest(loggedOut.path("refreshToken").asText()))))
+                .andExpect(status().isNoContent());
+
+        assertThat(isAccepted(loggedOut.path("token").asText())).isFalse();
+        refresh(loggedOut.path("refreshToken").asText(), status().isUnauthorized());
+        assertThat(isAccepted(other.path("token").asText())).isTrue();
+    }
+
+    @Test
+    void accessTokensAreVerifiedWithoutQueryingMongo() throws Exception {
+        String token = login().path("token").asText();
+
+        // Search ตอบจาก Index ในหน่วยความจำ: Query ที่นับได้ทั้งหมดจึงมาจากการตรวจ Token
+        String count = mockMvc.perform(get("/api/components/search").param("q", "none").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(MongoQueryBudgetFilter.HEADER);
+        assertThat(count).isEqualTo("0");
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private JsonNode login() throws Exception {
+        String body = mockMvc.perform(post("/api/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthenticationRequest(EMAIL, PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private JsonNode refresh(String refreshToken, ResultMatcher expected) throws Exception {
+        String body = mockMvc.perform(post("/api/refresh").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest(refreshToken))))
+                .andExpect(expected)
+                .andReturn().getResponse().getContentAsString();
+        return body.isEmpty() ? null : objectMapper.readTree(body);
+    }
+
+    private static String sha256(String value) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private boolean isAccepted(String accessToken) throws Exception {
+        int status = mockMvc.perform(get("/api/builds").header("Authorization", "Bearer " + accessToken))
+                .andReturn().getResponse().getStatus();
+        return status == 200;
+    }
+}
@@ -0,0 +1,133 @@
+package in.project.computers.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import in.project.computers.entity.component.Component;
+import in.project.computers.entity.component.Cooler;
+import in.project.computers.entity.component.Gpu;
+import in.project.computers.entity.component.Inventory;
+import in.project.computers.repository.ComponentRepo.ComponentRepository;
+import in.project.computers.repository.ComponentRepo.InventoryRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ตรวจ Catalog แบบ NDJSON ({@code GET /api/components/feed}) กับ MongoDB ในหน่วยความจำ
+ * ใช้ Batch ขนาดเล็กเพื่อให้ข้อมูลถูกอ่านหลายชุด และตรวจว่า Inventory ของทุกชุดถูกจับคู่ถูกต้อง
+ */
+@SpringBootTest(properties = {
+        "jwt.secret.key=test-secret-key-that-is-long-enough-for-hs256",
+        "aws.access.key=test",
+        "aws.secret.key=test",
+        "paypal.client.id=test",
+        "paypal.client.secret=test",
+        "app.change-stream.enabled=false",
+        // MongoServer หยุดใน @AfterAll ก่อน Context ถูกปิด: ไม่ให้ Sync รอบถัดไปค้างรอ Server ตอนปิด JVM
+        "app.auth.revocation.sync-interval=1h",
+        "app.catalog.stream.batch-size=3"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CatalogStreamControllerTest {
+
+    private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+    private static final String MONGO_URI = MONGO.bindAndGetConnectionString() + "/computers";
+
+    private static final int GPU_COUNT = 7;
+    private static final int COOLER_COUNT = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ComponentRepository componentRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> MONGO_URI);
+    }
+
+    @BeforeAll
+    void seed() {
+        List<Component> components = new ArrayList<>();
+        IntStream.rangeClosed(1, GPU_COUNT).forEach(i -> components.add(Gpu.builder().type("gpu").mpn("GPU-" + i)
+                .name("GPU " + i).isActive(true).wattage(200).length_mm(300).build()));
+        IntStream.rangeClosed(1, COOLER_COUNT).forEach(i -> components.add(Cooler.builder().type("cooler").mpn("COOLER-" + i)
+                .name("Cooler " + i).isActive(true).build()));
+        List<Component> saved = componentRepository.saveAll(components);
+        // Component สุดท้ายไม่มี Inventory: ต้องได้จำนวน 0 แทนที่จะหลุดออกจาก Stream
+        inventoryRepository.saveAll(saved.subList(0, saved.size() - 1).stream()
+                .map(component -> Inventory.builder().componentId(component.getId())
+                        .quantity(10).price(BigDecimal.valueOf(1_000)).build())
+                .toList());
+    }
+
+    @AfterAll
+    void stopMongo() {
+        MONGO.shutdownNow();
+    }
+
+    @Test
+    void streamsEveryComponentAsNdjsonWithItsInventory() throws Exception {
+        List<JsonNode> lines = stream(get("/api/components/feed").accept(MediaType.APPLICATION_NDJSON));
+
+        assertThat(lines).hasSize(GPU_COUNT + COOLER_COUNT);
+        assertThat(lines).extracting(line -> line.path("id").asText()).isSorted();
+        assertThat(lines.subList(0, lines.size() - 1)).allSatisfy(line -> assertThat(line.path("quantity").asInt()).isEqualTo(10));
+        assertThat(lines.getLast().path("quantity").asInt()).isZero();
+    }
+
+    @Test
+    void filtersByType() throws Exception {
+        List<JsonNode> lines = stream(get("/api/components/feed").param("type", "cooler").accept(MediaType.APPLICATION_NDJSON));
+
+        assertThat(lines).hasSize(COOLER_COUNT).allSatisfy(line -> assertThat(line.path("type").asText()).isEqualTo("cooler"));
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private List<JsonNode> stream(RequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isBlank()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,166 @@
+package in.project.computers.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import in.project.computers.dto.order.CreateOrderRequest;
+import in.project.computers.dto.user.AuthenticationRequest;
+import in.project.computers.dto.user.UserRequest;
+import in.project.computers.entity.component.Gpu;
+import in.project.computers.entity.component.Inventory;
+import in.project.computers.entity.order.PaymentMethod;
+import in.project.computers.event.CatalogChangedEvent;
+import in.project.computers.repository.ComponentRepo.ComponentRepository;
+import in.project.computers.repository.ComponentRepo.InventoryRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ตรวจงบจำนวนคำสั่ง MongoDB ต่อ Request ของ Endpoint หลัก (อ่านจาก Header {@value MongoQueryBudgetFilter#HEADER})
+ * รันกับ MongoDB ในหน่วยความจำ จึงไม่ต้องมี MongoDB จริง ถ้า Test ล้มเหลว ดู Log "Mongo query budget exceeded" เพื่อหาโค้ดที่ Query เพิ่ม
+ */
+@SpringBootTest(properties = {
+        "jwt.secret.key=test-secret-key-that-is-long-enough-for-hs256",
+        "aws.access.key=test",
+        "aws.secret.key=test",
+        "paypal.client.id=test",
+        "paypal.client.secret=test",
+        "app.change-stream.enabled=false",
+        // MongoServer หยุดใน @AfterAll ก่อน Context ถูกปิด: ไม่ให้ Sync รอบถัดไปค้างรอ Server ตอนปิด JVM
+        "app.auth.revocation.sync-interval=1h",
+        "app.mongo.query-budget.enabled=true",
+        "app.mongo.query-budget.limits=GET /api/builds=0"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ExtendWith(OutputCaptureExtension.class)
+class MongoQueryBudgetFilterTest {
+
+    private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+    private static final String MONGO_URI = MONGO.bindAndGetConnectionString() + "/computers";
+
+    private static final String EMAIL = "budget@test.local";
+    private static final String PASSWORD = "budget-password";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ComponentRepository componentRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private List<String> componentIds;
+    private String token;
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> MONGO_URI);
+    }
+
+    @BeforeAll
+    void seed() throws Exception {
+        componentIds = componentRepository.saveAll(List.of(gpu(1), gpu(2), gpu(3))).stream()
+                .map(Gpu::getId)
+                .toList();
+        inventoryRepository.saveAll(componentIds.stream()
+                .map(id -> Inventory.builder().componentId(id).quantity(100).price(BigDecimal.valueOf(15_000)).build())
+                .toList());
+        eventPublisher.publishEvent(CatalogChangedEvent.all());
+
+        mockMvc.perform(post("/api/register").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserRequest("Budget", EMAIL, PASSWORD))))
+                .andExpect(status().isCreated());
+        MvcResult login = mockMvc.perform(post("/api/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthenticationRequest(EMAIL, PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn();
+        token = objectMapper.readTree(login.getResponse().getContentAsString()).path("token").asText();
+    }
+
+    @AfterAll
+    void stopMongo() {
+        MONGO.shutdownNow();
+    }
+
+    @Test
+    void catalogIsServedWithAtMostTwoQueries() throws Exception {
+        assertThat(queryCount(get("/api/components"))).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void componentDetailsAreServedWithAtMostTwoQueries() throws Exception {
+        assertThat(queryCount(get("/api/components/" + componentIds.getFirst()))).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void searchIsServedFromTheInMemoryIndex() throws Exception {
+        assertThat(queryCount(get("/api/components/search").param("q", "rtx"))).isZero();
+    }
+
+    @Test
+    void createOrderStaysWithinSixQueries() throws Exception {
+        CreateOrderRequest request = new CreateOrderRequest(
+                Map.of(componentIds.get(0), 1, componentIds.get(1), 2), Map.of(),
+                "1 Budget Road, Bangkok", "0800000000", PaymentMethod.BANK_TRANSFER);
+
+        assertThat(queryCount(post("/api/orders")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request))))
+                .isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    void exceedingTheBudgetLogsTheCommandsWithTheirCallers(CapturedOutput output) throws Exception {
+        int count = queryCount(get("/api/builds").header("Authorization", "Bearer " + token));
+
+        assertThat(count).isPositive();
+        assertThat(output.getOut())
+                .contains("Mongo query budget exceeded for GET /api/builds: " + count + " command(s), budget 0.")
+                .contains("at in.project.computers.service.ComputerBuildService.UserBuildServiceImpl.getBuildsForCurrentUser");
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private int queryCount(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andExpect(status().is2xxSuccessful()).andReturn();
+        String header = result.getResponse().getHeader(MongoQueryBudgetFilter.HEADER);
+        assertThat(header).as(MongoQueryBudgetFilter.HEADER).isNotNull();
+        return Integer.parseInt(header);
+    }
+
+    private static Gpu gpu(int index) {
+        return Gpu.builder().type("gpu").mpn("RTX4070-" + index).name("NVIDIA GeForce RTX 4070 #" + index)
+                .description("12GB GDDR6X").isActive(true).wattage(200).length_mm(300).build();
+    }
+}
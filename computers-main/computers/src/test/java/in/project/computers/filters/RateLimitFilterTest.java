@@ -0,0 +1,94 @@
+package in.project.computers.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.project.computers.service.rateLimitService.RateLimitServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ตรวจ {@link RateLimitFilter} กับ {@link RateLimitServiceImpl} จริง (ไม่เปิด Sync จึงไม่ต้องใช้ MongoDB)
+ * ใช้ period ยาวเพื่อไม่ให้ Token เติมกลับระหว่าง Test
+ */
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RateLimitServiceImpl rateLimitService = new RateLimitServiceImpl(null, meterRegistry);
+        ReflectionTestUtils.setField(rateLimitService, "authCapacity", 2);
+        ReflectionTestUtils.setField(rateLimitService, "authPeriod", Duration.ofHours(1));
+        ReflectionTestUtils.setField(rateLimitService, "ordersCapacity", 1);
+        ReflectionTestUtils.setField(rateLimitService, "ordersPeriod", Duration.ofHours(1));
+        ReflectionTestUtils.setField(rateLimitService, "catalogCapacity", 100);
+        ReflectionTestUtils.setField(rateLimitService, "catalogPeriod", Duration.ofHours(1));
+        ReflectionTestUtils.setField(rateLimitService, "maxKeys", 1_000L);
+        ReflectionTestUtils.invokeMethod(rateLimitService, "initialize");
+
+        filter = new RateLimitFilter(rateLimitService, new ObjectMapper());
+        ReflectionTestUtils.setField(filter, "enabled", true);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void loginIsLimitedPerIpWithRetryAfter() throws Exception {
+        assertThat(send("POST", "/api/login", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api/login", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = send("POST", "/api/login", "10.0.0.1");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(rejected.getHeader("Retry-After"))).isBetween(1L, 1_800L);
+        assertThat(rejected.getContentAsString()).contains("\"status\":429");
+        assertThat(meterRegistry.counter("app.rate-limit.rejected", "group", "auth").count()).isEqualTo(1);
+
+        // IP อื่นมี Bucket ของตัวเอง
+        assertThat(send("POST", "/api/login", "10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void ordersAreLimitedPerUserRegardlessOfIp() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice@example.com", null, List.of()));
+
+        assertThat(send("POST", "/api/orders", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api/orders", "10.0.0.2").getStatus()).isEqualTo(429);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("bob@example.com", null, List.of()));
+        assertThat(send("POST", "/api/orders", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void routesOutsideAnyGroupAreNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(send("GET", "/api/orders", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse send(String method, String path, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,82 @@
+package in.project.computers.service.catalogService;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import in.project.computers.event.CatalogChangedEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * ตรวจว่าการแก้ไขที่ Instance นี้ Publish เองแล้วไม่ถูก Publish ซ้ำเป็น Remote Event เมื่อย้อนกลับมาทาง Change Stream
+ * (ผู้ฟังจะ Rebuild สองรอบ) แต่การแก้ไขจาก Instance อื่นยังส่งต่อตามปกติ
+ */
+class CatalogChangeStreamListenerTest {
+
+    private ApplicationEventPublisher eventPublisher;
+    private CatalogChangeStreamListener listener;
+
+    @BeforeEach
+    void setUp() {
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        listener = new CatalogChangeStreamListener(null, eventPublisher, mock(CatalogVersionService.class));
+        ReflectionTestUtils.setField(listener, "running", true);
+        ReflectionTestUtils.setField(listener, "localEchoWindow", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(listener, "componentCollection", "component");
+        ReflectionTestUtils.setField(listener, "inventoryCollection", "inventories");
+        ReflectionTestUtils.setField(listener, "versionCollection", "catalog_versions");
+        ReflectionTestUtils.setField(listener, "lookupCollections", Set.of("sockets"));
+    }
+
+    @Test
+    void localWriteComingBackThroughTheStreamIsNotRepublished() {
+        listener.onLocalCatalogChanged(CatalogChangedEvent.inventory(List.of("gpu-1")));
+
+        CatalogChangeStreamListener.PendingChanges pending = listener.new PendingChanges();
+        pending.add(inventoryChange("gpu-1"));
+        // updateStock เขียน isActive ของ Component ตามมาด้วย
+        pending.add(componentChange("gpu-1"));
+        pending.publish();
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void remoteWriteIsStillPublished() {
+        listener.onLocalCatalogChanged(CatalogChangedEvent.inventory(List.of("gpu-1")));
+
+        CatalogChangeStreamListener.PendingChanges pending = listener.new PendingChanges();
+        pending.add(inventoryChange("gpu-1"));
+        pending.add(inventoryChange("gpu-2"));
+        pending.publish();
+
+        verify(eventPublisher).publishEvent(CatalogChangedEvent.inventory(List.of("gpu-2")).asRemote());
+    }
+
+    private static ChangeStreamDocument<Document> inventoryChange(String componentId) {
+        return change("inventories", new BsonDocument("_id", new BsonString("inv-" + componentId)),
+                new Document("componentId", componentId));
+    }
+
+    private static ChangeStreamDocument<Document> componentChange(String componentId) {
+        return change("component", new BsonDocument("_id", new BsonString(componentId)), null);
+    }
+
+    private static ChangeStreamDocument<Document> change(String collection, BsonDocument documentKey, Document fullDocument) {
+        BsonDocument namespace = new BsonDocument("db", new BsonString("computers")).append("coll", new BsonString(collection));
+        return new ChangeStreamDocument<>("update", new BsonDocument(), namespace, null, fullDocument, null,
+                documentKey, null, null, null, null, null, null, null);
+    }
+}
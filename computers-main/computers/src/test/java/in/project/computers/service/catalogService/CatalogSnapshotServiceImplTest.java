@@ -0,0 +1,129 @@
+package in.project.computers.service.catalogService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.project.computers.dto.component.componentResponse.ComponentResponse;
+import in.project.computers.dto.component.componentResponse.GpuResponse;
+import in.project.computers.entity.component.Component;
+import in.project.computers.entity.component.Gpu;
+import in.project.computers.entity.component.Inventory;
+import in.project.computers.event.CatalogChangedEvent;
+import in.project.computers.repository.ComponentRepo.ComponentRepository;
+import in.project.computers.repository.ComponentRepo.InventoryRepository;
+import in.project.computers.service.componentService.ComponentConverter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.ExecutorServiceAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ตรวจว่า Event ของ Inventory แก้ Snapshot เฉพาะ Component ที่เปลี่ยน โดยไม่โหลด Catalog ทั้งหมดใหม่ (ไม่ต้องใช้ MongoDB)
+ */
+class CatalogSnapshotServiceImplTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong version = new AtomicLong(1);
+    private final Map<String, Component> components = new LinkedHashMap<>();
+    private final Map<String, Inventory> inventories = new LinkedHashMap<>();
+
+    private ComponentRepository componentRepository;
+    private CatalogSnapshotServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        for (String id : List.of("gpu-1", "gpu-2", "gpu-3")) {
+            components.put(id, Gpu.builder().id(id).name("GPU " + id).type("gpu").build());
+            inventories.put(id, Inventory.builder().componentId(id).quantity(5).price(BigDecimal.valueOf(100)).build());
+        }
+
+        componentRepository = mock(ComponentRepository.class);
+        when(componentRepository.findAll()).thenAnswer(invocation -> List.copyOf(components.values()));
+        when(componentRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<String> ids = invocation.getArgument(0);
+            List<String> idList = new ArrayList<>();
+            ids.forEach(idList::add);
+            return idList.stream().map(components::get).filter(Objects::nonNull).toList();
+        });
+        InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+        when(inventoryRepository.findAll()).thenAnswer(invocation -> List.copyOf(inventories.values()));
+        when(inventoryRepository.findAllByComponentIdIn(anyList())).thenAnswer(invocation -> {
+            List<String> ids = invocation.getArgument(0);
+            return ids.stream().map(inventories::get).filter(Objects::nonNull).toList();
+        });
+        ComponentConverter converter = mock(ComponentConverter.class);
+        when(converter.convertEntityToResponse(any(Component.class), any(Inventory.class))).thenAnswer(invocation -> {
+            Component component = invocation.getArgument(0);
+            Inventory inventory = invocation.getArgument(1);
+            return GpuResponse.builder()
+                    .id(component.getId())
+                    .type("gpu")
+                    .name(component.getName())
+                    .isActive(inventory.getQuantity() > 0)
+                    .quantity(inventory.getQuantity())
+                    .price(inventory.getPrice())
+                    .build();
+        });
+        CatalogVersionService versionService = mock(CatalogVersionService.class);
+        when(versionService.currentVersion()).thenAnswer(invocation -> version.get());
+
+        service = new CatalogSnapshotServiceImpl(componentRepository, inventoryRepository, converter, versionService, objectMapper);
+        service.initialize();
+        service.shutdownExecutor();
+        // รันงานเบื้องหลังใน Thread ที่เรียกเลย เพื่อให้ตรวจผลได้ทันที
+        ReflectionTestUtils.setField(service, "rebuildExecutor", new ExecutorServiceAdapter(new SyncTaskExecutor()));
+        service.buildSnapshotOnStartup();
+    }
+
+    @Test
+    void inventoryEventReplacesOnlyTheAffectedComponents() throws Exception {
+        CatalogSnapshot before = service.current().orElseThrow();
+
+        inventories.get("gpu-2").setQuantity(0);
+        service.onCatalogChanged(CatalogChangedEvent.inventory(List.of("gpu-2")));
+        version.incrementAndGet();
+
+        // ครั้งแรกเวอร์ชันไม่ตรง (คืนค่าว่างและสั่ง Refresh ซึ่งรันเสร็จใน Thread นี้)
+        assertThat(service.current()).isEmpty();
+        CatalogSnapshot after = service.current().orElseThrow();
+        verify(componentRepository, times(1)).findAll();
+        assertThat(after.version()).isEqualTo(2);
+        assertThat(after.component("gpu-2").getQuantity()).isZero();
+        assertThat(after.component("gpu-2").isActive()).isFalse();
+        assertThat(after.component("gpu-1")).isSameAs(before.component("gpu-1"));
+        assertThat(after.componentJson("gpu-3")).isSameAs(before.componentJson("gpu-3"));
+        assertThat(after.components()).extracting(ComponentResponse::getId).containsExactly("gpu-1", "gpu-2", "gpu-3");
+        // JSON ที่ต่อจากรายตัวต้องเหมือนกับการ Serialize ทั้ง List
+        assertThat(after.catalogJson()).isEqualTo(objectMapper
+                .writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, ComponentResponse.class))
+                .writeValueAsBytes(after.components()));
+    }
+
+    @Test
+    void componentEventRebuildsTheWholeCatalog() {
+        components.get("gpu-1").setName("Renamed");
+        service.onCatalogChanged(CatalogChangedEvent.components(List.of("gpu-1")));
+        version.incrementAndGet();
+
+        // ครั้งแรกเวอร์ชันไม่ตรง (คืนค่าว่างและสั่ง Refresh ซึ่งรันเสร็จใน Thread นี้)
+        assertThat(service.current()).isEmpty();
+        CatalogSnapshot after = service.current().orElseThrow();
+        verify(componentRepository, times(2)).findAll();
+        assertThat(after.component("gpu-1").getName()).isEqualTo("Renamed");
+    }
+}
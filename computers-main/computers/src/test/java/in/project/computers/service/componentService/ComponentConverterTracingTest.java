@@ -0,0 +1,141 @@
+package in.project.computers.service.componentService;
+
+import in.project.computers.entity.component.Gpu;
+import in.project.computers.entity.component.Inventory;
+import in.project.computers.repository.ComponentRepo.InventoryRepository;
+import in.project.computers.repository.ComponentRepo.lookup.FormFactorRepository;
+import in.project.computers.repository.ComponentRepo.lookup.RamTypeRepository;
+import in.project.computers.repository.ComponentRepo.lookup.SocketRepository;
+import in.project.computers.repository.ComponentRepo.lookup.StorageInterfaceRepository;
+import in.project.computers.util.RepositoryObservationAspect;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ตรวจจำนวน Span ของ Repository ที่เกิดขึ้นระหว่างแปลง Component ด้วย Span Exporter ในหน่วยความจำ (ไม่ต้องใช้ MongoDB)
+ * ใช้จับรูปแบบ N+1: การแปลงทีละ Component ต้องไม่ Query Inventory ซ้ำเมื่อผู้เรียกโหลด Inventory มาแล้ว
+ */
+class ComponentConverterTracingTest {
+
+    private static final int COMPONENT_COUNT = 5;
+
+    private InMemorySpanExporter spanExporter;
+    private SdkTracerProvider tracerProvider;
+    private ObservationRegistry observationRegistry;
+    private ComponentConverterImpl converter;
+
+    @BeforeEach
+    void setUp() {
+        spanExporter = InMemorySpanExporter.create();
+        tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                .build();
+        OtelTracer tracer = new OtelTracer(tracerProvider.get("test"), new OtelCurrentTraceContext(), event -> {
+        });
+        observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultTracingObservationHandler(tracer));
+
+        InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+        when(inventoryRepository.findByComponentId(anyString())).thenAnswer(invocation -> Optional.of(
+                inventory(invocation.getArgument(0))));
+
+        converter = new ComponentConverterImpl(
+                mock(SocketRepository.class),
+                mock(RamTypeRepository.class),
+                mock(FormFactorRepository.class),
+                mock(StorageInterfaceRepository.class),
+                observed(inventoryRepository, InventoryRepository.class));
+        ReflectionTestUtils.invokeMethod(converter, "initializeAllConverters");
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void convertingWithoutInventoryQueriesTheRepositoryOncePerComponent() {
+        List<Gpu> components = components();
+
+        inRequestSpan(() -> components.forEach(converter::convertEntityToResponse));
+
+        assertThat(repositorySpans()).hasSize(COMPONENT_COUNT)
+                .allSatisfy(span -> assertThat(span.getAttributes().asMap())
+                        .containsValue("InventoryRepository")
+                        .containsValue("findByComponentId"));
+        assertThat(repositorySpans()).allSatisfy(span ->
+                assertThat(span.getParentSpanId()).isEqualTo(requestSpan().getSpanId()));
+    }
+
+    @Test
+    void convertingWithPreloadedInventoryDoesNotQueryTheRepository() {
+        List<Gpu> components = components();
+
+        inRequestSpan(() -> components.forEach(component ->
+                converter.convertEntityToResponse(component, inventory(component.getId()))));
+
+        assertThat(requestSpan()).isNotNull();
+        assertThat(repositorySpans()).isEmpty();
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private void inRequestSpan(Runnable work) {
+        Observation.createNotStarted("test.request", observationRegistry).observe(work);
+    }
+
+    private SpanData requestSpan() {
+        return spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getName().equals("test.request"))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private List<SpanData> repositorySpans() {
+        return spanExporter.getFinishedSpanItems().stream()
+                // ชื่อ Span ถูกแปลงเป็น kebab-case โดย OTel Bridge (เช่น inventory-repository.find-by-component-id)
+                .filter(span -> span.getName().endsWith("-repository.find-by-component-id"))
+                .toList();
+    }
+
+    private <T> T observed(T target, Class<T> type) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setInterfaces(type);
+        factory.addAspect(new RepositoryObservationAspect(observationRegistry));
+        return factory.getProxy();
+    }
+
+    private static List<Gpu> components() {
+        return IntStream.range(0, COMPONENT_COUNT)
+                .mapToObj(i -> (Gpu) Gpu.builder().id("gpu-" + i).type("gpu").name("GPU " + i).wattage(200).length_mm(250).build())
+                .toList();
+    }
+
+    private static Inventory inventory(String componentId) {
+        return Inventory.builder().componentId(componentId).quantity(3).price(BigDecimal.TEN).build();
+    }
+}
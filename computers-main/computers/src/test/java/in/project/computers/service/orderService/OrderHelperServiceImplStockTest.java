@@ -0,0 +1,94 @@
+package in.project.computers.service.orderService;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import in.project.computers.entity.component.Component;
+import in.project.computers.entity.component.Gpu;
+import in.project.computers.entity.component.Inventory;
+import in.project.computers.entity.order.LineItemType;
+import in.project.computers.entity.order.Order;
+import in.project.computers.entity.order.OrderLineItem;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * ตรวจว่าการตัด/คืนสต็อกของ Order เป็น {@code $inc} แบบมีเงื่อนไข ไม่ทับสต็อกที่ถูกแก้พร้อมกัน (MongoDB ในหน่วยความจำ)
+ */
+class OrderHelperServiceImplStockTest {
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private OrderHelperServiceImpl helper;
+    private String componentId;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        client = MongoClients.create(server.bindAndGetConnectionString());
+        mongoTemplate = new MongoTemplate(client, "computers");
+        helper = new OrderHelperServiceImpl(null, null, null, null, null, null, mock(ApplicationEventPublisher.class), mongoTemplate);
+
+        componentId = new ObjectId().toHexString();
+        mongoTemplate.insert(Gpu.builder().id(componentId).name("GPU").type("gpu").isActive(true).build());
+        mongoTemplate.insert(Inventory.builder().componentId(componentId).quantity(5).price(BigDecimal.TEN).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.shutdownNow();
+    }
+
+    @Test
+    void decrementKeepsConcurrentChangesAndDeactivatesAtZero() {
+        // สต็อกถูกปรับจากที่อื่น (เช่น Bulk Update) หลังจาก Order ถูกสร้าง: ต้องไม่ถูกทับ
+        mongoTemplate.updateFirst(Query.query(Criteria.where("componentId").is(componentId)),
+                new Update().inc("quantity", -3), Inventory.class);
+
+        helper.decrementStockForOrder(orderOf(2));
+
+        assertThat(quantity()).isZero();
+        assertThat(mongoTemplate.findById(componentId, Component.class).isActive()).isFalse();
+    }
+
+    @Test
+    void decrementBeyondStockIsRejectedWithoutWriting() {
+        assertThatThrownBy(() -> helper.decrementStockForOrder(orderOf(6))).isInstanceOf(ResponseStatusException.class);
+
+        assertThat(quantity()).isEqualTo(5);
+        assertThat(mongoTemplate.findById(componentId, Component.class).isActive()).isTrue();
+    }
+
+    private int quantity() {
+        return mongoTemplate.findOne(Query.query(Criteria.where("componentId").is(componentId)), Inventory.class).getQuantity();
+    }
+
+    private Order orderOf(int quantity) {
+        return Order.builder()
+                .id("order-1")
+                .lineItems(List.of(OrderLineItem.builder()
+                        .itemType(LineItemType.COMPONENT)
+                        .componentId(componentId)
+                        .quantity(quantity)
+                        .build()))
+                .build();
+    }
+}
@@ -0,0 +1,179 @@
+package in.project.computers.service.orderService;
+
+import com.paypal.api.payments.Payer;
+import com.paypal.api.payments.PayerInfo;
+import com.paypal.api.payments.Payment;
+import com.paypal.base.rest.PayPalRESTException;
+import in.project.computers.entity.order.Order;
+import in.project.computers.entity.order.OrderTransition;
+import in.project.computers.entity.order.PaymentDetails;
+import in.project.computers.entity.order.PaymentMethod;
+import in.project.computers.entity.order.PaymentStatus;
+import in.project.computers.repository.generalRepo.OrderRepository;
+import in.project.computers.service.PaypalService.PaypalService;
+import in.project.computers.service.analyticsService.OrderAnalyticsService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ตรวจว่าเมื่อ PayPal อนุมัติแล้ว Order จะไม่ค้างที่ CAPTURING แม้ตัดสต็อกไม่สำเร็จ หรือ Request ที่จองไว้ตายไปกลางทาง
+ */
+class OrderServiceImplCaptureTest {
+
+    @Test
+    void approvedPaymentIsRecordedAndFlaggedWhenStockDecrementFails() throws Exception {
+        Order order = Order.builder()
+                .id("order-1")
+                .paymentDetails(PaymentDetails.builder().paymentMethod(PaymentMethod.PAYPAL).build())
+                .build();
+        Order claimed = Order.builder().id("order-1").paymentStatus(PaymentStatus.CAPTURING).build();
+        Order completed = Order.builder().id("order-1").paymentStatus(PaymentStatus.COMPLETED).build();
+
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        when(orderRepository.findById("order-1")).thenReturn(Optional.of(order));
+        OrderStateMachine stateMachine = mock(OrderStateMachine.class);
+        when(stateMachine.tryApply(eq("order-1"), eq(OrderTransition.CLAIM_CAPTURE), any())).thenReturn(Optional.of(claimed));
+        when(stateMachine.apply(eq("order-1"), eq(OrderTransition.COMPLETE_CAPTURE), any())).thenReturn(completed);
+        OrderHelperService orderHelper = mock(OrderHelperService.class);
+        doThrow(new ResponseStatusException(HttpStatus.CONFLICT, "Stock for component ID gpu-1 was depleted."))
+                .when(orderHelper).decrementStockForOrder(claimed);
+        PaypalService paypalService = mock(PaypalService.class);
+        when(paypalService.executePayment("PAY-1", "PAYER-1")).thenReturn(approvedPayment());
+        OrderAnalyticsService analytics = mock(OrderAnalyticsService.class);
+
+        OrderServiceImpl service = new OrderServiceImpl(orderRepository, orderHelper, null, null, paypalService,
+                analytics, stateMachine, ObservationRegistry.NOOP);
+        service.capturePaypalOrder("order-1", "PAY-1", "PAYER-1");
+
+        ArgumentCaptor<Update> completion = ArgumentCaptor.forClass(Update.class);
+        verify(stateMachine).apply(eq("order-1"), eq(OrderTransition.COMPLETE_CAPTURE), completion.capture());
+        assertThat(completion.getValue().getUpdateObject().get("$set", Document.class).getString("stockIssue"))
+                .contains("gpu-1 was depleted");
+        verify(stateMachine, never()).tryApply("order-1", OrderTransition.RELEASE_CAPTURE, null);
+        verify(analytics).recordOrderPaid(completed);
+    }
+
+    @Test
+    void paypalFailureIsTaggedOnTheCaptureObservation() throws Exception {
+        Order order = Order.builder()
+                .id("order-1")
+                .paymentDetails(PaymentDetails.builder().paymentMethod(PaymentMethod.PAYPAL).build())
+                .build();
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        when(orderRepository.findById("order-1")).thenReturn(Optional.of(order));
+        OrderStateMachine stateMachine = mock(OrderStateMachine.class);
+        when(stateMachine.tryApply(eq("order-1"), eq(OrderTransition.CLAIM_CAPTURE), any())).thenReturn(Optional.of(order));
+        PaypalService paypalService = mock(PaypalService.class);
+        when(paypalService.executePayment("PAY-1", "PAYER-1")).thenThrow(new PayPalRESTException("timeout"));
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(context -> true);
+
+        OrderServiceImpl service = new OrderServiceImpl(orderRepository, mock(OrderHelperService.class), null, null, paypalService,
+                mock(OrderAnalyticsService.class), stateMachine, registry);
+        // จำลอง Observation ที่ @Observed เปิดให้ตอนรันจริง
+        Observation observation = Observation.start("app.order.capture", registry);
+        try (Observation.Scope ignored = observation.openScope()) {
+            assertThatThrownBy(() -> service.capturePaypalOrder("order-1", "PAY-1", "PAYER-1"))
+                    .isInstanceOf(PayPalRESTException.class);
+        } finally {
+            observation.stop();
+        }
+
+        assertThat(observation.getContext().getLowCardinalityKeyValue("capture.result").getValue()).isEqualTo("PAYPAL_ERROR");
+        verify(stateMachine).tryApply("order-1", OrderTransition.RELEASE_CAPTURE, null);
+    }
+
+    @Test
+    void staleApprovedCaptureIsCompletedAndFlagged() throws Exception {
+        Order stale = staleCapture();
+        OrderStateMachine stateMachine = staleStateMachine(stale);
+        Order completed = Order.builder().id("order-1").paymentStatus(PaymentStatus.COMPLETED).build();
+        when(stateMachine.tryApply(eq("order-1"), eq(OrderTransition.COMPLETE_CAPTURE), any())).thenReturn(Optional.of(completed));
+        PaypalService paypalService = mock(PaypalService.class);
+        when(paypalService.getPayment("PAY-1")).thenReturn(approvedPayment());
+        OrderAnalyticsService analytics = mock(OrderAnalyticsService.class);
+
+        reconcilingService(stateMachine, paypalService, analytics).reconcileStaleCaptures();
+
+        ArgumentCaptor<Update> completion = ArgumentCaptor.forClass(Update.class);
+        verify(stateMachine).tryApply(eq("order-1"), eq(OrderTransition.COMPLETE_CAPTURE), completion.capture());
+        assertThat(completion.getValue().getUpdateObject().get("$set", Document.class).getString("stockIssue")).isNotBlank();
+        verify(analytics).recordOrderPaid(completed);
+    }
+
+    @Test
+    void staleUnexecutedCaptureIsReleased() throws Exception {
+        Order stale = staleCapture();
+        OrderStateMachine stateMachine = staleStateMachine(stale);
+        Payment created = new Payment();
+        created.setId("PAY-1");
+        created.setState("created");
+        PaypalService paypalService = mock(PaypalService.class);
+        when(paypalService.getPayment("PAY-1")).thenReturn(created);
+
+        reconcilingService(stateMachine, paypalService, mock(OrderAnalyticsService.class)).reconcileStaleCaptures();
+
+        verify(stateMachine).tryApply(eq("order-1"), eq(OrderTransition.RELEASE_CAPTURE), isNull());
+        verify(stateMachine, never()).tryApply(eq("order-1"), eq(OrderTransition.COMPLETE_CAPTURE), any());
+    }
+
+    private static Order staleCapture() {
+        return Order.builder()
+                .id("order-1")
+                .paymentStatus(PaymentStatus.CAPTURING)
+                .captureClaimedAt(Instant.now().minus(Duration.ofHours(1)))
+                .paymentDetails(PaymentDetails.builder().paymentMethod(PaymentMethod.PAYPAL).transactionId("PAY-1").build())
+                .build();
+    }
+
+    private static OrderStateMachine staleStateMachine(Order stale) {
+        OrderStateMachine stateMachine = mock(OrderStateMachine.class);
+        when(stateMachine.findStaleCaptures(any(), any(Integer.class))).thenReturn(List.of(stale));
+        when(stateMachine.takeOverStaleCapture(stale)).thenReturn(Optional.of(stale));
+        return stateMachine;
+    }
+
+    private static OrderServiceImpl reconcilingService(OrderStateMachine stateMachine, PaypalService paypalService,
+                                                       OrderAnalyticsService analytics) {
+        OrderServiceImpl service = new OrderServiceImpl(mock(OrderRepository.class), mock(OrderHelperService.class), null, null,
+                paypalService, analytics, stateMachine, ObservationRegistry.NOOP);
+        ReflectionTestUtils.setField(service, "captureClaimTimeout", Duration.ofMinutes(5));
+        return service;
+    }
+
+    private static Payment approvedPayment() {
+        PayerInfo payerInfo = new PayerInfo();
+        payerInfo.setPayerId("PAYER-1");
+        payerInfo.setEmail("buyer@example.com");
+        Payer payer = new Payer();
+        payer.setPayerInfo(payerInfo);
+        Payment payment = new Payment();
+        payment.setId("PAY-1");
+        payment.setState("approved");
+        payment.setPayer(payer);
+        return payment;
+    }
+}
@@ -0,0 +1,90 @@
+package in.project.computers.service.orderService;
+
+import in.project.computers.entity.order.Order;
+import in.project.computers.entity.order.OrderStatus;
+import in.project.computers.entity.order.OrderTransition;
+import in.project.computers.entity.order.PaymentDetails;
+import in.project.computers.entity.order.PaymentMethod;
+import in.project.computers.repository.generalRepo.OrderRepository;
+import in.project.computers.service.analyticsService.OrderAnalyticsService;
+import io.micrometer.observation.ObservationRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ตรวจว่าการคืนเงินปิดได้เสมอ (ไม่ค้างที่ REFUND_PROCESSING) และไม่คืนสต็อกของ Order ที่ตัดสต็อกไม่สำเร็จตอนรับเงิน
+ */
+class OrderServiceImplRefundTest {
+
+    private OrderRepository orderRepository;
+    private OrderStateMachine stateMachine;
+    private OrderHelperService orderHelper;
+    private OrderServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        stateMachine = mock(OrderStateMachine.class);
+        orderHelper = mock(OrderHelperService.class);
+        when(stateMachine.apply(eq("order-1"), eq(OrderTransition.COMPLETE_REFUND), any()))
+                .thenReturn(Order.builder().id("order-1").orderStatus(OrderStatus.REFUNDED).build());
+        service = new OrderServiceImpl(orderRepository, orderHelper, null, null, null,
+                mock(OrderAnalyticsService.class), stateMachine, ObservationRegistry.NOOP);
+    }
+
+    @Test
+    void flaggedOrderIsRefundedWithoutRestock() throws Exception {
+        givenRefundRequested("Stock decrement failed after payment: depleted");
+
+        service.approveRefund("order-1");
+
+        verify(orderHelper, never()).incrementStockForOrder(any());
+        verify(stateMachine).apply(eq("order-1"), eq(OrderTransition.COMPLETE_REFUND), any());
+    }
+
+    @Test
+    void restockFailureStillCompletesTheRefund() throws Exception {
+        Order claimed = givenRefundRequested(null);
+        doThrow(new DataAccessResourceFailureException("mongo down")).when(orderHelper).incrementStockForOrder(claimed);
+
+        service.approveRefund("order-1");
+
+        ArgumentCaptor<Update> completion = ArgumentCaptor.forClass(Update.class);
+        verify(stateMachine).apply(eq("order-1"), eq(OrderTransition.COMPLETE_REFUND), completion.capture());
+        assertThat(completion.getValue().getUpdateObject().get("$set", Document.class).getString("stockIssue"))
+                .startsWith("Stock restock failed after refund");
+    }
+
+    private Order givenRefundRequested(String stockIssue) {
+        Order order = Order.builder()
+                .id("order-1")
+                .orderStatus(OrderStatus.REFUND_REQUESTED)
+                .paymentDetails(PaymentDetails.builder().paymentMethod(PaymentMethod.BANK_TRANSFER).build())
+                .stockIssue(stockIssue)
+                .build();
+        Order claimed = Order.builder()
+                .id("order-1")
+                .orderStatus(OrderStatus.REFUND_PROCESSING)
+                .paymentDetails(PaymentDetails.builder().paymentMethod(PaymentMethod.BANK_TRANSFER).build())
+                .stockIssue(stockIssue)
+                .build();
+        when(orderRepository.findById("order-1")).thenReturn(Optional.of(order));
+        when(stateMachine.apply("order-1", OrderTransition.CLAIM_REFUND, null)).thenReturn(claimed);
+        return claimed;
+    }
+}
@@ -0,0 +1,135 @@
+package in.project.computers.service.searchService;
+
+import in.project.computers.dto.search.CatalogSearchHit;
+import in.project.computers.dto.search.CatalogSearchRequest;
+import in.project.computers.dto.search.CatalogSearchResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ตรวจการค้นหา, Facet และการแบ่งหน้าของ {@link CatalogSearchIndex} โดยตรง (ไม่ต้องใช้ MongoDB)
+ */
+class CatalogSearchIndexTest {
+
+    private CatalogSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CatalogSearchIndex(List.of(BigDecimal.valueOf(5_000), BigDecimal.valueOf(20_000)));
+        index.replaceAll(List.of(
+                document("cpu-1", "cpu", "Intel Core i5-12400F", "BX8071512400F", "LGA1700", 6_000, 5),
+                document("cpu-2", "cpu", "AMD Ryzen 7 7800X3D", "100-100000910WOF", "AM5", 15_000, 0),
+                document("gpu-1", "gpu", "NVIDIA GeForce RTX 4070", "RTX4070-FE", null, 21_000, 3),
+                document("gpu-2", "gpu", "NVIDIA GeForce RTX 4090", "RTX4090-FE", null, 60_000, 1)));
+    }
+
+    @Test
+    void matchesExactPrefixAndMisspelledTerms() {
+        assertThat(ids(search(request("ryzen")))).containsExactly("cpu-2");
+        assertThat(ids(search(request("gefo")))).containsExactlyInAnyOrder("gpu-1", "gpu-2");
+        assertThat(ids(search(request("ryzan")))).containsExactly("cpu-2");
+    }
+
+    @Test
+    void requiresEveryQueryTermAndSplitsLettersFromDigits() {
+        // "4090" ห่างจาก "4070" หนึ่งตัวอักษรจึงเจอแบบ Fuzzy ด้วย แต่คำที่ตรงทั้งคำต้องได้อันดับแรก
+        assertThat(ids(search(request("rtx 4090")))).containsExactly("gpu-2", "gpu-1");
+        assertThat(ids(search(request("lga 1700")))).containsExactly("cpu-1");
+        assertThat(ids(search(request("bx80715-12400f")))).containsExactly("cpu-1");
+    }
+
+    @Test
+    void countsFacetsOutsideTheirOwnFilter() {
+        CatalogSearchRequest request = request(null);
+        request.setType("gpu");
+        CatalogSearchResponse response = search(request);
+
+        assertThat(response.getTotal()).isEqualTo(2);
+        // Facet type ไม่ถูกกรองด้วยตัวเอง: ยังเห็นจำนวน cpu เพื่อให้สลับ Filter ได้
+        assertThat(response.getFacets().get("type")).containsEntry("gpu", 2L).containsEntry("cpu", 2L);
+        assertThat(response.getFacets().get("price")).containsOnlyKeys("20000+");
+    }
+
+    @Test
+    void filtersByStockAndPrice() {
+        CatalogSearchRequest request = request(null);
+        request.setInStockOnly(true);
+        request.setMaxPrice(BigDecimal.valueOf(25_000));
+
+        assertThat(ids(search(request))).containsExactlyInAnyOrder("cpu-1", "gpu-1");
+    }
+
+    @Test
+    void pagesThroughRankedResults() {
+        CatalogSearchResponse firstPage = index.search(request(null), 0, 3);
+        CatalogSearchResponse secondPage = index.search(request(null), 3, 3);
+
+        assertThat(firstPage.getTotal()).isEqualTo(4);
+        assertThat(firstPage.getHits()).hasSize(3);
+        // ไม่มีคิวรี: คะแนนเท่ากันทั้งหมด จึงเรียงมีสต็อกก่อนแล้วตามชื่อ สินค้าหมดอยู่ท้ายสุด
+        assertThat(ids(secondPage)).containsExactly("cpu-2");
+    }
+
+    @Test
+    void offsetNearIntegerMaxValueReturnsNoHitsInsteadOfFailing() {
+        CatalogSearchResponse response = index.search(request(null), Integer.MAX_VALUE - 1, 20);
+
+        assertThat(response.getTotal()).isEqualTo(4);
+        assertThat(response.getHits()).isEmpty();
+    }
+
+    @Test
+    void appliesIncrementalUpdates() {
+        index.updateInventory("cpu-2", 7, BigDecimal.valueOf(14_000));
+        index.remove("gpu-2");
+
+        CatalogSearchResponse response = search(request(null));
+        assertThat(ids(response)).containsExactlyInAnyOrder("cpu-1", "cpu-2", "gpu-1");
+        assertThat(response.getHits()).filteredOn(hit -> hit.getId().equals("cpu-2"))
+                .singleElement()
+                .satisfies(hit -> assertThat(hit.isInStock()).isTrue());
+        assertThat(ids(search(request("4090")))).doesNotContain("gpu-2");
+    }
+
+    // =========================================================================
+    // SECTION: Private Helper Methods
+    // =========================================================================
+
+    private CatalogSearchResponse search(CatalogSearchRequest request) {
+        return index.search(request, 0, 20);
+    }
+
+    private static CatalogSearchRequest request(String query) {
+        return CatalogSearchRequest.builder().query(query).build();
+    }
+
+    private static List<String> ids(CatalogSearchResponse response) {
+        return response.getHits().stream().map(CatalogSearchHit::getId).toList();
+    }
+
+    private static SearchDocument document(String id, String type, String name, String mpn, String socket, int price, int quantity) {
+        Map<String, Float> terms = new HashMap<>();
+        SearchTokenizer.tokenizeForIndex(name).forEach(token -> terms.merge(token, 3f, Math::max));
+        SearchTokenizer.tokenizeForIndex(mpn).forEach(token -> terms.merge(token, 4f, Math::max));
+        terms.merge(SearchTokenizer.compact(mpn), 4f, Math::max);
+        Map<SearchFacet, Set<String>> facets = new EnumMap<>(SearchFacet.class);
+        facets.put(SearchFacet.TYPE, new LinkedHashSet<>(List.of(type)));
+        if (socket != null) {
+            facets.put(SearchFacet.SOCKET, new LinkedHashSet<>(List.of(socket)));
+            SearchTokenizer.tokenizeForIndex(socket).forEach(token -> terms.merge(token, 2f, Math::max));
+        }
+        return new SearchDocument(id, type, mpn, name, name.split(" ")[0], null, BigDecimal.valueOf(price), quantity,
+                name.toLowerCase(Locale.ROOT), terms, facets, null);
+    }
+}
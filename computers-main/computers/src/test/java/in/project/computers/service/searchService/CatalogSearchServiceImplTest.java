@@ -0,0 +1,29 @@
+package in.project.computers.service.searchService;
+
+import in.project.computers.dto.search.CatalogSearchRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogSearchServiceImplTest {
+
+    @Test
+    void rejectsOffsetsBeyondTheMaximum() {
+        CatalogSearchServiceImpl service = new CatalogSearchServiceImpl(null, null);
+        ReflectionTestUtils.setField(service, "priceBuckets", List.of(BigDecimal.valueOf(1_000)));
+        service.initializeIndex();
+
+        assertThat(service.search(CatalogSearchRequest.builder().offset(CatalogSearchServiceImpl.MAX_OFFSET).limit(20).build()).getHits())
+                .isEmpty();
+        assertThatThrownBy(() -> service.search(CatalogSearchRequest.builder().offset(Integer.MAX_VALUE).limit(20).build()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+}
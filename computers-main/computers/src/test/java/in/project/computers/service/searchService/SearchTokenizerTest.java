@@ -0,0 +1,36 @@
+package in.project.computers.service.searchService;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTokenizerTest {
+
+    @Test
+    void lowercasesAndSplitsOnNonAlphanumerics() {
+        assertThat(SearchTokenizer.tokenize("  Corsair Vengeance-LPX (DDR5) ")).containsExactly("corsair", "vengeance", "lpx", "ddr5");
+        assertThat(SearchTokenizer.tokenize(null)).isEmpty();
+        assertThat(SearchTokenizer.tokenize(" - ")).isEmpty();
+    }
+
+    @Test
+    void indexTokensAlsoSplitLettersFromDigits() {
+        assertThat(SearchTokenizer.tokenizeForIndex("LGA1700 RTX4090"))
+                .containsExactly("lga1700", "rtx4090", "lga", "1700", "rtx", "4090");
+    }
+
+    @Test
+    void compactsMpnWithoutSeparators() {
+        assertThat(SearchTokenizer.compact("BX80715-12400F")).isEqualTo("bx8071512400f");
+        assertThat(SearchTokenizer.compact(null)).isEmpty();
+    }
+
+    @Test
+    void boundedDistanceStopsAboveTheLimit() {
+        assertThat(SearchTokenizer.boundedDistance("ryzen", "ryzen", 1)).isZero();
+        assertThat(SearchTokenizer.boundedDistance("ryzen", "ryzne", 2)).isEqualTo(2);
+        assertThat(SearchTokenizer.boundedDistance("geforce", "gefroce", 1)).isEqualTo(2);
+        assertThat(SearchTokenizer.boundedDistance("ddr5", "ddr4", 1)).isEqualTo(1);
+        assertThat(SearchTokenizer.boundedDistance("a", "abcdef", 2)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,84 @@
+package in.project.computers.service.searchService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ใช้ cachedPrefixLength 2 เพื่อให้ตรวจทั้ง Node ที่มี Top-K แคชไว้ (Prefix สั้น) และ Node ที่ไล่ Subtree (Prefix ยาว)
+ */
+class SuggestionTrieTest {
+
+    private SuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new SuggestionTrie(3, 2);
+        trie.put(entry("ram-1", "Corsair Vengeance LPX", "CMK16GX4M2B3200C16", true, 10));
+        trie.put(entry("ram-2", "Corsair Dominator Platinum", "CMT32GX5M2B5600C36", true, 50));
+        trie.put(entry("ram-3", "Kingston Fury Beast", "KF432C16BBK2/16", false, 99));
+        trie.put(entry("cpu-1", "Intel Core i5-12400F", "BX80715-12400F", true, 5));
+    }
+
+    @Test
+    void ranksInStockThenPopularity() {
+        assertThat(ids(trie.suggest("cor", 10))).containsExactly("ram-2", "ram-1", "cpu-1");
+        assertThat(ids(trie.suggest("c", 10))).hasSize(3).startsWith("ram-2");
+    }
+
+    @Test
+    void matchesEveryWordOfTheNameAndBothMpnForms() {
+        assertThat(ids(trie.suggest("veng", 10))).containsExactly("ram-1");
+        assertThat(ids(trie.suggest("Platinum", 10))).containsExactly("ram-2");
+        assertThat(ids(trie.suggest("bx80715 124", 10))).containsExactly("cpu-1");
+        assertThat(ids(trie.suggest("bx8071512", 10))).containsExactly("cpu-1");
+        assertThat(trie.suggest("zotac", 10)).isEmpty();
+        assertThat(trie.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void replacingAnEntryUpdatesCachedTopK() {
+        trie.put(entry("ram-3", "Kingston Fury Beast", "KF432C16BBK2/16", true, 99));
+        assertThat(ids(trie.suggest("k", 10))).containsExactly("ram-3");
+        assertThat(ids(trie.suggest("c", 10))).containsExactly("ram-2", "ram-1", "cpu-1");
+
+        trie.put(entry("ram-1", "Corsair Vengeance LPX", "CMK16GX4M2B3200C16", true, 1_000));
+        assertThat(ids(trie.suggest("co", 1))).containsExactly("ram-1");
+    }
+
+    @Test
+    void updateChangesOnlyTheGivenFieldOfTheCurrentEntry() {
+        SuggestionTrie.Entry stale = trie.get("ram-3").orElseThrow();
+        trie.update("ram-3", entry -> entry.withInStock(true));
+
+        // รีเฟรช popularity จาก Snapshot ที่อ่านก่อนสต็อกเปลี่ยน ต้องไม่ทับ inStock ใหม่
+        assertThat(trie.update(stale.componentId(), entry -> entry.withPopularity(5))).isTrue();
+        assertThat(trie.get("ram-3")).hasValueSatisfying(entry -> {
+            assertThat(entry.inStock()).isTrue();
+            assertThat(entry.popularity()).isEqualTo(5);
+        });
+        assertThat(ids(trie.suggest("k", 10))).containsExactly("ram-3");
+        assertThat(trie.update("missing", entry -> entry.withPopularity(1))).isFalse();
+    }
+
+    @Test
+    void removingAnEntryPrunesItsKeys() {
+        trie.remove("ram-2");
+
+        assertThat(ids(trie.suggest("cor", 10))).containsExactly("ram-1", "cpu-1");
+        assertThat(trie.suggest("dominator", 10)).isEmpty();
+        assertThat(trie.get("ram-2")).isEmpty();
+        assertThat(trie.size()).isEqualTo(3);
+    }
+
+    private static SuggestionTrie.Entry entry(String id, String name, String mpn, boolean inStock, long popularity) {
+        return new SuggestionTrie.Entry(id, name, mpn, "ram", inStock, popularity);
+    }
+
+    private static List<String> ids(List<SuggestionTrie.Entry> entries) {
+        return entries.stream().map(SuggestionTrie.Entry::componentId).toList();
+    }
+}
@@ -0,0 +1,25 @@
+package in.project.computers.service.stockStreamService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ตรวจว่าจำนวนผู้ติดตาม SSE สูงสุดยังเหลือ Connection ของ Tomcat ไว้ให้ Request ปกติอย่างน้อยหนึ่งในสี่
+ */
+class StockStreamCapacityTest {
+
+    @Test
+    void maxSubscribersLeavesHeadroomBelowTomcatMaxConnections() throws Exception {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+
+        int maxConnections = Integer.parseInt(properties.getProperty("server.tomcat.max-connections"));
+        int maxSubscribers = Integer.parseInt(properties.getProperty("app.stock-stream.max-subscribers"));
+
+        assertThat(maxSubscribers).isLessThanOrEqualTo(maxConnections * 3 / 4);
+    }
+}
@@ -0,0 +1,105 @@
+package in.project.computers.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ตรวจ {@link BoundedPasswordEncoder} ด้วย Pool หนึ่ง Thread และคิวหนึ่งช่อง (cost ต่ำเพื่อให้ Test เร็ว)
+ */
+class BoundedPasswordEncoderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        encoder = new BoundedPasswordEncoder(5, 1, 1, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void hashesOnTheDedicatedPoolAndRecordsHashTime() {
+        String hash = encoder.encode("secret");
+
+        assertThat(hash).startsWith("$2a$05$");
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(meterRegistry.get(BoundedPasswordEncoder.HASH_METRIC).tags("operation", "encode", "cost", "5").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(BoundedPasswordEncoder.HASH_METRIC).tags("operation", "matches", "cost", "05").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void failsFastWith503WhenTheQueueIsFull() throws InterruptedException {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(encoder, "executor");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        // งานแรกครอง Thread เดียวของ Pool งานที่สองเต็มคิว
+        executor.execute(() -> {
+            running.countDown();
+            awaitQuietly(release);
+        });
+        running.await();
+        executor.execute(() -> awaitQuietly(release));
+
+        try {
+            assertThatThrownBy(() -> encoder.encode("secret"))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+            assertThat(meterRegistry.get(BoundedPasswordEncoder.REJECTED_METRIC).counter().count()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void bestEffortEncodeIsSkippedInsteadOfFailingWhenThePoolIsBusy() throws InterruptedException {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(encoder, "executor");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        executor.execute(() -> {
+            running.countDown();
+            awaitQuietly(release);
+        });
+        running.await();
+        executor.execute(() -> awaitQuietly(release));
+
+        try {
+            assertThat(encoder.tryEncode("secret")).isEmpty();
+            assertThat(meterRegistry.get(BoundedPasswordEncoder.REJECTED_METRIC).counter().count()).isZero();
+        } finally {
+            release.countDown();
+        }
+        assertThat(encoder.tryEncode("secret")).hasValueSatisfying(hash -> assertThat(encoder.matches("secret", hash)).isTrue());
+    }
+
+    @Test
+    void upgradesHashesWithALowerCost() {
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
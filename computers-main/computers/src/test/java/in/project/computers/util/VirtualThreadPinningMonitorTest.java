@@ -0,0 +1,64 @@
+package in.project.computers.util;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * ตรวจว่า Virtual Thread ที่ Block ใน {@code synchronized} ถูกนับใน Timer {@value VirtualThreadPinningMonitor#PINNED_METRIC}
+ * พร้อม Tag {@code source} ที่ชี้ไปยังเมธอดที่ Block (JFR Streaming ส่ง Event ทุกประมาณ 1 วินาที จึงต้องรอ)
+ */
+class VirtualThreadPinningMonitorTest {
+
+    private static final Object LOCK = new Object();
+
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new VirtualThreadPinningMonitor(meterRegistry);
+        ReflectionTestUtils.setField(monitor, "enabled", true);
+        ReflectionTestUtils.setField(monitor, "virtualThreads", true);
+        ReflectionTestUtils.setField(monitor, "threshold", Duration.ofMillis(20));
+        ReflectionTestUtils.setField(monitor, "stackDepth", 32);
+        ReflectionTestUtils.invokeMethod(monitor, "start");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(monitor, "stop");
+    }
+
+    @Test
+    void blockingInsideSynchronizedIsRecordedWithItsCallSite() throws InterruptedException {
+        Thread.ofVirtual().start(VirtualThreadPinningMonitorTest::sleepWhileHoldingMonitor).join();
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            Timer timer = meterRegistry.find(VirtualThreadPinningMonitor.PINNED_METRIC)
+                    .tag("source", VirtualThreadPinningMonitorTest.class.getName() + ".sleepWhileHoldingMonitor")
+                    .timer();
+            assertThat(timer).isNotNull();
+            assertThat(timer.count()).isEqualTo(1);
+        });
+    }
+
+    private static void sleepWhileHoldingMonitor() {
+        synchronized (LOCK) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}